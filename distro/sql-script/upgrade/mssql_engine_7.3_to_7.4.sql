@@ -8,3 +8,84 @@ ALTER TABLE ACT_RU_METER_LOG
 ALTER TABLE ACT_RU_JOB
   ADD PRIORITY_ int NOT NULL
   DEFAULT 0;
+
+-- historic activity statistics counters --
+
+create table ACT_HI_ACT_STATS (
+    ID_ nvarchar(64) not null,
+    PROC_DEF_ID_ nvarchar(64) not null,
+    PROC_DEF_KEY_ nvarchar(255),
+    ACT_ID_ nvarchar(255) not null,
+    INSTANCE_COUNT_ numeric(19,0) not null,
+    FINISHED_COUNT_ numeric(19,0) not null,
+    CANCELED_COUNT_ numeric(19,0) not null,
+    COMPLETE_SCOPE_COUNT_ numeric(19,0) not null,
+    primary key (ID_)
+);
+create unique index ACT_UNIQ_HI_ACT_STATS on ACT_HI_ACT_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- runtime statistics counters --
+
+create table ACT_RU_STATS (
+    ID_ nvarchar(64) not null,
+    PROC_DEF_ID_ nvarchar(64) not null,
+    ACT_ID_ nvarchar(255),
+    INCIDENT_TYPE_ nvarchar(255),
+    INSTANCE_COUNT_ numeric(19,0) not null,
+    FAILED_JOBS_COUNT_ numeric(19,0) not null,
+    INCIDENT_COUNT_ numeric(19,0) not null,
+    primary key (ID_)
+);
+create index ACT_IDX_RU_STATS on ACT_RU_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- historic job log aggregates --
+
+create table ACT_HI_JOB_LOG_AGG (
+    ID_ nvarchar(64) not null,
+    START_TIME_ datetime2 not null,
+    END_TIME_ datetime2 not null,
+    JOB_DEF_ID_ nvarchar(64),
+    JOB_DEF_TYPE_ nvarchar(255),
+    PROCESS_DEF_ID_ nvarchar(64),
+    PROCESS_DEF_KEY_ nvarchar(255),
+    DEPLOYMENT_ID_ nvarchar(64),
+    CREATED_COUNT_ numeric(19,0) not null,
+    SUCCESS_COUNT_ numeric(19,0) not null,
+    primary key (ID_)
+);
+create index ACT_IDX_HI_JOBLOG_AGG_JOBDEF on ACT_HI_JOB_LOG_AGG(JOB_DEF_ID_);
+
+-- content hash of deployment resources --
+
+alter table ACT_GE_BYTEARRAY
+    add HASH_ nvarchar(64);
+
+-- index of the permissions granted and revoked by authorizations --
+
+create table ACT_RU_AUTH_INDEX (
+    AUTH_ID_ nvarchar(64) not null,
+    TYPE_ int not null,
+    GROUP_ID_ nvarchar(255),
+    USER_ID_ nvarchar(255),
+    RESOURCE_TYPE_ int not null,
+    RESOURCE_ID_ nvarchar(64),
+    PERM_ int not null,
+    GRANTED_ int not null
+);
+create index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, USER_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, GROUP_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX(AUTH_ID_);
+
+-- normalized values of indexed variables --
+
+create table ACT_RU_VAR_INDEX (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_ nvarchar(128) not null,
+    EXECUTION_ID_ nvarchar(64),
+    PROC_INST_ID_ nvarchar(64),
+    CASE_INST_ID_ nvarchar(64),
+    TASK_ID_ nvarchar(64),
+    primary key (ID_)
+);
+create index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
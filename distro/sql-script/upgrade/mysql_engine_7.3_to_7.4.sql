@@ -8,3 +8,84 @@ ALTER TABLE ACT_RU_METER_LOG
 ALTER TABLE ACT_RU_JOB
   ADD PRIORITY_ integer NOT NULL
   DEFAULT 0;
+
+-- historic activity statistics counters --
+
+create table ACT_HI_ACT_STATS (
+    ID_ varchar(64) not null,
+    PROC_DEF_ID_ varchar(64) not null,
+    PROC_DEF_KEY_ varchar(255),
+    ACT_ID_ varchar(255) not null,
+    INSTANCE_COUNT_ bigint not null,
+    FINISHED_COUNT_ bigint not null,
+    CANCELED_COUNT_ bigint not null,
+    COMPLETE_SCOPE_COUNT_ bigint not null,
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+create unique index ACT_UNIQ_HI_ACT_STATS on ACT_HI_ACT_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- runtime statistics counters --
+
+create table ACT_RU_STATS (
+    ID_ varchar(64) not null,
+    PROC_DEF_ID_ varchar(64) not null,
+    ACT_ID_ varchar(255),
+    INCIDENT_TYPE_ varchar(255),
+    INSTANCE_COUNT_ bigint not null,
+    FAILED_JOBS_COUNT_ bigint not null,
+    INCIDENT_COUNT_ bigint not null,
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+create index ACT_IDX_RU_STATS on ACT_RU_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- historic job log aggregates --
+
+create table ACT_HI_JOB_LOG_AGG (
+    ID_ varchar(64) not null,
+    START_TIME_ timestamp not null,
+    END_TIME_ timestamp not null,
+    JOB_DEF_ID_ varchar(64),
+    JOB_DEF_TYPE_ varchar(255),
+    PROCESS_DEF_ID_ varchar(64),
+    PROCESS_DEF_KEY_ varchar(255),
+    DEPLOYMENT_ID_ varchar(64),
+    CREATED_COUNT_ bigint not null,
+    SUCCESS_COUNT_ bigint not null,
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+create index ACT_IDX_HI_JOBLOG_AGG_JOBDEF on ACT_HI_JOB_LOG_AGG(JOB_DEF_ID_);
+
+-- content hash of deployment resources --
+
+alter table ACT_GE_BYTEARRAY
+    add HASH_ varchar(64);
+
+-- index of the permissions granted and revoked by authorizations --
+
+create table ACT_RU_AUTH_INDEX (
+    AUTH_ID_ varchar(64) not null,
+    TYPE_ integer not null,
+    GROUP_ID_ varchar(255),
+    USER_ID_ varchar(255),
+    RESOURCE_TYPE_ integer not null,
+    RESOURCE_ID_ varchar(64),
+    PERM_ integer not null,
+    GRANTED_ integer not null
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+create index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, USER_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, GROUP_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX(AUTH_ID_);
+
+-- normalized values of indexed variables --
+
+create table ACT_RU_VAR_INDEX (
+    ID_ varchar(64) not null,
+    NAME_ varchar(255) not null,
+    VALUE_ varchar(128) not null,
+    EXECUTION_ID_ varchar(64),
+    PROC_INST_ID_ varchar(64),
+    CASE_INST_ID_ varchar(64),
+    TASK_ID_ varchar(64),
+    primary key (ID_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+create index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
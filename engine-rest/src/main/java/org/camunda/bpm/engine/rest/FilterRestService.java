@@ -23,6 +23,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
+import java.util.Map;
 
 @Produces(MediaType.APPLICATION_JSON)
 public interface FilterRestService {
@@ -42,6 +43,11 @@ public interface FilterRestService {
   @Produces(MediaType.APPLICATION_JSON)
   CountResultDto getFiltersCount(@Context UriInfo uriInfo);
 
+  @GET
+  @Path("/item-count")
+  @Produces(MediaType.APPLICATION_JSON)
+  Map<String, Long> getFilterItemCounts(@QueryParam("filterIdIn") String filterIdIn);
+
   @POST
   @Path("/create")
   @Consumes(MediaType.APPLICATION_JSON)
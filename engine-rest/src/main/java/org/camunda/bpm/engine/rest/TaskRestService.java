@@ -17,11 +17,13 @@ import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -52,16 +54,38 @@ public interface TaskRestService {
   List<TaskDto> queryTasks(TaskQueryDto query,
       @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same query parameters as {@link TaskRestService#getTasks(Request, UriInfo, Integer, Integer)}
+   * and returns the page of at most <code>maxResults</code> tasks after the given continuation token,
+   * see {@link ContinuationTokenUtil}.
+   */
+  @GET
+  @Path("/page")
+  @Produces(MediaType.APPLICATION_JSON)
+  Response getTaskPage(@Context UriInfo uriInfo, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
+  /**
+   * Expects the same parameters as {@link TaskRestService#getTaskPage(UriInfo, Integer, String)} (as
+   * JSON message body) and allows more than one variable check.
+   */
+  @POST
+  @Path("/page")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  Response queryTaskPage(TaskQueryDto query, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto getTasksCount(@Context UriInfo uriInfo);
+  CountResultDto getTasksCount(@Context UriInfo uriInfo, @QueryParam("maxCount") Integer maxCount);
 
   @POST
   @Path("/count")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto queryTasksCount(TaskQueryDto query);
+  CountResultDto queryTasksCount(TaskQueryDto query, @QueryParam("maxCount") Integer maxCount);
 
   @POST
   @Path("/create")
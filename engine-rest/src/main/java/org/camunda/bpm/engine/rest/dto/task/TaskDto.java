@@ -13,11 +13,17 @@
 package org.camunda.bpm.engine.rest.dto.task;
 
 import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
 import org.camunda.bpm.engine.rest.dto.converter.DelegationStateConverter;
 import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import java.util.Date;
+import java.util.Map;
 
 public class TaskDto {
 
@@ -41,6 +47,7 @@ public class TaskDto {
   private String caseDefinitionId;
   private boolean suspended;
   private String formKey;
+  private Map<String, VariableValueDto> variables;
 
   public String getId() {
     return id;
@@ -166,6 +173,15 @@ public class TaskDto {
     return formKey;
   }
 
+  @JsonInclude(Include.NON_NULL)
+  public Map<String, VariableValueDto> getVariables() {
+    return variables;
+  }
+
+  public void setVariables(Map<String, VariableValueDto> variables) {
+    this.variables = variables;
+  }
+
   public static TaskDto fromEntity(Task task) {
     TaskDto dto = new TaskDto();
     dto.id = task.getId();
@@ -198,6 +214,16 @@ public class TaskDto {
     catch (BadUserRequestException e) {
       // ignore (initializeFormKeys was not called)
     }
+
+    try {
+      VariableMap variables = task.getFetchedVariables();
+      if (variables != null) {
+        dto.variables = VariableValueDto.fromVariableMap(variables);
+      }
+    }
+    catch (BadUserRequestException e) {
+      // ignore (fetchVariables was not called)
+    }
     return dto;
   }
 
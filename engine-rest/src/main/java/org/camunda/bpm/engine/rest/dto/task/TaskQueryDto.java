@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.rest.dto.task;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -57,6 +58,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @JsonInclude(Include.NON_NULL)
 public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
 
+  /** the task properties which are named differently in a {@link TaskDto} */
+  protected static final Map<String, String> FIELD_NAMES = new HashMap<String, String>();
+
+  static {
+    FIELD_NAMES.put("created", "createTime");
+    FIELD_NAMES.put("due", "dueDate");
+    FIELD_NAMES.put("followUp", "followUpDate");
+  }
+
   public static final String SORT_BY_PROCESS_INSTANCE_ID_VALUE = "instanceId";
   public static final String SORT_BY_CASE_INSTANCE_ID_VALUE = "caseInstanceId";
   public static final String SORT_BY_DUE_DATE_VALUE = "dueDate";
@@ -176,6 +186,10 @@ public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
   private List<VariableQueryParameterDto> processVariables;
   private List<VariableQueryParameterDto> caseInstanceVariables;
 
+  private String[] fields;
+  private String[] variableNames;
+  private Boolean deserializeValues;
+
   public TaskQueryDto() {
 
   }
@@ -562,6 +576,21 @@ public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
     this.caseInstanceVariables = caseInstanceVariables;
   }
 
+  @CamundaQueryParam(value = "fields", converter = StringArrayConverter.class)
+  public void setFields(String[] fields) {
+    this.fields = fields;
+  }
+
+  @CamundaQueryParam(value = "variableNames", converter = StringArrayConverter.class)
+  public void setVariableNames(String[] variableNames) {
+    this.variableNames = variableNames;
+  }
+
+  @CamundaQueryParam(value = "deserializeValues", converter = BooleanConverter.class)
+  public void setDeserializeValues(Boolean deserializeValues) {
+    this.deserializeValues = deserializeValues;
+  }
+
   @Override
   protected boolean isValidSortByValue(String value) {
     return VALID_SORT_BY_VALUES.contains(value);
@@ -860,6 +889,18 @@ public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
     return caseInstanceVariables;
   }
 
+  public String[] getFields() {
+    return fields;
+  }
+
+  public String[] getVariableNames() {
+    return variableNames;
+  }
+
+  public Boolean getDeserializeValues() {
+    return deserializeValues;
+  }
+
   @Override
   protected void applyFilters(TaskQuery query) {
     if (processInstanceBusinessKey != null) {
@@ -1152,6 +1193,22 @@ public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
 
       }
     }
+
+    if (fields != null) {
+      List<String> fieldNames = new ArrayList<String>();
+      for (String field : fields) {
+        if (FIELD_NAMES.containsKey(field)) {
+          fieldNames.add(FIELD_NAMES.get(field));
+        }
+        else if (!"id".equals(field)) {
+          fieldNames.add(field);
+        }
+      }
+      query.selectFields(fieldNames.toArray(new String[fieldNames.size()]));
+    }
+    if (variableNames != null) {
+      query.fetchVariables(Arrays.asList(variableNames), deserializeValues == null || deserializeValues);
+    }
   }
 
   @Override
@@ -16,10 +16,12 @@ import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -58,14 +60,31 @@ public interface HistoricActivityInstanceRestService {
   List<HistoricActivityInstanceDto> queryHistoricActivityInstances(HistoricActivityInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same query parameters as {@link #getHistoricActivityInstances(UriInfo, Integer, Integer)} and returns
+   * the page of at most <code>maxResults</code> results after the given continuation token, see {@link ContinuationTokenUtil}.
+   */
+  @GET
+  @Path("/page")
+  @Produces(MediaType.APPLICATION_JSON)
+  Response getHistoricActivityInstancePage(@Context UriInfo uriInfo, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
+  @POST
+  @Path("/page")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  Response queryHistoricActivityInstancePage(HistoricActivityInstanceQueryDto query, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto getHistoricActivityInstancesCount(@Context UriInfo uriInfo);
+  CountResultDto getHistoricActivityInstancesCount(@Context UriInfo uriInfo, @QueryParam("maxCount") Integer maxCount);
 
   @POST
   @Path("/count")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto queryHistoricActivityInstancesCount(HistoricActivityInstanceQueryDto query);
+  CountResultDto queryHistoricActivityInstancesCount(HistoricActivityInstanceQueryDto query, @QueryParam("maxCount") Integer maxCount);
 }
@@ -17,10 +17,12 @@ import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -59,6 +61,23 @@ public interface HistoricProcessInstanceRestService {
   List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same query parameters as {@link #getHistoricProcessInstances(UriInfo, Integer, Integer)} and returns
+   * the page of at most <code>maxResults</code> results after the given continuation token, see {@link ContinuationTokenUtil}.
+   */
+  @GET
+  @Path("/page")
+  @Produces(MediaType.APPLICATION_JSON)
+  Response getHistoricProcessInstancePage(@Context UriInfo uriInfo, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
+  @POST
+  @Path("/page")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  Response queryHistoricProcessInstancePage(HistoricProcessInstanceQueryDto query, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(ContinuationTokenUtil.CONTINUE_AFTER_PARAM) String continueAfter);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
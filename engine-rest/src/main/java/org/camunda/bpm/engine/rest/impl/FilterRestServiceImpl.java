@@ -18,11 +18,13 @@ import org.camunda.bpm.engine.EntityTypes;
 import org.camunda.bpm.engine.FilterService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.filter.FilterQuery;
 import org.camunda.bpm.engine.rest.FilterRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.ResourceOptionsDto;
+import org.camunda.bpm.engine.rest.dto.converter.StringListConverter;
 import org.camunda.bpm.engine.rest.dto.runtime.FilterDto;
 import org.camunda.bpm.engine.rest.dto.runtime.FilterQueryDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -37,6 +39,7 @@ import javax.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.camunda.bpm.engine.authorization.Authorization.ANY;
 import static org.camunda.bpm.engine.authorization.Permissions.CREATE;
@@ -62,11 +65,20 @@ public class FilterRestServiceImpl extends AbstractAuthorizedRestResource implem
 
     List<Filter> matchingFilters = executeFilterQuery(query, firstResult, maxResults);
 
+    Map<String, Long> itemCounts = null;
+    if (itemCount != null && itemCount && !matchingFilters.isEmpty()) {
+      List<String> filterIds = new ArrayList<String>();
+      for (Filter filter : matchingFilters) {
+        filterIds.add(filter.getId());
+      }
+      itemCounts = filterService.count(filterIds);
+    }
+
     List<FilterDto> filters = new ArrayList<FilterDto>();
     for (Filter filter : matchingFilters) {
       FilterDto dto = FilterDto.fromFilter(filter);
-      if (itemCount != null && itemCount) {
-        dto.setItemCount(filterService.count(filter.getId()));
+      if (itemCounts != null) {
+        dto.setItemCount(itemCounts.get(filter.getId()));
       }
       filters.add(dto);
     }
@@ -74,6 +86,21 @@ public class FilterRestServiceImpl extends AbstractAuthorizedRestResource implem
     return filters;
   }
 
+  public Map<String, Long> getFilterItemCounts(String filterIdIn) {
+    if (filterIdIn == null || filterIdIn.isEmpty()) {
+      throw new InvalidRequestException(Response.Status.BAD_REQUEST, "No filter ids given to count the items of");
+    }
+
+    List<String> filterIds = new StringListConverter().convertQueryParameterToType(filterIdIn);
+
+    try {
+      return getProcessEngine().getFilterService().count(filterIds);
+    }
+    catch (NullValueException e) {
+      throw new InvalidRequestException(Response.Status.NOT_FOUND, e, "Unable to count the items of filters " + filterIdIn);
+    }
+  }
+
   public List<Filter> executeFilterQuery(FilterQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult != null || maxResults != null) {
       return executePaginatedQuery(query, firstResult, maxResults);
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 
@@ -72,7 +73,7 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     TaskQuery query = queryDto.toQuery(engine);
 
     // get list of tasks
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, null, query);
 
     // get total count
     long count = query.count();
@@ -87,29 +88,70 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     queryDto.setObjectMapper(getObjectMapper());
     TaskQuery query = queryDto.toQuery(engine);
 
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, null, query);
 
+    return toTaskDtos(matchingTasks);
+  }
+
+  @Override
+  public Response getTaskPage(UriInfo uriInfo, Integer maxResults, String continueAfter) {
+    TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    return queryTaskPage(queryDto, maxResults, continueAfter);
+  }
+
+  @Override
+  public Response queryTaskPage(TaskQueryDto queryDto, Integer maxResults, String continueAfter) {
+    ProcessEngine engine = getProcessEngine();
+    queryDto.setObjectMapper(getObjectMapper());
+    TaskQuery query = queryDto.toQuery(engine);
+
+    List<Task> matchingTasks = executeTaskQuery(null, maxResults, continueAfter, query);
+
+    return ContinuationTokenUtil.createResponse(toTaskDtos(matchingTasks), createContinuationToken(query, matchingTasks, maxResults));
+  }
+
+  protected List<TaskDto> toTaskDtos(List<Task> matchingTasks) {
     List<TaskDto> tasks = new ArrayList<TaskDto>();
     for (Task task : matchingTasks) {
       TaskDto returnTask = TaskDto.fromEntity(task);
       tasks.add(returnTask);
     }
-
     return tasks;
   }
 
-  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, TaskQuery query) {
+  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, String continueAfter, TaskQuery query) {
 
     // enable initialization of form key:
     query.initializeFormKeys();
 
-    List<Task> matchingTasks;
-    if (firstResult != null || maxResults != null) {
-      matchingTasks = executePaginatedQuery(query, firstResult, maxResults);
-    } else {
-      matchingTasks = query.list();
+    try {
+      if (continueAfter != null) {
+        query.continueAfter(continueAfter);
+      }
+
+      List<Task> matchingTasks;
+      if (firstResult != null || maxResults != null) {
+        matchingTasks = executePaginatedQuery(query, firstResult, maxResults);
+      } else {
+        matchingTasks = query.list();
+      }
+      return matchingTasks;
+
+    } catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Cannot query tasks: " + e.getMessage());
+    }
+  }
+
+  protected String createContinuationToken(TaskQuery query, List<Task> matchingTasks, Integer maxResults) {
+    if (!ContinuationTokenUtil.isContinuationTokenRequired(matchingTasks, maxResults)) {
+      return null;
+    }
+    try {
+      return query.createContinuationToken(matchingTasks.get(matchingTasks.size() - 1));
+    } catch (NotValidException e) {
+      // the ordering of the query does not support continuation tokens
+      return null;
     }
-    return matchingTasks;
   }
 
   protected List<Task> executePaginatedQuery(TaskQuery query, Integer firstResult, Integer maxResults) {
@@ -123,18 +165,26 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
   }
 
   @Override
-  public CountResultDto getTasksCount(UriInfo uriInfo) {
+  public CountResultDto getTasksCount(UriInfo uriInfo, Integer maxCount) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
-    return queryTasksCount(queryDto);
+    return queryTasksCount(queryDto, maxCount);
   }
 
   @Override
-  public CountResultDto queryTasksCount(TaskQueryDto queryDto) {
+  public CountResultDto queryTasksCount(TaskQueryDto queryDto, Integer maxCount) {
     ProcessEngine engine = getProcessEngine();
     queryDto.setObjectMapper(getObjectMapper());
     TaskQuery query = queryDto.toQuery(engine);
 
-    long count = query.count();
+    long count;
+    if (maxCount != null) {
+      if (maxCount < 1) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "maxCount must be positive");
+      }
+      count = query.countUpTo(maxCount);
+    } else {
+      count = query.count();
+    }
     CountResultDto result = new CountResultDto();
     result.setCount(count);
 
@@ -14,15 +14,20 @@ package org.camunda.bpm.engine.rest.impl.history;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.history.HistoricActivityInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricActivityInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -59,6 +64,39 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
       matchingHistoricActivityInstances = query.list();
     }
 
+    return toHistoricActivityInstanceDtos(matchingHistoricActivityInstances);
+  }
+
+  @Override
+  public Response getHistoricActivityInstancePage(UriInfo uriInfo, Integer maxResults, String continueAfter) {
+    HistoricActivityInstanceQueryDto queryHistoricActivityInstanceDto = new HistoricActivityInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    return queryHistoricActivityInstancePage(queryHistoricActivityInstanceDto, maxResults, continueAfter);
+  }
+
+  @Override
+  public Response queryHistoricActivityInstancePage(HistoricActivityInstanceQueryDto queryDto, Integer maxResults, String continueAfter) {
+    queryDto.setObjectMapper(objectMapper);
+    HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
+
+    List<HistoricActivityInstance> matchingHistoricActivityInstances;
+    try {
+      if (continueAfter != null) {
+        query.continueAfter(continueAfter);
+      }
+
+      if (maxResults != null) {
+        matchingHistoricActivityInstances = executePaginatedQuery(query, null, maxResults);
+      } else {
+        matchingHistoricActivityInstances = query.list();
+      }
+    } catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Cannot query historic activity instances: " + e.getMessage());
+    }
+
+    return ContinuationTokenUtil.createResponse(toHistoricActivityInstanceDtos(matchingHistoricActivityInstances), createContinuationToken(query, matchingHistoricActivityInstances, maxResults));
+  }
+
+  protected List<HistoricActivityInstanceDto> toHistoricActivityInstanceDtos(List<HistoricActivityInstance> matchingHistoricActivityInstances) {
     List<HistoricActivityInstanceDto> historicActivityInstanceResults = new ArrayList<HistoricActivityInstanceDto>();
     for (HistoricActivityInstance historicActivityInstance : matchingHistoricActivityInstances) {
       HistoricActivityInstanceDto resultHistoricActivityInstance = HistoricActivityInstanceDto.fromHistoricActivityInstance(historicActivityInstance);
@@ -67,6 +105,18 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
     return historicActivityInstanceResults;
   }
 
+  protected String createContinuationToken(HistoricActivityInstanceQuery query, List<HistoricActivityInstance> matchingHistoricActivityInstances, Integer maxResults) {
+    if (!ContinuationTokenUtil.isContinuationTokenRequired(matchingHistoricActivityInstances, maxResults)) {
+      return null;
+    }
+    try {
+      return query.createContinuationToken(matchingHistoricActivityInstances.get(matchingHistoricActivityInstances.size() - 1));
+    } catch (NotValidException e) {
+      // the ordering of the query does not support continuation tokens
+      return null;
+    }
+  }
+
   private List<HistoricActivityInstance> executePaginatedQuery(HistoricActivityInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
@@ -78,17 +128,25 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
   }
 
   @Override
-  public CountResultDto getHistoricActivityInstancesCount(UriInfo uriInfo) {
+  public CountResultDto getHistoricActivityInstancesCount(UriInfo uriInfo, Integer maxCount) {
     HistoricActivityInstanceQueryDto queryDto = new HistoricActivityInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
-    return queryHistoricActivityInstancesCount(queryDto);
+    return queryHistoricActivityInstancesCount(queryDto, maxCount);
   }
 
   @Override
-  public CountResultDto queryHistoricActivityInstancesCount(HistoricActivityInstanceQueryDto queryDto) {
+  public CountResultDto queryHistoricActivityInstancesCount(HistoricActivityInstanceQueryDto queryDto, Integer maxCount) {
     queryDto.setObjectMapper(objectMapper);
     HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
 
-    long count = query.count();
+    long count;
+    if (maxCount != null) {
+      if (maxCount < 1) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "maxCount must be positive");
+      }
+      count = query.countUpTo(maxCount);
+    } else {
+      count = query.count();
+    }
     CountResultDto result = new CountResultDto();
     result.setCount(count);
 
@@ -14,15 +14,20 @@ package org.camunda.bpm.engine.rest.impl.history;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricProcessInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -60,6 +65,39 @@ public class HistoricProcessInstanceRestServiceImpl implements HistoricProcessIn
       matchingHistoricProcessInstances = query.list();
     }
 
+    return toHistoricProcessInstanceDtos(matchingHistoricProcessInstances);
+  }
+
+  @Override
+  public Response getHistoricProcessInstancePage(UriInfo uriInfo, Integer maxResults, String continueAfter) {
+    HistoricProcessInstanceQueryDto queryHistoriProcessInstanceDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    return queryHistoricProcessInstancePage(queryHistoriProcessInstanceDto, maxResults, continueAfter);
+  }
+
+  @Override
+  public Response queryHistoricProcessInstancePage(HistoricProcessInstanceQueryDto queryDto, Integer maxResults, String continueAfter) {
+    queryDto.setObjectMapper(objectMapper);
+    HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
+
+    List<HistoricProcessInstance> matchingHistoricProcessInstances;
+    try {
+      if (continueAfter != null) {
+        query.continueAfter(continueAfter);
+      }
+
+      if (maxResults != null) {
+        matchingHistoricProcessInstances = executePaginatedQuery(query, null, maxResults);
+      } else {
+        matchingHistoricProcessInstances = query.list();
+      }
+    } catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Cannot query historic process instances: " + e.getMessage());
+    }
+
+    return ContinuationTokenUtil.createResponse(toHistoricProcessInstanceDtos(matchingHistoricProcessInstances), createContinuationToken(query, matchingHistoricProcessInstances, maxResults));
+  }
+
+  protected List<HistoricProcessInstanceDto> toHistoricProcessInstanceDtos(List<HistoricProcessInstance> matchingHistoricProcessInstances) {
     List<HistoricProcessInstanceDto> historicProcessInstanceDtoResults = new ArrayList<HistoricProcessInstanceDto>();
     for (HistoricProcessInstance historicProcessInstance : matchingHistoricProcessInstances) {
       HistoricProcessInstanceDto resultHistoricProcessInstanceDto = HistoricProcessInstanceDto.fromHistoricProcessInstance(historicProcessInstance);
@@ -68,6 +106,18 @@ public class HistoricProcessInstanceRestServiceImpl implements HistoricProcessIn
     return historicProcessInstanceDtoResults;
   }
 
+  protected String createContinuationToken(HistoricProcessInstanceQuery query, List<HistoricProcessInstance> matchingHistoricProcessInstances, Integer maxResults) {
+    if (!ContinuationTokenUtil.isContinuationTokenRequired(matchingHistoricProcessInstances, maxResults)) {
+      return null;
+    }
+    try {
+      return query.createContinuationToken(matchingHistoricProcessInstances.get(matchingHistoricProcessInstances.size() - 1));
+    } catch (NotValidException e) {
+      // the ordering of the query does not support continuation tokens
+      return null;
+    }
+  }
+
   private List<HistoricProcessInstance> executePaginatedQuery(HistoricProcessInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.util.List;
+
+import javax.ws.rs.core.Response;
+
+/**
+ * Keyset pagination of the <code>/page</code> resources next to the list resources: a request
+ * passes the continuation token of the previous page as <code>continueAfter</code> query parameter,
+ * the response of a page returns the token of its last result in the {@link #CONTINUATION_TOKEN_HEADER}.
+ */
+public class ContinuationTokenUtil {
+
+  public static final String CONTINUE_AFTER_PARAM = "continueAfter";
+
+  public static final String CONTINUATION_TOKEN_HEADER = "Continuation-Token";
+
+  /**
+   * @return true if the continuation token of the given page should be returned, i.e.
+   * the page was limited by <code>maxResults</code> and is not empty
+   */
+  public static boolean isContinuationTokenRequired(List<?> page, Integer maxResults) {
+    return maxResults != null && !page.isEmpty();
+  }
+
+  /**
+   * @return a response with the given entity and the continuation token header
+   * if the token is not null
+   */
+  public static Response createResponse(Object entity, String continuationToken) {
+    Response.ResponseBuilder responseBuilder = Response.ok(entity);
+    if (continuationToken != null) {
+      responseBuilder.header(CONTINUATION_TOKEN_HEADER, continuationToken);
+    }
+    return responseBuilder.build();
+  }
+
+}
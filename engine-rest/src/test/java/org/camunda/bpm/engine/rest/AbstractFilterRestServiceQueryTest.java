@@ -27,7 +27,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +53,7 @@ public abstract class AbstractFilterRestServiceQueryTest extends AbstractRestSer
   protected static final String FILTER_QUERY_URL = TEST_RESOURCE_ROOT_PATH + FilterRestService.PATH;
   protected static final String SINGLE_FILTER_URL = FILTER_QUERY_URL + "/{id}";
   protected static final String FILTER_COUNT_QUERY_URL = FILTER_QUERY_URL + "/count";
+  protected static final String FILTER_ITEM_COUNT_URL = FILTER_QUERY_URL + "/item-count";
 
   protected FilterQuery mockedQuery;
   protected Filter mockedFilter;
@@ -73,6 +76,11 @@ public abstract class AbstractFilterRestServiceQueryTest extends AbstractRestSer
     when(filterService.count(eq(MockProvider.EXAMPLE_FILTER_ID))).thenReturn((long) mockedFilterItemCount);
     when(filterService.getFilter(eq(MockProvider.ANOTHER_EXAMPLE_FILTER_ID))).thenReturn(anotherMockedFilter);
     when(filterService.count(eq(MockProvider.ANOTHER_EXAMPLE_FILTER_ID))).thenReturn((long) anotherMockedFilterItemCount);
+
+    Map<String, Long> itemCounts = new LinkedHashMap<String, Long>();
+    itemCounts.put(MockProvider.EXAMPLE_FILTER_ID, (long) mockedFilterItemCount);
+    itemCounts.put(MockProvider.ANOTHER_EXAMPLE_FILTER_ID, (long) anotherMockedFilterItemCount);
+    when(filterService.count(Arrays.asList(MockProvider.EXAMPLE_FILTER_ID, MockProvider.ANOTHER_EXAMPLE_FILTER_ID))).thenReturn(itemCounts);
   }
 
   @Test
@@ -215,6 +223,29 @@ public abstract class AbstractFilterRestServiceQueryTest extends AbstractRestSer
       .get(FILTER_QUERY_URL);
   }
 
+  @Test
+  public void testFilterItemCounts() {
+    given()
+      .queryParam("filterIdIn", MockProvider.EXAMPLE_FILTER_ID + "," + MockProvider.ANOTHER_EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body(MockProvider.EXAMPLE_FILTER_ID, equalTo(mockedFilterItemCount))
+      .body(MockProvider.ANOTHER_EXAMPLE_FILTER_ID, equalTo(anotherMockedFilterItemCount))
+    .when()
+      .get(FILTER_ITEM_COUNT_URL);
+
+    verify(processEngine.getFilterService()).count(Arrays.asList(MockProvider.EXAMPLE_FILTER_ID, MockProvider.ANOTHER_EXAMPLE_FILTER_ID));
+  }
+
+  @Test
+  public void testFilterItemCountsWithoutFilterIds() {
+    given()
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+    .when()
+      .get(FILTER_ITEM_COUNT_URL);
+  }
+
   @Test
   public void testFilterQueryWithoutItemCount() {
     given()
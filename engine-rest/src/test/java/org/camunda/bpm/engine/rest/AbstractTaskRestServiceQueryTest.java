@@ -4,18 +4,24 @@ import static com.jayway.restassured.RestAssured.given;
 import static com.jayway.restassured.path.json.JsonPath.from;
 import static org.camunda.bpm.engine.rest.util.QueryParamUtils.arrayAsCommaSeperatedList;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +33,7 @@ import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.ProcessApplicationService;
 import org.camunda.bpm.application.ProcessApplicationInfo;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.identity.UserQuery;
 import org.camunda.bpm.engine.repository.CaseDefinition;
@@ -39,10 +46,12 @@ import org.camunda.bpm.engine.rest.helper.EqualsList;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.ValueGenerator;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.type.ValueType;
 import org.junit.Assert;
 import org.junit.Before;
@@ -57,6 +66,7 @@ public abstract class AbstractTaskRestServiceQueryTest extends AbstractRestServi
 
   protected static final String TASK_QUERY_URL = TEST_RESOURCE_ROOT_PATH + "/task";
   protected static final String TASK_COUNT_QUERY_URL = TASK_QUERY_URL + "/count";
+  protected static final String TASK_PAGE_QUERY_URL = TASK_QUERY_URL + "/page";
   private TaskQuery mockQuery;
 
   @Before
@@ -68,6 +78,7 @@ public abstract class AbstractTaskRestServiceQueryTest extends AbstractRestServi
     TaskQuery sampleTaskQuery = mock(TaskQuery.class);
     when(sampleTaskQuery.list()).thenReturn(mockedTasks);
     when(sampleTaskQuery.count()).thenReturn((long) mockedTasks.size());
+    when(sampleTaskQuery.countUpTo(anyInt())).thenReturn((long) mockedTasks.size());
     when(sampleTaskQuery.taskCandidateGroup(anyString())).thenReturn(sampleTaskQuery);
 
     when(processEngine.getTaskService().createTaskQuery()).thenReturn(sampleTaskQuery);
@@ -822,6 +833,76 @@ public abstract class AbstractTaskRestServiceQueryTest extends AbstractRestServi
     verify(mockQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testListIgnoresContinuationToken() {
+    given().queryParam("maxResults", 1).queryParam("continueAfter", "aToken")
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+      .when().get(TASK_QUERY_URL);
+
+    verify(mockQuery, never()).continueAfter(anyString());
+    verify(mockQuery).listPage(0, 1);
+  }
+
+  @Test
+  public void testContinuationToken() {
+    List<Task> page = MockProvider.createMockTasks();
+    when(mockQuery.listPage(0, 1)).thenReturn(page);
+    when(mockQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given().queryParam("maxResults", 1).queryParam("continueAfter", "aToken")
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when().get(TASK_PAGE_QUERY_URL);
+
+    InOrder inOrder = inOrder(mockQuery);
+    inOrder.verify(mockQuery).continueAfter("aToken");
+    inOrder.verify(mockQuery).listPage(0, 1);
+  }
+
+  @Test
+  public void testContinuationTokenAsPost() {
+    List<Task> page = MockProvider.createMockTasks();
+    when(mockQuery.listPage(0, 1)).thenReturn(page);
+    when(mockQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(EMPTY_JSON_OBJECT)
+      .queryParam("maxResults", 1).queryParam("continueAfter", "aToken")
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when().post(TASK_PAGE_QUERY_URL);
+
+    verify(mockQuery).continueAfter("aToken");
+  }
+
+  @Test
+  public void testNoContinuationTokenForUnsupportedOrdering() {
+    List<Task> page = MockProvider.createMockTasks();
+    when(mockQuery.listPage(0, 1)).thenReturn(page);
+    when(mockQuery.createContinuationToken(page.get(0))).thenThrow(new NotValidException("Continuation tokens require the query to be ordered by id last"));
+
+    given().queryParam("maxResults", 1)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+      .when().get(TASK_PAGE_QUERY_URL);
+  }
+
+  @Test
+  public void testInvalidContinuationToken() {
+    when(mockQuery.listPage(0, 1)).thenThrow(new NotValidException("Invalid continuation token 'aToken'"));
+
+    given().queryParam("maxResults", 1).queryParam("continueAfter", "aToken")
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("Cannot query tasks: Invalid continuation token 'aToken'"))
+      .when().get(TASK_PAGE_QUERY_URL);
+  }
+
   @Test
   public void testTaskVariableParameters() {
     // equals
@@ -1365,6 +1446,99 @@ public abstract class AbstractTaskRestServiceQueryTest extends AbstractRestServi
     verify(mockQuery).count();
   }
 
+  @Test
+  public void testQueryCountUpTo() {
+    given()
+        .header("accept", MediaType.APPLICATION_JSON)
+        .queryParam("maxCount", 1000)
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(1))
+      .when()
+        .get(TASK_COUNT_QUERY_URL);
+
+    verify(mockQuery).countUpTo(1000);
+    verify(mockQuery, never()).count();
+  }
+
+  @Test
+  public void testQueryCountUpToForPost() {
+    given().contentType(POST_JSON_CONTENT_TYPE).body(EMPTY_JSON_OBJECT)
+    .header("accept", MediaType.APPLICATION_JSON)
+    .queryParam("maxCount", 1000)
+    .expect().statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(1))
+      .when().post(TASK_COUNT_QUERY_URL);
+
+    verify(mockQuery).countUpTo(1000);
+    verify(mockQuery, never()).count();
+  }
+
+  @Test
+  public void testQueryCountUpToInvalidMaxCount() {
+    given()
+        .header("accept", MediaType.APPLICATION_JSON)
+        .queryParam("maxCount", 0)
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("maxCount must be positive"))
+      .when()
+        .get(TASK_COUNT_QUERY_URL);
+  }
+
+  @Test
+  public void testQueryWithProjection() {
+    Task mockTask = MockProvider.createMockTask();
+    when(mockTask.getFetchedVariables()).thenReturn(Variables.createVariables().putValue("aVariable", "aValue"));
+    mockQuery = setUpMockTaskQuery(Arrays.asList(mockTask));
+
+    given()
+        .header("accept", MediaType.APPLICATION_JSON)
+        .queryParam("fields", "id,name,created,due")
+        .queryParam("variableNames", "aVariable,anotherVariable")
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].id", equalTo(MockProvider.EXAMPLE_TASK_ID))
+      .body("[0].variables.aVariable.value", equalTo("aValue"))
+      .body("[0].variables.aVariable.type", equalTo("String"))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(mockQuery).selectFields("name", "createTime", "dueDate");
+    verify(mockQuery).fetchVariables(Arrays.asList("aVariable", "anotherVariable"), true);
+  }
+
+  @Test
+  public void testQueryWithProjectionForPost() {
+    Map<String, Object> queryParameters = new HashMap<String, Object>();
+    queryParameters.put("fields", new String[] { "assignee" });
+    queryParameters.put("variableNames", new String[] { "aVariable" });
+    queryParameters.put("deserializeValues", false);
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(queryParameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .expect().statusCode(Status.OK.getStatusCode())
+      .when().post(TASK_QUERY_URL);
+
+    verify(mockQuery).selectFields("assignee");
+    verify(mockQuery).fetchVariables(Arrays.asList("aVariable"), false);
+  }
+
+  @Test
+  public void testQueryWithoutProjection() {
+    given()
+        .header("accept", MediaType.APPLICATION_JSON)
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].variables", nullValue())
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(mockQuery, never()).selectFields(Mockito.<String>anyVararg());
+    verify(mockQuery, never()).fetchVariables(any(Collection.class), anyBoolean());
+  }
+
   @Test
   public void testQueryWithExpressions() {
     String testExpression = "${'test-%s'}";
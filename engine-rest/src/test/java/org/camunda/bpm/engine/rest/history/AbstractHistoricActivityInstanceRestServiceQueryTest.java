@@ -5,8 +5,12 @@ import static com.jayway.restassured.RestAssured.given;
 import static com.jayway.restassured.path.json.JsonPath.from;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -20,11 +24,13 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 import javax.xml.registry.InvalidRequestException;
 
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.junit.Assert;
 import org.junit.Before;
@@ -41,6 +47,8 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
   protected static final String HISTORIC_ACTIVITY_INSTANCE_COUNT_RESOURCE_URL = HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL + "/count";
 
+  protected static final String HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL = HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL + "/page";
+
   protected HistoricActivityInstanceQuery mockedQuery;
 
   @Before
@@ -52,6 +60,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     HistoricActivityInstanceQuery mockedhistoricActivityInstanceQuery = mock(HistoricActivityInstanceQuery.class);
     when(mockedhistoricActivityInstanceQuery.list()).thenReturn(mockedHistoricActivityInstances);
     when(mockedhistoricActivityInstanceQuery.count()).thenReturn((long) mockedHistoricActivityInstances.size());
+    when(mockedhistoricActivityInstanceQuery.countUpTo(anyInt())).thenReturn((long) mockedHistoricActivityInstances.size());
 
     when(processEngine.getHistoryService().createHistoricActivityInstanceQuery()).thenReturn(mockedhistoricActivityInstanceQuery);
 
@@ -319,6 +328,92 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     verify(mockedQuery).listPage(firstResult, Integer.MAX_VALUE);
   }
 
+  @Test
+  public void testContinuationToken() {
+    List<HistoricActivityInstance> page = MockProvider.createMockHistoricActivityInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given()
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL);
+
+    InOrder inOrder = Mockito.inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).continueAfter("aToken");
+    inOrder.verify(mockedQuery).listPage(0, 1);
+  }
+
+  @Test
+  public void testContinuationTokenAsPost() {
+    List<HistoricActivityInstance> page = MockProvider.createMockHistoricActivityInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when()
+        .post(HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL);
+
+    verify(mockedQuery).continueAfter("aToken");
+  }
+
+  @Test
+  public void testNoContinuationTokenWithoutMaxResults() {
+    expect()
+      .statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+    .when()
+      .get(HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL);
+
+    verify(mockedQuery, never()).createContinuationToken(any(HistoricActivityInstance.class));
+  }
+
+  @Test
+  public void testNoContinuationTokenForUnsupportedOrdering() {
+    List<HistoricActivityInstance> page = MockProvider.createMockHistoricActivityInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenThrow(new NotValidException("Continuation tokens require the query to be ordered by id last"));
+
+    given()
+      .queryParam("maxResults", 1)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testInvalidContinuationToken() {
+    when(mockedQuery.listPage(0, 1)).thenThrow(new NotValidException("Invalid continuation token 'aToken'"));
+
+    given()
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("Invalid continuation token 'aToken'"))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_PAGE_RESOURCE_URL);
+  }
+
   @Test
   public void testQueryCount() {
     expect()
@@ -344,6 +439,54 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     verify(mockedQuery).count();
   }
 
+  @Test
+  public void testQueryCountUpTo() {
+    given()
+      .queryParam("maxCount", 1000)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("count", equalTo(1))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_COUNT_RESOURCE_URL);
+
+    verify(mockedQuery).countUpTo(1000);
+    verify(mockedQuery, never()).count();
+  }
+
+  @Test
+  public void testQueryCountUpToForPost() {
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+      .queryParam("maxCount", 1000)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("count", equalTo(1))
+      .when()
+        .post(HISTORIC_ACTIVITY_INSTANCE_COUNT_RESOURCE_URL);
+
+    verify(mockedQuery).countUpTo(1000);
+    verify(mockedQuery, never()).count();
+  }
+
+  @Test
+  public void testQueryCountUpToInvalidMaxCount() {
+    given()
+      .queryParam("maxCount", 0)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("maxCount must be positive"))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_COUNT_RESOURCE_URL);
+
+    verify(mockedQuery, never()).countUpTo(anyInt());
+  }
+
   @Test
   public void testSimpleHistoricActivityQuery() {
     String processInstanceId = MockProvider.EXAMPLE_PROCESS_INSTANCE_ID;
@@ -5,10 +5,13 @@ import static com.jayway.restassured.RestAssured.given;
 import static com.jayway.restassured.path.json.JsonPath.from;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -25,12 +28,14 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 import javax.xml.registry.InvalidRequestException;
 
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
+import org.camunda.bpm.engine.rest.util.ContinuationTokenUtil;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.junit.Assert;
 import org.junit.Before;
@@ -45,6 +50,7 @@ public abstract class AbstractHistoricProcessInstanceRestServiceQueryTest extend
 
   protected static final String HISTORIC_PROCESS_INSTANCE_RESOURCE_URL = TEST_RESOURCE_ROOT_PATH + "/history/process-instance";
   protected static final String HISTORIC_PROCESS_INSTANCE_COUNT_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/count";
+  protected static final String HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/page";
 
   protected HistoricProcessInstanceQuery mockedQuery;
 
@@ -309,6 +315,92 @@ public abstract class AbstractHistoricProcessInstanceRestServiceQueryTest extend
     verify(mockedQuery).listPage(firstResult, Integer.MAX_VALUE);
   }
 
+  @Test
+  public void testContinuationToken() {
+    List<HistoricProcessInstance> page = MockProvider.createMockHistoricProcessInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given()
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL);
+
+    InOrder inOrder = Mockito.inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).continueAfter("aToken");
+    inOrder.verify(mockedQuery).listPage(0, 1);
+  }
+
+  @Test
+  public void testContinuationTokenAsPost() {
+    List<HistoricProcessInstance> page = MockProvider.createMockHistoricProcessInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenReturn("nextToken");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, "nextToken")
+      .when()
+        .post(HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL);
+
+    verify(mockedQuery).continueAfter("aToken");
+  }
+
+  @Test
+  public void testNoContinuationTokenWithoutMaxResults() {
+    expect()
+      .statusCode(Status.OK.getStatusCode())
+      .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+    .when()
+      .get(HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL);
+
+    verify(mockedQuery, never()).createContinuationToken(any(HistoricProcessInstance.class));
+  }
+
+  @Test
+  public void testNoContinuationTokenForUnsupportedOrdering() {
+    List<HistoricProcessInstance> page = MockProvider.createMockHistoricProcessInstances();
+    when(mockedQuery.listPage(0, 1)).thenReturn(page);
+    when(mockedQuery.createContinuationToken(page.get(0))).thenThrow(new NotValidException("Continuation tokens require the query to be ordered by id last"));
+
+    given()
+      .queryParam("maxResults", 1)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(ContinuationTokenUtil.CONTINUATION_TOKEN_HEADER, nullValue())
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testInvalidContinuationToken() {
+    when(mockedQuery.listPage(0, 1)).thenThrow(new NotValidException("Invalid continuation token 'aToken'"));
+
+    given()
+      .queryParam("maxResults", 1)
+      .queryParam("continueAfter", "aToken")
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("Invalid continuation token 'aToken'"))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_PAGE_RESOURCE_URL);
+  }
+
   @Test
   public void testQueryCount() {
     expect()
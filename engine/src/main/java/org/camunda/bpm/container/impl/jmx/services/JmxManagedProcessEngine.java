@@ -13,12 +13,27 @@
 package org.camunda.bpm.container.impl.jmx.services;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.openmbean.ArrayType;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
 
 import org.camunda.bpm.container.impl.jmx.MBeanServiceContainer;
 import org.camunda.bpm.container.impl.spi.PlatformService;
 import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
 import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.StatementMetrics;
 
 /**
  * <p>Represents a process engine managed by the {@link MBeanServiceContainer}</p>
@@ -28,6 +43,10 @@ import org.camunda.bpm.engine.ProcessEngine;
  */
 public class JmxManagedProcessEngine implements PlatformService<ProcessEngine>, JmxManagedProcessEngineMBean {
 
+  protected static final String[] STATEMENT_METRICS_ITEMS = {
+    "statement", "calls", "errors", "rows", "callsPerSecond", "totalTimeMillis", "meanTimeMillis", "maxTimeMillis", "histogram"
+  };
+
   protected ProcessEngine processEngine;
 
   // for subclasses
@@ -78,4 +97,94 @@ public class JmxManagedProcessEngine implements PlatformService<ProcessEngine>,
     managementService.reportDbMetricsNow();
   }
 
+  public boolean isStatementMetricsEnabled() {
+    MetricsRegistry metricsRegistry = getMetricsRegistry();
+    return metricsRegistry != null && metricsRegistry.isStatementMetricsEnabled();
+  }
+
+  public void setStatementMetricsEnabled(boolean statementMetricsEnabled) {
+    MetricsRegistry metricsRegistry = getMetricsRegistry();
+    if (metricsRegistry == null) {
+      throw new ProcessEngineException("Metrics are disabled for process engine " + getName());
+    }
+    metricsRegistry.setStatementMetricsEnabled(statementMetricsEnabled);
+  }
+
+  public TabularData getStatementMetrics() {
+    try {
+      CompositeType rowType = createStatementMetricsType();
+      TabularData result = new TabularDataSupport(new TabularType("StatementMetrics",
+          "The metrics of the executed SQL statements", rowType, new String[] { "statement" }));
+
+      MetricsRegistry metricsRegistry = getMetricsRegistry();
+      if (metricsRegistry != null) {
+        double seconds = Math.max(1, System.currentTimeMillis() - metricsRegistry.getStatementMetricsStartTime()) / 1000.0;
+        for (StatementMetrics metrics : metricsRegistry.getStatementMetrics().values()) {
+          Object[] values = {
+            metrics.getStatement(),
+            metrics.getCalls(),
+            metrics.getErrors(),
+            metrics.getRows(),
+            metrics.getCalls() / seconds,
+            toMillis(metrics.getTotalTimeNanos()),
+            metrics.getMeanTimeMillis(),
+            toMillis(metrics.getMaxTimeNanos()),
+            metrics.getHistogram()
+          };
+          result.put(new CompositeDataSupport(rowType, STATEMENT_METRICS_ITEMS, values));
+        }
+      }
+
+      return result;
+    }
+    catch (OpenDataException e) {
+      throw new ProcessEngineException("Cannot create statement metrics of process engine " + getName(), e);
+    }
+  }
+
+  protected CompositeType createStatementMetricsType() throws OpenDataException {
+    OpenType<?>[] itemTypes = {
+      SimpleType.STRING,
+      SimpleType.LONG,
+      SimpleType.LONG,
+      SimpleType.LONG,
+      SimpleType.DOUBLE,
+      SimpleType.DOUBLE,
+      SimpleType.DOUBLE,
+      SimpleType.DOUBLE,
+      ArrayType.getPrimitiveArrayType(long[].class)
+    };
+    String[] itemDescriptions = {
+      "the id of the statement",
+      "the number of executions including the failed ones",
+      "the number of executions which failed with an exception",
+      "the number of selected or affected rows",
+      "the executions per second since the metrics are recorded",
+      "the total latency in milliseconds",
+      "the mean latency in milliseconds",
+      "the maximum latency in milliseconds",
+      "the number of executions per latency bucket"
+    };
+    return new CompositeType("StatementMetric", "The metrics of an SQL statement",
+        STATEMENT_METRICS_ITEMS, itemDescriptions, itemTypes);
+  }
+
+  protected double toMillis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public void clearStatementMetrics() {
+    MetricsRegistry metricsRegistry = getMetricsRegistry();
+    if (metricsRegistry != null) {
+      metricsRegistry.clearStatementMetrics();
+    }
+  }
+
+  protected MetricsRegistry getMetricsRegistry() {
+    if (processEngine instanceof ProcessEngineImpl) {
+      return ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration().getMetricsRegistry();
+    }
+    return null;
+  }
+
 }
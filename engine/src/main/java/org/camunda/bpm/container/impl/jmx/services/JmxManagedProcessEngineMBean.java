@@ -14,7 +14,10 @@ package org.camunda.bpm.container.impl.jmx.services;
 
 import java.util.Set;
 
+import javax.management.openmbean.TabularData;
+
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.metrics.StatementMetrics;
 
 /**
  * An MBean interface for the {@link ProcessEngine}.
@@ -42,4 +45,22 @@ public interface JmxManagedProcessEngineMBean {
   public void unregisterDeployment(String deploymentId);
 
   public void reportDbMetrics();
+
+  /**
+   * @return true if the executions of SQL statements are recorded per statement id
+   */
+  public boolean isStatementMetricsEnabled();
+
+  public void setStatementMetricsEnabled(boolean statementMetricsEnabled);
+
+  /**
+   * @return a row per executed SQL statement indexed by the statement id. A row contains the
+   * number of <code>calls</code>, <code>errors</code> and <code>rows</code>, the
+   * <code>callsPerSecond</code>, the <code>totalTimeMillis</code>, <code>meanTimeMillis</code>
+   * and <code>maxTimeMillis</code> and the <code>histogram</code> of the executions per
+   * latency bucket, see {@link StatementMetrics#BUCKET_BOUNDS_MILLIS}
+   */
+  public TabularData getStatementMetrics();
+
+  public void clearStatementMetrics();
 }
@@ -659,6 +659,40 @@ public interface CaseService {
    */
   VariableMap getVariablesLocalTyped(String caseExecutionId, Collection<String> variableNames, boolean deserializeValues);
 
+  /**
+   * <p>The variable values for the given variableNames of several case executions, taking
+   * all variables into account which are visible from each case execution scope (including
+   * parent scopes). Unlike calling {@link #getVariables(String, Collection)} for each case
+   * execution, the variables of all case executions are selected at once.</p>
+   *
+   * @param caseExecutionIds the ids of case executions, cannot be null
+   * @param variableNames the collection of variable names that should be retrieved, cannot be null
+   *
+   * @return the variables of each case execution by case execution id, in the order of the given ids
+   *
+   * @throws NotValidException when the given case execution ids or variable names are null
+   * @throws NotFoundException when no case execution is found for one of the given case execution ids
+   * @throws ProcessEngineException when an internal exception happens during the execution of the command
+   */
+  Map<String, VariableMap> getVariablesForCaseExecutions(Collection<String> caseExecutionIds, Collection<String> variableNames);
+
+  /**
+   * <p>The variable values for the given variableNames of several case executions, taking
+   * all variables into account which are visible from each case execution scope (including
+   * parent scopes).</p>
+   *
+   * @param caseExecutionIds the ids of case executions, cannot be null
+   * @param variableNames the collection of variable names that should be retrieved, cannot be null
+   * @param deserializeValues if false, the process engine will not attempt to deserialize {@link SerializableValue SerializableValues}.
+   *
+   * @return the variables of each case execution by case execution id, in the order of the given ids
+   *
+   * @throws NotValidException when the given case execution ids or variable names are null
+   * @throws NotFoundException when no case execution is found for one of the given case execution ids
+   * @throws ProcessEngineException when an internal exception happens during the execution of the command
+   */
+  Map<String, VariableMap> getVariablesForCaseExecutions(Collection<String> caseExecutionIds, Collection<String> variableNames, boolean deserializeValues);
+
   /**
    * <p>Searching for the variable is done in all scopes that are visible
    * to the given case execution (including parent scopes).</p>
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
@@ -164,4 +165,15 @@ public interface FilterService {
    */
   Long count(String filterId, Query<?, ?> extendingQuery);
 
+  /**
+   * Executes the queries of the given filters in one command and returns their
+   * result counts. If a filter count cache is configured, the counts may be outdated
+   * by at most its time to live.
+   *
+   * @param filterIds the ids of the filters
+   * @return the result counts by filter id in the order of the given filter ids
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   */
+  Map<String, Long> count(List<String> filterIds);
+
 }
@@ -28,6 +28,8 @@ import org.camunda.bpm.engine.history.HistoricDetailQuery;
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.history.HistoricIncidentQuery;
 import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregate;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregateQuery;
 import org.camunda.bpm.engine.history.HistoricJobLogQuery;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
@@ -169,4 +171,12 @@ public interface HistoryService {
    */
   String getHistoricJobLogExceptionStacktrace(String historicJobLogId);
 
+  /**
+   * Creates a new programmatic query to search for {@link HistoricJobLogAggregate historic job log aggregates}
+   * which are written if the historic job log mode is <code>aggregated</code>.
+   *
+   * @since 7.4
+   */
+  HistoricJobLogAggregateQuery createHistoricJobLogAggregateQuery();
+
 }
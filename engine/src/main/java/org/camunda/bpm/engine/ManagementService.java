@@ -828,4 +828,57 @@ public interface ManagementService {
    */
   void reportDbMetricsNow();
 
+  /**
+   * Recalculates the historic activity statistics counters of all process definitions
+   * from the historic activity instances. Must be executed once after the counters
+   * have been enabled for existing process definitions. Until then, the counters of these
+   * process definitions only reflect the history produced since.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  void rebuildHistoricActivityStatistics();
+
+  /**
+   * Recalculates the historic activity statistics counters of the given process definition
+   * from its historic activity instances, for example after activities have been added to it.
+   *
+   * @throws ProcessEngineException
+   *          If no process definition with the given id exists.
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  void rebuildHistoricActivityStatistics(String processDefinitionId);
+
+  /**
+   * Recalculates the runtime statistics counters of all process definitions from the
+   * executions, jobs and incidents. Must be executed once after the counters have been
+   * enabled for existing process definitions.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  void rebuildRuntimeStatistics();
+
+  /**
+   * Recalculates the runtime statistics counters of the given process definition from
+   * its executions, jobs and incidents.
+   *
+   * @throws ProcessEngineException
+   *          If no process definition with the given id exists.
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  void rebuildRuntimeStatistics(String processDefinitionId);
+
+  /**
+   * Recreates the index of the variables whose names are configured as indexed variable
+   * names. Queries only use the index after it was rebuilt for the configured names,
+   * so it must be executed whenever the indexed variable names change.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  void rebuildVariableIndex();
+
 }
@@ -127,6 +127,23 @@ public abstract class ProcessEngineConfiguration {
    */
   public static final String HISTORY_FULL = "full";
 
+  /**
+   * Historic job log mode which writes a historic job log for every created,
+   * failed, successful and deleted job.
+   */
+  public static final String HISTORIC_JOB_LOG_MODE_FULL = "full";
+  /**
+   * Historic job log mode which writes the logs of created and successful jobs
+   * only for a sample of the jobs. Failed and deleted jobs are always logged.
+   */
+  public static final String HISTORIC_JOB_LOG_MODE_SAMPLED = "sampled";
+  /**
+   * Historic job log mode which counts created and successful jobs per job
+   * definition and time interval instead of logging them. Failed and deleted
+   * jobs are always logged.
+   */
+  public static final String HISTORIC_JOB_LOG_MODE_AGGREGATED = "aggregated";
+
   protected String processEngineName = ProcessEngines.NAME_DEFAULT;
   protected int idBlockSize = 100;
   protected String history = HISTORY_AUDIT;
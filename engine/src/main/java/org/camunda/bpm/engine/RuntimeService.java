@@ -890,6 +890,43 @@ public interface RuntimeService {
    */
   VariableMap getVariablesLocalTyped(String executionId, Collection<String> variableNames, boolean deserializeValues);
 
+  /**
+   * The variable values for the given variableNames of several executions, takes all variables into
+   * account which are visible from each execution scope (including parent scopes). Unlike calling
+   * {@link #getVariables(String, Collection)} for each execution, the variables of all executions are
+   * selected at once.
+   *
+   * @param executionIds ids of process instances or executions, cannot be null.
+   * @param variableNames the collection of variable names that should be retrieved.
+   *
+   * @return the variables of each execution by execution id, in the order of the given ids.
+   *
+   * @throws ProcessEngineException
+   *          when no execution is found for one of the given executionIds.
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#READ} permission on {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#READ_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  Map<String, VariableMap> getVariablesForExecutions(Collection<String> executionIds, Collection<String> variableNames);
+
+  /**
+   * The variable values for the given variableNames of several executions, takes all variables into
+   * account which are visible from each execution scope (including parent scopes).
+   *
+   * @param executionIds ids of process instances or executions, cannot be null.
+   * @param variableNames the collection of variable names that should be retrieved.
+   * @param deserializeValues if false, {@link SerializableValue}s will not be deserialized
+   *
+   * @return the variables of each execution by execution id, in the order of the given ids.
+   *
+   * @throws ProcessEngineException
+   *          when no execution is found for one of the given executionIds.
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#READ} permission on {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#READ_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  Map<String, VariableMap> getVariablesForExecutions(Collection<String> executionIds, Collection<String> variableNames, boolean deserializeValues);
+
   /**
    * The variable value.  Searching for the variable is done in all scopes that are visible to the given execution (including parent scopes).
    * Returns null when no variable value is found with the given name or when the value is set to null.
@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
 import org.camunda.bpm.engine.task.Attachment;
@@ -69,6 +70,9 @@ public interface TaskService {
    *          {@link Resources#PROCESS_DEFINITION}.
    *          Or if the task is not present and the user has no {@link Permissions#CREATE} permission
    *          on {@link Resources#TASK}.
+   * @throws NotValidException
+   *          If the task was returned by a task query which selected a subset of its fields,
+   *          see {@link TaskQuery#selectFields(String...)}.
 	 */
 	void saveTask(Task task);
 
@@ -814,6 +818,44 @@ public interface TaskService {
    */
   VariableMap getVariablesLocalTyped(String taskId, Collection<String> variableNames, boolean deserializeValues);
 
+  /**
+   * Get the values of the given variables of several tasks, including the variables which are visible
+   * from the execution of each task. Unlike calling {@link #getVariables(String, Collection)} for each
+   * task, the variables of all tasks are selected at once.
+   *
+   * @param taskIds the ids of the tasks, cannot be null.
+   * @param variableNames the collection of variable names that should be retrieved.
+   *
+   * @return the variables of each task by task id, in the order of the given ids.
+   *
+   * @throws ProcessEngineException
+   *          when no task is found for one of the given taskIds.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#READ} permission on {@link Resources#TASK}
+   *          or no {@link Permissions#READ_TASK} permission on {@link Resources#PROCESS_DEFINITION}
+   *          (if the task is part of a running process instance).
+   */
+  Map<String, VariableMap> getVariablesForTasks(Collection<String> taskIds, Collection<String> variableNames);
+
+  /**
+   * Get the values of the given variables of several tasks, including the variables which are visible
+   * from the execution of each task.
+   *
+   * @param taskIds the ids of the tasks, cannot be null.
+   * @param variableNames the collection of variable names that should be retrieved.
+   * @param deserializeValues if false, {@link SerializableValue}s will not be deserialized
+   *
+   * @return the variables of each task by task id, in the order of the given ids.
+   *
+   * @throws ProcessEngineException
+   *          when no task is found for one of the given taskIds.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#READ} permission on {@link Resources#TASK}
+   *          or no {@link Permissions#READ_TASK} permission on {@link Resources#PROCESS_DEFINITION}
+   *          (if the task is part of a running process instance).
+   */
+  Map<String, VariableMap> getVariablesForTasks(Collection<String> taskIds, Collection<String> variableNames, boolean deserializeValues);
+
   /**
    * Removes the variable from the task.
    * When the variable does not exist, nothing happens.
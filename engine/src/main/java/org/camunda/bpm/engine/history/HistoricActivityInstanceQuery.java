@@ -15,7 +15,9 @@ package org.camunda.bpm.engine.history;
 
 import java.util.Date;
 
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -126,4 +128,58 @@ public interface HistoricActivityInstanceQuery extends Query<HistoricActivityIns
    */
   HistoricActivityInstanceQuery orderPartiallyByOccurrence();
 
+  /**
+   * <p>Only select historic activity instances which are ordered after the one from which the given
+   * continuation token was created, see {@link #createContinuationToken(HistoricActivityInstance)}.
+   * Together with {@link #listPage(int, int) listPage(0, maxResults)}, this pages through
+   * the results without an offset (keyset pagination), so that the cost of selecting
+   * a page does not depend on its position.</p>
+   *
+   * <p>The query must either not be ordered or be ordered by properties of the
+   * historic activity instances which end with {@link #orderByHistoricActivityInstanceId()}. The ordering must be the same
+   * as for the query which created the token.</p>
+   *
+   * @throws NotValidException if the token is invalid or does not match the ordering of the query
+   */
+  HistoricActivityInstanceQuery continueAfter(String continuationToken);
+
+  /**
+   * Creates the continuation token of a result of this query which selects the
+   * results after it, see {@link #continueAfter(String)}.
+   *
+   * @throws NotValidException if the ordering of the query does not support continuation
+   *   tokens or the result has no value for an ordering property
+   */
+  String createContinuationToken(HistoricActivityInstance result);
+
+  /**
+   * <p>Executes the query and passes the historic activity instances to the handler one by one while they are
+   * read from the database, instead of collecting them in a list. The memory used does not grow
+   * with the number of results, which makes this suitable for exporting large histories.</p>
+   *
+   * <p>The results are not added to the cache of the command, so that changes made to them are
+   * not persisted. The query is executed in a single command and transaction which stays open
+   * until all results are handled.</p>
+   *
+   * @param fetchSize the number of rows the JDBC driver fetches from the database at once,
+   *   0 for the default of the driver. Note that some drivers only fetch rows incrementally
+   *   if configured to (e.g. <code>useCursorFetch=true</code> for MySQL Connector/J).
+   *
+   * @throws NotValidException if the handler is null or the fetch size is negative
+   */
+  void forEach(QueryResultHandler<HistoricActivityInstance> handler, int fetchSize);
+
+  /**
+   * <p>Executes the query and returns the number of results, but counts at most
+   * <code>maxCount</code> results. The database stops counting after <code>maxCount</code>
+   * matching activity instances, which is much cheaper than {@link #count()} if a lot of them
+   * match and only a bound is needed, e.g. to display "more than 1000".</p>
+   *
+   * <p>Pass the bound plus one to find out whether the number of results exceeds the bound.</p>
+   *
+   * @return the number of results if it is lower than <code>maxCount</code>, <code>maxCount</code> otherwise
+   * @throws NotValidException if <code>maxCount</code> is not positive
+   */
+  long countUpTo(int maxCount);
+
 }
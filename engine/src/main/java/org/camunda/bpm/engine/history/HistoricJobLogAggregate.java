@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.history;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+
+/**
+ * <p>Holds the number of created and successfully executed jobs of a job
+ * definition within a time interval.</p>
+ *
+ * <p>Aggregates are only written if the historic job log mode is set to
+ * <code>aggregated</code> (see {@link ProcessEngineConfiguration}). In this
+ * mode no {@link HistoricJobLog historic job logs} are written for created
+ * and successful jobs, failed jobs are still logged.</p>
+ *
+ * @since 7.4
+ */
+public interface HistoricJobLogAggregate {
+
+  /**
+   * Returns the unique identifier for <code>this</code> aggregate.
+   */
+  String getId();
+
+  /**
+   * Returns the start of the interval.
+   */
+  Date getStartTime();
+
+  /**
+   * Returns the end of the interval.
+   */
+  Date getEndTime();
+
+  /**
+   * Returns the id of the job definition or <code>null</code> if the jobs
+   * were not created on a job definition.
+   */
+  String getJobDefinitionId();
+
+  /**
+   * Returns the job definition type of the jobs.
+   */
+  String getJobDefinitionType();
+
+  /**
+   * Returns the id of the process definition which the jobs belong to.
+   */
+  String getProcessDefinitionId();
+
+  /**
+   * Returns the key of the process definition which the jobs belong to.
+   */
+  String getProcessDefinitionKey();
+
+  /**
+   * Returns the id of the deployment which the jobs belong to.
+   */
+  String getDeploymentId();
+
+  /**
+   * Returns the number of jobs which were created within the interval.
+   */
+  long getCreatedCount();
+
+  /**
+   * Returns the number of jobs which were executed successfully within the interval.
+   */
+  long getSuccessfulCount();
+
+}
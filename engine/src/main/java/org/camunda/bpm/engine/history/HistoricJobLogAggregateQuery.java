@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.history;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.query.Query;
+
+/**
+ * @since 7.4
+ */
+public interface HistoricJobLogAggregateQuery extends Query<HistoricJobLogAggregateQuery, HistoricJobLogAggregate> {
+
+  /** Only select historic job log aggregates with the given job definition id. */
+  HistoricJobLogAggregateQuery jobDefinitionId(String jobDefinitionId);
+
+  /** Only select historic job log aggregates with the given job definition type. */
+  HistoricJobLogAggregateQuery jobDefinitionType(String jobDefinitionType);
+
+  /** Only select historic job log aggregates with the process definition id. */
+  HistoricJobLogAggregateQuery processDefinitionId(String processDefinitionId);
+
+  /** Only select historic job log aggregates with the process definition key. */
+  HistoricJobLogAggregateQuery processDefinitionKey(String processDefinitionKey);
+
+  /** Only select historic job log aggregates with the deployment id. */
+  HistoricJobLogAggregateQuery deploymentId(String deploymentId);
+
+  /** Only select historic job log aggregates whose interval starts at or after the given date. */
+  HistoricJobLogAggregateQuery startedAfter(Date date);
+
+  /** Only select historic job log aggregates whose interval starts before the given date. */
+  HistoricJobLogAggregateQuery startedBefore(Date date);
+
+  /** Order by start time (needs to be followed by {@link #asc()} or {@link #desc()}). */
+  HistoricJobLogAggregateQuery orderByStartTime();
+
+  /** Order by job definition id (needs to be followed by {@link #asc()} or {@link #desc()}). */
+  HistoricJobLogAggregateQuery orderByJobDefinitionId();
+
+  /** Order by process definition id (needs to be followed by {@link #asc()} or {@link #desc()}). */
+  HistoricJobLogAggregateQuery orderByProcessDefinitionId();
+
+}
@@ -19,7 +19,9 @@ import java.util.List;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
 /**
@@ -225,4 +227,45 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
    * @deprecated will be removed in 5.12, use {@link #startedAfter(Date)} and {@link #startedBefore(Date)} instead */
   HistoricProcessInstanceQuery finishDateOn(Date date);
 
+  /**
+   * <p>Only select historic process instances which are ordered after the one from which the given
+   * continuation token was created, see {@link #createContinuationToken(HistoricProcessInstance)}.
+   * Together with {@link #listPage(int, int) listPage(0, maxResults)}, this pages through
+   * the results without an offset (keyset pagination), so that the cost of selecting
+   * a page does not depend on its position.</p>
+   *
+   * <p>The query must either not be ordered or be ordered by properties of the
+   * historic process instances which end with {@link #orderByProcessInstanceId()}. The ordering must be the same
+   * as for the query which created the token.</p>
+   *
+   * @throws NotValidException if the token is invalid or does not match the ordering of the query
+   */
+  HistoricProcessInstanceQuery continueAfter(String continuationToken);
+
+  /**
+   * Creates the continuation token of a result of this query which selects the
+   * results after it, see {@link #continueAfter(String)}.
+   *
+   * @throws NotValidException if the ordering of the query does not support continuation
+   *   tokens or the result has no value for an ordering property
+   */
+  String createContinuationToken(HistoricProcessInstance result);
+
+  /**
+   * <p>Executes the query and passes the historic process instances to the handler one by one while they are
+   * read from the database, instead of collecting them in a list. The memory used does not grow
+   * with the number of results, which makes this suitable for exporting large histories.</p>
+   *
+   * <p>The results are not added to the cache of the command, so that changes made to them are
+   * not persisted. The query is executed in a single command and transaction which stays open
+   * until all results are handled.</p>
+   *
+   * @param fetchSize the number of rows the JDBC driver fetches from the database at once,
+   *   0 for the default of the driver. Note that some drivers only fetch rows incrementally
+   *   if configured to (e.g. <code>useCursorFetch=true</code> for MySQL Connector/J).
+   *
+   * @throws NotValidException if the handler is null or the fetch size is negative
+   */
+  void forEach(QueryResultHandler<HistoricProcessInstance> handler, int fetchSize);
+
 }
@@ -19,10 +19,12 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.session.Configuration;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -32,6 +34,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.joda.time.DateTime;
 
 
@@ -59,6 +62,13 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected Map<String, String> expressions = new HashMap<String, String>();
 
+  /** the continuation token after which the results are selected (keyset pagination) */
+  protected String continueAfter;
+  protected QueryContinuationToken continuationToken;
+
+  /** the maximum number of results counted by {@link #countUpTo(int)}, 0 for an exact count */
+  protected int countLimit = 0;
+
   protected AbstractQuery() {
   }
 
@@ -155,6 +165,25 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteCount(Context.getCommandContext());
   }
 
+  /**
+   * Counts the results up to the given maximum. Queries which support it stop counting
+   * after the maximum in the database (see {@link #getCountLimit()}), all others count
+   * exactly and cap the result.
+   */
+  public long countUpTo(int maxCount) {
+    if (maxCount < 1) {
+      throw new NotValidException("maxCount must be positive: " + maxCount);
+    }
+
+    this.countLimit = maxCount;
+    try {
+      return Math.min(count(), maxCount);
+    }
+    finally {
+      this.countLimit = 0;
+    }
+  }
+
   public Object execute(CommandContext commandContext) {
     if (resultType==ResultType.LIST) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
@@ -169,6 +198,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   public long evaluateExpressionsAndExecuteCount(CommandContext commandContext) {
     evaluateExpressions();
+    initializeContinuationToken();
     return executeCount(commandContext);
   }
 
@@ -176,6 +206,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   public List<U> evaluateExpressionsAndExecuteList(CommandContext commandContext, Page page) {
     evaluateExpressions();
+    initializeContinuationToken();
     return executeList(commandContext, page);
   }
 
@@ -185,6 +216,47 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the query and passes the results to the handler one by one while they are
+   * read from the database, see {@link #executeStream(CommandContext, QueryResultHandler)}.
+   *
+   * @param fetchSize the number of rows the JDBC driver fetches at once, 0 for its default
+   */
+  public void forEach(final QueryResultHandler<U> handler, int fetchSize) {
+    ensureNotNull("handler", handler);
+    if (fetchSize < 0) {
+      throw new NotValidException("fetchSize must not be negative: " + fetchSize);
+    }
+
+    this.fetchSize = fetchSize;
+    if (commandExecutor != null) {
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          evaluateExpressionsAndExecuteStream(commandContext, handler);
+          return null;
+        }
+      });
+    }
+    else {
+      evaluateExpressionsAndExecuteStream(Context.getCommandContext(), handler);
+    }
+  }
+
+  public void evaluateExpressionsAndExecuteStream(CommandContext commandContext, QueryResultHandler<U> handler) {
+    evaluateExpressions();
+    initializeContinuationToken();
+    executeStream(commandContext, handler);
+  }
+
+  /**
+   * Executes the actual query and passes the results to the handler without collecting
+   * them in a list and without adding them to the entity cache. Must be overridden by the
+   * queries which support streaming.
+   */
+  public void executeStream(CommandContext commandContext, QueryResultHandler<U> handler) {
+    throw new NotValidException("Streaming the results is not supported by " + getClass().getSimpleName());
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = evaluateExpressionsAndExecuteList(commandContext, null);
     if (results.size() == 1) {
@@ -270,6 +342,107 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     throw new ProcessEngineException("Unable to find method '" + methodName + "' on class '" + getClass().getCanonicalName() + "'");
   }
 
+  // keyset pagination /////////////////////////////////////////
+
+  /**
+   * Only select the results which are ordered after the result from which the
+   * given continuation token was created. Only supported by the query types which
+   * support keyset pagination, see {@link #getKeysetIdColumn()}.
+   */
+  @SuppressWarnings("unchecked")
+  public T continueAfter(String continuationToken) {
+    ensureNotNull(NotValidException.class, "continuationToken", continuationToken);
+    ensureKeysetPaginationSupported();
+    this.continueAfter = continuationToken;
+    return (T) this;
+  }
+
+  /**
+   * Creates the continuation token of a result of this query, which selects the next
+   * page of results when it is passed to {@link #continueAfter(String)}.
+   */
+  public String createContinuationToken(final U result) {
+    final List<QueryOrderingProperty> keysetOrderingProperties = getKeysetOrderingProperties();
+
+    Command<String> command = new Command<String>() {
+      public String execute(CommandContext commandContext) {
+        Configuration configuration = commandContext.getProcessEngineConfiguration()
+            .getSqlSessionFactory()
+            .getConfiguration();
+        return QueryContinuationToken.create(keysetOrderingProperties, result, configuration).encode();
+      }
+    };
+
+    if (Context.getCommandContext() != null) {
+      return command.execute(Context.getCommandContext());
+    }
+    ensureNotNull("commandExecutor", commandExecutor);
+    return commandExecutor.execute(command);
+  }
+
+  /**
+   * @return the column of the id of the selected entities or <code>null</code>
+   * if the query does not support keyset pagination
+   */
+  protected String getKeysetIdColumn() {
+    return null;
+  }
+
+  /**
+   * @return the ordering properties of this query if they are suitable for keyset
+   * pagination: the query must be ordered by columns of the selected entity and the
+   * last ordering must be by id
+   */
+  protected List<QueryOrderingProperty> getKeysetOrderingProperties() {
+    ensureKeysetPaginationSupported();
+    String idColumn = getKeysetIdColumn();
+
+    if (orderingProperties.isEmpty()) {
+      // the results are ordered by id by default
+      QueryOrderingProperty idOrderingProperty = new QueryOrderingProperty(null, new QueryPropertyImpl(idColumn));
+      idOrderingProperty.setDirection(Direction.ASCENDING);
+      return Collections.singletonList(idOrderingProperty);
+    }
+
+    checkQueryOk();
+    for (QueryOrderingProperty orderingProperty : orderingProperties) {
+      if (!orderingProperty.isContainedProperty()) {
+        throw new NotValidException("Continuation tokens do not support the ordering by " + orderingProperty.getQueryProperty().getName()
+            + " of a related entity or with a function");
+      }
+    }
+
+    QueryOrderingProperty lastOrderingProperty = orderingProperties.get(orderingProperties.size() - 1);
+    if (!idColumn.equals(lastOrderingProperty.getQueryProperty().getName())) {
+      throw new NotValidException("Continuation tokens require the query to be ordered by id last");
+    }
+
+    return orderingProperties;
+  }
+
+  protected void ensureKeysetPaginationSupported() {
+    if (getKeysetIdColumn() == null) {
+      throw new NotValidException("Query type '" + getClass().getCanonicalName() + "' does not support continuation tokens");
+    }
+  }
+
+  protected void initializeContinuationToken() {
+    if (continueAfter != null) {
+      continuationToken = QueryContinuationToken.decode(continueAfter, getKeysetOrderingProperties());
+    }
+    else {
+      continuationToken = null;
+    }
+  }
+
+  public QueryContinuationToken getContinuationToken() {
+    return continuationToken;
+  }
+
+  public int getCountLimit() {
+    return countLimit;
+  }
+
   public T extend(T extendingQuery) {
     throw new ProcessEngineException("Extending of query type '" + extendingQuery.getClass().getCanonicalName() + "' currently not supported");
   }
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -58,6 +59,10 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
     super(commandExecutor);
   }
 
+  protected String getKeysetIdColumn() {
+    return HistoricActivityInstanceQueryProperty.HISTORIC_ACTIVITY_INSTANCE_ID.getName();
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
@@ -74,6 +79,13 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  public void executeStream(CommandContext commandContext, QueryResultHandler<HistoricActivityInstance> handler) {
+    checkQueryOk();
+    commandContext
+      .getHistoricActivityInstanceManager()
+      .streamHistoricActivityInstancesByQueryCriteria(this, handler);
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
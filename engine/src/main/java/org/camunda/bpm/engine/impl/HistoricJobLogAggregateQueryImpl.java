@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregate;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregateQuery;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class HistoricJobLogAggregateQueryImpl extends AbstractQuery<HistoricJobLogAggregateQuery, HistoricJobLogAggregate> implements HistoricJobLogAggregateQuery {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String jobDefinitionId;
+  protected String jobDefinitionType;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String deploymentId;
+  protected Date startedAfter;
+  protected Date startedBefore;
+
+  public HistoricJobLogAggregateQueryImpl() {
+  }
+
+  public HistoricJobLogAggregateQueryImpl(CommandExecutor commandExecutor) {
+    super(commandExecutor);
+  }
+
+  // query parameter ////////////////////////////////////////////
+
+  public HistoricJobLogAggregateQuery jobDefinitionId(String jobDefinitionId) {
+    ensureNotNull(NotValidException.class, "jobDefinitionId", jobDefinitionId);
+    this.jobDefinitionId = jobDefinitionId;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery jobDefinitionType(String jobDefinitionType) {
+    ensureNotNull(NotValidException.class, "jobDefinitionType", jobDefinitionType);
+    this.jobDefinitionType = jobDefinitionType;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery processDefinitionId(String processDefinitionId) {
+    ensureNotNull(NotValidException.class, "processDefinitionId", processDefinitionId);
+    this.processDefinitionId = processDefinitionId;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery processDefinitionKey(String processDefinitionKey) {
+    ensureNotNull(NotValidException.class, "processDefinitionKey", processDefinitionKey);
+    this.processDefinitionKey = processDefinitionKey;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery deploymentId(String deploymentId) {
+    ensureNotNull(NotValidException.class, "deploymentId", deploymentId);
+    this.deploymentId = deploymentId;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery startedAfter(Date date) {
+    ensureNotNull(NotValidException.class, "startedAfter", date);
+    this.startedAfter = date;
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery startedBefore(Date date) {
+    ensureNotNull(NotValidException.class, "startedBefore", date);
+    this.startedBefore = date;
+    return this;
+  }
+
+  // order by //////////////////////////////////////////////
+
+  public HistoricJobLogAggregateQuery orderByStartTime() {
+    orderBy(HistoricJobLogAggregateQueryProperty.START_TIME);
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery orderByJobDefinitionId() {
+    orderBy(HistoricJobLogAggregateQueryProperty.JOB_DEFINITION_ID);
+    return this;
+  }
+
+  public HistoricJobLogAggregateQuery orderByProcessDefinitionId() {
+    orderBy(HistoricJobLogAggregateQueryProperty.PROCESS_DEFINITION_ID);
+    return this;
+  }
+
+  // results //////////////////////////////////////////////////////////////
+
+  public long executeCount(CommandContext commandContext) {
+    checkQueryOk();
+    return commandContext
+      .getHistoricJobLogManager()
+      .findHistoricJobLogAggregatesCountByQueryCriteria(this);
+  }
+
+  public List<HistoricJobLogAggregate> executeList(CommandContext commandContext, Page page) {
+    checkQueryOk();
+    return commandContext
+        .getHistoricJobLogManager()
+        .findHistoricJobLogAggregatesByQueryCriteria(this, page);
+  }
+
+  // getter //////////////////////////////////
+
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public String getJobDefinitionType() {
+    return jobDefinitionType;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getDeploymentId() {
+    return deploymentId;
+  }
+
+  public Date getStartedAfter() {
+    return startedAfter;
+  }
+
+  public Date getStartedBefore() {
+    return startedBefore;
+  }
+
+}
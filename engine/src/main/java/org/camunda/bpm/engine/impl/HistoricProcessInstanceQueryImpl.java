@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -204,6 +205,10 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return orderBy(HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_);
   }
 
+  protected String getKeysetIdColumn() {
+    return HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.getName();
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
@@ -220,6 +225,14 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  public void executeStream(CommandContext commandContext, QueryResultHandler<HistoricProcessInstance> handler) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .streamHistoricProcessInstancesByQueryCriteria(this, handler);
+  }
+
   public String getBusinessKey() {
     return businessKey;
   }
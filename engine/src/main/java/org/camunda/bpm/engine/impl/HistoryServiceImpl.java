@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.history.HistoricCaseActivityInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricCaseInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricDetailQuery;
 import org.camunda.bpm.engine.history.HistoricIncidentQuery;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregateQuery;
 import org.camunda.bpm.engine.history.HistoricJobLogQuery;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricTaskInstanceQuery;
@@ -127,4 +128,8 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
   public String getHistoricJobLogExceptionStacktrace(String historicJobLogId) {
     return commandExecutor.execute(new GetHistoricJobLogExceptionStacktraceCmd(historicJobLogId));
   }
+
+  public HistoricJobLogAggregateQuery createHistoricJobLogAggregateQuery() {
+    return new HistoricJobLogAggregateQueryImpl(commandExecutor);
+  }
 }
@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
 import java.sql.Connection;
 import java.util.Date;
 import java.util.HashSet;
@@ -34,6 +36,9 @@ import org.camunda.bpm.engine.impl.cmd.GetPropertiesCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTableCountCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTableMetaDataCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTableNameCmd;
+import org.camunda.bpm.engine.impl.cmd.RebuildHistoricActivityStatisticsCmd;
+import org.camunda.bpm.engine.impl.cmd.RebuildRuntimeStatisticsCmd;
+import org.camunda.bpm.engine.impl.cmd.RebuildVariableIndexCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterDeploymentCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterProcessApplicationCmd;
 import org.camunda.bpm.engine.impl.cmd.ReportDbMetricsCmd;
@@ -327,5 +332,27 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     commandExecutor.execute(new ReportDbMetricsCmd());
   }
 
+  public void rebuildHistoricActivityStatistics() {
+    commandExecutor.execute(new RebuildHistoricActivityStatisticsCmd());
+  }
+
+  public void rebuildHistoricActivityStatistics(String processDefinitionId) {
+    ensureNotNull("processDefinitionId", processDefinitionId);
+    commandExecutor.execute(new RebuildHistoricActivityStatisticsCmd(processDefinitionId));
+  }
+
+  public void rebuildRuntimeStatistics() {
+    commandExecutor.execute(new RebuildRuntimeStatisticsCmd());
+  }
+
+  public void rebuildRuntimeStatistics(String processDefinitionId) {
+    ensureNotNull("processDefinitionId", processDefinitionId);
+    commandExecutor.execute(new RebuildRuntimeStatisticsCmd(processDefinitionId));
+  }
+
+  public void rebuildVariableIndex() {
+    commandExecutor.execute(new RebuildVariableIndexCmd());
+  }
+
 
 }
@@ -112,6 +112,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       }
     }
 
+    if (processEngineConfiguration.getHistoricJobLogAggregator() != null) {
+      processEngineConfiguration.getHistoricJobLogAggregator().start();
+    }
+
   }
 
   protected void executeSchemaOperations() {
@@ -126,6 +130,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
 
+    if (processEngineConfiguration.getHistoricJobLogAggregator() != null) {
+      processEngineConfiguration.getHistoricJobLogAggregator().stop();
+    }
+
     if ((jobExecutor != null)) {
       // unregister process engine with Job Executor
       jobExecutor.unregisterProcessEngine(this);
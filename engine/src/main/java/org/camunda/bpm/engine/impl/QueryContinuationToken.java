@@ -0,0 +1,266 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.util.json.JSONArray;
+import org.camunda.bpm.engine.impl.util.json.JSONException;
+
+/**
+ * <p>The position of a result in the ordering of a query, used for keyset (seek)
+ * pagination: instead of skipping the first results with an offset, the query selects
+ * the results which are ordered after the result of the token. The cost of fetching a
+ * page is therefore independent of its position.</p>
+ *
+ * <p>A token holds the values of the ordering columns of a result. It is passed to clients
+ * as an opaque string (see {@link #encode()}) which is only valid for a query with the
+ * same ordering.</p>
+ *
+ * <p>Keyset pagination requires an ordering by columns of the selected entity which ends
+ * with its id, so that the ordering is total. Orderings by related entities (e.g. variables)
+ * or by functions (e.g. case-insensitive names) and ordering columns which are
+ * <code>null</code> for a result are not supported, since the databases differ in how they
+ * sort and compare them.</p>
+ *
+ * @see AbstractQuery#getKeysetOrderingProperties()
+ */
+public class QueryContinuationToken implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final String TYPE_STRING = "s";
+  protected static final String TYPE_DATE = "d";
+  protected static final String TYPE_INTEGER = "i";
+  protected static final String TYPE_LONG = "l";
+
+  protected List<KeysetValue> values;
+
+  public QueryContinuationToken(List<KeysetValue> values) {
+    this.values = values;
+  }
+
+  /**
+   * @return the values of the ordering columns in the order of the ordering properties
+   */
+  public List<KeysetValue> getValues() {
+    return values;
+  }
+
+  /**
+   * @return the token as an opaque, URL-safe string
+   */
+  public String encode() {
+    JSONArray json = new JSONArray();
+    for (KeysetValue value : values) {
+      JSONArray jsonValue = new JSONArray();
+      jsonValue.put(value.getColumn());
+      jsonValue.put(value.isAscending());
+      jsonValue.put(getType(value.getValue()));
+      jsonValue.put(value.getValue() instanceof Date ? ((Date) value.getValue()).getTime() : value.getValue());
+      json.put(jsonValue);
+    }
+
+    try {
+      return Base64.encodeBase64URLSafeString(json.toString().getBytes("UTF-8"));
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException(e);
+    }
+  }
+
+  /**
+   * Creates the token of a result of a query with the given ordering.
+   *
+   * @param configuration the MyBatis configuration which maps the ordering columns to the properties of the result
+   */
+  public static QueryContinuationToken create(List<QueryOrderingProperty> orderingProperties, Object result, Configuration configuration) {
+    if (result == null) {
+      throw new NotValidException("Cannot create a continuation token for result null");
+    }
+
+    ResultMap resultMap = findResultMap(result.getClass(), configuration);
+    MetaObject metaObject = configuration.newMetaObject(result);
+
+    List<KeysetValue> values = new ArrayList<KeysetValue>();
+    for (QueryOrderingProperty orderingProperty : orderingProperties) {
+      String column = orderingProperty.getQueryProperty().getName();
+      String property = findProperty(resultMap, column);
+      Object value = metaObject.getValue(property);
+
+      if (value == null) {
+        throw new NotValidException("Cannot create a continuation token since the ordering column " + column + " of the result is null");
+      }
+      getType(value);
+
+      values.add(new KeysetValue(column, isAscending(orderingProperty), value));
+    }
+
+    return new QueryContinuationToken(values);
+  }
+
+  /**
+   * Decodes a token which was created for a query with the given ordering.
+   */
+  public static QueryContinuationToken decode(String token, List<QueryOrderingProperty> orderingProperties) {
+    List<KeysetValue> values = new ArrayList<KeysetValue>();
+
+    try {
+      JSONArray json = new JSONArray(new String(Base64.decodeBase64(token), "UTF-8"));
+      if (json.length() != orderingProperties.size()) {
+        throw new NotValidException("The continuation token does not match the ordering of the query");
+      }
+
+      for (int i = 0; i < json.length(); i++) {
+        JSONArray jsonValue = json.getJSONArray(i);
+        QueryOrderingProperty orderingProperty = orderingProperties.get(i);
+
+        String column = jsonValue.getString(0);
+        boolean ascending = jsonValue.getBoolean(1);
+        if (!column.equals(orderingProperty.getQueryProperty().getName()) || ascending != isAscending(orderingProperty)) {
+          throw new NotValidException("The continuation token does not match the ordering of the query");
+        }
+
+        String type = jsonValue.getString(2);
+        Object value;
+        if (TYPE_STRING.equals(type)) {
+          value = jsonValue.getString(3);
+        }
+        else if (TYPE_DATE.equals(type)) {
+          value = new Date(jsonValue.getLong(3));
+        }
+        else if (TYPE_INTEGER.equals(type)) {
+          value = jsonValue.getInt(3);
+        }
+        else if (TYPE_LONG.equals(type)) {
+          value = jsonValue.getLong(3);
+        }
+        else {
+          throw new NotValidException("Invalid continuation token '" + token + "'");
+        }
+
+        values.add(new KeysetValue(column, ascending, value));
+      }
+    }
+    catch (JSONException e) {
+      throw new NotValidException("Invalid continuation token '" + token + "'", e);
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException(e);
+    }
+
+    return new QueryContinuationToken(values);
+  }
+
+  protected static boolean isAscending(QueryOrderingProperty orderingProperty) {
+    return !Direction.DESCENDING.getName().equals(orderingProperty.getDirection().getName());
+  }
+
+  protected static String getType(Object value) {
+    if (value instanceof String) {
+      return TYPE_STRING;
+    }
+    else if (value instanceof Date) {
+      return TYPE_DATE;
+    }
+    else if (value instanceof Integer) {
+      return TYPE_INTEGER;
+    }
+    else if (value instanceof Long) {
+      return TYPE_LONG;
+    }
+    else {
+      throw new NotValidException("Ordering values of type " + value.getClass().getName() + " are not supported by continuation tokens");
+    }
+  }
+
+  protected static ResultMap findResultMap(Class<?> resultType, Configuration configuration) {
+    ResultMap assignableResultMap = null;
+
+    // the result maps contain placeholders for ambiguous short names
+    for (Object candidate : configuration.getResultMaps()) {
+      if (candidate instanceof ResultMap) {
+        ResultMap resultMap = (ResultMap) candidate;
+        if (resultMap.getType() == resultType) {
+          return resultMap;
+        }
+        if (assignableResultMap == null && resultMap.getType().isAssignableFrom(resultType)) {
+          assignableResultMap = resultMap;
+        }
+      }
+    }
+
+    if (assignableResultMap == null) {
+      throw new ProcessEngineException("No result map found for " + resultType.getName());
+    }
+    return assignableResultMap;
+  }
+
+  protected static String findProperty(ResultMap resultMap, String column) {
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      if (column.equalsIgnoreCase(resultMapping.getColumn()) && resultMapping.getProperty() != null) {
+        return resultMapping.getProperty();
+      }
+    }
+    throw new NotValidException("Ordering column " + column + " is not supported by continuation tokens");
+  }
+
+  /**
+   * The value of an ordering column of the result of a continuation token.
+   */
+  public static class KeysetValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String column;
+    protected boolean ascending;
+    protected Object value;
+
+    public KeysetValue(String column, boolean ascending, Object value) {
+      this.column = column;
+      this.ascending = ascending;
+      this.value = value;
+    }
+
+    public String getColumn() {
+      return column;
+    }
+
+    public boolean isAscending() {
+      return ascending;
+    }
+
+    public Object getValue() {
+      return value;
+    }
+
+    /**
+     * @return the comparison operator which selects the values after this value
+     */
+    public String getComparator() {
+      return ascending ? ">" : "<";
+    }
+  }
+
+}
@@ -14,8 +14,13 @@
 package org.camunda.bpm.engine.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.variable.VariableIndexValue;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.value.TypedValue;
@@ -35,6 +40,9 @@ public class QueryVariableValue implements Serializable {
 
   protected AbstractQueryVariableValueCondition valueCondition;
 
+  /** the normalized values to look up in the variable index or null if the index cannot be used */
+  protected List<String> indexValues;
+
   public QueryVariableValue(String name, Object value, QueryOperator operator, boolean local) {
     this.name = name;
     this.value = Variables.untypedValue(value);
@@ -50,6 +58,45 @@ public class QueryVariableValue implements Serializable {
     }
 
     valueCondition.initializeValue(serializers);
+    initializeIndexValues();
+  }
+
+  /**
+   * The variable index answers equality comparisons of indexed variables whose
+   * values can all be normalized, see {@link VariableIndexValue}, once the index
+   * was rebuilt for the indexed variable names.
+   */
+  protected void initializeIndexValues() {
+    indexValues = null;
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null
+        || !processEngineConfiguration.isIndexedVariable(name)
+        || getOperator() != QueryOperator.EQUALS) {
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null || !commandContext.getVariableInstanceManager().isVariableIndexRebuilt()) {
+      return;
+    }
+
+    List<String> values = new ArrayList<String>();
+    for (SingleQueryVariableValueCondition condition : getValueConditions()) {
+      String value = VariableIndexValue.normalize(condition.getType(), condition);
+      if (value == null) {
+        return;
+      }
+      values.add(value);
+    }
+
+    if (!values.isEmpty()) {
+      indexValues = values;
+    }
+  }
+
+  public List<String> getIndexValues() {
+    return indexValues;
   }
 
   public List<SingleQueryVariableValueCondition> getValueConditions() {
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.cmd.GetActivityInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariableCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariableTypedCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.GetVariablesForExecutionsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetStartFormCmd;
 import org.camunda.bpm.engine.impl.cmd.MessageEventReceivedCmd;
 import org.camunda.bpm.engine.impl.cmd.PatchExecutionVariablesCmd;
@@ -183,6 +184,14 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, variableNames, true, deserializeObjectValues));
   }
 
+  public Map<String, VariableMap> getVariablesForExecutions(Collection<String> executionIds, Collection<String> variableNames) {
+    return getVariablesForExecutions(executionIds, variableNames, true);
+  }
+
+  public Map<String, VariableMap> getVariablesForExecutions(Collection<String> executionIds, Collection<String> variableNames, boolean deserializeValues) {
+    return commandExecutor.execute(new GetVariablesForExecutionsCmd(executionIds, variableNames, deserializeValues));
+  }
+
   public Object getVariable(String executionId, String variableName) {
     return commandExecutor.execute(new GetExecutionVariableCmd(executionId, variableName, false));
   }
@@ -16,13 +16,19 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.identity.Group;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.PermissionCheck;
@@ -34,6 +40,7 @@ import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.type.ValueType;
 
 /**
@@ -44,6 +51,30 @@ import org.camunda.bpm.engine.variable.type.ValueType;
 public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements TaskQuery {
 
   private static final long serialVersionUID = 1L;
+
+  /** maps the properties which can be selected by {@link #selectFields(String...)} to their columns */
+  protected static final Map<String, String> FIELD_COLUMNS = new HashMap<String, String>();
+
+  static {
+    FIELD_COLUMNS.put("name", "NAME_");
+    FIELD_COLUMNS.put("description", "DESCRIPTION_");
+    FIELD_COLUMNS.put("priority", "PRIORITY_");
+    FIELD_COLUMNS.put("owner", "OWNER_");
+    FIELD_COLUMNS.put("assignee", "ASSIGNEE_");
+    FIELD_COLUMNS.put("delegationState", "DELEGATION_");
+    FIELD_COLUMNS.put("createTime", "CREATE_TIME_");
+    FIELD_COLUMNS.put("dueDate", "DUE_DATE_");
+    FIELD_COLUMNS.put("followUpDate", "FOLLOW_UP_DATE_");
+    FIELD_COLUMNS.put("parentTaskId", "PARENT_TASK_ID_");
+    FIELD_COLUMNS.put("taskDefinitionKey", "TASK_DEF_KEY_");
+    FIELD_COLUMNS.put("suspended", "SUSPENSION_STATE_");
+    FIELD_COLUMNS.put("executionId", "EXECUTION_ID_");
+    FIELD_COLUMNS.put("processInstanceId", "PROC_INST_ID_");
+    FIELD_COLUMNS.put("processDefinitionId", "PROC_DEF_ID_");
+    FIELD_COLUMNS.put("caseExecutionId", "CASE_EXECUTION_ID_");
+    FIELD_COLUMNS.put("caseInstanceId", "CASE_INST_ID_");
+    FIELD_COLUMNS.put("caseDefinitionId", "CASE_DEF_ID_");
+  }
   protected String taskId;
   protected String name;
   protected String nameLike;
@@ -104,6 +135,10 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
   protected String caseInstanceBusinessKeyLike;
   protected String caseExecutionId;
 
+  protected List<String> selectedFields;
+  protected List<String> fetchedVariableNames;
+  protected boolean deserializeFetchedVariables = true;
+
   // its a workaround to check authorization for standalone tasks
   protected List<PermissionCheck> taskPermissionChecks = new ArrayList<PermissionCheck>();
 
@@ -706,6 +741,24 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return this;
   }
 
+  public TaskQuery selectFields(String... fieldNames) {
+    ensureNotNull("fieldNames", (Object[]) fieldNames);
+    for (String fieldName : fieldNames) {
+      if (!FIELD_COLUMNS.containsKey(fieldName)) {
+        throw new NotValidException("Unknown task property '" + fieldName + "'");
+      }
+    }
+    this.selectedFields = Arrays.asList(fieldNames);
+    return this;
+  }
+
+  public TaskQuery fetchVariables(Collection<String> variableNames, boolean deserializeValues) {
+    ensureNotNull("variableNames", variableNames);
+    this.fetchedVariableNames = new ArrayList<String>(variableNames);
+    this.deserializeFetchedVariables = deserializeValues;
+    return this;
+  }
+
   public TaskQuery taskNameCaseInsensitive() {
     this.taskNameCaseInsensitive = true;
     return this;
@@ -894,9 +947,32 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
       }
     }
 
+    if(fetchedVariableNames != null) {
+      fetchVariables(commandContext, taskList);
+    }
+
     return taskList;
   }
 
+  protected void fetchVariables(CommandContext commandContext, List<Task> taskList) {
+    List<TaskEntity> tasks = new ArrayList<TaskEntity>();
+    for (Task task : taskList) {
+      tasks.add((TaskEntity) task);
+    }
+
+    Map<String, VariableMap> variables = commandContext
+      .getVariableInstanceManager()
+      .findVariablesVisibleFromTasks(tasks, fetchedVariableNames, deserializeFetchedVariables);
+
+    for (TaskEntity task : tasks) {
+      task.setFetchedVariables(variables.get(task.getId()));
+    }
+  }
+
+  protected String getKeysetIdColumn() {
+    return TaskQueryProperty.TASK_ID.getName();
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
@@ -1140,6 +1216,53 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return initializeFormKeys;
   }
 
+  public List<String> getSelectedFields() {
+    return selectedFields;
+  }
+
+  public List<String> getFetchedVariableNames() {
+    return fetchedVariableNames;
+  }
+
+  /**
+   * @return the columns selected by the query or <code>null</code> if all columns are selected
+   */
+  public List<String> getProjectionColumns() {
+    if (selectedFields == null) {
+      return null;
+    }
+
+    Set<String> columns = new LinkedHashSet<String>();
+    columns.add("ID_");
+    columns.add("REV_");
+
+    for (String field : selectedFields) {
+      columns.add(FIELD_COLUMNS.get(field));
+    }
+
+    // the database requires the ordering columns in the selection of a distinct query
+    for (QueryOrderingProperty orderingProperty : getOrderingProperties()) {
+      if (orderingProperty.isContainedProperty()) {
+        columns.add(orderingProperty.getQueryProperty().getName());
+      }
+    }
+
+    if (initializeFormKeys) {
+      columns.add("TASK_DEF_KEY_");
+      columns.add("PROC_DEF_ID_");
+      columns.add("CASE_DEF_ID_");
+    }
+
+    if (fetchedVariableNames != null) {
+      columns.add("EXECUTION_ID_");
+      columns.add("PROC_INST_ID_");
+      columns.add("CASE_EXECUTION_ID_");
+      columns.add("CASE_INST_ID_");
+    }
+
+    return new ArrayList<String>(columns);
+  }
+
   public boolean isTaskNameCaseInsensitive() {
     return taskNameCaseInsensitive;
   }
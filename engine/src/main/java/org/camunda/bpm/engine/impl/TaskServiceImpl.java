@@ -51,6 +51,7 @@ import org.camunda.bpm.engine.impl.cmd.GetTaskEventsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTaskVariableCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTaskVariableCmdTyped;
 import org.camunda.bpm.engine.impl.cmd.GetTaskVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.GetVariablesForTasksCmd;
 import org.camunda.bpm.engine.impl.cmd.PatchTaskVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.RemoveTaskVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.ResolveTaskCmd;
@@ -233,6 +234,14 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     return commandExecutor.execute(new GetTaskVariablesCmd(executionId, variableNames, true, deserializeValues));
   }
 
+  public Map<String, VariableMap> getVariablesForTasks(Collection<String> taskIds, Collection<String> variableNames) {
+    return getVariablesForTasks(taskIds, variableNames, true);
+  }
+
+  public Map<String, VariableMap> getVariablesForTasks(Collection<String> taskIds, Collection<String> variableNames, boolean deserializeValues) {
+    return commandExecutor.execute(new GetVariablesForTasksCmd(taskIds, variableNames, deserializeValues));
+  }
+
   public Object getVariable(String executionId, String variableName) {
     return commandExecutor.execute(new GetTaskVariableCmd(executionId, variableName, false));
   }
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.scripting.engine.CompiledScriptCache;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 
@@ -94,12 +95,28 @@ public class ProcessApplicationManager {
 
       } finally {
         if(deploymentId != null) {
-          registrationsByDeploymentId.remove(deploymentId);
+          DefaultProcessApplicationRegistration registration = registrationsByDeploymentId.remove(deploymentId);
+          if (registration != null) {
+            purgeCompiledScripts(registration.getReference());
+          }
         }
       }
     }
   }
 
+  /**
+   * Removes the scripts which were compiled in the context of the process application.
+   */
+  protected void purgeCompiledScripts(ProcessApplicationReference reference) {
+    CompiledScriptCache compiledScriptCache = Context.getProcessEngineConfiguration()
+      .getScriptingEngines()
+      .getCompiledScriptCache();
+
+    if (compiledScriptCache != null) {
+      compiledScriptCache.removeScope(reference.getName());
+    }
+  }
+
   protected void createJobExecutorRegistrations(Set<String> deploymentIds) {
     try {
       Context.getCommandContext()
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -82,55 +83,52 @@ public class BpmnDeployer implements Deployer {
     List<ProcessDefinitionEntity> processDefinitions = new ArrayList<ProcessDefinitionEntity>();
     Map<String, ResourceEntity> resources = deployment.getResources();
 
+    List<String> bpmnResourceNames = new ArrayList<String>();
+    List<Callable<BpmnParse>> parseTasks = new ArrayList<Callable<BpmnParse>>();
     for (String resourceName : resources.keySet()) {
-      BpmnParse bpmnParse = null;
-
-      LOG.fine("Processing resource " + resourceName);
       if (isBpmnResource(resourceName)) {
-        ResourceEntity resource = resources.get(resourceName);
-        byte[] bytes = resource.getBytes();
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+        bpmnResourceNames.add(resourceName);
+        parseTasks.add(createParseTask(deployment, resources.get(resourceName)));
+      }
+    }
 
+    // parse the resources (concurrently if configured), the results are in the order of the resources
+    List<BpmnParse> bpmnParses = Context
+        .getProcessEngineConfiguration()
+        .getDeploymentParseExecutor()
+        .executeAll(parseTasks);
 
-        bpmnParse = bpmnParser
-          .createParse()
-          .sourceInputStream(inputStream)
-          .deployment(deployment)
-          .name(resourceName);
+    for (int i = 0; i < bpmnResourceNames.size(); i++) {
+      String resourceName = bpmnResourceNames.get(i);
+      BpmnParse bpmnParse = bpmnParses.get(i);
 
-        if (!deployment.isValidatingSchema()) {
-          bpmnParse.setSchemaResource(null);
-        }
-
-        bpmnParse.execute();
-
-        for (ProcessDefinitionEntity processDefinition: bpmnParse.getProcessDefinitions()) {
-          processDefinition.setResourceName(resourceName);
-
-          String diagramResourceName = getDiagramResourceForProcess(resourceName, processDefinition.getKey(), resources);
-
-          // Only generate the resource when deployment is new to prevent modification of deployment resources
-          // after the process-definition is actually deployed. Also to prevent resource-generation failure every
-          // time the process definition is added to the deployment-cache when diagram-generation has failed the first time.
-          if(deployment.isNew()) {
-            if (Context.getProcessEngineConfiguration().isCreateDiagramOnDeploy() &&
-                  diagramResourceName==null && processDefinition.isGraphicalNotationDefined()) {
-              try {
-                  byte[] diagramBytes = IoUtil.readInputStream(ProcessDiagramGenerator.generatePngDiagram(processDefinition), null);
-                  diagramResourceName = getProcessImageResourceName(resourceName, processDefinition.getKey(), "png");
-                  createResource(diagramResourceName, diagramBytes, deployment);
-              } catch (Throwable t) { // if anything goes wrong, we don't store the image (the process will still be executable).
-                LOG.log(Level.WARNING, "Error while generating process diagram, image will not be stored in repository", t);
-              }
+      LOG.fine("Processing resource " + resourceName);
+      for (ProcessDefinitionEntity processDefinition: bpmnParse.getProcessDefinitions()) {
+        processDefinition.setResourceName(resourceName);
+
+        String diagramResourceName = getDiagramResourceForProcess(resourceName, processDefinition.getKey(), resources);
+
+        // Only generate the resource when deployment is new to prevent modification of deployment resources
+        // after the process-definition is actually deployed. Also to prevent resource-generation failure every
+        // time the process definition is added to the deployment-cache when diagram-generation has failed the first time.
+        if(deployment.isNew()) {
+          if (Context.getProcessEngineConfiguration().isCreateDiagramOnDeploy() &&
+                diagramResourceName==null && processDefinition.isGraphicalNotationDefined()) {
+            try {
+                byte[] diagramBytes = IoUtil.readInputStream(ProcessDiagramGenerator.generatePngDiagram(processDefinition), null);
+                diagramResourceName = getProcessImageResourceName(resourceName, processDefinition.getKey(), "png");
+                createResource(diagramResourceName, diagramBytes, deployment);
+            } catch (Throwable t) { // if anything goes wrong, we don't store the image (the process will still be executable).
+              LOG.log(Level.WARNING, "Error while generating process diagram, image will not be stored in repository", t);
             }
           }
-
-          processDefinition.setDiagramResourceName(diagramResourceName);
-          processDefinitions.add(processDefinition);
         }
 
-        jobDeclarations.putAll(bpmnParse.getJobDeclarations());
+        processDefinition.setDiagramResourceName(diagramResourceName);
+        processDefinitions.add(processDefinition);
       }
+
+      jobDeclarations.putAll(bpmnParse.getJobDeclarations());
     }
 
     // check if there are process definitions with the same process key to prevent database unique index violation
@@ -160,6 +158,13 @@ public class BpmnDeployer implements Deployer {
 
         processDefinitionManager.insertProcessDefinition(processDefinition);
 
+        if (Context.getProcessEngineConfiguration().isHistoricActivityStatisticsCounterEnabled()) {
+          commandContext.getHistoricStatisticsManager().insertHistoricActivityStatisticsCounters(processDefinition);
+        }
+        if (Context.getProcessEngineConfiguration().isRuntimeStatisticsCounterEnabled()) {
+          commandContext.getStatisticsManager().insertRuntimeStatisticsCounters(processDefinition);
+        }
+
       } else {
 
         String deploymentId = deployment.getId();
@@ -168,6 +173,8 @@ public class BpmnDeployer implements Deployer {
         processDefinition.setId(persistedProcessDefinition.getId());
         processDefinition.setVersion(persistedProcessDefinition.getVersion());
         processDefinition.setSuspensionState(persistedProcessDefinition.getSuspensionState());
+        // the deployment may contain only the resource of the process definition (lazy definition loading)
+        processDefinition.setDiagramResourceName(persistedProcessDefinition.getDiagramResourceName());
 
         List<JobDeclaration<?>> declarations = jobDeclarations.get(processDefinition.getKey());
         updateJobDeclarations(declarations, processDefinition, deployment.isNew());
@@ -183,6 +190,26 @@ public class BpmnDeployer implements Deployer {
     }
   }
 
+  protected Callable<BpmnParse> createParseTask(final DeploymentEntity deployment, final ResourceEntity resource) {
+    return new Callable<BpmnParse>() {
+      public BpmnParse call() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(resource.getBytes());
+
+        BpmnParse bpmnParse = bpmnParser
+          .createParse()
+          .sourceInputStream(inputStream)
+          .deployment(deployment)
+          .name(resource.getName());
+
+        if (!deployment.isValidatingSchema()) {
+          bpmnParse.setSchemaResource(null);
+        }
+
+        return bpmnParse.execute();
+      }
+    };
+  }
+
   protected void updateJobDeclarations(List<JobDeclaration<?>> jobDeclarations, ProcessDefinitionEntity processDefinition, boolean isNewDeployment) {
 
     if(jobDeclarations == null || jobDeclarations.isEmpty()) {
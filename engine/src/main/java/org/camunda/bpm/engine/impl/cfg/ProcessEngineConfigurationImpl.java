@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -94,6 +95,7 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheckCache;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
@@ -104,11 +106,14 @@ import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
 import org.camunda.bpm.engine.impl.digest.ShaHashDigest;
 import org.camunda.bpm.engine.impl.el.CommandContextFunctionMapper;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctionMapper;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.ExpressionTreeCache;
 import org.camunda.bpm.engine.impl.event.CompensationEventHandler;
 import org.camunda.bpm.engine.impl.event.EventHandler;
 import org.camunda.bpm.engine.impl.event.MessageEventHandler;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -129,6 +134,7 @@ import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogAggregator;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -173,7 +179,10 @@ import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.CacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
@@ -210,8 +219,10 @@ import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptBindingsFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptEnvResolver;
@@ -311,6 +322,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  /** creates the caches of the deployment cache */
+  protected CacheFactory cacheFactory;
+
+  /**
+   * the maximum number of process definitions, case definitions and model instances held by the deployment cache each,
+   * with 0 (the default) the deployment cache is unbounded
+   */
+  protected int cacheCapacity = 0;
+
+  /**
+   * the number of threads parsing the BPMN and CMMN resources of a deployment,
+   * with 1 the resources are parsed sequentially by the deploying thread
+   */
+  protected int deploymentParseThreads = 1;
+  protected DeploymentParseExecutor deploymentParseExecutor;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -353,6 +380,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+
+  /** Maximum number of parsed expressions in the {@link #expressionTreeCache} of the default expression manager.
+   * A value of 0 keeps the default expression factory of JUEL and its cache. */
+  protected int expressionCacheSize = 1000;
+
+  /** Cache of parsed expressions shared by the BPMN parse, the CMMN transform and the runtime evaluation of expressions.
+   * A custom {@link #expressionManager} only uses the cache if it is set explicitly, which replaces its expression factory. */
+  protected ExpressionTreeCache expressionTreeCache;
+
+  /** If true, expressions which are evaluated at least {@link #expressionCompilationThreshold} times
+   * are compiled (see {@link ExpressionCompiler}). Default setting is false.
+   */
+  protected boolean isExpressionCompilationEnabled = false;
+
+  protected int expressionCompilationThreshold = 100;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
@@ -361,6 +403,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ScriptFactory scriptFactory;
   protected boolean autoStoreScriptVariables = false;
   protected boolean enableScriptCompilation = true;
+
+  /** Maximum number of compiled scripts in the {@link #compiledScriptCache}. A value of 0 disables the cache. */
+  protected int compiledScriptCacheSize = 500;
+
+  /** Cache of compiled scripts shared by script tasks, listeners, conditions and dynamic scripts. */
+  protected CompiledScriptCache compiledScriptCache;
+
+  /** Maximum number of idle script engines per language in the {@link #scriptEnginePool}.
+   * Only script engines which are not thread-safe are pooled. A value of 0 (the default) disables
+   * the pool, i.e. a new engine is created for each evaluation. Enable it only if the scripts do
+   * not rely on state of the engine beyond its bindings, since pooled engines are reused. */
+  protected int scriptEnginePoolSize = 0;
+
+  /** Pool of script engines which cannot be cached since they are not thread-safe. */
+  protected ScriptEnginePool scriptEnginePool;
   protected boolean cmmnEnabled = true;
 
   protected BusinessCalendarManager businessCalendarManager;
@@ -429,6 +486,47 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected ResourceAuthorizationProvider resourceAuthorizationProvider;
 
+  /** Time in milliseconds for which the results of authorization checks are cached engine-wide
+   * in the {@link #authorizationCheckCache}. A value of 0 disables the cache, so that the results
+   * are only cached per command. Default setting is 0. */
+  protected long authorizationCheckCacheTimeToLive = 0;
+
+  /** Maximum number of results in the {@link #authorizationCheckCache}. */
+  protected int authorizationCheckCacheSize = 1000;
+
+  protected AuthorizationCheckCache authorizationCheckCache;
+
+  /** If true the permissions granted and revoked by authorizations are maintained in the table
+   * ACT_RU_AUTH_INDEX (one row per permission) and authorization checks for a single permission
+   * read from it instead of masking the permissions of each authorization. The index has to be
+   * rebuilt with the RebuildAuthorizationIndexCmd when it is enabled for existing authorizations.
+   * Default setting is false.
+   */
+  protected boolean isAuthorizationIndexEnabled = false;
+
+  /** Time in milliseconds for which the result counts of filters are cached in the
+   * {@link #filterCountCache}. A value of 0 disables the cache, so that the filter queries
+   * are executed for each count. Default setting is 0.
+   */
+  protected long filterCountCacheTimeToLive = 0;
+
+  /** Maximum number of counts in the {@link #filterCountCache}. */
+  protected int filterCountCacheSize = 1000;
+
+  protected FilterCountCache filterCountCache;
+
+  /** Names of the variables whose values are maintained in the table ACT_RU_VAR_INDEX, so that
+   * task and process instance queries which compare them for equality can read the indexed lookup
+   * table instead of the variable table. Queries only use the index after it has been rebuilt with
+   * {@link ManagementService#rebuildVariableIndex()} for the configured names, since variables which
+   * existed before their name was indexed are missing from it. All process engines on the same
+   * database must index the same names. Default setting is no indexed variables.
+   */
+  protected Set<String> indexedVariableNames = new HashSet<String>();
+
+  /** Fingerprint of the variable names of the last rebuild of the variable index, <code>null</code> if not read yet. */
+  protected volatile String variableIndexFingerprint;
+
   protected List<ProcessEnginePlugin> processEnginePlugins = new ArrayList<ProcessEnginePlugin>();
 
   protected HistoryEventProducer historyEventProducer;
@@ -449,6 +547,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /** If true the historic activity statistics are maintained incrementally in the table
+   * ACT_HI_ACT_STATS and the historic activity statistics query reads from it instead of
+   * aggregating the historic activity instances. Default setting is false.
+   */
+  protected boolean isHistoricActivityStatisticsCounterEnabled = false;
+
+  /** If true the process definition, activity and deployment statistics are maintained
+   * incrementally in the table ACT_RU_STATS and the statistics queries read from it instead
+   * of aggregating executions, jobs and incidents. Default setting is false.
+   */
+  protected boolean isRuntimeStatisticsCounterEnabled = false;
+
+  /** If true, byte arrays (e.g. serialized variable values and their history) which are
+   * larger than {@link #byteArrayCompressionThreshold} bytes are compressed in the database.
+   * Compressed byte arrays are always readable, regardless of this setting. Default setting is false.
+   */
+  protected boolean isByteArrayCompressionEnabled = false;
+
+  protected int byteArrayCompressionThreshold = 1024;
+
+  /** If true, a process or case definition which is not in the deployment cache is loaded by parsing
+   * only the resource which contains it instead of all resources of its deployment. Definitions are
+   * then parsed on first use, e.g. after an engine restart only the definitions which are actually used
+   * by running instances, timers or message correlations are parsed. Default setting is false.
+   */
+  protected boolean isLazyDefinitionLoadingEnabled = false;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -469,8 +594,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /** Controls whether the executions of MyBatis statements are recorded by the metrics registry
+   * when the engine starts, see {@link MetricsRegistry#setStatementMetricsEnabled(boolean)}. */
+  protected boolean isStatementMetricsEnabled = false;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
+  /** Controls which logs of created and successful jobs are written, see
+   * {@link #HISTORIC_JOB_LOG_MODE_FULL}, {@link #HISTORIC_JOB_LOG_MODE_SAMPLED} and
+   * {@link #HISTORIC_JOB_LOG_MODE_AGGREGATED}. Failed jobs are always logged.
+   */
+  protected String historicJobLogMode = HISTORIC_JOB_LOG_MODE_FULL;
+
+  /** In sampled historic job log mode, created and successful jobs are logged for one out of this number of jobs. */
+  protected int historicJobLogSamplingRate = 10;
+
+  /** In aggregated historic job log mode, the interval in which the counts of created and successful jobs are written. */
+  protected long historicJobLogAggregationIntervalInSeconds = 60 * 15;
+
+  protected HistoricJobLogAggregator historicJobLogAggregator;
+
   // buildProcessEngine ///////////////////////////////////////////////////////
 
   public ProcessEngine buildProcessEngine() {
@@ -503,6 +646,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initServices();
     initIdGenerator();
     initDeployers();
+    initDeploymentParseExecutor();
     initJobProvider();
     initJobExecutor();
     initDataSource();
@@ -522,7 +666,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPasswordDigest();
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
+    initAuthorizationCheckCache();
+    initFilterCountCache();
     initMetrics();
+    initHistoricJobLogAggregator();
 
     invokePostInit();
   }
@@ -972,11 +1119,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         deployers.addAll(customPostDeployers);
       }
 
-      deploymentCache = new DeploymentCache();
+      if (cacheFactory == null) {
+        cacheFactory = new DefaultCacheFactory();
+      }
+
+      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
       deploymentCache.setDeployers(deployers);
     }
   }
 
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null) {
+      deploymentParseExecutor = new DeploymentParseExecutor(deploymentParseThreads);
+    }
+  }
+
   protected Collection< ? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<Deployer>();
 
@@ -1236,12 +1393,43 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       initDefaultMetrics(metricsRegistry);
 
+      if (deploymentCache != null) {
+        deploymentCache.registerMetrics(metricsRegistry);
+      }
+
+      metricsRegistry.setStatementMetricsEnabled(isStatementMetricsEnabled);
+      if (dbSqlSessionFactory != null) {
+        dbSqlSessionFactory.setMetricsRegistry(metricsRegistry);
+      }
+
       if(dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
     }
   }
 
+  // historic job log ////////////////////////////////////////////////////////
+
+  protected void initHistoricJobLogAggregator() {
+    if (HISTORIC_JOB_LOG_MODE_AGGREGATED.equals(historicJobLogMode)) {
+      if (historicJobLogAggregationIntervalInSeconds < 1) {
+        throw new ProcessEngineException("invalid historic job log aggregation interval: " + historicJobLogAggregationIntervalInSeconds);
+      }
+      if (historicJobLogAggregator == null) {
+        historicJobLogAggregator = new HistoricJobLogAggregator(commandExecutorTxRequired);
+        historicJobLogAggregator.setAggregationIntervalInSeconds(historicJobLogAggregationIntervalInSeconds);
+      }
+    }
+    else if (HISTORIC_JOB_LOG_MODE_SAMPLED.equals(historicJobLogMode)) {
+      if (historicJobLogSamplingRate < 1) {
+        throw new ProcessEngineException("invalid historic job log sampling rate: " + historicJobLogSamplingRate);
+      }
+    }
+    else if (!HISTORIC_JOB_LOG_MODE_FULL.equals(historicJobLogMode)) {
+      throw new ProcessEngineException("invalid historic job log mode: " + historicJobLogMode);
+    }
+  }
+
   protected void initDefaultMetrics(MetricsRegistry metricsRegistry) {
     metricsRegistry.createMeter(Metrics.ACTIVTY_INSTANCE_START);
 
@@ -1251,6 +1439,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
     metricsRegistry.createMeter(Metrics.JOB_FAILED);
     metricsRegistry.createMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
+
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_HIT);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_MISS);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_EVICTION);
   }
 
   protected void initSerialization() {
@@ -1345,6 +1537,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines==null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
     }
+    if (compiledScriptCache == null && compiledScriptCacheSize > 0) {
+      compiledScriptCache = new CompiledScriptCache(compiledScriptCacheSize);
+    }
+    scriptingEngines.setCompiledScriptCache(compiledScriptCache);
+    if (scriptEnginePool == null && scriptEnginePoolSize > 0) {
+      scriptEnginePool = new ScriptEnginePool(scriptEnginePoolSize);
+    }
+    scriptingEngines.setScriptEnginePool(scriptEnginePool);
     if(scriptFactory == null) {
       scriptFactory = new ScriptFactory();
     }
@@ -1359,6 +1559,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected void initExpressionManager() {
     if (expressionManager==null) {
       expressionManager = new ExpressionManager(beans);
+
+      if (expressionTreeCache == null && expressionCacheSize > 0) {
+        expressionTreeCache = new ExpressionTreeCache(expressionCacheSize);
+      }
+      if (expressionTreeCache != null) {
+        expressionManager.setTreeCache(expressionTreeCache);
+      }
+    }
+    else if (expressionTreeCache != null) {
+      // replaces the expression factory of the custom expression manager
+      expressionManager.setTreeCache(expressionTreeCache);
+    }
+
+    if (isExpressionCompilationEnabled) {
+      expressionManager.setExpressionCompiler(new ExpressionCompiler(expressionCompilationThreshold));
     }
 
     // add function mapper for command context (eg currentUser(), currentUserGroups())
@@ -1496,6 +1711,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initAuthorizationCheckCache() {
+    if (authorizationCheckCache == null && authorizationCheckCacheTimeToLive > 0) {
+      authorizationCheckCache = new AuthorizationCheckCache(authorizationCheckCacheSize, authorizationCheckCacheTimeToLive);
+    }
+  }
+  protected void initFilterCountCache() {
+    if (filterCountCache == null && filterCountCacheTimeToLive > 0) {
+      filterCountCache = new FilterCountCache(filterCountCacheSize, filterCountCacheTimeToLive);
+    }
+  }
+
+
   // getters and setters //////////////////////////////////////////////////////
 
   public String getProcessEngineName() {
@@ -1768,6 +1995,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getExpressionCacheSize() {
+    return expressionCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCacheSize(int expressionCacheSize) {
+    this.expressionCacheSize = expressionCacheSize;
+    return this;
+  }
+
+  public ExpressionTreeCache getExpressionTreeCache() {
+    return expressionTreeCache;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionTreeCache(ExpressionTreeCache expressionTreeCache) {
+    this.expressionTreeCache = expressionTreeCache;
+    return this;
+  }
+
+  public boolean isExpressionCompilationEnabled() {
+    return isExpressionCompilationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationEnabled(boolean isExpressionCompilationEnabled) {
+    this.isExpressionCompilationEnabled = isExpressionCompilationEnabled;
+    return this;
+  }
+
+  public int getExpressionCompilationThreshold() {
+    return expressionCompilationThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+    this.expressionCompilationThreshold = expressionCompilationThreshold;
+    return this;
+  }
+
   public BusinessCalendarManager getBusinessCalendarManager() {
     return businessCalendarManager;
   }
@@ -2200,6 +2463,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.deploymentCache = deploymentCache;
   }
 
+  public CacheFactory getCacheFactory() {
+    return cacheFactory;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheFactory(CacheFactory cacheFactory) {
+    this.cacheFactory = cacheFactory;
+    return this;
+  }
+
+  public int getCacheCapacity() {
+    return cacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheCapacity(int cacheCapacity) {
+    this.cacheCapacity = cacheCapacity;
+    return this;
+  }
+
+  public int getDeploymentParseThreads() {
+    return deploymentParseThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseThreads(int deploymentParseThreads) {
+    this.deploymentParseThreads = deploymentParseThreads;
+    return this;
+  }
+
+  public DeploymentParseExecutor getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(DeploymentParseExecutor deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDelegateInterceptor(DelegateInterceptor delegateInterceptor) {
     this.delegateInterceptor = delegateInterceptor;
     return this;
@@ -2387,6 +2686,94 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.resourceAuthorizationProvider = resourceAuthorizationProvider;
   }
 
+  public long getAuthorizationCheckCacheTimeToLive() {
+    return authorizationCheckCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCacheTimeToLive(long authorizationCheckCacheTimeToLive) {
+    this.authorizationCheckCacheTimeToLive = authorizationCheckCacheTimeToLive;
+    return this;
+  }
+
+  public int getAuthorizationCheckCacheSize() {
+    return authorizationCheckCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCacheSize(int authorizationCheckCacheSize) {
+    this.authorizationCheckCacheSize = authorizationCheckCacheSize;
+    return this;
+  }
+
+  public AuthorizationCheckCache getAuthorizationCheckCache() {
+    return authorizationCheckCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCache(AuthorizationCheckCache authorizationCheckCache) {
+    this.authorizationCheckCache = authorizationCheckCache;
+    return this;
+  }
+
+  public boolean isAuthorizationIndexEnabled() {
+    return isAuthorizationIndexEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationIndexEnabled(boolean isAuthorizationIndexEnabled) {
+    this.isAuthorizationIndexEnabled = isAuthorizationIndexEnabled;
+    return this;
+  }
+
+  public Set<String> getIndexedVariableNames() {
+    return indexedVariableNames;
+  }
+
+  public ProcessEngineConfigurationImpl setIndexedVariableNames(Set<String> indexedVariableNames) {
+    this.indexedVariableNames = indexedVariableNames;
+    return this;
+  }
+
+  public boolean isIndexedVariable(String variableName) {
+    return indexedVariableNames != null && indexedVariableNames.contains(variableName);
+  }
+
+  public boolean isVariableIndexEnabled() {
+    return indexedVariableNames != null && !indexedVariableNames.isEmpty();
+  }
+
+  public String getVariableIndexFingerprint() {
+    return variableIndexFingerprint;
+  }
+
+  public void setVariableIndexFingerprint(String variableIndexFingerprint) {
+    this.variableIndexFingerprint = variableIndexFingerprint;
+  }
+
+  public long getFilterCountCacheTimeToLive() {
+    return filterCountCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheTimeToLive(long filterCountCacheTimeToLive) {
+    this.filterCountCacheTimeToLive = filterCountCacheTimeToLive;
+    return this;
+  }
+
+  public int getFilterCountCacheSize() {
+    return filterCountCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheSize(int filterCountCacheSize) {
+    this.filterCountCacheSize = filterCountCacheSize;
+    return this;
+  }
+
+  public FilterCountCache getFilterCountCache() {
+    return filterCountCache;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCache(FilterCountCache filterCountCache) {
+    this.filterCountCache = filterCountCache;
+    return this;
+  }
+
   public List<ProcessEnginePlugin> getProcessEnginePlugins() {
     return processEnginePlugins;
   }
@@ -2472,6 +2859,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableScriptCompilation;
   }
 
+  public int getCompiledScriptCacheSize() {
+    return compiledScriptCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheSize(int compiledScriptCacheSize) {
+    this.compiledScriptCacheSize = compiledScriptCacheSize;
+    return this;
+  }
+
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+    return this;
+  }
+
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
+  public ScriptEnginePool getScriptEnginePool() {
+    return scriptEnginePool;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePool(ScriptEnginePool scriptEnginePool) {
+    this.scriptEnginePool = scriptEnginePool;
+    return this;
+  }
+
   /**
    * @return true if the process engine acquires an exclusive lock when creating a deployment.
    */
@@ -2560,6 +2983,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isHistoricActivityStatisticsCounterEnabled() {
+    return isHistoricActivityStatisticsCounterEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricActivityStatisticsCounterEnabled(boolean isHistoricActivityStatisticsCounterEnabled) {
+    this.isHistoricActivityStatisticsCounterEnabled = isHistoricActivityStatisticsCounterEnabled;
+    return this;
+  }
+
+  public boolean isRuntimeStatisticsCounterEnabled() {
+    return isRuntimeStatisticsCounterEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setRuntimeStatisticsCounterEnabled(boolean isRuntimeStatisticsCounterEnabled) {
+    this.isRuntimeStatisticsCounterEnabled = isRuntimeStatisticsCounterEnabled;
+    return this;
+  }
+
+  public boolean isByteArrayCompressionEnabled() {
+    return isByteArrayCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionEnabled(boolean isByteArrayCompressionEnabled) {
+    this.isByteArrayCompressionEnabled = isByteArrayCompressionEnabled;
+    return this;
+  }
+
+  public int getByteArrayCompressionThreshold() {
+    return byteArrayCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+    this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+    return this;
+  }
+
+  public boolean isLazyDefinitionLoadingEnabled() {
+    return isLazyDefinitionLoadingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLazyDefinitionLoadingEnabled(boolean isLazyDefinitionLoadingEnabled) {
+    this.isLazyDefinitionLoadingEnabled = isLazyDefinitionLoadingEnabled;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -2588,6 +3056,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (deploymentParseExecutor != null) {
+      deploymentParseExecutor.shutdown();
+    }
     if (dataSource instanceof PooledDataSource) {
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
       ((PooledDataSource)dataSource).forceCloseAll();
@@ -2612,6 +3083,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  public boolean isStatementMetricsEnabled() {
+    return isStatementMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setStatementMetricsEnabled(boolean isStatementMetricsEnabled) {
+    this.isStatementMetricsEnabled = isStatementMetricsEnabled;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
@@ -2621,6 +3101,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public String getHistoricJobLogMode() {
+    return historicJobLogMode;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogMode(String historicJobLogMode) {
+    this.historicJobLogMode = historicJobLogMode;
+    return this;
+  }
+
+  public int getHistoricJobLogSamplingRate() {
+    return historicJobLogSamplingRate;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogSamplingRate(int historicJobLogSamplingRate) {
+    this.historicJobLogSamplingRate = historicJobLogSamplingRate;
+    return this;
+  }
+
+  public long getHistoricJobLogAggregationIntervalInSeconds() {
+    return historicJobLogAggregationIntervalInSeconds;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogAggregationIntervalInSeconds(long historicJobLogAggregationIntervalInSeconds) {
+    this.historicJobLogAggregationIntervalInSeconds = historicJobLogAggregationIntervalInSeconds;
+    return this;
+  }
+
+  public HistoricJobLogAggregator getHistoricJobLogAggregator() {
+    return historicJobLogAggregator;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricJobLogAggregator(HistoricJobLogAggregator historicJobLogAggregator) {
+    this.historicJobLogAggregator = historicJobLogAggregator;
+    return this;
+  }
+
   public boolean isDbMetricsReporterActivate() {
     return isDbMetricsReporterActivate;
   }
@@ -41,6 +41,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessApplicationDeploymentImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceHash;
 import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -139,17 +140,18 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
 
     if (deploymentBuilder.isDuplicateFilterEnabled()) {
 
-      Map<String, ResourceEntity> existingResources = commandContext
+      // compare content hashes instead of loading the bytes of the existing resources
+      Map<String, ResourceHash> existingResources = commandContext
           .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet());
+          .findLatestResourceHashesByDeploymentName(deployment.getName(), containedResources.keySet());
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
-        ResourceEntity existingResource = existingResources.get(resourceName);
+        ResourceHash existingResource = existingResources.get(resourceName);
 
         if (existingResource == null
             || existingResource.isGenerated()
-            || resourcesDiffer(deployedResource, existingResource)) {
+            || resourcesDiffer(commandContext, deployedResource, existingResource)) {
           // resource should be deployed
 
           if (deploymentBuilder.isDeployChangedOnly()) {
@@ -169,6 +171,20 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
     return resourcesToDeploy;
   }
 
+  protected boolean resourcesDiffer(CommandContext commandContext, ResourceEntity resource, ResourceHash existing) {
+    String existingHash = existing.getHash();
+    if (existingHash != null) {
+      return !existingHash.equals(resource.getHash());
+    }
+
+    // resource was deployed before content hashes were stored
+    ResourceEntity existingResource = commandContext
+        .getResourceManager()
+        .findResourceByDeploymentIdAndResourceId(existing.getDeploymentId(), existing.getId());
+
+    return existingResource == null || resourcesDiffer(resource, existingResource);
+  }
+
   protected boolean resourcesDiffer(ResourceEntity resource, ResourceEntity existing) {
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
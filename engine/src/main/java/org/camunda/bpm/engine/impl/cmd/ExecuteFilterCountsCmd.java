@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Executes the queries of several filters and returns their result counts in one
+ * command, so that the filters share the transaction and the authorization check
+ * results of the command. If a {@link FilterCountCache} is configured, cached counts
+ * are returned instead of executing the filter queries.
+ */
+public class ExecuteFilterCountsCmd implements Command<Map<String, Long>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> filterIds;
+
+  public ExecuteFilterCountsCmd(List<String> filterIds) {
+    this.filterIds = filterIds;
+  }
+
+  public Map<String, Long> execute(CommandContext commandContext) {
+    ensureNotNull("filterIds", filterIds);
+    ensureNotContainsNull("filterIds", filterIds);
+
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    String userId = commandContext.getAuthenticatedUserId();
+    List<String> groupIds = commandContext.getAuthenticatedGroupIds();
+
+    Map<String, Long> counts = new LinkedHashMap<String, Long>();
+    for (String filterId : filterIds) {
+      Filter filter = commandContext
+        .getFilterManager()
+        .findFilterById(filterId);
+
+      ensureNotNull("No filter found for id '" + filterId + "'", "filter", filter);
+
+      Long count = null;
+      if (filterCountCache != null) {
+        count = filterCountCache.get(filterId, userId, groupIds);
+      }
+
+      if (count == null) {
+        count = filter.getQuery().count();
+        if (filterCountCache != null) {
+          filterCountCache.put(filterId, userId, groupIds, count);
+        }
+      }
+
+      counts.put(filterId, count);
+    }
+
+    return counts;
+  }
+
+}
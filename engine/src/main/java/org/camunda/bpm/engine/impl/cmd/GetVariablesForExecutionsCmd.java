@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Gets the variables which are visible from several executions with one
+ * statement for the executions and one for their variables.
+ */
+public class GetVariablesForExecutionsCmd implements Command<Map<String, VariableMap>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected Collection<String> executionIds;
+  protected Collection<String> variableNames;
+  protected boolean deserializeValues;
+
+  public GetVariablesForExecutionsCmd(Collection<String> executionIds, Collection<String> variableNames, boolean deserializeValues) {
+    this.executionIds = executionIds;
+    this.variableNames = variableNames;
+    this.deserializeValues = deserializeValues;
+  }
+
+  public Map<String, VariableMap> execute(CommandContext commandContext) {
+    ensureNotNull("executionIds", executionIds);
+    ensureNotNull("variableNames", variableNames);
+
+    List<String> ids = new ArrayList<String>(new LinkedHashSet<String>(executionIds));
+    List<ExecutionEntity> executions = commandContext
+      .getExecutionManager()
+      .findExecutionsByIds(ids);
+
+    Map<String, ExecutionEntity> executionsById = new HashMap<String, ExecutionEntity>();
+    for (ExecutionEntity execution : executions) {
+      executionsById.put(execution.getId(), execution);
+    }
+
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+    Set<String> checkedProcessInstanceIds = new HashSet<String>();
+    for (String executionId : ids) {
+      ExecutionEntity execution = executionsById.get(executionId);
+      ensureNotNull("execution " + executionId + " doesn't exist", "execution", execution);
+
+      // the permissions are granted per process instance
+      if (checkedProcessInstanceIds.add(execution.getProcessInstanceId())) {
+        authorizationManager.checkReadProcessInstance(execution);
+      }
+    }
+
+    Map<String, VariableMap> variables = commandContext
+      .getVariableInstanceManager()
+      .findVariablesVisibleFromExecutions(executions, variableNames, deserializeValues);
+
+    // return the variables in the order of the given ids
+    Map<String, VariableMap> result = new LinkedHashMap<String, VariableMap>();
+    for (String executionId : ids) {
+      result.put(executionId, variables.get(executionId));
+    }
+    return result;
+  }
+
+}
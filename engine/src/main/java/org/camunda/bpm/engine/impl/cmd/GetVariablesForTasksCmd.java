@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Gets the variables which are visible from several tasks with one
+ * statement for the tasks and one for their variables.
+ */
+public class GetVariablesForTasksCmd implements Command<Map<String, VariableMap>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected Collection<String> taskIds;
+  protected Collection<String> variableNames;
+  protected boolean deserializeValues;
+
+  public GetVariablesForTasksCmd(Collection<String> taskIds, Collection<String> variableNames, boolean deserializeValues) {
+    this.taskIds = taskIds;
+    this.variableNames = variableNames;
+    this.deserializeValues = deserializeValues;
+  }
+
+  public Map<String, VariableMap> execute(CommandContext commandContext) {
+    ensureNotNull("taskIds", taskIds);
+    ensureNotNull("variableNames", variableNames);
+
+    List<String> ids = new ArrayList<String>(new LinkedHashSet<String>(taskIds));
+    List<TaskEntity> tasks = commandContext
+      .getTaskManager()
+      .findTasksByIds(ids);
+
+    Map<String, TaskEntity> tasksById = new HashMap<String, TaskEntity>();
+    for (TaskEntity task : tasks) {
+      tasksById.put(task.getId(), task);
+    }
+    for (String taskId : ids) {
+      ensureNotNull("task " + taskId + " doesn't exist", "task", tasksById.get(taskId));
+    }
+
+    if (commandContext.getProcessEngineConfiguration().isAuthorizationEnabled()) {
+      // the checks need the executions of the tasks, load them at once
+      Set<String> executionIds = new LinkedHashSet<String>();
+      for (TaskEntity task : tasks) {
+        if (task.getExecutionId() != null) {
+          executionIds.add(task.getExecutionId());
+        }
+      }
+      commandContext.getExecutionManager().findExecutionsByIds(new ArrayList<String>(executionIds));
+
+      AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+      for (TaskEntity task : tasks) {
+        authorizationManager.checkReadTask(task);
+      }
+    }
+
+    Map<String, VariableMap> variables = commandContext
+      .getVariableInstanceManager()
+      .findVariablesVisibleFromTasks(tasks, variableNames, deserializeValues);
+
+    // return the variables in the order of the given ids
+    Map<String, VariableMap> result = new LinkedHashMap<String, VariableMap>();
+    for (String taskId : ids) {
+      result.put(taskId, variables.get(taskId));
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+
+/**
+ * Recalculates the historic activity statistics counters (table ACT_HI_ACT_STATS)
+ * from the historic activity instances. Must be executed once for existing process
+ * definitions after the counters have been enabled.
+ *
+ * If no process definition id is given, the counters of all process definitions
+ * are rebuilt.
+ */
+public class RebuildHistoricActivityStatisticsCmd implements Command<Void> {
+
+  protected String processDefinitionId;
+
+  public RebuildHistoricActivityStatisticsCmd() {
+  }
+
+  public RebuildHistoricActivityStatisticsCmd(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().isCamundaAdmin();
+
+    HistoricStatisticsManager historicStatisticsManager = commandContext.getHistoricStatisticsManager();
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+
+    List<String> processDefinitionIds;
+    if (processDefinitionId != null) {
+      processDefinitionIds = Collections.singletonList(processDefinitionId);
+    } else {
+      processDefinitionIds = historicStatisticsManager.findProcessDefinitionIdsForHistoricActivityStatistics();
+    }
+
+    for (String id : processDefinitionIds) {
+      ProcessDefinitionEntity processDefinition = deploymentCache.findDeployedProcessDefinitionById(id);
+      historicStatisticsManager.rebuildHistoricActivityStatisticsCounters(processDefinition);
+    }
+
+    return null;
+  }
+
+}
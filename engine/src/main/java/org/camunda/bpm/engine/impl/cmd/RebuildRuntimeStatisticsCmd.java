@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
+
+/**
+ * Recalculates the runtime statistics counters (table ACT_RU_STATS) from the
+ * executions, jobs and incidents. Must be executed once for existing process
+ * definitions after the counters have been enabled.
+ *
+ * If no process definition id is given, the counters of all process definitions
+ * are rebuilt.
+ */
+public class RebuildRuntimeStatisticsCmd implements Command<Void> {
+
+  protected String processDefinitionId;
+
+  public RebuildRuntimeStatisticsCmd() {
+  }
+
+  public RebuildRuntimeStatisticsCmd(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().isCamundaAdmin();
+
+    StatisticsManager statisticsManager = commandContext.getStatisticsManager();
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+
+    List<String> processDefinitionIds;
+    if (processDefinitionId != null) {
+      processDefinitionIds = Collections.singletonList(processDefinitionId);
+    } else {
+      processDefinitionIds = statisticsManager.findProcessDefinitionIdsForRuntimeStatistics();
+    }
+
+    List<ProcessDefinitionEntity> processDefinitions = new ArrayList<ProcessDefinitionEntity>();
+    for (String id : processDefinitionIds) {
+      processDefinitions.add(deploymentCache.findDeployedProcessDefinitionById(id));
+    }
+    statisticsManager.rebuildRuntimeStatisticsCounters(processDefinitions);
+
+    return null;
+  }
+
+}
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Recreates the variable index (table ACT_RU_VAR_INDEX) from the variables
+ * with an indexed name. Queries only use the index after it was rebuilt for
+ * the configured names. All index rows are inserted in a single transaction
+ * and held in memory until it is flushed.
+ */
+public class RebuildVariableIndexCmd implements Command<Void> {
+
+  public Void execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().isCamundaAdmin();
+
+    commandContext.getVariableInstanceManager().rebuildVariableIndex();
+    return null;
+  }
+
+}
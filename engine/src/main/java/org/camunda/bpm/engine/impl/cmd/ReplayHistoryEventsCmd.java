@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Writes previously recorded history events to the history tables.
+ * The events are always passed to a {@link DbHistoryEventHandler},
+ * regardless of the configured history event handler.
+ */
+public class ReplayHistoryEventsCmd implements Command<Void> {
+
+  protected List<HistoryEvent> historyEvents;
+
+  public ReplayHistoryEventsCmd(List<HistoryEvent> historyEvents) {
+    this.historyEvents = historyEvents;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ensureNotNull("historyEvents", historyEvents);
+
+    new DbHistoryEventHandler().handleEvents(historyEvents);
+
+    return null;
+  }
+
+}
@@ -42,6 +42,10 @@ public class SaveTaskCmd implements Command<Void>, Serializable {
 	public Void execute(CommandContext commandContext) {
     ensureNotNull("task", task);
 
+    if (task.isPartial()) {
+      throw new NotValidException("Cannot save task '" + task.getId() + "': it was loaded by a task query which selected a subset of its fields");
+    }
+
     AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
     String operation;
 
@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.ServiceImpl;
 import org.camunda.bpm.engine.impl.cmmn.cmd.GetCaseExecutionVariableCmd;
 import org.camunda.bpm.engine.impl.cmmn.cmd.GetCaseExecutionVariableTypedCmd;
 import org.camunda.bpm.engine.impl.cmmn.cmd.GetCaseExecutionVariablesCmd;
+import org.camunda.bpm.engine.impl.cmmn.cmd.GetVariablesForCaseExecutionsCmd;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseInstanceQueryImpl;
 import org.camunda.bpm.engine.runtime.CaseExecutionCommandBuilder;
@@ -100,6 +101,22 @@ public class CaseServiceImpl extends ServiceImpl implements CaseService {
     return getCaseExecutionVariables(caseExecutionId, variableNames, true, deserializeValues);
   }
 
+  public Map<String, VariableMap> getVariablesForCaseExecutions(Collection<String> caseExecutionIds, Collection<String> variableNames) {
+    return getVariablesForCaseExecutions(caseExecutionIds, variableNames, true);
+  }
+
+  public Map<String, VariableMap> getVariablesForCaseExecutions(Collection<String> caseExecutionIds, Collection<String> variableNames, boolean deserializeValues) {
+    try {
+      return commandExecutor.execute(new GetVariablesForCaseExecutionsCmd(caseExecutionIds, variableNames, deserializeValues));
+    }
+    catch (NullValueException e) {
+      throw new NotValidException(e.getMessage(), e);
+    }
+    catch (CaseExecutionNotFoundException e) {
+      throw new NotFoundException(e.getMessage(), e);
+    }
+  }
+
   protected VariableMap getCaseExecutionVariables(String caseExecutionId, Collection<String> variableNames, boolean isLocal, boolean deserializeValues) {
     try {
       return commandExecutor.execute(new GetCaseExecutionVariablesCmd(caseExecutionId, variableNames, isLocal, deserializeValues));
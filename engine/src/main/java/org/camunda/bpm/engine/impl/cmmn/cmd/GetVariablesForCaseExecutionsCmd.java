@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmmn.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.exception.cmmn.CaseExecutionNotFoundException;
+import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Gets the variables which are visible from several case executions with one
+ * statement for the case executions and one for their variables.
+ */
+public class GetVariablesForCaseExecutionsCmd implements Command<Map<String, VariableMap>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected Collection<String> caseExecutionIds;
+  protected Collection<String> variableNames;
+  protected boolean deserializeValues;
+
+  public GetVariablesForCaseExecutionsCmd(Collection<String> caseExecutionIds, Collection<String> variableNames, boolean deserializeValues) {
+    this.caseExecutionIds = caseExecutionIds;
+    this.variableNames = variableNames;
+    this.deserializeValues = deserializeValues;
+  }
+
+  public Map<String, VariableMap> execute(CommandContext commandContext) {
+    ensureNotNull("caseExecutionIds", caseExecutionIds);
+    ensureNotNull("variableNames", variableNames);
+
+    List<String> ids = new ArrayList<String>(new LinkedHashSet<String>(caseExecutionIds));
+    List<CaseExecutionEntity> caseExecutions = commandContext
+      .getCaseExecutionManager()
+      .findCaseExecutionsByIds(ids);
+
+    Map<String, CaseExecutionEntity> caseExecutionsById = new HashMap<String, CaseExecutionEntity>();
+    for (CaseExecutionEntity caseExecution : caseExecutions) {
+      caseExecutionsById.put(caseExecution.getId(), caseExecution);
+    }
+    for (String caseExecutionId : ids) {
+      ensureNotNull(CaseExecutionNotFoundException.class, "case execution " + caseExecutionId + " doesn't exist", "caseExecution", caseExecutionsById.get(caseExecutionId));
+    }
+
+    Map<String, VariableMap> variables = commandContext
+      .getVariableInstanceManager()
+      .findVariablesVisibleFromCaseExecutions(caseExecutions, variableNames, deserializeValues);
+
+    // return the variables in the order of the given ids
+    Map<String, VariableMap> result = new LinkedHashMap<String, VariableMap>();
+    for (String caseExecutionId : ids) {
+      result.put(caseExecutionId, variables.get(caseExecutionId));
+    }
+    return result;
+  }
+
+}
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -53,16 +54,26 @@ public class CmmnDeployer implements Deployer {
     Map<String, ResourceEntity> resources = deployment.getResources();
 
     // iterates the list of resources
+    List<Callable<List<CaseDefinitionEntity>>> transformTasks = new ArrayList<Callable<List<CaseDefinitionEntity>>>();
     for (ResourceEntity resource : resources.values()) {
 
       // if the current resource is a cmmn resource
       // then start to transform the resource
       if (isCmmnResource(resource)) {
-        List<CaseDefinitionEntity> result = transformResource(deployment, resource);
-        caseDefinitions.addAll(result);
+        transformTasks.add(createTransformTask(deployment, resource));
       }
     }
 
+    // transform the resources (concurrently if configured), the results are in the order of the resources
+    List<List<CaseDefinitionEntity>> results = Context
+        .getProcessEngineConfiguration()
+        .getDeploymentParseExecutor()
+        .executeAll(transformTasks);
+
+    for (List<CaseDefinitionEntity> result : results) {
+      caseDefinitions.addAll(result);
+    }
+
     // check if there are case definitions with the same
     // key to prevent database unique index violation
     List<String> keys = new ArrayList<String>();
@@ -100,6 +111,14 @@ public class CmmnDeployer implements Deployer {
     return false;
   }
 
+  protected Callable<List<CaseDefinitionEntity>> createTransformTask(final DeploymentEntity deployment, final ResourceEntity resource) {
+    return new Callable<List<CaseDefinitionEntity>>() {
+      public List<CaseDefinitionEntity> call() {
+        return transformResource(deployment, resource);
+      }
+    };
+  }
+
   protected List<CaseDefinitionEntity> transformResource(DeploymentEntity deployment, ResourceEntity resource) {
 
     List<CaseDefinitionEntity> caseDefinitions = transformer
@@ -212,6 +231,9 @@ public class CmmnDeployer implements Deployer {
       int version = persistedCaseDefinition.getVersion();
       caseDefinition.setVersion(version);
 
+      // the deployment may contain only the resource of the case definition (lazy definition loading)
+      caseDefinition.setDiagramResourceName(persistedCaseDefinition.getDiagramResourceName());
+
       // Add to cache
       addCaseDefinitionToDeploymentCache(caseDefinition);
 
@@ -84,6 +84,10 @@ public class CaseExecutionManager extends AbstractManager {
     return getDbEntityManager().selectById(CaseExecutionEntity.class, caseExecutionId);
   }
 
+  public List<CaseExecutionEntity> findCaseExecutionsByIds(List<String> caseExecutionIds) {
+    return selectListByIds("selectCaseExecutionsByIds", caseExecutionIds);
+  }
+
   public CaseExecutionEntity findSubCaseInstanceBySuperCaseExecutionId(String superCaseExecutionId) {
     return (CaseExecutionEntity) getDbEntityManager().selectOne("selectSubCaseInstanceBySuperCaseExecutionId", superCaseExecutionId);
   }
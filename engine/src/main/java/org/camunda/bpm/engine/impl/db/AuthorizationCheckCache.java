@@ -0,0 +1,281 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Engine-wide cache of authorization check results. A result is cached for
+ * a short time to live since authorizations may be changed by other process
+ * engines of a cluster.</p>
+ *
+ * <p>When an authorization is changed by this process engine, the results of
+ * the checks which it may affect are removed, see {@link #invalidate(Invalidation)}.
+ * Results of checks which were started before the last invalidation are not
+ * cached, see {@link #getGeneration()}.</p>
+ *
+ * @see #createKey(String, List, List)
+ */
+public class AuthorizationCheckCache {
+
+  protected final int capacity;
+  protected final long timeToLive;
+  protected final Map<String, CachedResult> cache;
+
+  protected final AtomicLong generation = new AtomicLong();
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of cached results
+   * @param timeToLive the time in milliseconds after which a cached result expires
+   */
+  public AuthorizationCheckCache(int capacity, long timeToLive) {
+    if (capacity < 1) {
+      throw new ProcessEngineException("capacity of the authorization check cache must be at least 1 but is " + capacity);
+    }
+    if (timeToLive < 1) {
+      throw new ProcessEngineException("time to live of the authorization check cache must be at least 1 but is " + timeToLive);
+    }
+    this.capacity = capacity;
+    this.timeToLive = timeToLive;
+    this.cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+        return size() > AuthorizationCheckCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Creates the cache key of an authorization check. The key does not depend
+   * on the order of the groups.
+   */
+  public static String createKey(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    StringBuilder key = new StringBuilder();
+    key.append(userId).append('|');
+
+    if (groupIds != null) {
+      List<String> sortedGroupIds = new ArrayList<String>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        key.append(groupId).append(',');
+      }
+    }
+
+    for (PermissionCheck permissionCheck : permissionChecks) {
+      key.append('|')
+        .append(permissionCheck.getPerms()).append(':')
+        .append(permissionCheck.getResourceType()).append(':')
+        .append(permissionCheck.getResourceId()).append(':')
+        .append(permissionCheck.getAuthorizationNotFoundReturnValue());
+    }
+
+    return key.toString();
+  }
+
+  /**
+   * @return the cached result or <code>null</code> if no result is cached or the result expired
+   */
+  public Boolean get(String key) {
+    CachedResult cachedResult;
+    synchronized (cache) {
+      cachedResult = cache.get(key);
+      if (cachedResult != null && cachedResult.expiresAt <= now()) {
+        cache.remove(key);
+        cachedResult = null;
+      }
+    }
+
+    if (cachedResult != null) {
+      hitCount.incrementAndGet();
+      return cachedResult.isAuthorized;
+    }
+    else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Caches the result of a check unless the cache was invalidated since the
+   * given generation. The user, the groups and the permission checks are kept
+   * to find the results affected by a changed authorization.
+   */
+  public void put(String key, String userId, List<String> groupIds, List<PermissionCheck> permissionChecks, boolean isAuthorized, long generation) {
+    CachedResult cachedResult = new CachedResult(userId, groupIds, permissionChecks, isAuthorized, now() + timeToLive);
+    synchronized (cache) {
+      if (generation == this.generation.get()) {
+        cache.put(key, cachedResult);
+      }
+    }
+  }
+
+  /**
+   * @return the current generation which has to be obtained before the authorization
+   * check is performed and passed to {@link #put(String, boolean, long)}
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public void invalidate() {
+    synchronized (cache) {
+      generation.incrementAndGet();
+      cache.clear();
+    }
+  }
+
+  /**
+   * Removes the cached results which may be affected by the change of an authorization.
+   * Checks which are in progress do not cache their results, see {@link #getGeneration()}.
+   */
+  public void invalidate(Invalidation invalidation) {
+    synchronized (cache) {
+      generation.incrementAndGet();
+      Iterator<CachedResult> cachedResults = cache.values().iterator();
+      while (cachedResults.hasNext()) {
+        if (invalidation.affects(cachedResults.next())) {
+          cachedResults.remove();
+        }
+      }
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class CachedResult {
+
+    protected final String userId;
+    protected final Set<String> groupIds;
+    protected final int[] resourceTypes;
+    protected final String[] resourceIds;
+    protected final boolean isAuthorized;
+    protected final long expiresAt;
+
+    public CachedResult(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks, boolean isAuthorized, long expiresAt) {
+      this.userId = userId;
+      this.groupIds = groupIds != null ? new HashSet<String>(groupIds) : Collections.<String>emptySet();
+      this.resourceTypes = new int[permissionChecks.size()];
+      this.resourceIds = new String[permissionChecks.size()];
+      for (int i = 0; i < permissionChecks.size(); i++) {
+        resourceTypes[i] = permissionChecks.get(i).getResourceType();
+        resourceIds[i] = permissionChecks.get(i).getResourceId();
+      }
+      this.isAuthorized = isAuthorized;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * <p>Describes a changed authorization. It affects the results of the checks</p>
+   * <ul>
+   *   <li>of its user or group or of all users if it is a global authorization and</li>
+   *   <li>of its resource, or of all resources of its type if its resource id is {@link Authorization#ANY}.</li>
+   * </ul>
+   * <p>A <code>null</code> value matches all users, groups, resource types or resource ids.</p>
+   */
+  public static class Invalidation {
+
+    protected final String userId;
+    protected final String groupId;
+    protected final Integer resourceType;
+    protected final String resourceId;
+
+    public Invalidation(String userId, String groupId, Integer resourceType, String resourceId) {
+      this.userId = userId;
+      this.groupId = groupId;
+      this.resourceType = resourceType;
+      this.resourceId = resourceId;
+    }
+
+    /**
+     * @return an invalidation of the results of all checks of the given resource
+     */
+    public static Invalidation forResource(int resourceType, String resourceId) {
+      return new Invalidation(null, null, resourceType, resourceId);
+    }
+
+    public boolean affects(CachedResult cachedResult) {
+      return affectsUser(cachedResult) && affectsResource(cachedResult);
+    }
+
+    protected boolean affectsUser(CachedResult cachedResult) {
+      if (userId == null && groupId == null) {
+        return true;
+      }
+      if (Authorization.ANY.equals(userId)) {
+        return true;
+      }
+      return (userId != null && userId.equals(cachedResult.userId))
+        || (groupId != null && cachedResult.groupIds.contains(groupId));
+    }
+
+    protected boolean affectsResource(CachedResult cachedResult) {
+      for (int i = 0; i < cachedResult.resourceTypes.length; i++) {
+        if (resourceType == null || resourceType == cachedResult.resourceTypes[i]) {
+          String checkedResourceId = cachedResult.resourceIds[i];
+          if (resourceId == null || Authorization.ANY.equals(resourceId)
+              || checkedResourceId == null || resourceId.equals(checkedResourceId)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+  }
+
+}
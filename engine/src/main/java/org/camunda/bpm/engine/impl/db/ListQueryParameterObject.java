@@ -28,6 +28,8 @@ public class ListQueryParameterObject extends AuthorizationCheck {
   protected String orderBy;
   protected Object parameter;
   protected String databaseType;
+  /** the JDBC fetch size of the query, 0 for the default of the driver */
+  protected int fetchSize = 0;
 
   public ListQueryParameterObject() {
   }
@@ -95,4 +97,12 @@ public class ListQueryParameterObject extends AuthorizationCheck {
     this.orderBy = orderBy;
   }
 
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
 }
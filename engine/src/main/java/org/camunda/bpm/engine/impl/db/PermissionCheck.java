@@ -38,6 +38,9 @@ public class PermissionCheck {
 
   protected Long authorizationNotFoundReturnValue = null;
 
+  /** true if the check may read from the authorization index (ACT_RU_AUTH_INDEX) */
+  protected boolean authorizationIndexEnabled = false;
+
   public Permission getPermission() {
     return permission;
   }
@@ -93,4 +96,20 @@ public class PermissionCheck {
     this.authorizationNotFoundReturnValue = authorizationNotFoundReturnValue;
   }
 
+  public boolean isAuthorizationIndexEnabled() {
+    return authorizationIndexEnabled;
+  }
+
+  public void setAuthorizationIndexEnabled(boolean authorizationIndexEnabled) {
+    this.authorizationIndexEnabled = authorizationIndexEnabled;
+  }
+
+  /**
+   * @return true if the check is performed against the authorization index. The index
+   * holds one row per permission, so it can only answer checks for a single permission.
+   */
+  public boolean isIndexed() {
+    return authorizationIndexEnabled && Integer.bitCount(perms) == 1;
+  }
+
 }
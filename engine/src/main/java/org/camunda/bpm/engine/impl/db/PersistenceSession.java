@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -30,6 +31,12 @@ public interface PersistenceSession extends Session {
 
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Passes the results of the statement to the handler one by one while they
+   * are read instead of collecting them in a list.
+   */
+  void selectStreaming(String statement, Object parameter, QueryResultHandler<Object> handler);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+
+/**
+ * Allows registering a listener which is notified when a cached entity
+ * is flushed, before the corresponding operation is scheduled. The listener
+ * may schedule additional (bulk) operations which are executed in the same flush.
+ *
+ */
+public interface DbEntityFlushListener {
+
+  /**
+   * The type of the entity for which this listener should be notified.
+   * If the implementation returns 'null', the listener is notified for all
+   * entity types.
+   *
+   * @return the entity type for which the listener should be notified.
+   */
+  Class<? extends DbEntity> getEntityType();
+
+  /**
+   * Signifies that the given entity is about to be flushed. The state of the entity
+   * at the last flush is available as {@link CachedDbEntity#getCopy()} if the entity
+   * is {@link org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState#PERSISTENT}
+   * or {@link org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState#DELETED_PERSISTENT}.
+   *
+   * @param cachedDbEntity the entity to flush.
+   */
+  void beforeFlush(CachedDbEntity cachedDbEntity);
+
+}
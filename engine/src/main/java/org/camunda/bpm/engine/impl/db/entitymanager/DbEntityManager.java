@@ -68,6 +68,7 @@ import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  *
@@ -81,6 +82,8 @@ public class DbEntityManager implements Session {
 
   protected List<OptimisticLockingListener> optimisticLockingListeners;
 
+  protected List<DbEntityFlushListener> flushListeners;
+
   protected IdGenerator idGenerator;
 
   protected DbEntityCache dbEntityCache;
@@ -165,6 +168,31 @@ public class DbEntityManager implements Session {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Selects the results of the statement and passes them to the handler one by one while
+   * they are read, so that the memory used does not grow with the number of results.
+   * Loaded entities are not added to the entity cache: changes made to them are not
+   * flushed. Entities which are already cached are passed instead of the loaded ones.
+   */
+  public <T> void selectStreaming(String statement, ListQueryParameterObject parameter, final QueryResultHandler<T> handler) {
+    if(parameter.getFirstResult() == -1 || parameter.getMaxResults() == -1) {
+      return;
+    }
+    persistenceSession.selectStreaming(statement, parameter, new QueryResultHandler<Object>() {
+      @SuppressWarnings("unchecked")
+      public void handleResult(Object result) {
+        if (result instanceof DbEntity) {
+          DbEntity loadedObject = (DbEntity) result;
+          DbEntity cachedObject = dbEntityCache.get(loadedObject.getClass(), loadedObject.getId());
+          if (cachedObject != null) {
+            result = cachedObject;
+          }
+        }
+        handler.handleResult((T) result);
+      }
+    });
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -261,6 +289,10 @@ public class DbEntityManager implements Session {
     // flush the entity cache which inserts operations to the db operation manager
     flushEntityCache();
 
+    if(flushListeners != null) {
+      fireBeforeOperationsFlush();
+    }
+
     // flush the db operation manager
     flushDbOperationManager();
   }
@@ -281,6 +313,29 @@ public class DbEntityManager implements Session {
       if(dbOperation.isFailed()) {
         handleOptimisticLockingException(dbOperation);
       }
+      else if(dbOperation instanceof DbBulkOperation) {
+        insertIfNoRowsAffected((DbBulkOperation) dbOperation, operationsToFlush);
+      }
+    }
+  }
+
+  protected void insertIfNoRowsAffected(DbBulkOperation bulkOperation, List<DbOperation> operationsToFlush) {
+    DbEntity entityToInsert = bulkOperation.getEntityToInsert();
+    if (entityToInsert == null || bulkOperation.getRowsAffected() != 0) {
+      return;
+    }
+
+    log.info("'" + bulkOperation.getStatement() + "' affected no rows, inserting " + entityToInsert);
+
+    ensureHasId(entityToInsert);
+    DbEntityOperation insertOperation = new DbEntityOperation();
+    insertOperation.setEntity(entityToInsert);
+    insertOperation.setOperationType(INSERT);
+    try {
+      persistenceSession.executeDbOperation(insertOperation);
+    }
+    catch(Exception e) {
+      throw new ProcessEngineException(formatExceptionMessage(e, insertOperation, operationsToFlush), e);
     }
   }
 
@@ -348,6 +403,10 @@ public class DbEntityManager implements Session {
   }
 
   protected void flushCachedEntity(CachedDbEntity cachedDbEntity) {
+    if(flushListeners != null) {
+      fireBeforeFlush(cachedDbEntity);
+    }
+
     if(cachedDbEntity.getEntityState() == TRANSIENT) {
       // perform INSERT
       performEntityOperation(cachedDbEntity, INSERT);
@@ -384,6 +443,23 @@ public class DbEntityManager implements Session {
     }
   }
 
+  protected void fireBeforeFlush(CachedDbEntity cachedDbEntity) {
+    for (DbEntityFlushListener flushListener : flushListeners) {
+      if(flushListener.getEntityType() == null
+          || flushListener.getEntityType().isAssignableFrom(cachedDbEntity.getEntity().getClass())) {
+        flushListener.beforeFlush(cachedDbEntity);
+      }
+    }
+  }
+
+  protected void fireBeforeOperationsFlush() {
+    for (DbEntityFlushListener flushListener : flushListeners) {
+      if (flushListener instanceof DbOperationsFlushListener) {
+        ((DbOperationsFlushListener) flushListener).beforeOperationsFlush();
+      }
+    }
+  }
+
   public void insert(DbEntity dbEntity) {
     // generate Id if not present
     ensureHasId(dbEntity);
@@ -422,6 +498,22 @@ public class DbEntityManager implements Session {
     performBulkOperation(entityType, statement, parameter, UPDATE_BULK);
   }
 
+  /**
+   * Schedules an update of the given entity by the given bulk statement. If the update
+   * affects no rows, the entity is inserted instead. This allows creating rows on first use
+   * which are otherwise only modified by bulk updates, such as counters.
+   */
+  public void updateOrInsert(String statement, DbEntity entity) {
+    DbBulkOperation bulkOperation = new DbBulkOperation();
+    bulkOperation.setOperationType(UPDATE_BULK);
+    bulkOperation.setEntityType(entity.getClass());
+    bulkOperation.setStatement(statement);
+    bulkOperation.setParameter(entity);
+    bulkOperation.setEntityToInsert(entity);
+
+    dbOperationManager.addOperation(bulkOperation);
+  }
+
   public void delete(Class<? extends DbEntity> entityType, String statement, Object parameter) {
     performBulkOperation(entityType, statement, parameter, DELETE_BULK);
   }
@@ -570,4 +662,11 @@ public class DbEntityManager implements Session {
     }
     optimisticLockingListeners.add(optimisticLockingListener);
   }
+
+  public void registerFlushListener(DbEntityFlushListener flushListener) {
+    if(flushListeners == null) {
+      flushListeners = new ArrayList<DbEntityFlushListener>();
+    }
+    flushListeners.add(flushListener);
+  }
 }
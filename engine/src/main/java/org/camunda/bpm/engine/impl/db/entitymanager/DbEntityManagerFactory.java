@@ -14,9 +14,14 @@
 package org.camunda.bpm.engine.impl.db.entitymanager;
 
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationIndexListener;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityStatisticsCounterListener;
+import org.camunda.bpm.engine.impl.persistence.entity.RuntimeStatisticsCounterListener;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableIndexListener;
 
 /**
  * @author Sebastian Menski
@@ -35,7 +40,23 @@ public class DbEntityManagerFactory implements SessionFactory {
 
   public DbEntityManager openSession() {
     PersistenceSession persistenceSession = Context.getCommandContext().getSession(PersistenceSession.class);
-    return new DbEntityManager(idGenerator, persistenceSession);
+    DbEntityManager dbEntityManager = new DbEntityManager(idGenerator, persistenceSession);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isRuntimeStatisticsCounterEnabled()) {
+      dbEntityManager.registerFlushListener(new RuntimeStatisticsCounterListener());
+    }
+    if (processEngineConfiguration != null && processEngineConfiguration.isHistoricActivityStatisticsCounterEnabled()) {
+      dbEntityManager.registerFlushListener(new HistoricActivityStatisticsCounterListener());
+    }
+    if (processEngineConfiguration != null && processEngineConfiguration.isAuthorizationIndexEnabled()) {
+      dbEntityManager.registerFlushListener(new AuthorizationIndexListener());
+    }
+    if (processEngineConfiguration != null && processEngineConfiguration.isVariableIndexEnabled()) {
+      dbEntityManager.registerFlushListener(new VariableIndexListener());
+    }
+
+    return dbEntityManager;
   }
 
 }
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+
+/**
+ * A {@link DbEntityFlushListener} which is additionally notified once all cached
+ * entities have been flushed.
+ *
+ */
+public interface DbOperationsFlushListener extends DbEntityFlushListener {
+
+  /**
+   * Signifies that all cached entities have been flushed and the scheduled
+   * operations are about to be executed. The listener may schedule additional
+   * operations, for example for changes it has collected in {@link #beforeFlush(CachedDbEntity)}.
+   */
+  void beforeOperationsFlush();
+
+}
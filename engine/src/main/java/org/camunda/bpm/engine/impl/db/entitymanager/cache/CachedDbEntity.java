@@ -27,12 +27,15 @@ public class CachedDbEntity implements Recyclable {
 
   protected Object copy;
 
+  protected boolean isForcedDirty;
+
   protected DbEntityState entityState;
 
   public void recycle() {
     // clean out state
     dbEntity = null;
     copy = null;
+    isForcedDirty = false;
     entityState = null;
   }
 
@@ -41,16 +44,17 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
-    return !dbEntity.getPersistentState().equals(copy);
+    return isForcedDirty || !dbEntity.getPersistentState().equals(copy);
   }
 
   public void forceSetDirty() {
-    // set the value of the copy to some value which will always be different from the new entity state.
-    this.copy = -1;
+    // keep the copy: it still describes the state of the entity at the last flush
+    this.isForcedDirty = true;
   }
 
   public void makeCopy() {
     copy = dbEntity.getPersistentState();
+    isForcedDirty = false;
   }
 
   public String toString() {
@@ -59,6 +63,14 @@ public class CachedDbEntity implements Recyclable {
 
   // getters / setters ////////////////////////////
 
+  /**
+   * @return the persistent state of the entity at the time it was put into the cache
+   * or was last flushed.
+   */
+  public Object getCopy() {
+    return copy;
+  }
+
   public DbEntity getEntity() {
     return dbEntity;
   }
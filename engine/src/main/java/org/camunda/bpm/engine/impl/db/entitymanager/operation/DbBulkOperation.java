@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.db.entitymanager.operation;
 
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
 /**
  * A bulk operation
  *
@@ -23,10 +25,16 @@ public class DbBulkOperation extends DbOperation {
   protected String statement;
   protected Object parameter;
 
+  /** inserted if the bulk update affects no rows */
+  protected DbEntity entityToInsert;
+  protected int rowsAffected;
+
   @Override
   public void recycle() {
     statement = null;
     parameter = null;
+    entityToInsert = null;
+    rowsAffected = 0;
     super.recycle();
   }
 
@@ -50,6 +58,22 @@ public class DbBulkOperation extends DbOperation {
     this.statement = statement;
   }
 
+  public DbEntity getEntityToInsert() {
+    return entityToInsert;
+  }
+
+  public void setEntityToInsert(DbEntity entityToInsert) {
+    this.entityToInsert = entityToInsert;
+  }
+
+  public int getRowsAffected() {
+    return rowsAffected;
+  }
+
+  public void setRowsAffected(int rowsAffected) {
+    this.rowsAffected = rowsAffected;
+  }
+
   public String toString() {
     return operationType + " "+ statement +" " +parameter;
   }
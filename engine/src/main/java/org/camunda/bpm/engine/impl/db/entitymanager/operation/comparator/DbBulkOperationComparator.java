@@ -17,7 +17,10 @@ import java.util.Comparator;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 
 /**
- * Orders bulk operations according to the lexicographical ordering of their statement names
+ * Orders bulk operations according to the lexicographical ordering of their statement names.
+ * Operations with the same statement are ordered by their parameters if these are
+ * {@link Comparable} and of the same type. This way, updates of the same rows are
+ * executed in the same order by concurrent transactions.
  *
  * @author Daniel Meyer
  *
@@ -34,6 +37,10 @@ public class DbBulkOperationComparator implements Comparator<DbBulkOperation> {
     int statementOrder = firstOperation.getStatement().compareTo(secondOperation.getStatement());
 
     if(statementOrder == 0) {
+      int parameterOrder = compareParameters(firstOperation.getParameter(), secondOperation.getParameter());
+      if(parameterOrder != 0) {
+        return parameterOrder;
+      }
       return firstOperation.hashCode() < secondOperation.hashCode() ? -1 : 1;
 
     } else {
@@ -43,4 +50,17 @@ public class DbBulkOperationComparator implements Comparator<DbBulkOperation> {
 
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected int compareParameters(Object firstParameter, Object secondParameter) {
+    if(firstParameter instanceof Comparable
+        && secondParameter != null
+        && firstParameter.getClass() == secondParameter.getClass()) {
+      return ((Comparable) firstParameter).compareTo(secondParameter);
+
+    } else {
+      return 0;
+
+    }
+  }
+
 }
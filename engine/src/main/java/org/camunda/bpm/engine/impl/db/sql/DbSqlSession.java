@@ -30,6 +30,8 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -39,9 +41,11 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -57,6 +61,12 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   private static Logger log = Logger.getLogger(DbSqlSession.class.getName());
 
+  /** the start time of statements which are not measured */
+  protected static final long NOT_MEASURED = Long.MIN_VALUE;
+
+  /** the row count of statements which failed with an exception */
+  protected static final int STATEMENT_FAILED = -1;
+
   protected SqlSession sqlSession;
   protected DbSqlSessionFactory dbSqlSessionFactory;
 
@@ -83,7 +93,36 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
-    return sqlSession.selectList(statement, parameter);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      List<?> result = sqlSession.selectList(statement, parameter);
+      rows = result.size();
+      return result;
+    }
+    finally {
+      statementExecuted(statement, startTime, rows);
+    }
+  }
+
+  public void selectStreaming(String statement, Object parameter, final QueryResultHandler<Object> handler) {
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = statementStarted();
+    final int[] rows = new int[1];
+    boolean failed = true;
+    try {
+      sqlSession.select(statement, parameter, new ResultHandler() {
+        public void handleResult(ResultContext context) {
+          rows[0]++;
+          handler.handleResult(context.getResultObject());
+        }
+      });
+      failed = false;
+    }
+    finally {
+      // includes the time spent in the handler
+      statementExecuted(statement, startTime, failed ? STATEMENT_FAILED : rows[0]);
+    }
   }
 
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
@@ -91,12 +130,30 @@ public class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
-    return (T) sqlSession.selectOne(selectStatement, id);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      T result = (T) sqlSession.selectOne(selectStatement, id);
+      rows = result != null ? 1 : 0;
+      return result;
+    }
+    finally {
+      statementExecuted(selectStatement, startTime, rows);
+    }
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
-    return sqlSession.selectOne(statement, parameter);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      Object result = sqlSession.selectOne(statement, parameter);
+      rows = result != null ? 1 : 0;
+      return result;
+    }
+    finally {
+      statementExecuted(statement, startTime, rows);
+    }
   }
 
   // lock ////////////////////////////////////////////
@@ -107,7 +164,14 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
-      sqlSession.update(mappedStatement, parameter);
+      long startTime = statementStarted();
+      int rows = STATEMENT_FAILED;
+      try {
+        rows = sqlSession.update(mappedStatement, parameter);
+      }
+      finally {
+        statementExecuted(mappedStatement, startTime, rows);
+      }
     }
   }
 
@@ -133,7 +197,14 @@ public class DbSqlSession extends AbstractPersistenceSession {
     if(log.isLoggable(Level.FINE)) {
       log.fine("inserting: " + toString(parameter));
     }
-    sqlSession.insert(insertStatement, parameter);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      rows = sqlSession.insert(insertStatement, parameter);
+    }
+    finally {
+      statementExecuted(insertStatement, startTime, rows);
+    }
 
     // set revision of our copy to 1
     if (parameter instanceof HasDbRevision) {
@@ -176,7 +247,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected int executeDelete(String deleteStatement, Object parameter) {
     // map the statement
     deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-    return sqlSession.delete(deleteStatement, parameter);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      rows = sqlSession.delete(deleteStatement, parameter);
+      return rows;
+    }
+    finally {
+      statementExecuted(deleteStatement, startTime, rows);
+    }
   }
 
   protected void entityDeleted(final DbEntity entity) {
@@ -191,7 +270,8 @@ public class DbSqlSession extends AbstractPersistenceSession {
       log.fine("deleting (bulk): " + statement + " " + parameter);
     }
 
-    executeDelete(statement, parameter);
+    int rowsAffected = executeDelete(statement, parameter);
+    operation.setRowsAffected(rowsAffected);
   }
 
   // update ////////////////////////////////////////
@@ -228,7 +308,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected int executeUpdate(String updateStatement, Object parameter) {
     updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-    return sqlSession.update(updateStatement, parameter);
+    long startTime = statementStarted();
+    int rows = STATEMENT_FAILED;
+    try {
+      rows = sqlSession.update(updateStatement, parameter);
+      return rows;
+    }
+    finally {
+      statementExecuted(updateStatement, startTime, rows);
+    }
   }
 
   protected void entityUpdated(final DbEntity entity) {
@@ -243,7 +331,40 @@ public class DbSqlSession extends AbstractPersistenceSession {
       log.fine("updating (bulk): " + statement + " " + parameter);
     }
 
-    executeUpdate(statement, parameter);
+    int rowsAffected = executeUpdate(statement, parameter);
+    operation.setRowsAffected(rowsAffected);
+  }
+
+  // statement metrics /////////////////////////////
+
+  /**
+   * @return the start time of a statement if statement metrics are enabled, {@link #NOT_MEASURED} otherwise
+   */
+  protected long statementStarted() {
+    MetricsRegistry metricsRegistry = dbSqlSessionFactory.getMetricsRegistry();
+    if (metricsRegistry != null && metricsRegistry.isStatementMetricsEnabled()) {
+      return System.nanoTime();
+    }
+    return NOT_MEASURED;
+  }
+
+  /**
+   * Records the execution of a statement started at the given time, called in a finally block
+   * so that failed executions are recorded as well.
+   *
+   * @param rows the number of selected or affected rows or {@link #STATEMENT_FAILED}
+   */
+  protected void statementExecuted(String statement, long startTime, int rows) {
+    if (startTime != NOT_MEASURED) {
+      long durationNanos = System.nanoTime() - startTime;
+      MetricsRegistry metricsRegistry = dbSqlSessionFactory.getMetricsRegistry();
+      if (rows == STATEMENT_FAILED) {
+        metricsRegistry.markStatementError(statement, durationNanos);
+      }
+      else {
+        metricsRegistry.markStatement(statement, durationNanos, rows);
+      }
+    }
   }
 
   // utils /////////////////////////////////////////
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
@@ -84,6 +85,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant.for.update", "for update");
+    constants.put("constant.count.limit.top", "");
+    constants.put("constant.count.limit", "LIMIT #{countLimit}");
+    constants.put("constant.count.limit.outer", "");
     dbSpecificConstants.put(H2, constants);
 
 	  //mysql specific
@@ -110,6 +114,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "CONCAT(NEW_VALUE_, '_|_', PROPERTY_)");
     constants.put("constant.for.update", "for update");
+    constants.put("constant.count.limit.top", "");
+    constants.put("constant.count.limit", "LIMIT #{countLimit}");
+    constants.put("constant.count.limit.outer", "");
     dbSpecificConstants.put(MYSQL, constants);
 
     //postgres specific
@@ -153,6 +160,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant.for.update", "for update");
+    constants.put("constant.count.limit.top", "");
+    constants.put("constant.count.limit", "LIMIT #{countLimit}");
+    constants.put("constant.count.limit.outer", "");
     dbSpecificConstants.put(POSTGRES, constants);
 
     // oracle
@@ -175,6 +185,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant.for.update", "for update");
+    constants.put("constant.count.limit.top", "");
+    constants.put("constant.count.limit", "");
+    constants.put("constant.count.limit.outer", "where ROWNUM <= #{countLimit}");
     dbSpecificConstants.put(ORACLE, constants);
 
     // db2
@@ -204,6 +217,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "CAST(CONCAT(CONCAT(COALESCE(NEW_VALUE_,''), '_|_'), COALESCE(PROPERTY_,'')) as varchar(255))");
     constants.put("constant.for.update", "for read only with rs use and keep update locks");
+    constants.put("constant.count.limit.top", "");
+    constants.put("constant.count.limit", "FETCH FIRST ${countLimit} ROWS ONLY");
+    constants.put("constant.count.limit.outer", "");
     dbSpecificConstants.put(DB2, constants);
 
     // mssql
@@ -236,6 +252,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ + '_|_' + PROPERTY_");
+    constants.put("constant.count.limit.top", "top (#{countLimit})");
+    constants.put("constant.count.limit", "");
+    constants.put("constant.count.limit.outer", "");
     dbSpecificConstants.put(MSSQL, constants);
   }
 
@@ -250,6 +269,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected String databaseSchema;
   protected SqlSessionFactory sqlSessionFactory;
   protected IdGenerator idGenerator;
+  protected MetricsRegistry metricsRegistry;
   protected Map<String, String> statementMappings;
   protected Map<Class<?>,String>  insertStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  updateStatements = new ConcurrentHashMap<Class<?>, String>();
@@ -340,6 +360,17 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.idGenerator = idGenerator;
   }
 
+  /**
+   * @return the registry which records the statement metrics of the sessions, may be null
+   */
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
 
   public String getDatabaseType() {
     return databaseType;
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler.CompiledNode;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.javax.el.ValueReference;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+
+/**
+ * {@link ValueExpression} which evaluates a compiled expression (see {@link ExpressionCompiler}).
+ * All other operations are delegated to the interpreted value expression.
+ */
+public class CompiledValueExpression extends ValueExpression {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final ValueExpression valueExpression;
+  protected final CompiledNode root;
+  protected final Bindings bindings;
+
+  public CompiledValueExpression(ValueExpression valueExpression, CompiledNode root, Bindings bindings) {
+    this.valueExpression = valueExpression;
+    this.root = root;
+    this.bindings = bindings;
+  }
+
+  public Object getValue(ELContext context) {
+    Object value = root.eval(bindings, context);
+    Class<?> expectedType = valueExpression.getExpectedType();
+    if (expectedType != null) {
+      value = bindings.convert(value, expectedType);
+    }
+    return value;
+  }
+
+  public Class<?> getExpectedType() {
+    return valueExpression.getExpectedType();
+  }
+
+  public Class<?> getType(ELContext context) {
+    return valueExpression.getType(context);
+  }
+
+  public boolean isReadOnly(ELContext context) {
+    return valueExpression.isReadOnly(context);
+  }
+
+  public void setValue(ELContext context, Object value) {
+    valueExpression.setValue(context, value);
+  }
+
+  public ValueReference getValueReference(ELContext context) {
+    return valueExpression.getValueReference(context);
+  }
+
+  public String getExpressionString() {
+    return valueExpression.getExpressionString();
+  }
+
+  public boolean isLiteralText() {
+    return valueExpression.isLiteralText();
+  }
+
+  public ValueExpression getValueExpression() {
+    return valueExpression;
+  }
+
+  public boolean equals(Object obj) {
+    if (obj instanceof CompiledValueExpression) {
+      return valueExpression.equals(((CompiledValueExpression) obj).valueExpression);
+    }
+    return valueExpression.equals(obj);
+  }
+
+  public int hashCode() {
+    return valueExpression.hashCode();
+  }
+
+  public String toString() {
+    return valueExpression.toString();
+  }
+
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+
+/**
+ * <p>A {@link BeanELResolver} which is shared by the whole process engine. It only
+ * caches the properties and methods of classes loaded by the engine's class loader
+ * or one of its parents. These classes live as long as the engine.</p>
+ *
+ * <p>The classes of a process application are resolved without caching: keeping them
+ * would prevent the process application class loader from being garbage collected
+ * once the application is undeployed.</p>
+ *
+ * @see ProcessApplicationBeanElResolverDelegate
+ */
+public class EngineBeanElResolver extends BeanELResolver {
+
+  protected List<ClassLoader> cacheableClassLoaders = new ArrayList<ClassLoader>();
+
+  public EngineBeanElResolver() {
+    this(EngineBeanElResolver.class.getClassLoader());
+  }
+
+  /**
+   * @param classLoader the class loader whose classes and whose parents' classes are cached
+   */
+  public EngineBeanElResolver(ClassLoader classLoader) {
+    while (classLoader != null) {
+      cacheableClassLoaders.add(classLoader);
+      classLoader = classLoader.getParent();
+    }
+  }
+
+  public boolean isCacheable(Class<?> beanClass) {
+    ClassLoader classLoader = beanClass.getClassLoader();
+    if (classLoader == null) {
+      // bootstrap class
+      return true;
+    }
+
+    // compare by identity, the list is short
+    for (ClassLoader cacheableClassLoader : cacheableClassLoaders) {
+      if (cacheableClassLoader == classLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,436 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.io.Serializable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.AstBinary;
+import org.camunda.bpm.engine.impl.juel.AstChoice;
+import org.camunda.bpm.engine.impl.juel.AstEval;
+import org.camunda.bpm.engine.impl.juel.AstIdentifier;
+import org.camunda.bpm.engine.impl.juel.AstLiteral;
+import org.camunda.bpm.engine.impl.juel.AstNested;
+import org.camunda.bpm.engine.impl.juel.AstNode;
+import org.camunda.bpm.engine.impl.juel.AstUnary;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.BooleanOperations;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Builder.Feature;
+import org.camunda.bpm.engine.impl.juel.LocalMessages;
+import org.camunda.bpm.engine.impl.juel.NumberOperations;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TypeConverter;
+
+/**
+ * <p>Compiles frequently evaluated expressions into a tree of specialized nodes which
+ * is evaluated without walking the JUEL syntax tree:</p>
+ * <ul>
+ *   <li>identifiers are looked up directly in the {@link VariableScope} of the evaluation,
+ *   without going through the composite EL resolver,</li>
+ *   <li>literals are evaluated once,</li>
+ *   <li>arithmetic, relational, logical and conditional operators are applied directly
+ *   with the same coercion rules as the interpreter.</li>
+ * </ul>
+ *
+ * <p>All other constructs (property and method access, functions, composite text) are
+ * evaluated by the interpreter. Identifiers which are no variable of the variable scope
+ * and the identifiers reserved by the {@link VariableScopeElResolver} are resolved by
+ * the EL resolver of the context.</p>
+ *
+ * <p>Like the interpreter, a compiled identifier returns a variable of the variable scope
+ * before any bean with the same name. Compilation must therefore only be used with expression
+ * managers which resolve variables before anything else, as all expression managers of the
+ * engine do.</p>
+ *
+ * @see JuelExpression
+ */
+public class ExpressionCompiler {
+
+  private static final Logger LOG = Logger.getLogger(ExpressionCompiler.class.getName());
+
+  /** the number of evaluations after which an expression is compiled */
+  protected final int threshold;
+
+  protected final Builder builder = new Builder(Feature.METHOD_INVOCATIONS, Feature.VARARGS);
+
+  public ExpressionCompiler(int threshold) {
+    this.threshold = threshold;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * @return the compiled expression or the given value expression if the expression
+   * cannot be compiled
+   */
+  public ValueExpression compile(ValueExpression valueExpression, ELContext parsingElContext) {
+    try {
+      Tree tree = builder.build(valueExpression.getExpressionString());
+      Bindings bindings = tree.bind(parsingElContext.getFunctionMapper(), parsingElContext.getVariableMapper(), TypeConverter.DEFAULT);
+
+      CompiledNode root = compile((AstNode) tree.getRoot(), bindings);
+      if (root instanceof InterpretedNode) {
+        // nothing to gain
+        return valueExpression;
+      }
+
+      return new CompiledValueExpression(valueExpression, root, bindings);
+    }
+    catch (RuntimeException e) {
+      LOG.log(Level.FINE, "Cannot compile expression '" + valueExpression.getExpressionString() + "', it is interpreted", e);
+      return valueExpression;
+    }
+  }
+
+  protected CompiledNode compile(AstNode node, Bindings bindings) {
+    if (node instanceof AstEval || node instanceof AstNested) {
+      return compile((AstNode) node.getChild(0), bindings);
+    }
+    else if (node instanceof AstLiteral) {
+      return new LiteralNode(node.eval(bindings, null));
+    }
+    else if (node instanceof AstIdentifier) {
+      return compileIdentifier((AstIdentifier) node, bindings);
+    }
+    else if (node instanceof AstUnary) {
+      return compileUnary((AstUnary) node, bindings);
+    }
+    else if (node instanceof AstBinary) {
+      return compileBinary((AstBinary) node, bindings);
+    }
+    else if (node instanceof AstChoice) {
+      return new ChoiceNode(
+          compile((AstNode) node.getChild(0), bindings),
+          compile((AstNode) node.getChild(1), bindings),
+          compile((AstNode) node.getChild(2), bindings));
+    }
+    else {
+      return new InterpretedNode(node);
+    }
+  }
+
+  protected CompiledNode compileIdentifier(AstIdentifier identifier, Bindings bindings) {
+    String name = identifier.getName();
+    if (bindings.isVariableBound(identifier.getIndex()) || isReservedName(name)) {
+      return new InterpretedNode(identifier);
+    }
+    return new VariableNode(name);
+  }
+
+  protected boolean isReservedName(String name) {
+    return VariableScopeElResolver.EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.CASE_EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.TASK_KEY.equals(name)
+        || VariableScopeElResolver.LOGGED_IN_USER_KEY.equals(name);
+  }
+
+  protected CompiledNode compileUnary(AstUnary unary, Bindings bindings) {
+    AstUnary.Operator operator = unary.getOperator();
+    CompiledNode child = compile((AstNode) unary.getChild(0), bindings);
+
+    if (operator == AstUnary.NOT) {
+      return new UnaryNode(UnaryOperator.NOT, child);
+    }
+    else if (operator == AstUnary.NEG) {
+      return new UnaryNode(UnaryOperator.NEG, child);
+    }
+    else if (operator == AstUnary.EMPTY) {
+      return new UnaryNode(UnaryOperator.EMPTY, child);
+    }
+    else {
+      return new InterpretedNode(unary);
+    }
+  }
+
+  protected CompiledNode compileBinary(AstBinary binary, Bindings bindings) {
+    AstBinary.Operator operator = binary.getOperator();
+    CompiledNode left = compile((AstNode) binary.getChild(0), bindings);
+    CompiledNode right = compile((AstNode) binary.getChild(1), bindings);
+
+    if (operator == AstBinary.AND) {
+      return new AndNode(left, right);
+    }
+    else if (operator == AstBinary.OR) {
+      return new OrNode(left, right);
+    }
+
+    BinaryOperator binaryOperator = BinaryOperator.forOperator(operator);
+    if (binaryOperator == null) {
+      return new InterpretedNode(binary);
+    }
+    return new BinaryNode(binaryOperator, left, right);
+  }
+
+  // compiled nodes ///////////////////////////////////////////////////////////
+
+  public static abstract class CompiledNode implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public abstract Object eval(Bindings bindings, ELContext context);
+  }
+
+  public static class LiteralNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final Object value;
+
+    public LiteralNode(Object value) {
+      this.value = value;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      return value;
+    }
+  }
+
+  public static class VariableNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final String name;
+
+    public VariableNode(String name) {
+      this.name = name;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      Object variableScope = context.getContext(VariableScope.class);
+      if (variableScope instanceof VariableScope && ((VariableScope) variableScope).hasVariable(name)) {
+        return ((VariableScope) variableScope).getVariable(name);
+      }
+
+      // not a variable, e.g. a bean
+      context.setPropertyResolved(false);
+      Object result = context.getELResolver().getValue(context, null, name);
+      if (!context.isPropertyResolved()) {
+        throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+      }
+      return result;
+    }
+  }
+
+  public static class InterpretedNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final AstNode node;
+
+    public InterpretedNode(AstNode node) {
+      this.node = node;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      return node.eval(bindings, context);
+    }
+  }
+
+  public static class ChoiceNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final CompiledNode question;
+    protected final CompiledNode yes;
+    protected final CompiledNode no;
+
+    public ChoiceNode(CompiledNode question, CompiledNode yes, CompiledNode no) {
+      this.question = question;
+      this.yes = yes;
+      this.no = no;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      Boolean value = bindings.convert(question.eval(bindings, context), Boolean.class);
+      return value.booleanValue() ? yes.eval(bindings, context) : no.eval(bindings, context);
+    }
+  }
+
+  public static class AndNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public AndNode(CompiledNode left, CompiledNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      Boolean l = bindings.convert(left.eval(bindings, context), Boolean.class);
+      return Boolean.TRUE.equals(l) ? bindings.convert(right.eval(bindings, context), Boolean.class) : Boolean.FALSE;
+    }
+  }
+
+  public static class OrNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public OrNode(CompiledNode left, CompiledNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      Boolean l = bindings.convert(left.eval(bindings, context), Boolean.class);
+      return Boolean.TRUE.equals(l) ? Boolean.TRUE : bindings.convert(right.eval(bindings, context), Boolean.class);
+    }
+  }
+
+  public static class UnaryNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final UnaryOperator operator;
+    protected final CompiledNode child;
+
+    public UnaryNode(UnaryOperator operator, CompiledNode child) {
+      this.operator = operator;
+      this.child = child;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      return operator.apply(bindings, child.eval(bindings, context));
+    }
+  }
+
+  public static class BinaryNode extends CompiledNode {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final BinaryOperator operator;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public BinaryNode(BinaryOperator operator, CompiledNode left, CompiledNode right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      return operator.apply(bindings, left.eval(bindings, context), right.eval(bindings, context));
+    }
+  }
+
+  public static enum UnaryOperator {
+
+    NOT {
+      public Object apply(TypeConverter converter, Object o) {
+        return !converter.convert(o, Boolean.class);
+      }
+    },
+    NEG {
+      public Object apply(TypeConverter converter, Object o) {
+        return NumberOperations.neg(converter, o);
+      }
+    },
+    EMPTY {
+      public Object apply(TypeConverter converter, Object o) {
+        return BooleanOperations.empty(converter, o);
+      }
+    };
+
+    public abstract Object apply(TypeConverter converter, Object o);
+  }
+
+  public static enum BinaryOperator {
+
+    ADD(AstBinary.ADD) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return NumberOperations.add(converter, o1, o2);
+      }
+    },
+    SUB(AstBinary.SUB) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return NumberOperations.sub(converter, o1, o2);
+      }
+    },
+    MUL(AstBinary.MUL) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return NumberOperations.mul(converter, o1, o2);
+      }
+    },
+    DIV(AstBinary.DIV) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return NumberOperations.div(converter, o1, o2);
+      }
+    },
+    MOD(AstBinary.MOD) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return NumberOperations.mod(converter, o1, o2);
+      }
+    },
+    EQ(AstBinary.EQ) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.eq(converter, o1, o2);
+      }
+    },
+    NE(AstBinary.NE) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.ne(converter, o1, o2);
+      }
+    },
+    LT(AstBinary.LT) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.lt(converter, o1, o2);
+      }
+    },
+    LE(AstBinary.LE) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.le(converter, o1, o2);
+      }
+    },
+    GT(AstBinary.GT) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.gt(converter, o1, o2);
+      }
+    },
+    GE(AstBinary.GE) {
+      public Object apply(TypeConverter converter, Object o1, Object o2) {
+        return BooleanOperations.ge(converter, o1, o2);
+      }
+    };
+
+    protected final AstBinary.Operator operator;
+
+    private BinaryOperator(AstBinary.Operator operator) {
+      this.operator = operator;
+    }
+
+    public abstract Object apply(TypeConverter converter, Object o1, Object o2);
+
+    public static BinaryOperator forOperator(AstBinary.Operator operator) {
+      for (BinaryOperator binaryOperator : values()) {
+        if (binaryOperator.operator == operator) {
+          return binaryOperator;
+        }
+      }
+      return null;
+    }
+  }
+
+}
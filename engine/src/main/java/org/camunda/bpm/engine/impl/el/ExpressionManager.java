@@ -16,6 +16,7 @@ import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.javax.el.ArrayELResolver;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
 import org.camunda.bpm.engine.impl.javax.el.CompositeELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ELResolver;
@@ -24,7 +25,11 @@ import org.camunda.bpm.engine.impl.javax.el.FunctionMapper;
 import org.camunda.bpm.engine.impl.javax.el.ListELResolver;
 import org.camunda.bpm.engine.impl.javax.el.MapELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Builder.Feature;
 import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.TreeCache;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -57,6 +62,9 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
   protected ELResolver elResolver;
+  protected ExpressionCompiler expressionCompiler;
+  // resolves bean properties and methods outside of process applications, caches the engine's classes only
+  protected BeanELResolver beanElResolver = new EngineBeanElResolver();
 
   public ExpressionManager() {
     this(null);
@@ -73,10 +81,49 @@ public class ExpressionManager {
     return new JuelExpression(valueExpression, this, expression);
   }
 
+  public ExpressionFactory getExpressionFactory() {
+    return expressionFactory;
+  }
+
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
     this.expressionFactory = expressionFactory;
   }
 
+  /**
+   * Replaces the expression factory by one which caches the parsed expressions in the
+   * given cache. The cache can be shared by multiple expression managers.
+   *
+   * @param treeCache the cache or <code>null</code> to parse every expression
+   */
+  public void setTreeCache(TreeCache treeCache) {
+    // same features as the default JEE6 profile
+    Builder builder = new Builder(Feature.METHOD_INVOCATIONS, Feature.VARARGS);
+    this.expressionFactory = new ExpressionFactoryImpl(new TreeStore(builder, treeCache));
+  }
+
+  /**
+   * @return the compiler for frequently evaluated expressions or null if
+   * expressions are always interpreted
+   */
+  public ExpressionCompiler getExpressionCompiler() {
+    return expressionCompiler;
+  }
+
+  public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+    this.expressionCompiler = expressionCompiler;
+  }
+
+  /**
+   * @return the compiled form of the given value expression or the value expression
+   * itself if it cannot be compiled
+   */
+  public ValueExpression compile(ValueExpression valueExpression) {
+    if (expressionCompiler == null) {
+      return valueExpression;
+    }
+    return expressionCompiler.compile(valueExpression, parsingElContext);
+  }
+
   public ELContext getElContext(VariableScope variableScope) {
     ELContext elContext = null;
     if (variableScope instanceof AbstractVariableScope) {
@@ -129,7 +176,7 @@ public class ExpressionManager {
     elResolver.add(new ArrayELResolver());
     elResolver.add(new ListELResolver());
     elResolver.add(new MapELResolver());
-    elResolver.add(new ProcessApplicationBeanElResolverDelegate());
+    elResolver.add(new ProcessApplicationBeanElResolverDelegate(beanElResolver));
 
     return elResolver;
   }
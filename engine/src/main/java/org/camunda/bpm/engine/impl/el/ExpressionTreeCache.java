@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.ConcurrentLruCache;
+
+/**
+ * <p>Thread-safe cache of parsed expression trees which is shared by all expressions
+ * of a process engine: the expressions created by the BPMN parse and the CMMN transform
+ * as well as the expressions which are created at runtime.</p>
+ *
+ * <p>The cache is divided into segments, each of them is a least recently used cache
+ * with its own lock. Expressions are assigned to segments by their hash code, so that
+ * concurrent lookups of different expressions rarely wait for each other.</p>
+ *
+ * @see ExpressionManager#setTreeCache(TreeCache)
+ */
+public class ExpressionTreeCache implements TreeCache {
+
+  public static final int DEFAULT_SEGMENTS = 16;
+
+  protected final ConcurrentLruCache<String, Tree>[] segments;
+
+  public ExpressionTreeCache(int capacity) {
+    this(capacity, DEFAULT_SEGMENTS);
+  }
+
+  /**
+   * @param capacity the maximum number of cached expression trees
+   * @param segments the number of segments, rounded up to a power of two and
+   *        limited to the capacity
+   */
+  @SuppressWarnings("unchecked")
+  public ExpressionTreeCache(int capacity, int segments) {
+    if (capacity < 1) {
+      throw new ProcessEngineException("capacity of the expression cache must be at least 1 but is " + capacity);
+    }
+
+    int numberOfSegments = 1;
+    while (numberOfSegments < segments && numberOfSegments * 2 <= capacity) {
+      numberOfSegments *= 2;
+    }
+
+    int segmentCapacity = (capacity + numberOfSegments - 1) / numberOfSegments;
+    this.segments = new ConcurrentLruCache[numberOfSegments];
+    for (int i = 0; i < numberOfSegments; i++) {
+      this.segments[i] = new ConcurrentLruCache<String, Tree>(segmentCapacity);
+    }
+  }
+
+  public Tree get(String expression) {
+    return segmentFor(expression).get(expression);
+  }
+
+  public void put(String expression, Tree tree) {
+    segmentFor(expression).put(expression, tree);
+  }
+
+  public void clear() {
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  public int getCapacity() {
+    int capacity = 0;
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      capacity += segment.getCapacity();
+    }
+    return capacity;
+  }
+
+  public long getHitCount() {
+    long hitCount = 0;
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      hitCount += segment.getHitCount();
+    }
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    long missCount = 0;
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      missCount += segment.getMissCount();
+    }
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    long evictionCount = 0;
+    for (ConcurrentLruCache<String, Tree> segment : segments) {
+      evictionCount += segment.getEvictionCount();
+    }
+    return evictionCount;
+  }
+
+  /**
+   * @return the ratio of lookups which found a cached expression tree,
+   * 0 if there was no lookup yet
+   */
+  public double getHitRate() {
+    long hitCount = getHitCount();
+    long lookups = hitCount + getMissCount();
+    return lookups == 0 ? 0 : (double) hitCount / lookups;
+  }
+
+  protected ConcurrentLruCache<String, Tree> segmentFor(String expression) {
+    int hash = expression.hashCode();
+    // spread the higher bits since only the lower bits select the segment
+    hash ^= (hash >>> 16);
+    return segments[hash & (segments.length - 1)];
+  }
+
+}
@@ -34,9 +34,14 @@ import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
 public class JuelExpression implements Expression {
 
   protected String expressionText;
-  protected ValueExpression valueExpression;
+  /** replaced by its compiled form by any evaluating thread, volatile to publish the compiled expression safely */
+  protected volatile ValueExpression valueExpression;
   protected ExpressionManager expressionManager;
 
+  /** number of evaluations before the expression is compiled */
+  protected int evaluations;
+  protected volatile boolean isCompiled;
+
   public JuelExpression(ValueExpression valueExpression, ExpressionManager expressionManager, String expressionText) {
     this.valueExpression = valueExpression;
     this.expressionManager = expressionManager;
@@ -46,7 +51,7 @@ public class JuelExpression implements Expression {
   public Object getValue(VariableScope variableScope) {
     ELContext elContext = expressionManager.getElContext(variableScope);
     try {
-      ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext);
+      ExpressionGetInvocation invocation = new ExpressionGetInvocation(getValueExpressionForEvaluation(), elContext);
       Context.getProcessEngineConfiguration()
         .getDelegateInterceptor()
         .handleInvocation(invocation);
@@ -74,6 +79,26 @@ public class JuelExpression implements Expression {
     }
   }
 
+  /**
+   * Compiles the expression once it has been evaluated often enough, see {@link ExpressionCompiler}.
+   * The evaluations are counted without synchronization: concurrent evaluations may compile the
+   * expression more than once, each of them replaces the expression by an equivalent compiled
+   * expression. The compiled expression is published through the volatile {@link #valueExpression}
+   * and its node tree consists of final fields, so that other threads see it fully built.
+   */
+  protected ValueExpression getValueExpressionForEvaluation() {
+    ValueExpression expression = valueExpression;
+    if (!isCompiled) {
+      ExpressionCompiler expressionCompiler = expressionManager.getExpressionCompiler();
+      if (expressionCompiler != null && ++evaluations >= expressionCompiler.getThreshold()) {
+        expression = expressionManager.compile(expression);
+        valueExpression = expression;
+        isCompiled = true;
+      }
+    }
+    return expression;
+  }
+
   @Override
   public String toString() {
     if(valueExpression != null) {
@@ -27,12 +27,25 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
  * involved in expressions.</p>
  *
  * <p>If resolution is attempted outside the context of a process application,
- * then always a new resolver instance is returned (i.e. no caching in these cases).</p>
+ * then the resolver passed to the constructor is returned. It must only keep the
+ * properties and methods of classes which are not unloaded while the engine is running,
+ * see {@link EngineBeanElResolver}. If no resolver is
+ * passed, then always a new resolver instance is returned (i.e. no caching in these cases).</p>
  *
  * @author Thorben Lindhauer
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  protected BeanELResolver beanElResolver;
+
+  public ProcessApplicationBeanElResolverDelegate() {
+    this(null);
+  }
+
+  public ProcessApplicationBeanElResolverDelegate(BeanELResolver beanElResolver) {
+    this.beanElResolver = beanElResolver;
+  }
+
   protected ELResolver getElResolverDelegate() {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
@@ -46,6 +59,9 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
         throw new ProcessEngineException("Cannot access process application '"+processApplicationReference.getName()+"'", e);
       }
 
+    } else if (beanElResolver != null) {
+      return beanElResolver;
+
     } else {
       return new BeanELResolver();
     }
@@ -0,0 +1,175 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Engine-wide cache of filter result counts. A count is cached for a short
+ * time to live, so that clients which refresh the counts of many filters
+ * periodically (e.g. the filter list of a tasklist) do not execute every filter
+ * query on each refresh. A cached count may therefore be outdated by at most the
+ * time to live.</p>
+ *
+ * <p>Since the result of a filter query depends on the authorizations and on
+ * expressions like <code>${currentUser()}</code>, counts are cached per filter
+ * and authenticated user and groups. The cached counts of a filter are removed
+ * when the filter is changed or deleted by this process engine.</p>
+ */
+public class FilterCountCache {
+
+  protected final int capacity;
+  protected final long timeToLive;
+  protected final Map<String, CachedCount> cache;
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of cached counts
+   * @param timeToLive the time in milliseconds after which a cached count expires
+   */
+  public FilterCountCache(int capacity, long timeToLive) {
+    if (capacity < 1) {
+      throw new ProcessEngineException("capacity of the filter count cache must be at least 1 but is " + capacity);
+    }
+    if (timeToLive < 1) {
+      throw new ProcessEngineException("time to live of the filter count cache must be at least 1 but is " + timeToLive);
+    }
+    this.capacity = capacity;
+    this.timeToLive = timeToLive;
+    this.cache = new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+        return size() > FilterCountCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * @return the cached count or <code>null</code> if no count is cached or the count expired
+   */
+  public Long get(String filterId, String userId, List<String> groupIds) {
+    String key = createKey(filterId, userId, groupIds);
+
+    CachedCount cachedCount;
+    synchronized (cache) {
+      cachedCount = cache.get(key);
+      if (cachedCount != null && cachedCount.expiresAt <= now()) {
+        cache.remove(key);
+        cachedCount = null;
+      }
+    }
+
+    if (cachedCount != null) {
+      hitCount.incrementAndGet();
+      return cachedCount.count;
+    }
+    else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  public void put(String filterId, String userId, List<String> groupIds, long count) {
+    String key = createKey(filterId, userId, groupIds);
+    synchronized (cache) {
+      cache.put(key, new CachedCount(count, now() + timeToLive));
+    }
+  }
+
+  /**
+   * Removes the cached counts of the given filter for all users.
+   */
+  public void invalidate(String filterId) {
+    String prefix = filterId + "|";
+    synchronized (cache) {
+      Iterator<String> keys = cache.keySet().iterator();
+      while (keys.hasNext()) {
+        if (keys.next().startsWith(prefix)) {
+          keys.remove();
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  protected String createKey(String filterId, String userId, List<String> groupIds) {
+    StringBuilder key = new StringBuilder();
+    key.append(filterId).append('|').append(userId).append('|');
+
+    if (groupIds != null) {
+      List<String> sortedGroupIds = new ArrayList<String>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        key.append(groupId).append(',');
+      }
+    }
+
+    return key.toString();
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class CachedCount {
+
+    protected final long count;
+    protected final long expiresAt;
+
+    public CachedCount(long count, long expiresAt) {
+      this.count = count;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * A {@link HistoryEventHandler} implementation which delegates to a list of
+ * {@link HistoryEventHandler}s. This allows for example to persist history
+ * events in the database using the {@link DbHistoryEventHandler} and to
+ * stream them to files using the {@link FileHistoryEventHandler} at the
+ * same time.
+ *
+ * <p>The handlers are invoked in the order in which they were added.</p>
+ */
+public class CompositeHistoryEventHandler implements HistoryEventHandler {
+
+  /**
+   * The list of {@link HistoryEventHandler} which consume the event.
+   */
+  protected final List<HistoryEventHandler> historyEventHandlers = new ArrayList<HistoryEventHandler>();
+
+  /**
+   * Non-argument constructor for default initialization.
+   */
+  public CompositeHistoryEventHandler() {
+  }
+
+  /**
+   * Constructor that takes a varargs parameter {@link HistoryEventHandler} that
+   * consume the event.
+   *
+   * @param historyEventHandlers
+   *          the list of {@link HistoryEventHandler} that consume the event.
+   */
+  public CompositeHistoryEventHandler(final HistoryEventHandler... historyEventHandlers) {
+    initializeHistoryEventHandlers(Arrays.asList(historyEventHandlers));
+  }
+
+  /**
+   * Constructor that takes a list of {@link HistoryEventHandler} that consume
+   * the event.
+   *
+   * @param historyEventHandlers
+   *          the list of {@link HistoryEventHandler} that consume the event.
+   */
+  public CompositeHistoryEventHandler(final List<HistoryEventHandler> historyEventHandlers) {
+    initializeHistoryEventHandlers(historyEventHandlers);
+  }
+
+  protected void initializeHistoryEventHandlers(final List<HistoryEventHandler> historyEventHandlers) {
+    ensureNotNull("History event handler", historyEventHandlers);
+    for (HistoryEventHandler historyEventHandler : historyEventHandlers) {
+      add(historyEventHandler);
+    }
+  }
+
+  /**
+   * Adds the {@link HistoryEventHandler} to the list of
+   * {@link HistoryEventHandler} that consume the event.
+   *
+   * @param historyEventHandler
+   *          the {@link HistoryEventHandler} that consume the event.
+   */
+  public void add(final HistoryEventHandler historyEventHandler) {
+    ensureNotNull("History event handler", historyEventHandler);
+    historyEventHandlers.add(historyEventHandler);
+  }
+
+  public List<HistoryEventHandler> getHistoryEventHandlers() {
+    return historyEventHandlers;
+  }
+
+  public void handleEvent(final HistoryEvent historyEvent) {
+    for (HistoryEventHandler historyEventHandler : historyEventHandlers) {
+      historyEventHandler.handleEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(final List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+}
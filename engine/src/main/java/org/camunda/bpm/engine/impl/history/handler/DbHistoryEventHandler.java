@@ -16,11 +16,13 @@ import java.util.List;
 
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 
 /**
@@ -40,6 +42,11 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       insertOrUpdate(historyEvent);
     }
 
+    if (historyEvent instanceof HistoricActivityInstanceEventEntity
+        && Context.getProcessEngineConfiguration().isHistoricActivityStatisticsCounterEnabled()) {
+      updateHistoricActivityStatisticsCounter((HistoricActivityInstanceEventEntity) historyEvent);
+    }
+
   }
 
   public void handleEvents(List<HistoryEvent> historyEvents) {
@@ -127,6 +134,21 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
   }
 
 
+  /** maintains the counters read by the historic activity statistics query */
+  protected void updateHistoricActivityStatisticsCounter(HistoricActivityInstanceEventEntity historyEvent) {
+    String eventType = historyEvent.getEventType();
+
+    if (HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName().equals(eventType)) {
+      getHistoricStatisticsManager()
+        .updateHistoricActivityStatisticsCounter(historyEvent.getProcessDefinitionId(), historyEvent.getActivityId(), 1, 0, 0, 0);
+
+    } else if (HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName().equals(eventType)) {
+      getHistoricStatisticsManager()
+        .updateHistoricActivityStatisticsCounter(historyEvent.getProcessDefinitionId(), historyEvent.getActivityId(),
+          -1, 1, historyEvent.isCanceled() ? 1 : 0, historyEvent.isCompleteScope() ? 1 : 0);
+    }
+  }
+
   protected boolean isInitialEvent(String eventType) {
     return HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName().equals(eventType)
         || HistoryEventTypes.PROCESS_INSTANCE_START.getEventName().equals(eventType)
@@ -141,4 +163,8 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
     return Context.getCommandContext().getDbEntityManager();
   }
 
+  protected HistoricStatisticsManager getHistoricStatisticsManager() {
+    return Context.getCommandContext().getHistoricStatisticsManager();
+  }
+
 }
@@ -0,0 +1,171 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventFileWriter.FsyncPolicy;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * <p>A {@link HistoryEventHandler} which appends history events to rolling,
+ * size-bounded files in a directory. The files can be shipped to an offline
+ * analytics system or be loaded into the history tables using the
+ * {@link HistoryEventFileReplayer}.</p>
+ *
+ * <p>Events are serialized at the time they are fired and written to the
+ * file once the surrounding transaction has been committed. Events of
+ * rolled back transactions are discarded.</p>
+ *
+ * <p>To write history events to the database and to files, combine this
+ * handler with the {@link DbHistoryEventHandler} using a
+ * {@link CompositeHistoryEventHandler}.</p>
+ */
+public class FileHistoryEventHandler implements HistoryEventHandler {
+
+  public static final long DEFAULT_MAX_FILE_SIZE = 64 * 1024 * 1024;
+  public static final long DEFAULT_FSYNC_INTERVAL = 1000;
+
+  protected String directory;
+  protected String filePrefix = "history";
+  protected long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+  protected FsyncPolicy fsyncPolicy = FsyncPolicy.ON_ROLL;
+  protected long fsyncInterval = DEFAULT_FSYNC_INTERVAL;
+
+  protected volatile HistoryEventFileWriter writer;
+
+  public FileHistoryEventHandler() {
+  }
+
+  public FileHistoryEventHandler(String directory) {
+    this.directory = directory;
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    handleEvents(Collections.singletonList(historyEvent));
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    final List<byte[]> records = new ArrayList<byte[]>();
+    for (HistoryEvent historyEvent : historyEvents) {
+      records.add(serialize(historyEvent));
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            getWriter().write(records);
+          }
+        });
+    }
+    else {
+      getWriter().write(records);
+    }
+  }
+
+  /**
+   * Closes the file which is currently written. The next event will be written to a new file.
+   */
+  public void close() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  protected byte[] serialize(HistoryEvent historyEvent) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = null;
+    try {
+      out = new ObjectOutputStream(bytes);
+      out.writeObject(historyEvent);
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Could not serialize history event " + historyEvent, e);
+    } finally {
+      IoUtil.closeSilently(out);
+    }
+  }
+
+  protected HistoryEventFileWriter getWriter() {
+    if (writer == null) {
+      synchronized (this) {
+        if (writer == null) {
+          ensureNotNull("directory", directory);
+          writer = new HistoryEventFileWriter(new File(directory), filePrefix, maxFileSize, fsyncPolicy, fsyncInterval);
+        }
+      }
+    }
+    return writer;
+  }
+
+  // getters / setters ///////////////////////////////////////////////
+
+  public String getDirectory() {
+    return directory;
+  }
+
+  public void setDirectory(String directory) {
+    this.directory = directory;
+  }
+
+  public String getFilePrefix() {
+    return filePrefix;
+  }
+
+  public void setFilePrefix(String filePrefix) {
+    this.filePrefix = filePrefix;
+  }
+
+  public long getMaxFileSize() {
+    return maxFileSize;
+  }
+
+  public void setMaxFileSize(long maxFileSize) {
+    this.maxFileSize = maxFileSize;
+  }
+
+  public FsyncPolicy getFsyncPolicy() {
+    return fsyncPolicy;
+  }
+
+  public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+    this.fsyncPolicy = fsyncPolicy;
+  }
+
+  public long getFsyncInterval() {
+    return fsyncInterval;
+  }
+
+  public void setFsyncInterval(long fsyncInterval) {
+    this.fsyncInterval = fsyncInterval;
+  }
+
+}
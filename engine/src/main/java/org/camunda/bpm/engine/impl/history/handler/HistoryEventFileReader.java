@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * Reads the history events of a single file written by the {@link HistoryEventFileWriter}.
+ * A truncated record at the end of the file (e.g. caused by a crash while writing)
+ * is ignored. The length of a record is checked against the remaining size of the
+ * file before the record is read, so that a corrupt length neither causes a huge
+ * allocation nor an unexpected end of the file.
+ */
+public class HistoryEventFileReader {
+
+  private final static Logger LOG = Logger.getLogger(HistoryEventFileReader.class.getName());
+
+  protected File file;
+  protected DataInputStream in;
+
+  /** the number of bytes of the file which are not read yet */
+  protected long remaining;
+
+  public HistoryEventFileReader(File file) {
+    this.file = file;
+    try {
+      remaining = file.length();
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      if (remaining < 4 || in.readInt() != HistoryEventFileWriter.FILE_MAGIC) {
+        throw new ProcessEngineException("File '" + file + "' is not a history event file");
+      }
+      remaining -= 4;
+    } catch (IOException e) {
+      close();
+      throw new ProcessEngineException("Could not open history event file '" + file + "'", e);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the next event of the file or null if the end of the file has been reached.
+   */
+  public HistoryEvent read() {
+    if (remaining == 0) {
+      return null;
+    }
+
+    byte[] record;
+    try {
+      if (remaining < 4) {
+        return truncated();
+      }
+      int length = in.readInt();
+      remaining -= 4;
+
+      if (length <= 0) {
+        throw new ProcessEngineException("History event file '" + file + "' contains a record with invalid length " + length);
+      }
+      if (length > remaining) {
+        return truncated();
+      }
+
+      record = new byte[length];
+      in.readFully(record);
+      remaining -= length;
+    } catch (EOFException e) {
+      // the file was truncated after its size was determined
+      return truncated();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Could not read history event file '" + file + "'", e);
+    }
+
+    return deserialize(record);
+  }
+
+  protected HistoryEvent truncated() {
+    LOG.warning("Ignoring truncated record at the end of history event file '" + file + "'");
+    remaining = 0;
+    return null;
+  }
+
+  public void close() {
+    IoUtil.closeSilently(in);
+  }
+
+  protected HistoryEvent deserialize(byte[] record) {
+    ObjectInputStream objectIn = null;
+    try {
+      objectIn = new ObjectInputStream(new ByteArrayInputStream(record));
+      return (HistoryEvent) objectIn.readObject();
+    } catch (Exception e) {
+      throw new ProcessEngineException("Could not deserialize history event of file '" + file + "'", e);
+    } finally {
+      IoUtil.closeSilently(objectIn);
+    }
+  }
+
+  /**
+   * @return the history event files of the given directory in the order they were written.
+   */
+  public static File[] listFiles(File directory, final String filePrefix) {
+    File[] files = directory.listFiles(new FilenameFilter() {
+      public boolean accept(File dir, String name) {
+        return name.startsWith(filePrefix + "-") && name.endsWith(HistoryEventFileWriter.FILE_SUFFIX);
+      }
+    });
+
+    if (files == null) {
+      LOG.warning("History event directory '" + directory + "' does not exist");
+      return new File[0];
+    }
+
+    Arrays.sort(files);
+    return files;
+  }
+
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.cmd.ReplayHistoryEventsCmd;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>Bulk-loads history event files written by the {@link FileHistoryEventHandler}
+ * into the history tables.</p>
+ *
+ * <p>Events are replayed in the order they were written, in batches of up to
+ * {@link #getBatchSize()} events per transaction. A batch never contains two events
+ * for the same history entity, since an update event must see the state written
+ * by the preceding event.</p>
+ */
+public class HistoryEventFileReplayer {
+
+  private final static Logger LOG = Logger.getLogger(HistoryEventFileReplayer.class.getName());
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  protected CommandExecutor commandExecutor;
+  protected int batchSize = DEFAULT_BATCH_SIZE;
+
+  public HistoryEventFileReplayer(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  /**
+   * Replays all files with the given prefix in the given directory.
+   *
+   * @return the number of replayed events
+   */
+  public long replay(File directory, String filePrefix) {
+    long count = 0;
+    for (File file : HistoryEventFileReader.listFiles(directory, filePrefix)) {
+      count += replay(file);
+    }
+    return count;
+  }
+
+  /**
+   * Replays a single history event file.
+   *
+   * @return the number of replayed events
+   */
+  public long replay(File file) {
+    LOG.info("Replaying history events of file " + file);
+
+    HistoryEventFileReader reader = new HistoryEventFileReader(file);
+    long count = 0;
+    try {
+      List<HistoryEvent> batch = new ArrayList<HistoryEvent>();
+      Set<String> batchKeys = new HashSet<String>();
+
+      HistoryEvent historyEvent;
+      while ((historyEvent = reader.read()) != null) {
+        // events without id get their id assigned on insert and are never updated
+        String key = historyEvent.getId() != null ? historyEvent.getClass().getName() + ":" + historyEvent.getId() : null;
+        if (batch.size() >= batchSize || (key != null && batchKeys.contains(key))) {
+          count += flush(batch);
+          batchKeys.clear();
+        }
+        batch.add(historyEvent);
+        if (key != null) {
+          batchKeys.add(key);
+        }
+      }
+      count += flush(batch);
+
+    } finally {
+      reader.close();
+    }
+
+    return count;
+  }
+
+  protected int flush(List<HistoryEvent> batch) {
+    int size = batch.size();
+    if (size > 0) {
+      commandExecutor.execute(new ReplayHistoryEventsCmd(new ArrayList<HistoryEvent>(batch)));
+      batch.clear();
+    }
+    return size;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+}
@@ -0,0 +1,181 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Appends serialized history events to rolling, size-bounded files.</p>
+ *
+ * <p>Each file starts with the {@link #FILE_MAGIC} header followed by
+ * a sequence of records. A record consists of the length of the payload
+ * (4 bytes) and the payload itself. Files are named
+ * <code>&lt;prefix&gt;-&lt;creation time&gt;-&lt;sequence&gt;.events</code>
+ * so that sorting them by name yields the order in which they were written.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ *
+ * @see HistoryEventFileReader
+ */
+public class HistoryEventFileWriter {
+
+  private final static Logger LOG = Logger.getLogger(HistoryEventFileWriter.class.getName());
+
+  public static final int FILE_MAGIC = 0x43484531;
+  public static final String FILE_SUFFIX = ".events";
+
+  /** determines when written records are forced to the storage device */
+  public enum FsyncPolicy {
+    /** leave flushing to the operating system */
+    NEVER,
+    /** force a file to disk before it is rolled over or closed */
+    ON_ROLL,
+    /** force at most once per configured interval */
+    INTERVAL,
+    /** force after every write */
+    ALWAYS
+  }
+
+  protected File directory;
+  protected String filePrefix;
+  protected long maxFileSize;
+  protected FsyncPolicy fsyncPolicy;
+  protected long fsyncInterval;
+
+  protected FileChannel channel;
+  protected long currentFileSize;
+  protected int fileSequence = 0;
+  protected long lastFsync = 0;
+
+  public HistoryEventFileWriter(File directory, String filePrefix, long maxFileSize, FsyncPolicy fsyncPolicy, long fsyncInterval) {
+    this.directory = directory;
+    this.filePrefix = filePrefix;
+    this.maxFileSize = maxFileSize;
+    this.fsyncPolicy = fsyncPolicy;
+    this.fsyncInterval = fsyncInterval;
+  }
+
+  public synchronized void write(List<byte[]> records) {
+    try {
+      for (byte[] record : records) {
+        ensureCapacity(record.length + 4);
+
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 4);
+        buffer.putInt(record.length);
+        buffer.put(record);
+        buffer.flip();
+        writeFully(buffer);
+      }
+
+      if (fsyncPolicy == FsyncPolicy.ALWAYS
+          || (fsyncPolicy == FsyncPolicy.INTERVAL && System.currentTimeMillis() - lastFsync >= fsyncInterval)) {
+        force();
+      }
+
+    } catch (IOException e) {
+      throw new ProcessEngineException("Could not write history events to directory '" + directory + "'", e);
+    }
+  }
+
+  public synchronized void close() {
+    try {
+      closeCurrentFile();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Could not close history event file in directory '" + directory + "'", e);
+    }
+  }
+
+  protected void ensureCapacity(int length) throws IOException {
+    if (channel != null && currentFileSize > 4 && currentFileSize + length > maxFileSize) {
+      closeCurrentFile();
+    }
+    if (channel == null) {
+      openNextFile();
+    }
+  }
+
+  protected void openNextFile() throws IOException {
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Could not create directory " + directory);
+    }
+
+    File file;
+    do {
+      file = new File(directory, String.format("%s-%013d-%06d%s", filePrefix, System.currentTimeMillis(), fileSequence++, FILE_SUFFIX));
+    } while (file.exists());
+
+    LOG.fine("Opening history event file " + file);
+
+    channel = new RandomAccessFile(file, "rw").getChannel();
+    ByteBuffer header = ByteBuffer.allocate(4);
+    header.putInt(FILE_MAGIC);
+    header.flip();
+    currentFileSize = 0;
+    writeFully(header);
+  }
+
+  protected void closeCurrentFile() throws IOException {
+    if (channel != null) {
+      try {
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+          force();
+        }
+      } finally {
+        channel.close();
+        channel = null;
+      }
+    }
+  }
+
+  protected void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      currentFileSize += channel.write(buffer);
+    }
+  }
+
+  protected void force() throws IOException {
+    if (channel != null) {
+      channel.force(false);
+      lastFsync = System.currentTimeMillis();
+    }
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public String getFilePrefix() {
+    return filePrefix;
+  }
+
+  public long getMaxFileSize() {
+    return maxFileSize;
+  }
+
+  public FsyncPolicy getFsyncPolicy() {
+    return fsyncPolicy;
+  }
+
+  public long getFsyncInterval() {
+    return fsyncInterval;
+  }
+
+}
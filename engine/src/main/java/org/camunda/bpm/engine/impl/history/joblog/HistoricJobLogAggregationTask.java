@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.joblog;
+
+import java.util.List;
+import java.util.TimerTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogAggregateEntity;
+
+/**
+ * Writes the aggregates of the past interval of a {@link HistoricJobLogAggregator}.
+ */
+public class HistoricJobLogAggregationTask extends TimerTask {
+
+  protected final static Logger log = Logger.getLogger(HistoricJobLogAggregationTask.class.getName());
+
+  protected HistoricJobLogAggregator aggregator;
+  protected CommandExecutor commandExecutor;
+
+  public HistoricJobLogAggregationTask(HistoricJobLogAggregator aggregator, CommandExecutor commandExecutor) {
+    this.aggregator = aggregator;
+    this.commandExecutor = commandExecutor;
+  }
+
+  public void run() {
+    try {
+      writeAggregates();
+    }
+    catch(Exception e) {
+      try {
+        log.log(Level.WARNING, "Could not write historic job log aggregates", e);
+      } catch (Exception ex) {
+        // ignore if log can't be written
+      }
+    }
+  }
+
+  protected void writeAggregates() {
+    final List<HistoricJobLogAggregateEntity> aggregates = aggregator.getAndClear();
+    if (aggregates.isEmpty()) {
+      return;
+    }
+
+    commandExecutor.execute(new Command<Void>() {
+
+      public Void execute(CommandContext commandContext) {
+        for (HistoricJobLogAggregateEntity aggregate : aggregates) {
+          commandContext.getHistoricJobLogManager().insertHistoricJobLogAggregate(aggregate);
+        }
+        return null;
+      }
+    });
+  }
+
+}
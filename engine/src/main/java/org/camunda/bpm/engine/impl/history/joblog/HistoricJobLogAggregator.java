@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.joblog;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogAggregateEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.JobDefinition;
+
+/**
+ * <p>Counts created and successfully executed jobs per job definition in memory
+ * and periodically writes the counts of the past interval to the table
+ * ACT_HI_JOB_LOG_AGG (see {@link HistoricJobLogAggregationTask}).</p>
+ *
+ * <p>Counts of the current interval are lost if the process engine is not
+ * closed properly.</p>
+ */
+public class HistoricJobLogAggregator {
+
+  protected CommandExecutor commandExecutor;
+
+  // aggregate every 15 minutes by default, see ProcessEngineConfigurationImpl#setHistoricJobLogAggregationIntervalInSeconds
+  protected long aggregationIntervalInSeconds = 60 * 15;
+
+  protected Map<String, HistoricJobLogAggregateEntity> aggregates = new HashMap<String, HistoricJobLogAggregateEntity>();
+  protected Date intervalStart = ClockUtil.getCurrentTime();
+
+  protected HistoricJobLogAggregationTask aggregationTask;
+  private Timer timer;
+
+  public HistoricJobLogAggregator(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+    initAggregationTask();
+  }
+
+  protected void initAggregationTask() {
+    aggregationTask = new HistoricJobLogAggregationTask(this, commandExecutor);
+  }
+
+  public void start() {
+    timer = new Timer("Camunda Historic Job Log Aggregator", true);
+    long aggregationIntervalInMillis = aggregationIntervalInSeconds * 1000;
+
+    timer.scheduleAtFixedRate(aggregationTask,
+        aggregationIntervalInMillis,
+        aggregationIntervalInMillis);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      // write the last interval manually
+      writeNow();
+    }
+  }
+
+  public void writeNow() {
+    if (aggregationTask != null) {
+      aggregationTask.run();
+    }
+  }
+
+  /**
+   * Creates an aggregate for the given job which holds the given counts and can
+   * later be added by {@link #add(HistoricJobLogAggregateEntity)}.
+   */
+  public static HistoricJobLogAggregateEntity createAggregate(JobEntity job, long createdCount, long successfulCount) {
+    HistoricJobLogAggregateEntity aggregate = new HistoricJobLogAggregateEntity();
+
+    JobDefinition jobDefinition = job.getJobDefinition();
+    if (jobDefinition != null) {
+      aggregate.setJobDefinitionId(jobDefinition.getId());
+      aggregate.setJobDefinitionType(jobDefinition.getJobType());
+    }
+    else {
+      aggregate.setJobDefinitionType(job.getJobHandlerType());
+    }
+
+    aggregate.setProcessDefinitionId(job.getProcessDefinitionId());
+    aggregate.setProcessDefinitionKey(job.getProcessDefinitionKey());
+    aggregate.setDeploymentId(job.getDeploymentId());
+    aggregate.setCreatedCount(createdCount);
+    aggregate.setSuccessfulCount(successfulCount);
+
+    return aggregate;
+  }
+
+  public synchronized void add(HistoricJobLogAggregateEntity delta) {
+    String key = getKey(delta);
+
+    HistoricJobLogAggregateEntity aggregate = aggregates.get(key);
+    if (aggregate == null) {
+      aggregate = new HistoricJobLogAggregateEntity();
+      aggregate.setJobDefinitionId(delta.getJobDefinitionId());
+      aggregate.setJobDefinitionType(delta.getJobDefinitionType());
+      aggregate.setProcessDefinitionId(delta.getProcessDefinitionId());
+      aggregate.setProcessDefinitionKey(delta.getProcessDefinitionKey());
+      aggregate.setDeploymentId(delta.getDeploymentId());
+      aggregates.put(key, aggregate);
+    }
+
+    aggregate.setCreatedCount(aggregate.getCreatedCount() + delta.getCreatedCount());
+    aggregate.setSuccessfulCount(aggregate.getSuccessfulCount() + delta.getSuccessfulCount());
+  }
+
+  /**
+   * Returns the aggregates of the interval which ends now and starts a new interval.
+   */
+  public synchronized List<HistoricJobLogAggregateEntity> getAndClear() {
+    Date intervalEnd = ClockUtil.getCurrentTime();
+
+    List<HistoricJobLogAggregateEntity> result = new ArrayList<HistoricJobLogAggregateEntity>(aggregates.values());
+    for (HistoricJobLogAggregateEntity aggregate : result) {
+      aggregate.setStartTime(intervalStart);
+      aggregate.setEndTime(intervalEnd);
+    }
+
+    aggregates.clear();
+    intervalStart = intervalEnd;
+
+    return result;
+  }
+
+  protected String getKey(HistoricJobLogAggregateEntity aggregate) {
+    if (aggregate.getJobDefinitionId() != null) {
+      return aggregate.getJobDefinitionId();
+    }
+    else {
+      // jobs without job definition (e.g. async signals)
+      return aggregate.getJobDefinitionType() + ":" + aggregate.getProcessDefinitionId();
+    }
+  }
+
+  public long getAggregationIntervalInSeconds() {
+    return aggregationIntervalInSeconds;
+  }
+
+  public void setAggregationIntervalInSeconds(long aggregationIntervalInSeconds) {
+    this.aggregationIntervalInSeconds = aggregationIntervalInSeconds;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public HistoricJobLogAggregationTask getAggregationTask() {
+    return aggregationTask;
+  }
+
+  public void setAggregationTask(HistoricJobLogAggregationTask aggregationTask) {
+    this.aggregationTask = aggregationTask;
+  }
+
+}
@@ -67,9 +67,14 @@ public class BeanELResolver extends ELResolver {
 
 	protected static final class BeanProperty {
 		private final PropertyDescriptor descriptor;
+		// the accessible accessors are looked up once
+		private final Method readMethod;
+		private final Method writeMethod;
 
 		public BeanProperty(PropertyDescriptor descriptor) {
 			this.descriptor = descriptor;
+			this.readMethod = findAccessibleMethod(descriptor.getReadMethod());
+			this.writeMethod = findAccessibleMethod(descriptor.getWriteMethod());
 		}
 
 		public Class<?> getPropertyType() {
@@ -77,15 +82,15 @@ public class BeanELResolver extends ELResolver {
 		}
 
 		public Method getReadMethod() {
-			return findAccessibleMethod(descriptor.getReadMethod());
+			return readMethod;
 		}
 
 		public Method getWriteMethod() {
-			return findAccessibleMethod(descriptor.getWriteMethod());
+			return writeMethod;
 		}
 
 		public boolean isReadOnly() {
-			return findAccessibleMethod(descriptor.getWriteMethod()) == null;
+			return writeMethod == null;
 		}
 	}
 
@@ -126,8 +131,15 @@ public class BeanELResolver extends ELResolver {
 		return method;
 	}
 
+	/**
+	 * Default maximum number of classes whose properties and methods are cached.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1000;
+
 	private final boolean readOnly;
+	private final int cacheSize;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Method>> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -142,8 +154,18 @@ public class BeanELResolver extends ELResolver {
 	 * Creates a new BeanELResolver whose read-only status is determined by the given parameter.
 	 */
 	public BeanELResolver(boolean readOnly) {
+		this(readOnly, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a new BeanELResolver whose read-only status is determined by the given parameter
+	 * and which caches the properties and methods of at most <code>cacheSize</code> classes.
+	 */
+	public BeanELResolver(boolean readOnly, int cacheSize) {
 		this.readOnly = readOnly;
+		this.cacheSize = cacheSize;
 		this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+		this.methodCache = new ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Method>>();
 	}
 
 	/**
@@ -487,16 +509,56 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
-  private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+	/**
+	 * Lookup the method for the given name and parameter types or count in the method cache.
+	 * Methods which are not found are not cached.
+	 */
+	private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+		Class<?> baseClass = base.getClass();
+		if (!isCacheable(baseClass)) {
+			return findMethod(baseClass, name, types, paramCount);
+		}
+		ConcurrentHashMap<String, Method> methods = methodCache.get(baseClass);
+		if (methods == null) {
+			ensureCapacity(methodCache);
+			ConcurrentHashMap<String, Method> newMethods = new ConcurrentHashMap<String, Method>();
+			methods = methodCache.putIfAbsent(baseClass, newMethods);
+			if (methods == null) { // put succeeded, use new value
+				methods = newMethods;
+			}
+		}
+		String key = getMethodKey(name, types, paramCount);
+		Method method = methods.get(key);
+		if (method == null) {
+			method = findMethod(baseClass, name, types, paramCount);
+			if (method != null) {
+				methods.put(key, method);
+			}
+		}
+		return method;
+	}
+
+	private String getMethodKey(String name, Class<?>[] types, int paramCount) {
+		if (types == null) {
+			return name + "#" + paramCount;
+		}
+		StringBuilder key = new StringBuilder(name).append('(');
+		for (Class<?> type : types) {
+			key.append(type.getName()).append(',');
+		}
+		return key.append(')').toString();
+	}
+
+	private Method findMethod(Class<?> baseClass, String name, Class<?>[] types, int paramCount) {
 		if (types != null) {
 			try {
-				return findAccessibleMethod(base.getClass().getMethod(name, types));
+				return findAccessibleMethod(baseClass.getMethod(name, types));
 			} catch (NoSuchMethodException e) {
 				return null;
 			}
 		}
 		Method varArgsMethod = null;
-		for (Method method : base.getClass().getMethods()) {
+		for (Method method : baseClass.getMethods()) {
 			if (method.getName().equals(name)) {
 				int formalParamCount = method.getParameterTypes().length;
 				if (method.isVarArgs() && paramCount >= formalParamCount - 1) {
@@ -609,7 +671,10 @@ public class BeanELResolver extends ELResolver {
 	 */
 	private final BeanProperty toBeanProperty(Object base, Object property) {
 		BeanProperties beanProperties = cache.get(base.getClass());
-		if (beanProperties == null) {
+		if (beanProperties == null && !isCacheable(base.getClass())) {
+			beanProperties = new BeanProperties(base.getClass());
+		} else if (beanProperties == null) {
+			ensureCapacity(cache);
 			BeanProperties newBeanProperties = new BeanProperties(base.getClass());
 			beanProperties = cache.putIfAbsent(base.getClass(), newBeanProperties);
 			if (beanProperties == null) { // put succeeded, use new value
@@ -624,8 +689,32 @@ public class BeanELResolver extends ELResolver {
 	}
 
 	/**
-	 * This method is not part of the API, though it can be used (reflectively) by clients of this
-	 * class to remove entries from the cache when the beans are being unloaded.
+	 * Determine whether the properties and methods of the given class may be cached. Subclasses
+	 * may exclude classes which can be unloaded while this resolver is in use.
+	 * 
+	 * @param beanClass
+	 *            The class of a bean.
+	 * @return <code>true</code>
+	 */
+	public boolean isCacheable(Class<?> beanClass) {
+		return true;
+	}
+
+	/**
+	 * Bound the size of a cache: if the cache is full, remove some entry to make room for a new
+	 * one. The entries are cheap to recreate, so no least recently used order is maintained.
+	 */
+	private void ensureCapacity(ConcurrentHashMap<Class<?>, ?> classCache) {
+		Iterator<Class<?>> classes = classCache.keySet().iterator();
+		while (classCache.size() >= cacheSize && classes.hasNext()) {
+			classes.next();
+			classes.remove();
+		}
+	}
+
+	/**
+	 * Remove entries from the caches when the beans are being unloaded, e.g. when the process
+	 * application which provides the classes is undeployed.
 	 * 
 	 * Note: this method is present in the reference implementation, so we're adding it here to ease
 	 * migration.
@@ -633,9 +722,13 @@ public class BeanELResolver extends ELResolver {
 	 * @param classloader
 	 *            The classLoader used to load the beans.
 	 */
-	@SuppressWarnings("unused")
-	private final void purgeBeanClasses(ClassLoader loader) {
-		Iterator<Class<?>> classes = cache.keySet().iterator();
+	public void purgeBeanClasses(ClassLoader loader) {
+		purgeBeanClasses(cache, loader);
+		purgeBeanClasses(methodCache, loader);
+	}
+
+	private void purgeBeanClasses(ConcurrentHashMap<Class<?>, ?> classCache, ClassLoader loader) {
+		Iterator<Class<?>> classes = classCache.keySet().iterator();
 		while (classes.hasNext()) {
 			if (loader == classes.next().getClassLoader()) {
 				classes.remove();
@@ -14,6 +14,8 @@ package org.camunda.bpm.engine.impl.metrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Daniel Meyer
@@ -23,6 +25,10 @@ public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
 
+  protected ConcurrentMap<String, StatementMetrics> statementMetrics = new ConcurrentHashMap<String, StatementMetrics>();
+  protected volatile boolean statementMetricsEnabled = false;
+  protected volatile long statementMetricsStartTime = System.currentTimeMillis();
+
   public Meter getMeterByName(String name) {
     return meters.get(name);
   }
@@ -49,4 +55,89 @@ public class MetricsRegistry {
     return meter;
   }
 
+  // statement metrics ///////////////////////////////////////////
+
+  /**
+   * @return true if the executions of MyBatis statements are recorded, see {@link #markStatement(String, long, int)}
+   * and {@link #markStatementError(String, long)}
+   */
+  public boolean isStatementMetricsEnabled() {
+    return statementMetricsEnabled;
+  }
+
+  /**
+   * Enables or disables the recording of statement executions. Can be changed
+   * while the process engine is running; the recorded metrics are kept.
+   */
+  public void setStatementMetricsEnabled(boolean statementMetricsEnabled) {
+    if (statementMetricsEnabled && !this.statementMetricsEnabled && statementMetrics.isEmpty()) {
+      statementMetricsStartTime = System.currentTimeMillis();
+    }
+    this.statementMetricsEnabled = statementMetricsEnabled;
+  }
+
+  /**
+   * Records an execution of a MyBatis statement if statement metrics are enabled.
+   *
+   * @param statement the id of the statement
+   * @param durationNanos the time the execution took in nanoseconds
+   * @param rows the number of selected or affected rows
+   */
+  public void markStatement(String statement, long durationNanos, int rows) {
+    if (statementMetricsEnabled) {
+      getOrCreateStatementMetrics(statement).record(durationNanos, rows);
+    }
+  }
+
+  /**
+   * Records a failed execution of a MyBatis statement if statement metrics are enabled.
+   *
+   * @param statement the id of the statement
+   * @param durationNanos the time until the execution failed in nanoseconds
+   */
+  public void markStatementError(String statement, long durationNanos) {
+    if (statementMetricsEnabled) {
+      getOrCreateStatementMetrics(statement).recordError(durationNanos);
+    }
+  }
+
+  protected StatementMetrics getOrCreateStatementMetrics(String statement) {
+    StatementMetrics metrics = statementMetrics.get(statement);
+    if (metrics == null) {
+      StatementMetrics newMetrics = new StatementMetrics(statement);
+      metrics = statementMetrics.putIfAbsent(statement, newMetrics);
+      if (metrics == null) {
+        metrics = newMetrics;
+      }
+    }
+    return metrics;
+  }
+
+  public StatementMetrics getStatementMetricsByName(String statement) {
+    return statementMetrics.get(statement);
+  }
+
+  /**
+   * @return the metrics of the executed statements by statement id
+   */
+  public Map<String, StatementMetrics> getStatementMetrics() {
+    return statementMetrics;
+  }
+
+  /**
+   * @return the time in milliseconds since which the statement metrics are
+   * recorded, used to compute call rates
+   */
+  public long getStatementMetricsStartTime() {
+    return statementMetricsStartTime;
+  }
+
+  /**
+   * Discards the recorded statement metrics.
+   */
+  public void clearStatementMetrics() {
+    statementMetrics.clear();
+    statementMetricsStartTime = System.currentTimeMillis();
+  }
+
 }
@@ -0,0 +1,180 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>The number of executions and failed executions, the number of affected rows
+ * and a latency histogram of a MyBatis statement, recorded by the
+ * {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession} if statement
+ * metrics are enabled (see {@link MetricsRegistry#setStatementMetricsEnabled(boolean)}).</p>
+ *
+ * <p>The histogram counts the executions per latency bucket. The upper bounds of
+ * the buckets are given by {@link #BUCKET_BOUNDS_MILLIS}; the last bucket counts
+ * all executions which took longer than the largest bound.</p>
+ *
+ * @see MetricsRegistry#getStatementMetrics()
+ */
+public class StatementMetrics {
+
+  /** the inclusive upper bounds of the latency buckets in milliseconds */
+  public static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+  protected static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_MILLIS.length];
+
+  static {
+    for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+      BUCKET_BOUNDS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MILLIS[i]);
+    }
+  }
+
+  protected String statement;
+
+  protected AtomicLong calls = new AtomicLong(0);
+  protected AtomicLong errors = new AtomicLong(0);
+  protected AtomicLong rows = new AtomicLong(0);
+  protected AtomicLong totalTimeNanos = new AtomicLong(0);
+  protected AtomicLong maxTimeNanos = new AtomicLong(0);
+  protected AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+  public StatementMetrics(String statement) {
+    this.statement = statement;
+  }
+
+  /**
+   * Records an execution of the statement.
+   *
+   * @param durationNanos the time the execution took in nanoseconds
+   * @param rowCount the number of selected or affected rows
+   */
+  public void record(long durationNanos, int rowCount) {
+    rows.addAndGet(rowCount);
+    recordExecution(durationNanos);
+  }
+
+  /**
+   * Records an execution of the statement which failed with an exception.
+   *
+   * @param durationNanos the time until the execution failed in nanoseconds
+   */
+  public void recordError(long durationNanos) {
+    errors.incrementAndGet();
+    recordExecution(durationNanos);
+  }
+
+  protected void recordExecution(long durationNanos) {
+    calls.incrementAndGet();
+    totalTimeNanos.addAndGet(durationNanos);
+    histogram.incrementAndGet(getBucket(durationNanos));
+
+    long max = maxTimeNanos.get();
+    while (durationNanos > max && !maxTimeNanos.compareAndSet(max, durationNanos)) {
+      max = maxTimeNanos.get();
+    }
+  }
+
+  protected int getBucket(long durationNanos) {
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS_NANOS.length && durationNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  /**
+   * @return the id of the statement
+   */
+  public String getStatement() {
+    return statement;
+  }
+
+  /**
+   * @return the number of executions including the failed ones
+   */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /**
+   * @return the number of executions which failed with an exception
+   */
+  public long getErrors() {
+    return errors.get();
+  }
+
+  /**
+   * @return the number of selected rows of select statements and affected rows of
+   * insert, update and delete statements summed up over all executions
+   */
+  public long getRows() {
+    return rows.get();
+  }
+
+  public long getTotalTimeNanos() {
+    return totalTimeNanos.get();
+  }
+
+  public long getMaxTimeNanos() {
+    return maxTimeNanos.get();
+  }
+
+  /**
+   * @return the number of executions per latency bucket, see {@link #BUCKET_BOUNDS_MILLIS}
+   */
+  public long[] getHistogram() {
+    long[] counts = new long[histogram.length()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = histogram.get(i);
+    }
+    return counts;
+  }
+
+  /**
+   * @return the mean latency of the executions in milliseconds
+   */
+  public double getMeanTimeMillis() {
+    long count = getCalls();
+    return count == 0 ? 0 : (double) getTotalTimeNanos() / count / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("calls=").append(getCalls())
+      .append(", errors=").append(getErrors())
+      .append(", rows=").append(getRows())
+      .append(", totalTime=").append(TimeUnit.NANOSECONDS.toMillis(getTotalTimeNanos())).append("ms")
+      .append(", meanTime=").append(String.format("%.3f", getMeanTimeMillis())).append("ms")
+      .append(", maxTime=").append(TimeUnit.NANOSECONDS.toMillis(getMaxTimeNanos())).append("ms")
+      .append(", histogram=[");
+
+    long[] counts = getHistogram();
+    for (int i = 0; i < counts.length; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      if (i < BUCKET_BOUNDS_MILLIS.length) {
+        builder.append("<=").append(BUCKET_BOUNDS_MILLIS[i]);
+      }
+      else {
+        builder.append(">").append(BUCKET_BOUNDS_MILLIS[i - 1]);
+      }
+      builder.append("ms:").append(counts[i]);
+    }
+
+    return builder.append("]").toString();
+  }
+
+}
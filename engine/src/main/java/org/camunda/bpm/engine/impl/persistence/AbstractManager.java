@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.impl.persistence;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.authorization.Permission;
@@ -42,6 +44,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricIncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
@@ -50,6 +53,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
@@ -60,6 +64,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
  */
 public abstract class AbstractManager implements Session {
 
+  /** the maximum number of values in the IN list of a statement, some databases do not allow more */
+  protected static final int MAX_IN_LIST_SIZE = 1000;
+
   public void insert(DbEntity dbEntity) {
     getDbEntityManager().insert(dbEntity);
   }
@@ -72,6 +79,20 @@ public abstract class AbstractManager implements Session {
     return getSession(DbEntityManager.class);
   }
 
+  /**
+   * Selects the results of a statement whose parameter is a list of ids, with one
+   * statement per {@value #MAX_IN_LIST_SIZE} ids.
+   */
+  @SuppressWarnings("unchecked")
+  protected <T> List<T> selectListByIds(String statement, List<String> ids) {
+    List<T> results = new ArrayList<T>();
+    for (int i = 0; i < ids.size(); i += MAX_IN_LIST_SIZE) {
+      List<String> batch = new ArrayList<String>(ids.subList(i, Math.min(i + MAX_IN_LIST_SIZE, ids.size())));
+      results.addAll(getDbEntityManager().selectList(statement, batch));
+    }
+    return results;
+  }
+
   protected DbSqlSession getDbSqlSession() {
     return getSession(DbSqlSession.class);
   }
@@ -160,6 +181,14 @@ public abstract class AbstractManager implements Session {
     return getSession(HistoricJobLogManager.class);
   }
 
+  protected HistoricStatisticsManager getHistoricStatisticsManager() {
+    return getSession(HistoricStatisticsManager.class);
+  }
+
+  protected StatisticsManager getStatisticsManager() {
+    return getSession(StatisticsManager.class);
+  }
+
   protected JobManager getJobManager() {
     return getSession(JobManager.class);
   }
@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+/**
+ * A thread-safe cache used by the {@link DeploymentCache}. Implementations
+ * may evict entries at any time, evicted definitions are parsed again
+ * on the next access.
+ *
+ * @see CacheFactory
+ */
+public interface Cache<K, V> {
+
+  /** Returns the value for the key or null if the value is not cached. */
+  V get(K key);
+
+  void put(K key, V value);
+
+  void remove(K key);
+
+  void clear();
+
+  int size();
+
+  boolean isEmpty();
+
+  /** Returns the number of {@link #get(Object)} calls which found a value. */
+  long getHitCount();
+
+  /** Returns the number of {@link #get(Object)} calls which did not find a value. */
+  long getMissCount();
+
+  /** Returns the number of entries which were evicted to limit the size of the cache. */
+  long getEvictionCount();
+
+}
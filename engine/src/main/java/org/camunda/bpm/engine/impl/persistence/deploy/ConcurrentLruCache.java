@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * A {@link Cache} which evicts the least recently used entry when it exceeds
+ * its capacity.
+ */
+public class ConcurrentLruCache<K, V> implements Cache<K, V> {
+
+  protected final int capacity;
+  protected final Map<K, V> cache;
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  public ConcurrentLruCache(int capacity) {
+    if (capacity < 1) {
+      throw new ProcessEngineException("capacity of the cache must be at least 1 but is " + capacity);
+    }
+    this.capacity = capacity;
+    this.cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        boolean evict = size() > ConcurrentLruCache.this.capacity;
+        if (evict) {
+          evictionCount.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  public V get(K key) {
+    V value;
+    // access ordered maps are modified by get
+    synchronized (cache) {
+      value = cache.get(key);
+    }
+
+    if (value != null) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    synchronized (cache) {
+      cache.put(key, value);
+    }
+  }
+
+  public void remove(K key) {
+    synchronized (cache) {
+      cache.remove(key);
+    }
+  }
+
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+}
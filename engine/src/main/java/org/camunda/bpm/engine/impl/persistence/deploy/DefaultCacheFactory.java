@@ -0,0 +1,28 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+/**
+ * Creates {@link ConcurrentLruCache least recently used caches}, or
+ * {@link UnboundedCache unbounded caches} if no capacity is given.
+ */
+public class DefaultCacheFactory implements CacheFactory {
+
+  public <V> Cache<String, V> createCache(int capacity) {
+    if (capacity < 1) {
+      return new UnboundedCache<String, V>();
+    }
+    return new ConcurrentLruCache<String, V>(capacity);
+  }
+
+}
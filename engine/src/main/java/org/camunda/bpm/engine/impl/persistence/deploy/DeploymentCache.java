@@ -16,9 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.deploy;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,8 +29,10 @@ import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.model.bpmn.Bpmn;
@@ -49,12 +49,41 @@ public class DeploymentCache {
 
   private Logger LOGGER = Logger.getLogger(DeploymentCache.class.getName());
 
-  protected Map<String, ProcessDefinitionEntity> processDefinitionCache = new HashMap<String, ProcessDefinitionEntity>();
-  protected Map<String, CaseDefinitionEntity> caseDefinitionCache = new HashMap<String, CaseDefinitionEntity>();
-  protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = new HashMap<String, BpmnModelInstance>();
-  protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = new HashMap<String, CmmnModelInstance>();
+  protected Cache<String, ProcessDefinitionEntity> processDefinitionCache;
+  protected Cache<String, CaseDefinitionEntity> caseDefinitionCache;
+  protected Cache<String, BpmnModelInstance> bpmnModelInstanceCache;
+  protected Cache<String, CmmnModelInstance> cmmnModelInstanceCache;
   protected List<Deployer> deployers;
 
+  public DeploymentCache() {
+    this(new DefaultCacheFactory(), 0);
+  }
+
+  /**
+   * Creates a deployment cache which holds at most the given number of process
+   * definitions, case definitions and model instances each. Evicted definitions
+   * are parsed again on the next access. The capacity must be greater than the
+   * number of definitions of the largest deployment. With a capacity less than 1,
+   * the caches are unbounded.
+   */
+  public DeploymentCache(CacheFactory cacheFactory, int capacity) {
+    processDefinitionCache = cacheFactory.createCache(capacity);
+    caseDefinitionCache = cacheFactory.createCache(capacity);
+    bpmnModelInstanceCache = cacheFactory.createCache(capacity);
+    cmmnModelInstanceCache = cacheFactory.createCache(capacity);
+  }
+
+  /**
+   * Marks the hits, misses and evictions of the caches as occurrences of the deployment
+   * cache metrics of the given registry, see {@link MeteredCache}.
+   */
+  public void registerMetrics(MetricsRegistry metricsRegistry) {
+    processDefinitionCache = new MeteredCache<String, ProcessDefinitionEntity>(processDefinitionCache, metricsRegistry);
+    caseDefinitionCache = new MeteredCache<String, CaseDefinitionEntity>(caseDefinitionCache, metricsRegistry);
+    bpmnModelInstanceCache = new MeteredCache<String, BpmnModelInstance>(bpmnModelInstanceCache, metricsRegistry);
+    cmmnModelInstanceCache = new MeteredCache<String, CmmnModelInstance>(cmmnModelInstanceCache, metricsRegistry);
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     Context.getCommandContext().runWithoutAuthorization(new Callable<Void>() {
       public Void call() throws Exception {
@@ -66,6 +95,37 @@ public class DeploymentCache {
     });
   }
 
+  /**
+   * Loads an existing deployment to deploy it again into the cache. If lazy definition loading is
+   * enabled, the returned deployment contains only the given resource so that only the definitions
+   * of this resource are parsed.
+   */
+  protected DeploymentEntity loadDeployment(String deploymentId, String resourceName) {
+    CommandContext commandContext = Context.getCommandContext();
+    DeploymentEntity deployment = commandContext
+      .getDeploymentManager()
+      .findDeploymentById(deploymentId);
+
+    if (resourceName != null && Context.getProcessEngineConfiguration().isLazyDefinitionLoadingEnabled()) {
+      ResourceEntity resource = commandContext
+        .getResourceManager()
+        .findResourceByDeploymentIdAndResourceName(deploymentId, resourceName);
+
+      if (resource != null) {
+        // use a copy, the deployment entity of the command context keeps all of its resources
+        DeploymentEntity partialDeployment = new DeploymentEntity();
+        partialDeployment.setId(deployment.getId());
+        partialDeployment.setName(deployment.getName());
+        partialDeployment.setDeploymentTime(deployment.getDeploymentTime());
+        partialDeployment.addResource(resource);
+        deployment = partialDeployment;
+      }
+    }
+
+    deployment.setNew(false);
+    return deployment;
+  }
+
   // PROCESS DEFINITION ////////////////////////////////////////////////////////////////////////////////
 
   public ProcessDefinitionEntity findDeployedProcessDefinitionById(String processDefinitionId) {
@@ -121,11 +181,7 @@ public class DeploymentCache {
     String deploymentId = processDefinition.getDeploymentId();
     ProcessDefinitionEntity cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
     if (cachedProcessDefinition==null) {
-      DeploymentEntity deployment = Context
-        .getCommandContext()
-        .getDeploymentManager()
-        .findDeploymentById(deploymentId);
-      deployment.setNew(false);
+      DeploymentEntity deployment = loadDeployment(deploymentId, processDefinition.getResourceName());
       deploy(deployment);
       cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
 
@@ -177,6 +233,7 @@ public class DeploymentCache {
 
   public void removeProcessDefinition(String processDefinitionId) {
     processDefinitionCache.remove(processDefinitionId);
+    bpmnModelInstanceCache.remove(processDefinitionId);
   }
 
   public void discardProcessDefinitionCache() {
@@ -273,12 +330,7 @@ public class DeploymentCache {
     CaseDefinitionEntity cachedCaseDefinition = caseDefinitionCache.get(caseDefinitionId);
 
     if (cachedCaseDefinition==null) {
-      DeploymentEntity deployment = Context
-        .getCommandContext()
-        .getDeploymentManager()
-        .findDeploymentById(deploymentId);
-
-      deployment.setNew(false);
+      DeploymentEntity deployment = loadDeployment(deploymentId, caseDefinition.getResourceName());
       deploy(deployment);
 
       cachedCaseDefinition = caseDefinitionCache.get(caseDefinitionId);
@@ -323,6 +375,7 @@ public class DeploymentCache {
 
   public void removeCaseDefinition(String caseDefinitionId) {
     caseDefinitionCache.remove(caseDefinitionId);
+    cmmnModelInstanceCache.remove(caseDefinitionId);
   }
 
   public void discardCaseDefinitionCache() {
@@ -331,27 +384,27 @@ public class DeploymentCache {
 
   // getters and setters //////////////////////////////////////////////////////
 
-  public Map<String, BpmnModelInstance> getBpmnModelInstanceCache() {
+  public Cache<String, BpmnModelInstance> getBpmnModelInstanceCache() {
     return bpmnModelInstanceCache;
   }
 
-  public Map<String, CmmnModelInstance> getCmmnModelInstanceCache() {
+  public Cache<String, CmmnModelInstance> getCmmnModelInstanceCache() {
     return cmmnModelInstanceCache;
   }
 
-  public Map<String, ProcessDefinitionEntity> getProcessDefinitionCache() {
+  public Cache<String, ProcessDefinitionEntity> getProcessDefinitionCache() {
     return processDefinitionCache;
   }
 
-  public void setProcessDefinitionCache(Map<String, ProcessDefinitionEntity> processDefinitionCache) {
+  public void setProcessDefinitionCache(Cache<String, ProcessDefinitionEntity> processDefinitionCache) {
     this.processDefinitionCache = processDefinitionCache;
   }
 
-  public Map<String, CaseDefinitionEntity> getCaseDefinitionCache() {
+  public Cache<String, CaseDefinitionEntity> getCaseDefinitionCache() {
     return caseDefinitionCache;
   }
 
-  public void setCaseDefinitionCache(Map<String, CaseDefinitionEntity> caseDefinitionCache) {
+  public void setCaseDefinitionCache(Cache<String, CaseDefinitionEntity> caseDefinitionCache) {
     this.caseDefinitionCache = caseDefinitionCache;
   }
 
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+
+/**
+ * <p>Parses the resources of a deployment concurrently. Used by the
+ * {@link Deployer}s to run the CPU bound parsing of independent resources
+ * on a fixed number of threads while the deploying thread waits.</p>
+ *
+ * <p>The results are returned in the order of the given tasks, so that the
+ * deployers can process them (assign ids and versions, persist them) in the
+ * same deterministic order as if they were parsed sequentially.</p>
+ *
+ * <p>The tasks are executed with the process engine configuration, the current
+ * process application and the context class loader of the deploying thread.
+ * There is <em>no</em> command context on the parsing threads: parsing must not
+ * access the database. Parse listeners are invoked in document order for
+ * each resource but concurrently for different resources, so they have to be
+ * thread-safe if more than one thread is configured.</p>
+ *
+ * <p>With a single thread, all tasks are executed in the deploying thread.</p>
+ */
+public class DeploymentParseExecutor {
+
+  protected final int threads;
+
+  protected ExecutorService executorService;
+
+  public DeploymentParseExecutor(int threads) {
+    if (threads < 1) {
+      throw new ProcessEngineException("invalid number of deployment parse threads: " + threads);
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Executes the given tasks and returns their results in the order of the tasks.
+   * If a task fails, its exception is rethrown after all tasks are finished.
+   */
+  public <T> List<T> executeAll(List<Callable<T>> tasks) {
+    List<T> results = new ArrayList<T>(tasks.size());
+
+    if (threads == 1 || tasks.size() < 2) {
+      for (Callable<T> task : tasks) {
+        results.add(call(task));
+      }
+      return results;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    for (Callable<T> task : tasks) {
+      futures.add(getExecutorService().submit(new ContextAwareTask<T>(task, processEngineConfiguration, processApplication, classLoader)));
+    }
+
+    RuntimeException failure = null;
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      }
+      catch (ExecutionException e) {
+        if (failure == null) {
+          failure = toRuntimeException(e.getCause());
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("interrupted while parsing deployment resources", e);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+
+    return results;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Stops the parsing threads. Called when the process engine is closed.
+   */
+  public synchronized void shutdown() {
+    if (executorService != null) {
+      executorService.shutdown();
+      executorService = null;
+    }
+  }
+
+  protected synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = Executors.newFixedThreadPool(threads, new ParseThreadFactory());
+    }
+    return executorService;
+  }
+
+  protected static <T> T call(Callable<T> task) {
+    try {
+      return task.call();
+    }
+    catch (Exception e) {
+      throw toRuntimeException(e);
+    }
+  }
+
+  protected static RuntimeException toRuntimeException(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    return new ProcessEngineException(throwable.getMessage(), throwable);
+  }
+
+  protected static class ContextAwareTask<T> implements Callable<T> {
+
+    protected final Callable<T> task;
+    protected final ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected final ProcessApplicationReference processApplication;
+    protected final ClassLoader classLoader;
+
+    public ContextAwareTask(Callable<T> task, ProcessEngineConfigurationImpl processEngineConfiguration,
+        ProcessApplicationReference processApplication, ClassLoader classLoader) {
+      this.task = task;
+      this.processEngineConfiguration = processEngineConfiguration;
+      this.processApplication = processApplication;
+      this.classLoader = classLoader;
+    }
+
+    public T call() throws Exception {
+      Thread thread = Thread.currentThread();
+      ClassLoader originalClassLoader = thread.getContextClassLoader();
+
+      thread.setContextClassLoader(classLoader);
+      if (processEngineConfiguration != null) {
+        Context.setProcessEngineConfiguration(processEngineConfiguration);
+      }
+      if (processApplication != null) {
+        Context.setCurrentProcessApplication(processApplication);
+      }
+
+      try {
+        return task.call();
+      }
+      finally {
+        if (processApplication != null) {
+          Context.removeCurrentProcessApplication();
+        }
+        if (processEngineConfiguration != null) {
+          Context.removeProcessEngineConfiguration();
+        }
+        thread.setContextClassLoader(originalClassLoader);
+      }
+    }
+  }
+
+  protected static class ParseThreadFactory implements ThreadFactory {
+
+    protected static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+
+    protected final AtomicInteger threadNumber = new AtomicInteger(1);
+    protected final String namePrefix = "camunda-deployment-parser-" + POOL_NUMBER.getAndIncrement() + "-";
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
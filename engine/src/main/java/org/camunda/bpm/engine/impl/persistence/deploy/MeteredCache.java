@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * A {@link Cache} which marks the hits, misses and evictions of another cache as
+ * occurrences of the metrics {@link Metrics#DEPLOYMENT_CACHE_HIT},
+ * {@link Metrics#DEPLOYMENT_CACHE_MISS} and {@link Metrics#DEPLOYMENT_CACHE_EVICTION}.
+ */
+public class MeteredCache<K, V> implements Cache<K, V> {
+
+  protected final Cache<K, V> cache;
+  protected final MetricsRegistry metricsRegistry;
+
+  /** the evictions of the cache which are already marked */
+  protected final AtomicLong markedEvictionCount;
+
+  public MeteredCache(Cache<K, V> cache, MetricsRegistry metricsRegistry) {
+    this.cache = cache;
+    this.metricsRegistry = metricsRegistry;
+    this.markedEvictionCount = new AtomicLong(cache.getEvictionCount());
+  }
+
+  public V get(K key) {
+    V value = cache.get(key);
+    metricsRegistry.markOccurrence(value != null ? Metrics.DEPLOYMENT_CACHE_HIT : Metrics.DEPLOYMENT_CACHE_MISS);
+    return value;
+  }
+
+  public void put(K key, V value) {
+    cache.put(key, value);
+    markEvictions();
+  }
+
+  protected void markEvictions() {
+    long evictionCount = cache.getEvictionCount();
+    long markedCount = markedEvictionCount.get();
+    while (evictionCount > markedCount) {
+      if (markedEvictionCount.compareAndSet(markedCount, evictionCount)) {
+        metricsRegistry.markOccurrence(Metrics.DEPLOYMENT_CACHE_EVICTION, (int) (evictionCount - markedCount));
+        return;
+      }
+      markedCount = markedEvictionCount.get();
+    }
+  }
+
+  public void remove(K key) {
+    cache.remove(key);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public boolean isEmpty() {
+    return cache.isEmpty();
+  }
+
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  /**
+   * @return the cache whose hits, misses and evictions are marked
+   */
+  public Cache<K, V> getCache() {
+    return cache;
+  }
+
+}
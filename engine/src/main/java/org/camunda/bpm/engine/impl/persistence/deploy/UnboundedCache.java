@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Cache} which never evicts entries.
+ */
+public class UnboundedCache<K, V> implements Cache<K, V> {
+
+  protected final ConcurrentMap<K, V> cache = new ConcurrentHashMap<K, V>();
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  public V get(K key) {
+    V value = cache.get(key);
+    if (value != null) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    cache.put(key, value);
+  }
+
+  public void remove(K key) {
+    cache.remove(key);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public boolean isEmpty() {
+    return cache.isEmpty();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return 0;
+  }
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.DELETED_MERGED;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.DELETED_PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.MERGED;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.TRANSIENT;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityFlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+
+/**
+ * <p>Maintains the authorization index (table ACT_RU_AUTH_INDEX) while
+ * authorizations are flushed.</p>
+ *
+ * <p>The rows of an inserted authorization are added, the rows of a deleted
+ * authorization are removed and the rows of an updated authorization are
+ * replaced. The index statements are bulk operations which are executed after
+ * the authorizations themselves, ordered by statement name: the rows of an
+ * authorization are deleted before they are inserted again.</p>
+ */
+public class AuthorizationIndexListener implements DbEntityFlushListener {
+
+  public Class<? extends DbEntity> getEntityType() {
+    return AuthorizationEntity.class;
+  }
+
+  public void beforeFlush(CachedDbEntity cachedDbEntity) {
+    AuthorizationEntity authorization = (AuthorizationEntity) cachedDbEntity.getEntity();
+    DbEntityState entityState = cachedDbEntity.getEntityState();
+
+    if (entityState == TRANSIENT) {
+      getAuthorizationManager().insertAuthorizationIndex(authorization);
+    }
+    else if ((entityState == PERSISTENT && cachedDbEntity.isDirty()) || entityState == MERGED) {
+      getAuthorizationManager().deleteAuthorizationIndex(authorization.getId());
+      getAuthorizationManager().insertAuthorizationIndex(authorization);
+    }
+    else if (entityState == DELETED_PERSISTENT || entityState == DELETED_MERGED) {
+      getAuthorizationManager().deleteAuthorizationIndex(authorization.getId());
+    }
+  }
+
+  protected AuthorizationManager getAuthorizationManager() {
+    return Context.getCommandContext().getAuthorizationManager();
+  }
+
+}
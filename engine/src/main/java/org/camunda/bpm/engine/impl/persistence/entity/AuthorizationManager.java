@@ -56,6 +56,7 @@ import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricActivityStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricDetailQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricIncidentQueryImpl;
+import org.camunda.bpm.engine.impl.HistoricJobLogAggregateQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricJobLogQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricTaskInstanceQueryImpl;
@@ -68,8 +69,12 @@ import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserOperationLogQueryImpl;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheckCache;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheckCache.Invalidation;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.PermissionCheck;
 import org.camunda.bpm.engine.impl.identity.Authentication;
@@ -85,6 +90,15 @@ public class AuthorizationManager extends AbstractManager {
 
   public static final String DEFAULT_AUTHORIZATION_CHECK = "defaultAuthorizationCheck";
 
+  /** the results of the authorization checks performed by the current command */
+  protected Map<String, Boolean> authorizationCheckResults = new HashMap<String, Boolean>();
+
+  /** true if authorizations were changed by the current command */
+  protected boolean authorizationsChanged = false;
+
+  /** the changed authorizations to invalidate in the engine-wide cache when the transaction is committed */
+  protected List<Invalidation> invalidations = new ArrayList<Invalidation>();
+
   public Authorization createNewAuthorization(int type) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     return new AuthorizationEntity(type);
@@ -92,6 +106,7 @@ public class AuthorizationManager extends AbstractManager {
 
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
+    invalidateAuthorizationCheckResults(authorization);
     getDbEntityManager().insert(authorization);
   }
 
@@ -130,11 +145,17 @@ public class AuthorizationManager extends AbstractManager {
 
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
+    if (Context.getProcessEngineConfiguration().getAuthorizationCheckCache() != null) {
+      // the user, group or resource may be changed, so the stored authorization is invalidated, too
+      invalidateAuthorizationCheckResults((DbEntity) getDbSqlSession().selectOne("selectAuthorization", authorization.getId()));
+    }
+    invalidateAuthorizationCheckResults(authorization);
     getDbEntityManager().merge(authorization);
   }
 
   public void delete(DbEntity authorization) {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
+    invalidateAuthorizationCheckResults(authorization);
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
   }
@@ -224,7 +245,7 @@ public class AuthorizationManager extends AbstractManager {
   }
 
   public boolean isAuthorized(String userId, List<String> groupIds, Permission permission, Resource resource, String resourceId) {
-    PermissionCheck permCheck = new PermissionCheck();
+    PermissionCheck permCheck = newPermissionCheck();
     permCheck.setPermission(permission);
     permCheck.setResource(resource);
     permCheck.setResourceId(resourceId);
@@ -236,11 +257,105 @@ public class AuthorizationManager extends AbstractManager {
   }
 
   public boolean isAuthorized(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    boolean authorizationIndexEnabled = isAuthorizationIndexEnabled();
+    for (PermissionCheck permissionCheck : permissionChecks) {
+      permissionCheck.setAuthorizationIndexEnabled(authorizationIndexEnabled);
+    }
+
+    String key = AuthorizationCheckCache.createKey(userId, groupIds, permissionChecks);
+
+    Boolean isAuthorized = authorizationCheckResults.get(key);
+    if (isAuthorized == null) {
+      isAuthorized = isAuthorized(key, userId, groupIds, permissionChecks);
+      authorizationCheckResults.put(key, isAuthorized);
+    }
+    return isAuthorized;
+  }
+
+  protected boolean isAuthorized(String key, String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    AuthorizationCheckCache authorizationCheckCache = getAuthorizationCheckCache();
+    long generation = 0;
+
+    if (authorizationCheckCache != null) {
+      Boolean isAuthorized = authorizationCheckCache.get(key);
+      if (isAuthorized != null) {
+        return isAuthorized;
+      }
+      generation = authorizationCheckCache.getGeneration();
+    }
+
     AuthorizationCheck authCheck = new AuthorizationCheck();
     authCheck.setAuthUserId(userId);
     authCheck.setAuthGroupIds(groupIds);
     authCheck.setPermissionChecks(permissionChecks);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    boolean isAuthorized = getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+    if (authorizationCheckCache != null) {
+      authorizationCheckCache.put(key, userId, groupIds, permissionChecks, isAuthorized, generation);
+    }
+    return isAuthorized;
+  }
+
+  /**
+   * @return the engine-wide cache of authorization check results or null if the
+   * cache is disabled or must not be used since the current command changed authorizations
+   */
+  protected AuthorizationCheckCache getAuthorizationCheckCache() {
+    if (authorizationsChanged) {
+      return null;
+    }
+    return Context.getProcessEngineConfiguration().getAuthorizationCheckCache();
+  }
+
+  protected void invalidateAuthorizationCheckResults(DbEntity authorization) {
+    if (authorization instanceof AuthorizationEntity) {
+      AuthorizationEntity authorizationEntity = (AuthorizationEntity) authorization;
+      invalidateAuthorizationCheckResults(new Invalidation(authorizationEntity.getUserId(), authorizationEntity.getGroupId(),
+          authorizationEntity.getResource(), authorizationEntity.getResourceId()));
+    }
+    else if (authorization != null) {
+      invalidateAuthorizationCheckResults(new Invalidation(null, null, null, null));
+    }
+  }
+
+  /**
+   * Discards the cached authorization check results which may be affected by a changed
+   * authorization. The command's results are discarded completely. The affected results of
+   * the engine-wide cache are invalidated immediately and again when the transaction is
+   * committed, so that no result which was read before the commit remains cached.
+   */
+  protected void invalidateAuthorizationCheckResults(Invalidation invalidation) {
+    authorizationCheckResults.clear();
+
+    final AuthorizationCheckCache authorizationCheckCache = Context.getProcessEngineConfiguration().getAuthorizationCheckCache();
+    if (authorizationCheckCache != null) {
+      authorizationCheckCache.invalidate(invalidation);
+
+      if (invalidations.isEmpty()) {
+        Context.getCommandContext()
+          .getTransactionContext()
+          .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+            public void execute(CommandContext commandContext) {
+              for (Invalidation invalidation : invalidations) {
+                authorizationCheckCache.invalidate(invalidation);
+              }
+            }
+          });
+      }
+      invalidations.add(invalidation);
+    }
+
+    authorizationsChanged = true;
+  }
+
+  protected PermissionCheck newPermissionCheck() {
+    PermissionCheck permissionCheck = new PermissionCheck();
+    permissionCheck.setAuthorizationIndexEnabled(isAuthorizationIndexEnabled());
+    return permissionCheck;
+  }
+
+  protected boolean isAuthorizationIndexEnabled() {
+    return Context.getProcessEngineConfiguration().isAuthorizationIndexEnabled();
   }
 
   // authorization checks on queries ////////////////////////////////
@@ -284,7 +399,7 @@ public class AuthorizationManager extends AbstractManager {
   protected void addPermissionCheck(AbstractQuery query, Resource resource, String queryParam, Permission permission) {
     CommandContext commandContext = getCommandContext();
     if (isAuthorizationEnabled() && getCurrentAuthentication() != null && commandContext.isAuthorizationCheckEnabled()) {
-      PermissionCheck permCheck = new PermissionCheck();
+      PermissionCheck permCheck = newPermissionCheck();
       permCheck.setResource(resource);
       permCheck.setResourceIdQueryParam(queryParam);
       permCheck.setPermission(permission);
@@ -302,14 +417,67 @@ public class AuthorizationManager extends AbstractManager {
     }
 
     if(isAuthorizationEnabled()) {
+      invalidateAuthorizationCheckResults(Invalidation.forResource(resource.resourceType(), resourceId));
+
       Map<String, Object> deleteParams = new HashMap<String, Object>();
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
+      if (isAuthorizationIndexEnabled()) {
+        getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationIndexForResourceId", deleteParams);
+      }
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
     }
 
   }
 
+  // authorization index ////////////////////////////////////////////////////
+
+  /**
+   * Adds the rows of the given authorization to the authorization index: a row for each
+   * permission granted by a grant authorization, a row for each permission revoked by a
+   * revoke authorization and a row for each permission of a global authorization.
+   */
+  public void insertAuthorizationIndex(AuthorizationEntity authorization) {
+    int permissions = authorization.getPermissions();
+    int type = authorization.getAuthorizationType();
+
+    for (int bit = 0; bit < 31; bit++) {
+      int perm = 1 << bit;
+      boolean granted = (permissions & perm) == perm;
+
+      if ((type == Authorization.AUTH_TYPE_GRANT && !granted)
+          || (type == Authorization.AUTH_TYPE_REVOKE && granted)) {
+        continue;
+      }
+
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("authorization", authorization);
+      parameters.put("perm", perm);
+      parameters.put("granted", granted ? 1 : 0);
+      getDbEntityManager().update(AuthorizationEntity.class, "insertAuthorizationIndex", parameters);
+    }
+  }
+
+  public void deleteAuthorizationIndex(String authorizationId) {
+    getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationIndexByAuthorizationId", authorizationId);
+  }
+
+  public void deleteAllAuthorizationIndex() {
+    getDbEntityManager().delete(AuthorizationEntity.class, "deleteAllAuthorizationIndex", null);
+  }
+
+  /**
+   * Recreates the authorization index from all authorizations.
+   */
+  public void rebuildAuthorizationIndex() {
+    deleteAllAuthorizationIndex();
+
+    List<AuthorizationEntity> authorizations = getDbEntityManager().selectList("selectAuthorizationByQueryCriteria", new AuthorizationQueryImpl(getCommandContext()));
+    for (AuthorizationEntity authorization : authorizations) {
+      insertAuthorizationIndex(authorization);
+    }
+  }
+
   // predefined authorization checks
 
   /* MEMBER OF CAMUNDA_ADMIN */
@@ -406,7 +574,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - READ on PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(READ);
     firstCheck.setResource(PROCESS_INSTANCE);
     firstCheck.setResourceId(execution.getProcessInstanceId());
@@ -414,7 +582,7 @@ public class AuthorizationManager extends AbstractManager {
     // ... OR ...
 
     // - READ_INSTANCE on PROCESS_DEFINITION
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(READ_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(processDefinition.getKey());
@@ -432,7 +600,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - READ on PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(READ);
     firstCheck.setResource(PROCESS_INSTANCE);
     firstCheck.setResourceId(job.getProcessInstanceId());
@@ -440,7 +608,7 @@ public class AuthorizationManager extends AbstractManager {
     // ... OR ...
 
     // - READ_INSTANCE on PROCESS_DEFINITION
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(READ_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(job.getProcessDefinitionKey());
@@ -470,7 +638,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - UPDATE on PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(UPDATE);
     firstCheck.setResource(PROCESS_INSTANCE);
     firstCheck.setResourceId(execution.getProcessInstanceId());
@@ -479,7 +647,7 @@ public class AuthorizationManager extends AbstractManager {
 
     // - UPDATE_INSTANCE on PROCESS_DEFINITION
 
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(UPDATE_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(processDefinition.getKey());
@@ -497,7 +665,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - READ on PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(UPDATE);
     firstCheck.setResource(PROCESS_INSTANCE);
     firstCheck.setResourceId(job.getProcessInstanceId());
@@ -505,7 +673,7 @@ public class AuthorizationManager extends AbstractManager {
     // ... OR ...
 
     // - READ_INSTANCE on PROCESS_DEFINITION
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(UPDATE_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(job.getProcessDefinitionKey());
@@ -526,7 +694,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - UPDATE on ANY PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(UPDATE);
     firstCheck.setResource(PROCESS_INSTANCE);
 
@@ -534,7 +702,7 @@ public class AuthorizationManager extends AbstractManager {
 
     // - UPDATE_INSTANCE on PROCESS_DEFINITION
 
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(UPDATE_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(processDefinitionKey);
@@ -551,7 +719,7 @@ public class AuthorizationManager extends AbstractManager {
     // necessary permissions:
     // - DELETE on PROCESS_INSTANCE
 
-    PermissionCheck firstCheck = new PermissionCheck();
+    PermissionCheck firstCheck = newPermissionCheck();
     firstCheck.setPermission(DELETE);
     firstCheck.setResource(PROCESS_INSTANCE);
     firstCheck.setResourceId(execution.getProcessInstanceId());
@@ -560,7 +728,7 @@ public class AuthorizationManager extends AbstractManager {
 
     // - DELETE_INSTANCE on PROCESS_DEFINITION
 
-    PermissionCheck secondCheck = new PermissionCheck();
+    PermissionCheck secondCheck = newPermissionCheck();
     secondCheck.setPermission(DELETE_INSTANCE);
     secondCheck.setResource(PROCESS_DEFINITION);
     secondCheck.setResourceId(processDefinition.getKey());
@@ -597,12 +765,12 @@ public class AuthorizationManager extends AbstractManager {
       ExecutionEntity execution = task.getExecution();
       ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) execution.getProcessDefinition();
 
-      PermissionCheck readPermissionCheck = new PermissionCheck();
+      PermissionCheck readPermissionCheck = newPermissionCheck();
       readPermissionCheck.setPermission(READ);
       readPermissionCheck.setResource(TASK);
       readPermissionCheck.setResourceId(taskId);
 
-      PermissionCheck readTaskPermissionCheck = new PermissionCheck();
+      PermissionCheck readTaskPermissionCheck = newPermissionCheck();
       readTaskPermissionCheck.setPermission(READ_TASK);
       readTaskPermissionCheck.setResource(PROCESS_DEFINITION);
       readTaskPermissionCheck.setResourceId(processDefinition.getKey());
@@ -646,12 +814,12 @@ public class AuthorizationManager extends AbstractManager {
       ExecutionEntity execution = task.getExecution();
       ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) execution.getProcessDefinition();
 
-      PermissionCheck updatePermissionCheck = new PermissionCheck();
+      PermissionCheck updatePermissionCheck = newPermissionCheck();
       updatePermissionCheck.setPermission(UPDATE);
       updatePermissionCheck.setResource(TASK);
       updatePermissionCheck.setResourceId(taskId);
 
-      PermissionCheck updateTaskPermissionCheck = new PermissionCheck();
+      PermissionCheck updateTaskPermissionCheck = newPermissionCheck();
       updateTaskPermissionCheck.setPermission(UPDATE_TASK);
       updateTaskPermissionCheck.setResource(PROCESS_DEFINITION);
       updateTaskPermissionCheck.setResourceId(processDefinition.getKey());
@@ -760,7 +928,7 @@ public class AuthorizationManager extends AbstractManager {
 
       // necessary authorization check when the task is not part
       // of running process or case instance
-      PermissionCheck standaloneTaskPermissionCheck = new PermissionCheck();
+      PermissionCheck standaloneTaskPermissionCheck = newPermissionCheck();
       standaloneTaskPermissionCheck.setPermission(READ);
       standaloneTaskPermissionCheck.setResource(TASK);
       standaloneTaskPermissionCheck.setResourceIdQueryParam("RES.ID_");
@@ -804,7 +972,7 @@ public class AuthorizationManager extends AbstractManager {
 
       // necessary authorization check when the variable instance is part
       // of a standalone task
-      PermissionCheck taskPermissionCheck = new PermissionCheck();
+      PermissionCheck taskPermissionCheck = newPermissionCheck();
       taskPermissionCheck.setResource(TASK);
       taskPermissionCheck.setPermission(READ);
       taskPermissionCheck.setResourceIdQueryParam("RES.TASK_ID_");
@@ -866,6 +1034,10 @@ public class AuthorizationManager extends AbstractManager {
     configureQuery(query, PROCESS_DEFINITION, "RES.PROCESS_DEF_KEY_", READ_HISTORY);
   }
 
+  public void configureHistoricJobLogAggregateQuery(HistoricJobLogAggregateQueryImpl query) {
+    configureQuery(query, PROCESS_DEFINITION, "RES.PROCESS_DEF_KEY_", READ_HISTORY);
+  }
+
   // historic incident query ////////////////////////////////
 
   public void configureHistoricIncidentQuery(HistoricIncidentQueryImpl query) {
@@ -898,12 +1070,12 @@ public class AuthorizationManager extends AbstractManager {
 
     if(isAuthorizationEnabled() && currentAuthentication != null && commandContext.isAuthorizationCheckEnabled()) {
 
-      PermissionCheck firstProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck firstProcessInstancePermissionCheck = newPermissionCheck();
       firstProcessInstancePermissionCheck.setResource(PROCESS_INSTANCE);
       firstProcessInstancePermissionCheck.setPermission(READ);
       firstProcessInstancePermissionCheck.setResourceIdQueryParam("EXECUTION.PROC_INST_ID_");
 
-      PermissionCheck secondProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck secondProcessInstancePermissionCheck = newPermissionCheck();
       secondProcessInstancePermissionCheck.setResource(PROCESS_DEFINITION);
       secondProcessInstancePermissionCheck.setPermission(READ_INSTANCE);
       secondProcessInstancePermissionCheck.setResourceIdQueryParam("PROCDEF.KEY_");
@@ -913,12 +1085,12 @@ public class AuthorizationManager extends AbstractManager {
       query.addProcessInstancePermissionCheck(secondProcessInstancePermissionCheck);
 
       if (query.isFailedJobsToInclude()) {
-        PermissionCheck firstJobPermissionCheck = new PermissionCheck();
+        PermissionCheck firstJobPermissionCheck = newPermissionCheck();
         firstJobPermissionCheck.setResource(PROCESS_INSTANCE);
         firstJobPermissionCheck.setPermission(READ);
         firstJobPermissionCheck.setResourceIdQueryParam("JOB.PROCESS_INSTANCE_ID_");
 
-        PermissionCheck secondJobPermissionCheck = new PermissionCheck();
+        PermissionCheck secondJobPermissionCheck = newPermissionCheck();
         secondJobPermissionCheck.setResource(PROCESS_DEFINITION);
         secondJobPermissionCheck.setPermission(READ_INSTANCE);
         secondJobPermissionCheck.setResourceIdQueryParam("JOB.PROCESS_DEF_KEY_");
@@ -929,12 +1101,12 @@ public class AuthorizationManager extends AbstractManager {
       }
 
       if (query.isIncidentsToInclude()) {
-        PermissionCheck firstIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck firstIncidentPermissionCheck = newPermissionCheck();
         firstIncidentPermissionCheck.setResource(PROCESS_INSTANCE);
         firstIncidentPermissionCheck.setPermission(READ);
         firstIncidentPermissionCheck.setResourceIdQueryParam("INC.PROC_INST_ID_");
 
-        PermissionCheck secondIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck secondIncidentPermissionCheck = newPermissionCheck();
         secondIncidentPermissionCheck.setResource(PROCESS_DEFINITION);
         secondIncidentPermissionCheck.setPermission(READ_INSTANCE);
         secondIncidentPermissionCheck.setResourceIdQueryParam("PROCDEF.KEY_");
@@ -959,12 +1131,12 @@ public class AuthorizationManager extends AbstractManager {
 
     if(isAuthorizationEnabled() && currentAuthentication != null && commandContext.isAuthorizationCheckEnabled()) {
 
-      PermissionCheck firstProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck firstProcessInstancePermissionCheck = newPermissionCheck();
       firstProcessInstancePermissionCheck.setResource(PROCESS_INSTANCE);
       firstProcessInstancePermissionCheck.setPermission(READ);
       firstProcessInstancePermissionCheck.setResourceIdQueryParam("E.PROC_INST_ID_");
 
-      PermissionCheck secondProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck secondProcessInstancePermissionCheck = newPermissionCheck();
       secondProcessInstancePermissionCheck.setResource(PROCESS_DEFINITION);
       secondProcessInstancePermissionCheck.setPermission(READ_INSTANCE);
       secondProcessInstancePermissionCheck.setResourceIdQueryParam("P.KEY_");
@@ -974,12 +1146,12 @@ public class AuthorizationManager extends AbstractManager {
       query.addProcessInstancePermissionCheck(secondProcessInstancePermissionCheck);
 
       if (query.isFailedJobsToInclude()) {
-        PermissionCheck firstJobPermissionCheck = new PermissionCheck();
+        PermissionCheck firstJobPermissionCheck = newPermissionCheck();
         firstJobPermissionCheck.setResource(PROCESS_INSTANCE);
         firstJobPermissionCheck.setPermission(READ);
         firstJobPermissionCheck.setResourceIdQueryParam("PROCESS_INSTANCE_ID_");
 
-        PermissionCheck secondJobPermissionCheck = new PermissionCheck();
+        PermissionCheck secondJobPermissionCheck = newPermissionCheck();
         secondJobPermissionCheck.setResource(PROCESS_DEFINITION);
         secondJobPermissionCheck.setPermission(READ_INSTANCE);
         secondJobPermissionCheck.setResourceIdQueryParam("PROCESS_DEF_KEY_");
@@ -990,12 +1162,12 @@ public class AuthorizationManager extends AbstractManager {
       }
 
       if (query.isIncidentsToInclude()) {
-        PermissionCheck firstIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck firstIncidentPermissionCheck = newPermissionCheck();
         firstIncidentPermissionCheck.setResource(PROCESS_INSTANCE);
         firstIncidentPermissionCheck.setPermission(READ);
         firstIncidentPermissionCheck.setResourceIdQueryParam("I.PROC_INST_ID_");
 
-        PermissionCheck secondIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck secondIncidentPermissionCheck = newPermissionCheck();
         secondIncidentPermissionCheck.setResource(PROCESS_DEFINITION);
         secondIncidentPermissionCheck.setPermission(READ_INSTANCE);
         secondIncidentPermissionCheck.setResourceIdQueryParam("PROCDEF.KEY_");
@@ -1020,12 +1192,12 @@ public class AuthorizationManager extends AbstractManager {
 
     if(isAuthorizationEnabled() && currentAuthentication != null && commandContext.isAuthorizationCheckEnabled()) {
 
-      PermissionCheck firstProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck firstProcessInstancePermissionCheck = newPermissionCheck();
       firstProcessInstancePermissionCheck.setResource(PROCESS_INSTANCE);
       firstProcessInstancePermissionCheck.setPermission(READ);
       firstProcessInstancePermissionCheck.setResourceIdQueryParam("E.PROC_INST_ID_");
 
-      PermissionCheck secondProcessInstancePermissionCheck = new PermissionCheck();
+      PermissionCheck secondProcessInstancePermissionCheck = newPermissionCheck();
       secondProcessInstancePermissionCheck.setResource(PROCESS_DEFINITION);
       secondProcessInstancePermissionCheck.setPermission(READ_INSTANCE);
       secondProcessInstancePermissionCheck.setResourceIdQueryParam("P.KEY_");
@@ -1035,12 +1207,12 @@ public class AuthorizationManager extends AbstractManager {
       query.addProcessInstancePermissionCheck(secondProcessInstancePermissionCheck);
 
       if (query.isFailedJobsToInclude()) {
-        PermissionCheck firstJobPermissionCheck = new PermissionCheck();
+        PermissionCheck firstJobPermissionCheck = newPermissionCheck();
         firstJobPermissionCheck.setResource(PROCESS_INSTANCE);
         firstJobPermissionCheck.setPermission(READ);
         firstJobPermissionCheck.setResourceIdQueryParam("JOB.PROCESS_INSTANCE_ID_");
 
-        PermissionCheck secondJobPermissionCheck = new PermissionCheck();
+        PermissionCheck secondJobPermissionCheck = newPermissionCheck();
         secondJobPermissionCheck.setResource(PROCESS_DEFINITION);
         secondJobPermissionCheck.setPermission(READ_INSTANCE);
         secondJobPermissionCheck.setResourceIdQueryParam("JOB.PROCESS_DEF_KEY_");
@@ -1051,12 +1223,12 @@ public class AuthorizationManager extends AbstractManager {
       }
 
       if (query.isIncidentsToInclude()) {
-        PermissionCheck firstIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck firstIncidentPermissionCheck = newPermissionCheck();
         firstIncidentPermissionCheck.setResource(PROCESS_INSTANCE);
         firstIncidentPermissionCheck.setPermission(READ);
         firstIncidentPermissionCheck.setResourceIdQueryParam("I.PROC_INST_ID_");
 
-        PermissionCheck secondIncidentPermissionCheck = new PermissionCheck();
+        PermissionCheck secondIncidentPermissionCheck = newPermissionCheck();
         secondIncidentPermissionCheck.setResource(PROCESS_DEFINITION);
         secondIncidentPermissionCheck.setPermission(READ_INSTANCE);
         secondIncidentPermissionCheck.setResourceIdQueryParam("PROCDEF.KEY_");
@@ -14,8 +14,11 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
 
 /**
  * @author Tom Baeyens
@@ -48,6 +51,33 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
     return bytes;
   }
 
+  /**
+   * Returns the bytes as written to the database, which are compressed if
+   * byte array compression is enabled and the bytes exceed the threshold.
+   * Uncompressed bytes are escaped (see {@link CompressionUtil#escape(byte[])})
+   * so that they are not mistaken for compressed bytes when read.
+   */
+  public byte[] getPersistentBytes() {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (bytes != null
+        && configuration != null
+        && configuration.isByteArrayCompressionEnabled()
+        && bytes.length >= configuration.getByteArrayCompressionThreshold()) {
+      return CompressionUtil.compress(bytes);
+    }
+    else {
+      return CompressionUtil.escape(bytes);
+    }
+  }
+
+  /**
+   * Sets the bytes as read from the database. Compressed bytes are decompressed
+   * regardless of the configuration so that existing rows stay readable.
+   */
+  public void setPersistentBytes(byte[] persistentBytes) {
+    this.bytes = CompressionUtil.decompress(persistentBytes);
+  }
+
   public Object getPersistentState() {
     return (bytes != null ? bytes : PERSISTENTSTATE_NULL);
   }
@@ -85,6 +85,14 @@ public class DeploymentManager extends AbstractManager {
         }
       }
 
+      // remove runtime statistics counters
+      getStatisticsManager().deleteRuntimeStatisticsCountersByProcessDefinitionId(processDefinitionId);
+
+      if (Context.getProcessEngineConfiguration().isDbHistoryUsed()) {
+        // remove historic activity statistics counters
+        getHistoricStatisticsManager().deleteHistoricActivityStatisticsCountersByProcessDefinitionId(processDefinitionId);
+      }
+
       if (cascade) {
         // remove historic incidents which are not referenced to a process instance
         getHistoricIncidentManager().deleteHistoricIncidentsByProcessDefinitionId(processDefinitionId);
@@ -97,6 +105,7 @@ public class DeploymentManager extends AbstractManager {
     if (cascade) {
       // delete historic job logs (for example for timer start event jobs)
       getHistoricJobLogManager().deleteHistoricJobLogsByDeploymentId(deploymentId);
+      getHistoricJobLogManager().deleteHistoricJobLogAggregatesByDeploymentId(deploymentId);
     }
 
     // delete process definitions from db
@@ -89,6 +89,10 @@ public class ExecutionManager extends AbstractManager {
     return (ExecutionEntity) getDbEntityManager().selectOne("selectSubProcessInstanceBySuperCaseExecutionId", superCaseExecutionId);
   }
 
+  public List<ExecutionEntity> findExecutionsByIds(List<String> executionIds) {
+    return selectListByIds("selectExecutionsByIds", executionIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExecutionEntity> findChildExecutionsByParentExecutionId(String parentExecutionId) {
     return getDbEntityManager().selectList("selectExecutionsByParentExecutionId", parentExecutionId);
@@ -24,6 +24,8 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import java.util.List;
 
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
@@ -47,6 +49,7 @@ public class FilterManager extends AbstractManager {
     else {
       checkAuthorization(UPDATE, FILTER, filter.getId());
       getDbEntityManager().merge((FilterEntity) filter);
+      invalidateFilterCounts(filter.getId());
     }
 
     return filter;
@@ -62,6 +65,7 @@ public class FilterManager extends AbstractManager {
     deleteAuthorizations(FILTER, filterId);
     // delete the filter itself
     getDbEntityManager().delete(filter);
+    invalidateFilterCounts(filterId);
   }
 
   public Filter findFilterById(String filterId) {
@@ -85,6 +89,13 @@ public class FilterManager extends AbstractManager {
     return (Long) getDbEntityManager().selectOne("selectFilterCountByQueryCriteria", filterQuery);
   }
 
+  protected void invalidateFilterCounts(String filterId) {
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache != null) {
+      filterCountCache.invalidate(filterId);
+    }
+  }
+
   // authorization utils /////////////////////////////////
 
   protected void createDefaultAuthorizations(Filter filter) {
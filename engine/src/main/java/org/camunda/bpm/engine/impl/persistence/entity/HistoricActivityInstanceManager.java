@@ -20,7 +20,9 @@ import java.util.Map;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -30,6 +32,9 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
 
   public void deleteHistoricActivityInstancesByProcessInstanceId(String historicProcessInstanceId) {
     if (isHistoryEnabled()) {
+      if (Context.getProcessEngineConfiguration().isHistoricActivityStatisticsCounterEnabled()) {
+        getHistoricStatisticsManager().subtractHistoricActivityStatisticsOfProcessInstance(historicProcessInstanceId);
+      }
       getDbEntityManager().delete(HistoricActivityInstanceEntity.class, "deleteHistoricActivityInstancesByProcessInstanceId", historicProcessInstanceId);
     }
   }
@@ -48,6 +53,9 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
 
   public long findHistoricActivityInstanceCountByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery) {
     getAuthorizationManager().configureHistoricActivityInstanceQuery(historicActivityInstanceQuery);
+    if (historicActivityInstanceQuery.getCountLimit() > 0) {
+      return (Long) getDbEntityManager().selectOne("selectHistoricActivityInstanceCountUpToByQueryCriteria", historicActivityInstanceQuery);
+    }
     return (Long) getDbEntityManager().selectOne("selectHistoricActivityInstanceCountByQueryCriteria", historicActivityInstanceQuery);
   }
 
@@ -57,6 +65,11 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery, page);
   }
 
+  public void streamHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery, QueryResultHandler<HistoricActivityInstance> handler) {
+    getAuthorizationManager().configureHistoricActivityInstanceQuery(historicActivityInstanceQuery);
+    getDbEntityManager().selectStreaming("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery, handler);
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricActivityInstanceByNativeQuery", parameterMap, firstResult, maxResults);
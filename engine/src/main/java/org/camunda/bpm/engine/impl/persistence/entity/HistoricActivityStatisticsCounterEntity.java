@@ -0,0 +1,171 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * <p>Holds the number of running, finished, canceled and scope completing
+ * instances of an activity of a process definition (table ACT_HI_ACT_STATS).</p>
+ *
+ * <p>Counters are never updated through the entity itself but through delta
+ * updates (see {@link HistoricStatisticsManager}) so that concurrent
+ * transactions do not overwrite each other's changes. Note that concurrent
+ * updates of the same counter still lock its row until the transaction ends.
+ * The same class is used as parameter of these updates, then the counters hold
+ * the deltas to add.</p>
+ */
+public class HistoricActivityStatisticsCounterEntity implements DbEntity, Serializable, Comparable<HistoricActivityStatisticsCounterEntity> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String activityId;
+
+  protected long instances;
+  protected long finished;
+  protected long canceled;
+  protected long completeScope;
+
+  public HistoricActivityStatisticsCounterEntity() {
+  }
+
+  public HistoricActivityStatisticsCounterEntity(String processDefinitionId, String processDefinitionKey, String activityId) {
+    this.processDefinitionId = processDefinitionId;
+    this.processDefinitionKey = processDefinitionKey;
+    this.activityId = activityId;
+  }
+
+  public void add(long instances, long finished, long canceled, long completeScope) {
+    this.instances += instances;
+    this.finished += finished;
+    this.canceled += canceled;
+    this.completeScope += completeScope;
+  }
+
+  public boolean isEmpty() {
+    return instances == 0 && finished == 0 && canceled == 0 && completeScope == 0;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    if (processDefinitionKey == null && processDefinitionId != null) {
+      // a delta which is inserted as new counter
+      processDefinitionKey = Context.getProcessEngineConfiguration()
+          .getDeploymentCache()
+          .findDeployedProcessDefinitionById(processDefinitionId)
+          .getKey();
+    }
+    return processDefinitionKey;
+  }
+
+  public void setProcessDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public long getInstances() {
+    return instances;
+  }
+
+  public void setInstances(long instances) {
+    this.instances = instances;
+  }
+
+  public long getFinished() {
+    return finished;
+  }
+
+  public void setFinished(long finished) {
+    this.finished = finished;
+  }
+
+  public long getCanceled() {
+    return canceled;
+  }
+
+  public void setCanceled(long canceled) {
+    this.canceled = canceled;
+  }
+
+  public long getCompleteScope() {
+    return completeScope;
+  }
+
+  public void setCompleteScope(long completeScope) {
+    this.completeScope = completeScope;
+  }
+
+  public Object getPersistentState() {
+    // counters are only modified by delta updates
+    return HistoricActivityStatisticsCounterEntity.class;
+  }
+
+  /**
+   * Orders the counters by process definition id, activity id so that
+   * concurrent transactions update the rows of the counters in the same order.
+   */
+  public int compareTo(HistoricActivityStatisticsCounterEntity other) {
+    int order = compare(processDefinitionId, other.processDefinitionId);
+    if (order == 0) {
+      order = compare(activityId, other.activityId);
+    }
+    return order;
+  }
+
+  protected static int compare(String first, String second) {
+    if (first == null) {
+      return second == null ? 0 : -1;
+    }
+    return second == null ? 1 : first.compareTo(second);
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[processDefinitionId=" + processDefinitionId
+        + ", activityId=" + activityId
+        + ", instances=" + instances
+        + ", finished=" + finished
+        + ", canceled=" + canceled
+        + ", completeScope=" + completeScope
+        + "]";
+  }
+
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbOperationsFlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+
+/**
+ * Writes the historic activity statistics counter deltas collected by the
+ * {@link HistoricStatisticsManager} once all entities of a command are flushed.
+ */
+public class HistoricActivityStatisticsCounterListener implements DbOperationsFlushListener {
+
+  public Class<? extends DbEntity> getEntityType() {
+    return HistoricActivityStatisticsCounterEntity.class;
+  }
+
+  public void beforeFlush(CachedDbEntity cachedDbEntity) {
+    // nothing to do
+  }
+
+  public void beforeOperationsFlush() {
+    Context.getCommandContext().getHistoricStatisticsManager().flushHistoricActivityStatisticsCounters();
+  }
+
+}
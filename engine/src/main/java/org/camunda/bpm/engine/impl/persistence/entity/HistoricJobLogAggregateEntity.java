@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.history.HistoricJobLogAggregate;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+public class HistoricJobLogAggregateEntity implements HistoricJobLogAggregate, DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected Date startTime;
+  protected Date endTime;
+
+  protected String jobDefinitionId;
+  protected String jobDefinitionType;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String deploymentId;
+
+  protected long createdCount;
+  protected long successfulCount;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime(Date startTime) {
+    this.startTime = startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  public void setEndTime(Date endTime) {
+    this.endTime = endTime;
+  }
+
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public void setJobDefinitionId(String jobDefinitionId) {
+    this.jobDefinitionId = jobDefinitionId;
+  }
+
+  public String getJobDefinitionType() {
+    return jobDefinitionType;
+  }
+
+  public void setJobDefinitionType(String jobDefinitionType) {
+    this.jobDefinitionType = jobDefinitionType;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public void setProcessDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+  }
+
+  public String getDeploymentId() {
+    return deploymentId;
+  }
+
+  public void setDeploymentId(String deploymentId) {
+    this.deploymentId = deploymentId;
+  }
+
+  public long getCreatedCount() {
+    return createdCount;
+  }
+
+  public void setCreatedCount(long createdCount) {
+    this.createdCount = createdCount;
+  }
+
+  public long getSuccessfulCount() {
+    return successfulCount;
+  }
+
+  public void setSuccessfulCount(long successfulCount) {
+    this.successfulCount = successfulCount;
+  }
+
+  public Object getPersistentState() {
+    // aggregates are immutable
+    return HistoricJobLogAggregateEntity.class;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", startTime=" + startTime
+        + ", endTime=" + endTime
+        + ", jobDefinitionId=" + jobDefinitionId
+        + ", jobDefinitionType=" + jobDefinitionType
+        + ", processDefinitionId=" + processDefinitionId
+        + ", createdCount=" + createdCount
+        + ", successfulCount=" + successfulCount
+        + "]";
+  }
+
+}
@@ -16,17 +16,24 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregate;
+import org.camunda.bpm.engine.impl.HistoricJobLogAggregateQueryImpl;
 import org.camunda.bpm.engine.impl.HistoricJobLogQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.joblog.HistoricJobLogAggregator;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.runtime.Job;
@@ -59,6 +66,23 @@ public class HistoricJobLogManager extends AbstractManager {
     return (Long) getDbEntityManager().selectOne("selectHistoricJobLogCountByQueryCriteria", query);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<HistoricJobLogAggregate> findHistoricJobLogAggregatesByQueryCriteria(HistoricJobLogAggregateQueryImpl query, Page page) {
+    getAuthorizationManager().configureHistoricJobLogAggregateQuery(query);
+    return getDbEntityManager().selectList("selectHistoricJobLogAggregateByQueryCriteria", query, page);
+  }
+
+  public long findHistoricJobLogAggregatesCountByQueryCriteria(HistoricJobLogAggregateQueryImpl query) {
+    getAuthorizationManager().configureHistoricJobLogAggregateQuery(query);
+    return (Long) getDbEntityManager().selectOne("selectHistoricJobLogAggregateCountByQueryCriteria", query);
+  }
+
+  // insert ///////////////////////////////////////////////////////////////////
+
+  public void insertHistoricJobLogAggregate(HistoricJobLogAggregateEntity aggregate) {
+    getDbEntityManager().insert(aggregate);
+  }
+
   // delete ///////////////////////////////////////////////////////////////////
 
   public void deleteHistoricJobLogById(String id) {
@@ -86,6 +110,10 @@ public class HistoricJobLogManager extends AbstractManager {
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByDeploymentId", deploymentId);
   }
 
+  public void deleteHistoricJobLogAggregatesByDeploymentId(String deploymentId) {
+    getDbEntityManager().delete(HistoricJobLogAggregateEntity.class, "deleteHistoricJobLogAggregatesByDeploymentId", deploymentId);
+  }
+
   public void deleteHistoricJobLogsByHandlerType(String handlerType) {
     deleteExceptionByteArrayByParameterMap("handlerType", handlerType);
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByHandlerType", handlerType);
@@ -104,9 +132,14 @@ public class HistoricJobLogManager extends AbstractManager {
 
   public void fireJobCreatedEvent(Job job) {
     if (isHistoryEventProduced(HistoryEventTypes.JOB_CREATE, job)) {
-      HistoryEventProducer eventProducer = getHistoryEventProducer();
-      HistoryEvent event = eventProducer.createHistoricJobLogCreateEvt(job);
-      handleEvent(event);
+      if (isJobLogWritten(job)) {
+        HistoryEventProducer eventProducer = getHistoryEventProducer();
+        HistoryEvent event = eventProducer.createHistoricJobLogCreateEvt(job);
+        handleEvent(event);
+      }
+      else {
+        aggregateJobLog(job, 1, 0);
+      }
     }
   }
 
@@ -120,9 +153,14 @@ public class HistoricJobLogManager extends AbstractManager {
 
   public void fireJobSuccessfulEvent(Job job) {
     if (isHistoryEventProduced(HistoryEventTypes.JOB_SUCCESS, job)) {
-      HistoryEventProducer eventProducer = getHistoryEventProducer();
-      HistoryEvent event = eventProducer.createHistoricJobLogSuccessfulEvt(job);
-      handleEvent(event);
+      if (isJobLogWritten(job)) {
+        HistoryEventProducer eventProducer = getHistoryEventProducer();
+        HistoryEvent event = eventProducer.createHistoricJobLogSuccessfulEvt(job);
+        handleEvent(event);
+      }
+      else {
+        aggregateJobLog(job, 0, 1);
+      }
     }
   }
 
@@ -149,6 +187,40 @@ public class HistoricJobLogManager extends AbstractManager {
     return Context.getProcessEngineConfiguration().getHistoryEventHandler();
   }
 
+  /**
+   * Returns false if the log of a created or successful job is skipped due to the
+   * historic job log mode. In sampled mode, the decision depends on the job id only
+   * so that either both logs of a job are written or none.
+   */
+  protected boolean isJobLogWritten(Job job) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    String historicJobLogMode = configuration.getHistoricJobLogMode();
+
+    if (ProcessEngineConfiguration.HISTORIC_JOB_LOG_MODE_SAMPLED.equals(historicJobLogMode)) {
+      int hash = job.getId().hashCode() & Integer.MAX_VALUE;
+      return hash % configuration.getHistoricJobLogSamplingRate() == 0;
+    }
+    else {
+      return !ProcessEngineConfiguration.HISTORIC_JOB_LOG_MODE_AGGREGATED.equals(historicJobLogMode);
+    }
+  }
+
+  protected void aggregateJobLog(Job job, long createdCount, long successfulCount) {
+    final HistoricJobLogAggregator aggregator = Context.getProcessEngineConfiguration().getHistoricJobLogAggregator();
+    if (aggregator != null) {
+      final HistoricJobLogAggregateEntity aggregate = HistoricJobLogAggregator.createAggregate((JobEntity) job, createdCount, successfulCount);
+
+      // count the job only if the transaction succeeds
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            aggregator.add(aggregate);
+          }
+        });
+    }
+  }
+
   protected boolean isHistoryEventProduced(HistoryEventType eventType, Job job) {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = configuration.getHistoryLevel();
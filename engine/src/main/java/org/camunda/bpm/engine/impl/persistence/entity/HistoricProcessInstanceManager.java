@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -104,6 +105,13 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, QueryResultHandler<HistoricProcessInstance> handler) {
+    if (isHistoryEnabled()) {
+      getAuthorizationManager().configureHistoricProcessInstanceQuery(historicProcessInstanceQuery);
+      getDbEntityManager().selectStreaming("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery, handler);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricProcessInstanceByNativeQuery", parameterMap, firstResult, maxResults);
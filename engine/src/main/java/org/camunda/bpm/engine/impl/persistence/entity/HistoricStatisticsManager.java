@@ -12,12 +12,18 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricActivityStatistics;
 import org.camunda.bpm.engine.impl.HistoricActivityStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
 
 /**
  *
@@ -26,15 +32,161 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
  */
 public class HistoricStatisticsManager extends AbstractManager {
 
+  /** the counter deltas of the current command, by process definition id and activity id */
+  protected Map<String, HistoricActivityStatisticsCounterEntity> counterDeltas = new HashMap<String, HistoricActivityStatisticsCounterEntity>();
+
   @SuppressWarnings("unchecked")
   public List<HistoricActivityStatistics> getHistoricStatisticsGroupedByActivity(HistoricActivityStatisticsQueryImpl query, Page page) {
     getAuthorizationManager().configureHistoricActivityStatisticsQuery(query);
+    if (isHistoricActivityStatisticsCounterEnabled()) {
+      return getDbEntityManager().selectList("selectHistoricActivityStatisticsFromCounters", query, page);
+    }
     return getDbEntityManager().selectList("selectHistoricActivityStatistics", query, page);
   }
 
   public long getHistoricStatisticsCountGroupedByActivity(HistoricActivityStatisticsQueryImpl query) {
     getAuthorizationManager().configureHistoricActivityStatisticsQuery(query);
+    if (isHistoricActivityStatisticsCounterEnabled()) {
+      return (Long) getDbEntityManager().selectOne("selectHistoricActivityStatisticsFromCountersCount", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectHistoricActivityStatisticsCount", query);
   }
 
+  // historic activity statistics counters ///////////////////////////////////
+
+  public boolean isHistoricActivityStatisticsCounterEnabled() {
+    return Context.getProcessEngineConfiguration().isHistoricActivityStatisticsCounterEnabled();
+  }
+
+  /**
+   * Adds the given deltas to the counters of an activity. All deltas of a command
+   * for the same activity are combined and written by a single UPDATE statement
+   * when the command is flushed, see {@link #flushHistoricActivityStatisticsCounters()}.
+   */
+  public void updateHistoricActivityStatisticsCounter(String processDefinitionId, String activityId, long instances, long finished, long canceled, long completeScope) {
+    String key = processDefinitionId + ":" + activityId;
+    HistoricActivityStatisticsCounterEntity delta = counterDeltas.get(key);
+    if (delta == null) {
+      delta = new HistoricActivityStatisticsCounterEntity(processDefinitionId, null, activityId);
+      counterDeltas.put(key, delta);
+    }
+    delta.add(instances, finished, canceled, completeScope);
+  }
+
+  /**
+   * Schedules the UPDATE statements for the counter deltas collected by
+   * {@link #updateHistoricActivityStatisticsCounter(String, String, long, long, long, long)}.
+   * The deltas are not modified after being scheduled. The statements are executed
+   * in the order of the counters (see {@link HistoricActivityStatisticsCounterEntity#compareTo(HistoricActivityStatisticsCounterEntity)}),
+   * so that concurrent transactions lock the rows in the same order.
+   *
+   * A counter which does not exist yet, for example of a process definition deployed
+   * before the counters were enabled or of an activity added by a migration, is
+   * inserted with the delta. It lacks the earlier history until the counters are
+   * rebuilt, see {@link org.camunda.bpm.engine.ManagementService#rebuildHistoricActivityStatistics()}.
+   */
+  public void flushHistoricActivityStatisticsCounters() {
+    for (HistoricActivityStatisticsCounterEntity delta : counterDeltas.values()) {
+      if (!delta.isEmpty()) {
+        getDbEntityManager().updateOrInsert("updateHistoricActivityStatisticsCounter", delta);
+      }
+    }
+    counterDeltas.clear();
+  }
+
+  /**
+   * Creates counters for all activities of a newly deployed process definition.
+   */
+  public void insertHistoricActivityStatisticsCounters(ProcessDefinitionEntity processDefinition) {
+    insertHistoricActivityStatisticsCounters(processDefinition, processDefinition, new HashMap<String, HistoricActivityStatistics>());
+  }
+
+  /**
+   * Subtracts the historic activity instances of a process instance whose history is about to be deleted.
+   */
+  @SuppressWarnings("unchecked")
+  public void subtractHistoricActivityStatisticsOfProcessInstance(String processInstanceId) {
+    HistoricProcessInstanceEntity historicProcessInstance = getDbEntityManager().selectById(HistoricProcessInstanceEntity.class, processInstanceId);
+    if (historicProcessInstance == null) {
+      return;
+    }
+
+    Map<String, String> parameters = new HashMap<String, String>();
+    parameters.put("processInstanceId", processInstanceId);
+    List<HistoricActivityStatistics> statistics = getDbEntityManager().selectList("selectHistoricActivityStatisticsAggregate", parameters);
+
+    for (HistoricActivityStatistics activityStatistics : statistics) {
+      updateHistoricActivityStatisticsCounter(historicProcessInstance.getProcessDefinitionId(), activityStatistics.getId(),
+          -activityStatistics.getInstances(), -activityStatistics.getFinished(), -activityStatistics.getCanceled(), -activityStatistics.getCompleteScope());
+    }
+  }
+
+  /**
+   * Recalculates the counters of a process definition from its historic activity instances.
+   */
+  @SuppressWarnings("unchecked")
+  public void rebuildHistoricActivityStatisticsCounters(ProcessDefinitionEntity processDefinition) {
+    Map<String, String> parameters = new HashMap<String, String>();
+    parameters.put("processDefinitionId", processDefinition.getId());
+    List<HistoricActivityStatistics> statistics = getDbEntityManager().selectList("selectHistoricActivityStatisticsAggregate", parameters);
+
+    Map<String, HistoricActivityStatistics> statisticsByActivityId = new HashMap<String, HistoricActivityStatistics>();
+    for (HistoricActivityStatistics activityStatistics : statistics) {
+      statisticsByActivityId.put(activityStatistics.getId(), activityStatistics);
+    }
+
+    List<HistoricActivityStatisticsCounterEntity> existingCounters = getDbEntityManager()
+        .selectList("selectHistoricActivityStatisticsCountersByProcessDefinitionId", processDefinition.getId());
+
+    for (HistoricActivityStatisticsCounterEntity existingCounter : existingCounters) {
+      HistoricActivityStatisticsCounterEntity counter = new HistoricActivityStatisticsCounterEntity(processDefinition.getId(), processDefinition.getKey(), existingCounter.getActivityId());
+      HistoricActivityStatistics activityStatistics = statisticsByActivityId.remove(existingCounter.getActivityId());
+      if (activityStatistics != null) {
+        counter.add(activityStatistics.getInstances(), activityStatistics.getFinished(), activityStatistics.getCanceled(), activityStatistics.getCompleteScope());
+      }
+      getDbEntityManager().update(HistoricActivityStatisticsCounterEntity.class, "resetHistoricActivityStatisticsCounter", counter);
+    }
+
+    if (existingCounters.isEmpty()) {
+      insertHistoricActivityStatisticsCounters(processDefinition, processDefinition, statisticsByActivityId);
+    }
+
+    // activities which have history but no counter yet
+    for (HistoricActivityStatistics activityStatistics : statisticsByActivityId.values()) {
+      insertHistoricActivityStatisticsCounter(processDefinition, activityStatistics.getId(), activityStatistics);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessDefinitionIdsForHistoricActivityStatistics() {
+    return getDbEntityManager().selectList("selectHistoricActivityStatisticsProcessDefinitionIds");
+  }
+
+  public void deleteHistoricActivityStatisticsCountersByProcessDefinitionId(String processDefinitionId) {
+    // the deltas must not insert the deleted counters again
+    Iterator<HistoricActivityStatisticsCounterEntity> deltas = counterDeltas.values().iterator();
+    while (deltas.hasNext()) {
+      if (processDefinitionId.equals(deltas.next().getProcessDefinitionId())) {
+        deltas.remove();
+      }
+    }
+
+    getDbEntityManager().delete(HistoricActivityStatisticsCounterEntity.class, "deleteHistoricActivityStatisticsCountersByProcessDefinitionId", processDefinitionId);
+  }
+
+  protected void insertHistoricActivityStatisticsCounters(ProcessDefinitionEntity processDefinition, ScopeImpl scope, Map<String, HistoricActivityStatistics> statisticsByActivityId) {
+    for (ActivityImpl activity : scope.getActivities()) {
+      insertHistoricActivityStatisticsCounter(processDefinition, activity.getId(), statisticsByActivityId.remove(activity.getId()));
+      insertHistoricActivityStatisticsCounters(processDefinition, activity, statisticsByActivityId);
+    }
+  }
+
+  protected void insertHistoricActivityStatisticsCounter(ProcessDefinitionEntity processDefinition, String activityId, HistoricActivityStatistics statistics) {
+    HistoricActivityStatisticsCounterEntity counter = new HistoricActivityStatisticsCounterEntity(processDefinition.getId(), processDefinition.getKey(), activityId);
+    if (statistics != null) {
+      counter.add(statistics.getInstances(), statistics.getFinished(), statistics.getCanceled(), statistics.getCompleteScope());
+    }
+    getDbEntityManager().insert(counter);
+  }
+
 }
@@ -282,10 +282,31 @@ public class JobManager extends AbstractManager {
   }
 
   public void updateFailedJobRetriesByJobDefinitionId(String jobDefinitionId, int retries) {
+    if (retries > 0 && Context.getProcessEngineConfiguration().isRuntimeStatisticsCounterEnabled()) {
+      // the jobs are updated without being loaded
+      subtractFailedJobsFromRuntimeStatistics(jobDefinitionId);
+    }
+
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("retries", retries);
     getDbEntityManager().update(JobEntity.class, "updateFailedJobRetriesByParameters", parameters);
   }
 
+
+  protected void subtractFailedJobsFromRuntimeStatistics(String jobDefinitionId) {
+    JobDefinitionEntity jobDefinition = getJobDefinitionManager().findById(jobDefinitionId);
+    if (jobDefinition == null || jobDefinition.getProcessDefinitionId() == null) {
+      return;
+    }
+
+    long failedJobs = getStatisticsManager().findFailedJobCountByJobDefinitionId(jobDefinitionId);
+    if (failedJobs > 0) {
+      getStatisticsManager().updateRuntimeStatisticsCounter(jobDefinition.getProcessDefinitionId(), null, null, 0, -failedJobs, 0);
+      if (jobDefinition.getActivityId() != null) {
+        getStatisticsManager().updateRuntimeStatisticsCounter(jobDefinition.getProcessDefinitionId(), jobDefinition.getActivityId(), null, 0, -failedJobs, 0);
+      }
+    }
+  }
+
 }
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.io.Serializable;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.HashUtil;
 import org.camunda.bpm.engine.repository.Resource;
 
 
@@ -29,6 +30,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
   protected String id;
   protected String name;
   protected byte[] bytes;
+  protected String hash;
   protected String deploymentId;
   protected boolean generated = false;
 
@@ -54,6 +56,24 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    this.hash = null;
+  }
+
+  /**
+   * Returns the content hash of the resource (see {@link HashUtil}). It is
+   * calculated from the bytes if it was not loaded from the database.
+   * Resources deployed before the hash was introduced have no hash, then
+   * <code>null</code> is returned if the bytes were not loaded.
+   */
+  public String getHash() {
+    if (hash == null && bytes != null) {
+      hash = HashUtil.hash(bytes);
+    }
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
   }
 
   public String getDeploymentId() {
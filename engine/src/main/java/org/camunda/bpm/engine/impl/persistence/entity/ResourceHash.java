@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+/**
+ * <p>Content hash of a deployed resource, loaded without the bytes of the resource.</p>
+ *
+ * <p>This is intentionally not a {@link org.camunda.bpm.engine.impl.db.DbEntity}
+ * so that it does not end up in the entity cache in place of the complete
+ * {@link ResourceEntity}.</p>
+ */
+public class ResourceHash {
+
+  protected String id;
+  protected String name;
+  protected String hash;
+  protected String deploymentId;
+  protected boolean generated;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the content hash or <code>null</code> if the resource was
+   * deployed before content hashes were stored
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  public String getDeploymentId() {
+    return deploymentId;
+  }
+
+  public void setDeploymentId(String deploymentId) {
+    this.deploymentId = deploymentId;
+  }
+
+  public boolean isGenerated() {
+    return generated;
+  }
+
+  public void setGenerated(boolean generated) {
+    this.generated = generated;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", name=" + name
+        + ", hash=" + hash
+        + ", deploymentId=" + deploymentId
+        + ", generated=" + generated
+        + "]";
+  }
+
+}
@@ -69,4 +69,24 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Same as {@link #findLatestResourcesByDeploymentName(String, Set)} but
+   * only loads the content hashes instead of the bytes of the resources.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, ResourceHash> findLatestResourceHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+
+    List<ResourceHash> resourceHashes = getDbEntityManager().selectList("selectLatestResourceHashesByDeploymentName", params);
+
+    Map<String, ResourceHash> existingResourceHashesByName = new HashMap<String, ResourceHash>();
+    for (ResourceHash existingResourceHash : resourceHashes) {
+      existingResourceHashesByName.put(existingResourceHash.getName(), existingResourceHash);
+    }
+
+    return existingResourceHashesByName;
+  }
+
 }
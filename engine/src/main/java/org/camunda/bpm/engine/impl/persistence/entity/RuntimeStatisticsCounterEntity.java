@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.UUID;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * <p>Holds the number of running instances, failed jobs and incidents of a process
+ * definition or of one of its activities (table ACT_RU_STATS).</p>
+ *
+ * <p>A counter without activity id refers to the process definition as a whole.
+ * A counter with incident type only counts incidents of this type, a counter
+ * without incident type counts instances and failed jobs.</p>
+ *
+ * <p>Like the {@link HistoricActivityStatisticsCounterEntity}, counters are only
+ * modified through delta updates (see {@link StatisticsManager}).</p>
+ *
+ * <p>A new counter gets an id derived from its process definition id, activity id
+ * and incident type, so that concurrent transactions which create the same counter
+ * on first use fail on the primary key instead of inserting it twice.</p>
+ */
+public class RuntimeStatisticsCounterEntity implements DbEntity, Serializable, Comparable<RuntimeStatisticsCounterEntity> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String processDefinitionId;
+  protected String activityId;
+  protected String incidentType;
+
+  protected long instances;
+  protected long failedJobs;
+  protected long incidents;
+
+  public RuntimeStatisticsCounterEntity() {
+  }
+
+  public RuntimeStatisticsCounterEntity(String processDefinitionId, String activityId, String incidentType) {
+    this.processDefinitionId = processDefinitionId;
+    this.activityId = activityId;
+    this.incidentType = incidentType;
+  }
+
+  public void add(long instances, long failedJobs, long incidents) {
+    this.instances += instances;
+    this.failedJobs += failedJobs;
+    this.incidents += incidents;
+  }
+
+  public boolean isEmpty() {
+    return instances == 0 && failedJobs == 0 && incidents == 0;
+  }
+
+  public String getId() {
+    if (id == null && processDefinitionId != null) {
+      String key = processDefinitionId + ":" + activityId + ":" + incidentType;
+      id = UUID.nameUUIDFromBytes(key.getBytes(Charset.forName("UTF-8"))).toString();
+    }
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getIncidentType() {
+    return incidentType;
+  }
+
+  public void setIncidentType(String incidentType) {
+    this.incidentType = incidentType;
+  }
+
+  public long getInstances() {
+    return instances;
+  }
+
+  public void setInstances(long instances) {
+    this.instances = instances;
+  }
+
+  public long getFailedJobs() {
+    return failedJobs;
+  }
+
+  public void setFailedJobs(long failedJobs) {
+    this.failedJobs = failedJobs;
+  }
+
+  public long getIncidents() {
+    return incidents;
+  }
+
+  public void setIncidents(long incidents) {
+    this.incidents = incidents;
+  }
+
+  public Object getPersistentState() {
+    // counters are only modified by delta updates
+    return RuntimeStatisticsCounterEntity.class;
+  }
+
+  /**
+   * Orders the counters by process definition id, activity id and incident type so that
+   * concurrent transactions update the rows of the counters in the same order.
+   */
+  public int compareTo(RuntimeStatisticsCounterEntity other) {
+    int order = compare(processDefinitionId, other.processDefinitionId);
+    if (order == 0) {
+      order = compare(activityId, other.activityId);
+    }
+    if (order == 0) {
+      order = compare(incidentType, other.incidentType);
+    }
+    return order;
+  }
+
+  protected static int compare(String first, String second) {
+    if (first == null) {
+      return second == null ? 0 : -1;
+    }
+    return second == null ? 1 : first.compareTo(second);
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[processDefinitionId=" + processDefinitionId
+        + ", activityId=" + activityId
+        + ", incidentType=" + incidentType
+        + ", instances=" + instances
+        + ", failedJobs=" + failedJobs
+        + ", incidents=" + incidents
+        + "]";
+  }
+
+}
@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.DELETED_PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.TRANSIENT;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbOperationsFlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>Maintains the runtime statistics counters (see {@link RuntimeStatisticsCounterEntity})
+ * while executions, jobs and incidents are flushed.</p>
+ *
+ * <p>For each flushed entity, the contribution of the state at the last flush is
+ * subtracted and the contribution of the current state is added:</p>
+ * <ul>
+ *   <li>a process instance counts as instance of its process definition,</li>
+ *   <li>an active execution counts as instance of its activity,</li>
+ *   <li>a job without retries counts as failed job of its process definition and
+ *   of the activity of its job definition,</li>
+ *   <li>an incident counts for its process definition and its activity.</li>
+ * </ul>
+ *
+ * <p>Entities which are merged instead of loaded are ignored since their previous
+ * state is unknown.</p>
+ *
+ * <p>The deltas are collected by the {@link StatisticsManager} and written once all
+ * entities are flushed, see {@link #beforeOperationsFlush()}.</p>
+ */
+public class RuntimeStatisticsCounterListener implements DbOperationsFlushListener {
+
+  public Class<? extends DbEntity> getEntityType() {
+    return null;
+  }
+
+  public void beforeFlush(CachedDbEntity cachedDbEntity) {
+    DbEntity entity = cachedDbEntity.getEntity();
+    if (!(entity instanceof ExecutionEntity || entity instanceof JobEntity || entity instanceof IncidentEntity)) {
+      return;
+    }
+
+    DbEntityState entityState = cachedDbEntity.getEntityState();
+    boolean existed = entityState == PERSISTENT || entityState == DELETED_PERSISTENT;
+    boolean exists = entityState == TRANSIENT || entityState == PERSISTENT;
+
+    if ((!existed && !exists) || (entityState == PERSISTENT && !cachedDbEntity.isDirty())) {
+      return;
+    }
+
+    if (entity instanceof IncidentEntity) {
+      if (existed != exists) {
+        countIncident((IncidentEntity) entity, exists ? 1 : -1);
+      }
+    }
+    else {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> previousState = existed ? (Map<String, Object>) cachedDbEntity.getCopy() : null;
+      @SuppressWarnings("unchecked")
+      Map<String, Object> currentState = exists ? (Map<String, Object>) entity.getPersistentState() : null;
+
+      if (entity instanceof ExecutionEntity) {
+        countExecution(previousState, -1);
+        countExecution(currentState, 1);
+      }
+      else {
+        countJob(previousState, -1);
+        countJob(currentState, 1);
+      }
+    }
+  }
+
+  public void beforeOperationsFlush() {
+    getStatisticsManager().flushRuntimeStatisticsCounters();
+  }
+
+  protected void countExecution(Map<String, Object> state, int delta) {
+    if (state == null) {
+      return;
+    }
+
+    String processDefinitionId = (String) state.get("processDefinitionId");
+    String activityId = (String) state.get("activityId");
+
+    if (state.get("parentId") == null) {
+      getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, null, null, delta, 0, 0);
+    }
+    if (Boolean.TRUE.equals(state.get("isActive")) && activityId != null) {
+      getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, activityId, null, delta, 0, 0);
+    }
+  }
+
+  protected void countJob(Map<String, Object> state, int delta) {
+    if (state == null || !Integer.valueOf(0).equals(state.get("retries"))) {
+      return;
+    }
+
+    String processDefinitionId = (String) state.get("processDefinitionId");
+    String jobDefinitionId = (String) state.get("jobDefinitionId");
+    if (processDefinitionId == null) {
+      return;
+    }
+
+    getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, null, null, 0, delta, 0);
+
+    if (jobDefinitionId != null) {
+      JobDefinitionEntity jobDefinition = getCommandContext().getJobDefinitionManager().findById(jobDefinitionId);
+      if (jobDefinition != null && jobDefinition.getActivityId() != null) {
+        getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, jobDefinition.getActivityId(), null, 0, delta, 0);
+      }
+    }
+  }
+
+  protected void countIncident(IncidentEntity incident, int delta) {
+    String processDefinitionId = incident.getProcessDefinitionId();
+    if (processDefinitionId == null) {
+      return;
+    }
+
+    getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, null, incident.getIncidentType(), 0, 0, delta);
+
+    if (incident.getActivityId() != null) {
+      getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, incident.getActivityId(), incident.getIncidentType(), 0, 0, delta);
+    }
+  }
+
+  protected StatisticsManager getStatisticsManager() {
+    return getCommandContext().getStatisticsManager();
+  }
+
+  protected CommandContext getCommandContext() {
+    return Context.getCommandContext();
+  }
+
+}
@@ -15,28 +15,48 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ActivityStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.DeploymentStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
 import org.camunda.bpm.engine.management.ActivityStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatistics;
+import org.camunda.bpm.engine.management.IncidentStatistics;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
 
 public class StatisticsManager extends AbstractManager {
 
+  /** the counter deltas of the current command, by process definition id, activity id and incident type */
+  protected Map<String, RuntimeStatisticsCounterEntity> counterDeltas = new HashMap<String, RuntimeStatisticsCounterEntity>();
+
   @SuppressWarnings("unchecked")
   public List<ProcessDefinitionStatistics> getStatisticsGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query, Page page) {
     getAuthorizationManager().configureProcessDefinitionStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return getDbEntityManager().selectList("selectProcessDefinitionStatisticsFromCounters", query, page);
+    }
     return getDbEntityManager().selectList("selectProcessDefinitionStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query) {
     getAuthorizationManager().configureProcessDefinitionStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return (Long) getDbEntityManager().selectOne("selectProcessDefinitionStatisticsFromCountersCount", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectProcessDefinitionStatisticsCount", query);
   }
 
@@ -44,23 +64,35 @@ public class StatisticsManager extends AbstractManager {
   public List<ActivityStatistics> getStatisticsGroupedByActivity(ActivityStatisticsQueryImpl query, Page page) {
     checkReadProcessDefinition(query);
     getAuthorizationManager().configureActivityStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return getDbEntityManager().selectList("selectActivityStatisticsFromCounters", query, page);
+    }
     return getDbEntityManager().selectList("selectActivityStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByActivity(ActivityStatisticsQueryImpl query) {
     checkReadProcessDefinition(query);
     getAuthorizationManager().configureActivityStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return (Long) getDbEntityManager().selectOne("selectActivityStatisticsFromCountersCount", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectActivityStatisticsCount", query);
   }
 
   @SuppressWarnings("unchecked")
   public List<DeploymentStatistics> getStatisticsGroupedByDeployment(DeploymentStatisticsQueryImpl query, Page page) {
     getAuthorizationManager().configureDeploymentStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return getDbEntityManager().selectList("selectDeploymentStatisticsFromCounters", query, page);
+    }
     return getDbEntityManager().selectList("selectDeploymentStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByDeployment(DeploymentStatisticsQueryImpl query) {
     getAuthorizationManager().configureDeploymentStatisticsQuery(query);
+    if (isRuntimeStatisticsCounterUsed(query)) {
+      return (Long) getDbEntityManager().selectOne("selectDeploymentStatisticsFromCountersCount", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectDeploymentStatisticsCount", query);
   }
 
@@ -73,4 +105,186 @@ public class StatisticsManager extends AbstractManager {
       getAuthorizationManager().checkReadProcessDefinition(definition);
     }
   }
+
+  /**
+   * The counters cannot be restricted to the process instances, jobs and incidents
+   * a user is authorized to read. If such checks apply, the runtime tables are queried.
+   */
+  protected boolean isRuntimeStatisticsCounterUsed(ListQueryParameterObject query) {
+    return Context.getProcessEngineConfiguration().isRuntimeStatisticsCounterEnabled()
+        && !(query.isAuthorizationCheckEnabled() && query.getAuthUserId() != null);
+  }
+
+  // runtime statistics counters ///////////////////////////////////////
+
+  /**
+   * Adds the given deltas to a counter. All deltas of a command for the same
+   * counter are combined and written by a single UPDATE statement when the
+   * command is flushed, see {@link #flushRuntimeStatisticsCounters()}.
+   *
+   * @param activityId the activity or null to update the counter of the process definition
+   * @param incidentType the incident type or null to update the instance and failed job counter
+   */
+  public void updateRuntimeStatisticsCounter(String processDefinitionId, String activityId, String incidentType, long instances, long failedJobs, long incidents) {
+    String key = processDefinitionId + ":" + activityId + ":" + incidentType;
+    RuntimeStatisticsCounterEntity delta = counterDeltas.get(key);
+    if (delta == null) {
+      delta = new RuntimeStatisticsCounterEntity(processDefinitionId, activityId, incidentType);
+      counterDeltas.put(key, delta);
+    }
+    delta.add(instances, failedJobs, incidents);
+  }
+
+  /**
+   * Schedules the UPDATE statements for the counter deltas collected by
+   * {@link #updateRuntimeStatisticsCounter(String, String, String, long, long, long)}.
+   * The statements are executed in the order of the counters (see
+   * {@link RuntimeStatisticsCounterEntity#compareTo(RuntimeStatisticsCounterEntity)}).
+   *
+   * A counter which does not exist yet, for example of an incident type without
+   * registered incident handler, is inserted with the delta.
+   */
+  public void flushRuntimeStatisticsCounters() {
+    for (RuntimeStatisticsCounterEntity delta : counterDeltas.values()) {
+      if (!delta.isEmpty()) {
+        getDbEntityManager().updateOrInsert("updateRuntimeStatisticsCounter", delta);
+      }
+    }
+    counterDeltas.clear();
+  }
+
+  /**
+   * Creates the counters of a newly deployed process definition: for the process definition
+   * and each of its activities one counter for instances and failed jobs and one counter
+   * per incident type with registered incident handler. Counters of other incident types
+   * are created on first use, see {@link #flushRuntimeStatisticsCounters()}.
+   */
+  public void insertRuntimeStatisticsCounters(ProcessDefinitionEntity processDefinition) {
+    for (RuntimeStatisticsCounterEntity counter : createRuntimeStatisticsCounters(processDefinition, getIncidentTypes()).values()) {
+      getDbEntityManager().insert(counter);
+    }
+  }
+
+  /**
+   * Recalculates the counters of the given process definitions from the runtime tables.
+   */
+  @SuppressWarnings("unchecked")
+  public void rebuildRuntimeStatisticsCounters(List<ProcessDefinitionEntity> processDefinitions) {
+    ProcessDefinitionStatisticsQueryImpl processDefinitionQuery = new ProcessDefinitionStatisticsQueryImpl(null);
+    processDefinitionQuery.includeIncidents().includeFailedJobs();
+    List<ProcessDefinitionStatistics> processDefinitionStatistics = getDbEntityManager().selectList("selectProcessDefinitionStatistics", processDefinitionQuery);
+
+    Map<String, ProcessDefinitionStatistics> statisticsById = new HashMap<String, ProcessDefinitionStatistics>();
+    for (ProcessDefinitionStatistics statistics : processDefinitionStatistics) {
+      statisticsById.put(statistics.getId(), statistics);
+    }
+
+    Set<String> incidentTypes = getIncidentTypes();
+    for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+      rebuildRuntimeStatisticsCounters(processDefinition, statisticsById.get(processDefinition.getId()), incidentTypes);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void rebuildRuntimeStatisticsCounters(ProcessDefinitionEntity processDefinition, ProcessDefinitionStatistics processDefinitionStatistics, Set<String> incidentTypes) {
+    String processDefinitionId = processDefinition.getId();
+    Map<String, RuntimeStatisticsCounterEntity> counters = createRuntimeStatisticsCounters(processDefinition, incidentTypes);
+
+    if (processDefinitionStatistics != null) {
+      addStatistics(counters, processDefinitionId, null, processDefinitionStatistics.getInstances(),
+          processDefinitionStatistics.getFailedJobs(), processDefinitionStatistics.getIncidentStatistics());
+    }
+
+    ActivityStatisticsQueryImpl activityQuery = new ActivityStatisticsQueryImpl(processDefinitionId, null);
+    activityQuery.includeIncidents().includeFailedJobs();
+    List<ActivityStatistics> activityStatistics = getDbEntityManager().selectList("selectActivityStatistics", activityQuery);
+    for (ActivityStatistics statistics : activityStatistics) {
+      addStatistics(counters, processDefinitionId, statistics.getId(), statistics.getInstances(), statistics.getFailedJobs(), statistics.getIncidentStatistics());
+    }
+
+    List<RuntimeStatisticsCounterEntity> existingCounters = getDbEntityManager()
+        .selectList("selectRuntimeStatisticsCountersByProcessDefinitionId", processDefinitionId);
+
+    for (RuntimeStatisticsCounterEntity existingCounter : existingCounters) {
+      String key = existingCounter.getActivityId() + ":" + existingCounter.getIncidentType();
+      RuntimeStatisticsCounterEntity counter = counters.remove(key);
+      if (counter == null) {
+        counter = new RuntimeStatisticsCounterEntity(processDefinitionId, existingCounter.getActivityId(), existingCounter.getIncidentType());
+      }
+      counter.setId(existingCounter.getId());
+      getDbEntityManager().update(RuntimeStatisticsCounterEntity.class, "resetRuntimeStatisticsCounter", counter);
+    }
+
+    for (RuntimeStatisticsCounterEntity counter : counters.values()) {
+      getDbEntityManager().insert(counter);
+    }
+  }
+
+  public void deleteRuntimeStatisticsCountersByProcessDefinitionId(String processDefinitionId) {
+    // the deltas must not insert the deleted counters again
+    Iterator<RuntimeStatisticsCounterEntity> deltas = counterDeltas.values().iterator();
+    while (deltas.hasNext()) {
+      if (processDefinitionId.equals(deltas.next().getProcessDefinitionId())) {
+        deltas.remove();
+      }
+    }
+
+    getDbEntityManager().delete(RuntimeStatisticsCounterEntity.class, "deleteRuntimeStatisticsCountersByProcessDefinitionId", processDefinitionId);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessDefinitionIdsForRuntimeStatistics() {
+    return getDbEntityManager().selectList("selectRuntimeStatisticsProcessDefinitionIds");
+  }
+
+  public long findFailedJobCountByJobDefinitionId(String jobDefinitionId) {
+    return (Long) getDbEntityManager().selectOne("selectFailedJobCountByJobDefinitionId", jobDefinitionId);
+  }
+
+  protected Set<String> getIncidentTypes() {
+    return Context.getProcessEngineConfiguration().getIncidentHandlers().keySet();
+  }
+
+  protected Map<String, RuntimeStatisticsCounterEntity> createRuntimeStatisticsCounters(ProcessDefinitionEntity processDefinition, Set<String> incidentTypes) {
+    List<String> activityIds = new ArrayList<String>();
+    activityIds.add(null);
+    collectActivityIds(processDefinition, activityIds);
+
+    Map<String, RuntimeStatisticsCounterEntity> counters = new LinkedHashMap<String, RuntimeStatisticsCounterEntity>();
+    for (String activityId : activityIds) {
+      getCounter(counters, processDefinition.getId(), activityId, null);
+      for (String incidentType : incidentTypes) {
+        getCounter(counters, processDefinition.getId(), activityId, incidentType);
+      }
+    }
+    return counters;
+  }
+
+  protected void collectActivityIds(ScopeImpl scope, List<String> activityIds) {
+    for (ActivityImpl activity : scope.getActivities()) {
+      activityIds.add(activity.getId());
+      collectActivityIds(activity, activityIds);
+    }
+  }
+
+  protected void addStatistics(Map<String, RuntimeStatisticsCounterEntity> counters, String processDefinitionId, String activityId,
+      long instances, long failedJobs, List<IncidentStatistics> incidentStatistics) {
+    getCounter(counters, processDefinitionId, activityId, null).add(instances, failedJobs, 0);
+    if (incidentStatistics != null) {
+      for (IncidentStatistics incidents : incidentStatistics) {
+        getCounter(counters, processDefinitionId, activityId, incidents.getIncidentType()).add(0, 0, incidents.getIncidentCount());
+      }
+    }
+  }
+
+  protected RuntimeStatisticsCounterEntity getCounter(Map<String, RuntimeStatisticsCounterEntity> counters, String processDefinitionId, String activityId, String incidentType) {
+    String key = activityId + ":" + incidentType;
+    RuntimeStatisticsCounterEntity counter = counters.get(key);
+    if (counter == null) {
+      counter = new RuntimeStatisticsCounterEntity(processDefinitionId, activityId, incidentType);
+      counters.put(key, counter);
+    }
+    return counter;
+  }
+
 }
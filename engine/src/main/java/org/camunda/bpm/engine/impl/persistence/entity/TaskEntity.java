@@ -58,6 +58,7 @@ import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.IdentityLink;
 import org.camunda.bpm.engine.task.IdentityLinkType;
 import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.UserTask;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
@@ -122,6 +123,11 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
   protected boolean isFormKeyInitialized = false;
   protected String formKey;
 
+  protected transient VariableMap fetchedVariables;
+
+  /** true if the task was loaded by a task query which selected a subset of its columns */
+  protected boolean partial = false;
+
   protected transient AbstractPersistentVariableStore variableStore;
 
   /**
@@ -1031,6 +1037,25 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return formKey;
   }
 
+  public void setFetchedVariables(VariableMap fetchedVariables) {
+    this.fetchedVariables = fetchedVariables;
+  }
+
+  public VariableMap getFetchedVariables() {
+    if(fetchedVariables == null) {
+      throw new BadUserRequestException("The variables are not fetched. You must call fetchVariables() on the task query prior to retrieving the fetched variables.");
+    }
+    return fetchedVariables;
+  }
+
+  public boolean isPartial() {
+    return partial;
+  }
+
+  public void setPartial(boolean partial) {
+    this.partial = partial;
+  }
+
   public void setProcessDefinitionId(String processDefinitionId) {
     this.processDefinitionId = processDefinitionId;
   }
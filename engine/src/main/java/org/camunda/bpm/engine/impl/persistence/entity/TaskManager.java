@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,8 +26,10 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.task.Task;
 
 
@@ -114,6 +117,10 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectById(TaskEntity.class, id);
   }
 
+  public List<TaskEntity> findTasksByIds(List<String> ids) {
+    return selectListByIds("selectTasksByIds", ids);
+  }
+
   @SuppressWarnings("unchecked")
   public List<TaskEntity> findTasksByExecutionId(String executionId) {
     return getDbEntityManager().selectList("selectTasksByExecutionId", executionId);
@@ -139,11 +146,38 @@ public class TaskManager extends AbstractManager {
   @SuppressWarnings("unchecked")
   public List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery) {
     configureAuthorizationCheck(taskQuery);
+    if (taskQuery.getProjectionColumns() != null) {
+      return findTaskProjectionsByQueryCriteria(taskQuery);
+    }
     return getDbEntityManager().selectList("selectTaskByQueryCriteria", taskQuery);
   }
 
+  /**
+   * Selects the tasks of a query which selects a subset of the columns. The partially loaded
+   * tasks are not added to the entity cache, since flushing them would overwrite the columns
+   * which were not selected. A task which is already cached is returned instead, all other
+   * tasks are marked as {@link TaskEntity#isPartial() partial} so they cannot be saved.
+   */
+  protected List<Task> findTaskProjectionsByQueryCriteria(TaskQueryImpl taskQuery) {
+    final List<Task> tasks = new ArrayList<Task>();
+    final DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+    getDbEntityManager().selectStreaming("selectTaskByQueryCriteria", taskQuery, new QueryResultHandler<Task>() {
+      public void handleResult(Task task) {
+        TaskEntity taskEntity = (TaskEntity) task;
+        if (!dbEntityCache.contains(taskEntity)) {
+          taskEntity.setPartial(true);
+        }
+        tasks.add(task);
+      }
+    });
+    return tasks;
+  }
+
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     configureAuthorizationCheck(taskQuery);
+    if (taskQuery.getCountLimit() > 0) {
+      return (Long) getDbEntityManager().selectOne("selectTaskCountUpToByQueryCriteria", taskQuery);
+    }
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
   }
 
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.DELETED_MERGED;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.DELETED_PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.MERGED;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.PERSISTENT;
+import static org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState.TRANSIENT;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityFlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+
+/**
+ * <p>Maintains the variable index (table ACT_RU_VAR_INDEX) while variables
+ * are flushed.</p>
+ *
+ * <p>The row of an inserted variable is added, the row of a deleted variable is
+ * removed and the row of an updated variable is replaced, since its value or scope
+ * may have changed. As for the authorization index, the index statements are bulk
+ * operations executed in the order of their names: the row of a variable is
+ * deleted before it is inserted again.</p>
+ */
+public class VariableIndexListener implements DbEntityFlushListener {
+
+  public Class<? extends DbEntity> getEntityType() {
+    return VariableInstanceEntity.class;
+  }
+
+  public void beforeFlush(CachedDbEntity cachedDbEntity) {
+    VariableInstanceEntity variable = (VariableInstanceEntity) cachedDbEntity.getEntity();
+    DbEntityState entityState = cachedDbEntity.getEntityState();
+
+    if (entityState == TRANSIENT) {
+      getVariableInstanceManager().insertVariableIndex(variable);
+    }
+    else if ((entityState == PERSISTENT && cachedDbEntity.isDirty()) || entityState == MERGED) {
+      getVariableInstanceManager().deleteVariableIndex(variable.getId());
+      getVariableInstanceManager().insertVariableIndex(variable);
+    }
+    else if (entityState == DELETED_PERSISTENT || entityState == DELETED_MERGED) {
+      getVariableInstanceManager().deleteVariableIndex(variable.getId());
+    }
+  }
+
+  protected VariableInstanceManager getVariableInstanceManager() {
+    return Context.getCommandContext().getVariableInstanceManager();
+  }
+
+}
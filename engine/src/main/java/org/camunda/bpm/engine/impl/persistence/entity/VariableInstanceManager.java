@@ -13,14 +13,33 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.HashUtil;
+import org.camunda.bpm.engine.impl.variable.VariableIndexValue;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
 
 
 /**
@@ -28,6 +47,9 @@ import org.camunda.bpm.engine.runtime.VariableInstance;
  */
 public class VariableInstanceManager extends AbstractManager {
 
+  /** the property which holds the fingerprint of the indexed variable names of the last rebuild of the variable index */
+  public static final String VARIABLE_INDEX_PROPERTY = "variable-index.names";
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByTaskId(String taskId) {
     return getDbEntityManager().selectList("selectVariablesByTaskId", taskId);
@@ -67,4 +89,369 @@ public class VariableInstanceManager extends AbstractManager {
     getAuthorizationManager().configureVariableInstanceQuery(query);
   }
 
+  // bulk fetching /////////////////////////////////////////////////////////
+
+  /**
+   * Selects the variables with the given names which are visible from the given tasks,
+   * see {@link #findVariablesVisibleFromScopes(List, Collection, boolean)}.
+   *
+   * @return the variables of each task by task id
+   */
+  public Map<String, VariableMap> findVariablesVisibleFromTasks(List<TaskEntity> tasks, Collection<String> variableNames, boolean deserializeValues) {
+    List<VariableScopeReference> scopes = new ArrayList<VariableScopeReference>();
+    for (TaskEntity task : tasks) {
+      if (task.getExecutionId() != null) {
+        scopes.add(new VariableScopeReference(task.getId(), task.getId(), task.getExecutionId(), task.getProcessInstanceId(), false));
+      }
+      else {
+        scopes.add(new VariableScopeReference(task.getId(), task.getId(), task.getCaseExecutionId(), task.getCaseInstanceId(), true));
+      }
+    }
+    return findVariablesVisibleFromScopes(scopes, variableNames, deserializeValues);
+  }
+
+  /**
+   * Selects the variables with the given names which are visible from the given executions,
+   * see {@link #findVariablesVisibleFromScopes(List, Collection, boolean)}.
+   *
+   * @return the variables of each execution by execution id
+   */
+  public Map<String, VariableMap> findVariablesVisibleFromExecutions(List<ExecutionEntity> executions, Collection<String> variableNames, boolean deserializeValues) {
+    List<VariableScopeReference> scopes = new ArrayList<VariableScopeReference>();
+    for (ExecutionEntity execution : executions) {
+      scopes.add(new VariableScopeReference(execution.getId(), null, execution.getId(), execution.getProcessInstanceId(), false));
+    }
+    return findVariablesVisibleFromScopes(scopes, variableNames, deserializeValues);
+  }
+
+  /**
+   * Selects the variables with the given names which are visible from the given case executions,
+   * see {@link #findVariablesVisibleFromScopes(List, Collection, boolean)}.
+   *
+   * @return the variables of each case execution by case execution id
+   */
+  public Map<String, VariableMap> findVariablesVisibleFromCaseExecutions(List<CaseExecutionEntity> caseExecutions, Collection<String> variableNames, boolean deserializeValues) {
+    List<VariableScopeReference> scopes = new ArrayList<VariableScopeReference>();
+    for (CaseExecutionEntity caseExecution : caseExecutions) {
+      scopes.add(new VariableScopeReference(caseExecution.getId(), null, caseExecution.getId(), caseExecution.getCaseInstanceId(), true));
+    }
+    return findVariablesVisibleFromScopes(scopes, variableNames, deserializeValues);
+  }
+
+  /**
+   * Selects the variables with the given names which are visible from the given scopes, with one
+   * statement per {@value #MAX_IN_LIST_SIZE} scopes instead of one per scope. The scope hierarchy
+   * is resolved in memory: a local variable of a task hides a variable of its (case) execution,
+   * which hides a variable of the parent scopes. The parents are only loaded if a variable is
+   * set on a scope between an execution and its process or case instance.
+   */
+  @SuppressWarnings("unchecked")
+  protected Map<String, VariableMap> findVariablesVisibleFromScopes(List<VariableScopeReference> scopes, Collection<String> variableNames, boolean deserializeValues) {
+    Map<String, VariableMap> variablesByScope = new HashMap<String, VariableMap>();
+    for (VariableScopeReference scope : scopes) {
+      variablesByScope.put(scope.getId(), Variables.createVariables());
+    }
+    if (variableNames.isEmpty()) {
+      return variablesByScope;
+    }
+
+    for (int i = 0; i < scopes.size(); i += MAX_IN_LIST_SIZE) {
+      List<VariableScopeReference> batch = scopes.subList(i, Math.min(i + MAX_IN_LIST_SIZE, scopes.size()));
+
+      Set<String> taskIds = new HashSet<String>();
+      Set<String> processInstanceIds = new HashSet<String>();
+      Set<String> caseInstanceIds = new HashSet<String>();
+      for (VariableScopeReference scope : batch) {
+        if (scope.getTaskId() != null) {
+          taskIds.add(scope.getTaskId());
+        }
+        if (scope.getInstanceId() != null) {
+          if (scope.isCaseScope()) {
+            caseInstanceIds.add(scope.getInstanceId());
+          }
+          else {
+            processInstanceIds.add(scope.getInstanceId());
+          }
+        }
+      }
+
+      if (taskIds.isEmpty() && processInstanceIds.isEmpty() && caseInstanceIds.isEmpty()) {
+        continue;
+      }
+
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("variableNames", variableNames);
+      parameters.put("taskIds", taskIds);
+      parameters.put("processInstanceIds", processInstanceIds);
+      parameters.put("caseInstanceIds", caseInstanceIds);
+      List<VariableInstanceEntity> variables = getDbEntityManager().selectList("selectVariablesVisibleFromScopes", parameters);
+
+      FetchedVariables fetchedVariables = new FetchedVariables(variables);
+      for (VariableScopeReference scope : batch) {
+        VariableMap scopeVariables = variablesByScope.get(scope.getId());
+        if (scope.getTaskId() != null) {
+          fetchedVariables.addVariables(scopeVariables, scope.getTaskId(), deserializeValues);
+        }
+
+        for (String scopeId : getScopeHierarchy(scope, fetchedVariables)) {
+          fetchedVariables.addVariables(scopeVariables, scopeId, deserializeValues);
+        }
+      }
+    }
+
+    return variablesByScope;
+  }
+
+  /**
+   * @return the ids of the (case) execution of the scope and its parents which may hold visible variables,
+   * ordered from the execution to its process or case instance
+   */
+  protected List<String> getScopeHierarchy(VariableScopeReference scope, FetchedVariables fetchedVariables) {
+    List<String> scopeIds = new ArrayList<String>();
+
+    String executionId = scope.getExecutionId();
+    String instanceId = scope.getInstanceId();
+    if (executionId == null || !fetchedVariables.hasVariablesOfInstance(instanceId)) {
+      return scopeIds;
+    }
+
+    if (!fetchedVariables.hasVariablesOfOtherScopes(instanceId, executionId)) {
+      scopeIds.add(executionId);
+      if (!executionId.equals(instanceId)) {
+        scopeIds.add(instanceId);
+      }
+    }
+    else if (!scope.isCaseScope()) {
+      for (ExecutionEntity execution = getProcessInstanceManager().findExecutionById(executionId); execution != null; execution = execution.getParent()) {
+        scopeIds.add(execution.getId());
+      }
+    }
+    else {
+      for (CaseExecutionEntity caseExecution = getCaseExecutionManager().findCaseExecutionById(executionId); caseExecution != null; caseExecution = caseExecution.getParent()) {
+        scopeIds.add(caseExecution.getId());
+      }
+    }
+
+    return scopeIds;
+  }
+
+  /**
+   * A task, execution or case execution whose visible variables are fetched.
+   */
+  protected static class VariableScopeReference {
+
+    protected String id;
+    protected String taskId;
+    protected String executionId;
+    protected String instanceId;
+    protected boolean caseScope;
+
+    /**
+     * @param id the id of the scope in the result
+     * @param taskId the id of the task or <code>null</code> if the scope is no task
+     * @param executionId the id of the (case) execution of the scope, may be <code>null</code> for a standalone task
+     * @param instanceId the id of the process or case instance of the scope
+     * @param caseScope true if the scope belongs to a case instance
+     */
+    public VariableScopeReference(String id, String taskId, String executionId, String instanceId, boolean caseScope) {
+      this.id = id;
+      this.taskId = taskId;
+      this.executionId = executionId;
+      this.instanceId = instanceId;
+      this.caseScope = caseScope;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public String getTaskId() {
+      return taskId;
+    }
+
+    public String getExecutionId() {
+      return executionId;
+    }
+
+    public String getInstanceId() {
+      return instanceId;
+    }
+
+    public boolean isCaseScope() {
+      return caseScope;
+    }
+  }
+
+  /**
+   * Fetched variables, grouped by the id of their task, execution or case execution.
+   */
+  protected static class FetchedVariables {
+
+    protected Map<String, List<VariableInstanceEntity>> variablesByScopeId = new HashMap<String, List<VariableInstanceEntity>>();
+    protected Map<String, Set<String>> scopeIdsByInstanceId = new HashMap<String, Set<String>>();
+
+    public FetchedVariables(List<VariableInstanceEntity> variables) {
+      for (VariableInstanceEntity variable : variables) {
+        String scopeId;
+        if (variable.getTaskId() != null) {
+          scopeId = variable.getTaskId();
+        }
+        else {
+          scopeId = variable.getExecutionId() != null ? variable.getExecutionId() : variable.getCaseExecutionId();
+          String instanceId = variable.getExecutionId() != null ? variable.getProcessInstanceId() : variable.getCaseInstanceId();
+
+          Set<String> scopeIds = scopeIdsByInstanceId.get(instanceId);
+          if (scopeIds == null) {
+            scopeIds = new HashSet<String>();
+            scopeIdsByInstanceId.put(instanceId, scopeIds);
+          }
+          scopeIds.add(scopeId);
+        }
+
+        List<VariableInstanceEntity> scopeVariables = variablesByScopeId.get(scopeId);
+        if (scopeVariables == null) {
+          scopeVariables = new ArrayList<VariableInstanceEntity>();
+          variablesByScopeId.put(scopeId, scopeVariables);
+        }
+        scopeVariables.add(variable);
+      }
+    }
+
+    public boolean hasVariablesOfInstance(String instanceId) {
+      return scopeIdsByInstanceId.containsKey(instanceId);
+    }
+
+    /**
+     * @return true if a scope of the instance other than the given scope and the instance itself has variables
+     */
+    public boolean hasVariablesOfOtherScopes(String instanceId, String scopeId) {
+      for (String otherScopeId : scopeIdsByInstanceId.get(instanceId)) {
+        if (!otherScopeId.equals(scopeId) && !otherScopeId.equals(instanceId)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Adds the variables of the scope which are not hidden by a variable already added.
+     */
+    public void addVariables(VariableMap variables, String scopeId, boolean deserializeValues) {
+      List<VariableInstanceEntity> scopeVariables = variablesByScopeId.get(scopeId);
+      if (scopeVariables != null) {
+        for (VariableInstanceEntity variable : scopeVariables) {
+          if (!variables.containsKey(variable.getName())) {
+            variables.putValueTyped(variable.getName(), variable.getTypedValue(deserializeValues));
+          }
+        }
+      }
+    }
+  }
+
+  // variable index ////////////////////////////////////////////////////////
+
+  /**
+   * Adds the normalized value of the given variable to the variable index if the variable
+   * is indexed and its value can be normalized, see {@link VariableIndexValue}.
+   */
+  public void insertVariableIndex(VariableInstanceEntity variable) {
+    if (!Context.getProcessEngineConfiguration().isIndexedVariable(variable.getName())) {
+      return;
+    }
+
+    String value = VariableIndexValue.normalize(variable.getSerializerName(), variable);
+    if (value != null) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("variable", variable);
+      parameters.put("value", value);
+      getDbEntityManager().update(VariableInstanceEntity.class, "insertVariableIndex", parameters);
+    }
+  }
+
+  public void deleteVariableIndex(String variableId) {
+    getDbEntityManager().delete(VariableInstanceEntity.class, "deleteVariableIndexById", variableId);
+  }
+
+  public void deleteAllVariableIndex() {
+    getDbEntityManager().delete(VariableInstanceEntity.class, "deleteAllVariableIndex", null);
+  }
+
+  /**
+   * Recreates the variable index from the variables with an indexed name. The variables
+   * are streamed instead of being added to the entity cache. However, the index rows are
+   * inserted by bulk operations which reference the variables until the command context
+   * is flushed, so the memory used grows with the number of indexed variables.
+   */
+  public void rebuildVariableIndex() {
+    deleteAllVariableIndex();
+
+    Set<String> indexedVariableNames = Context.getProcessEngineConfiguration().getIndexedVariableNames();
+    if (indexedVariableNames != null && !indexedVariableNames.isEmpty()) {
+      ListQueryParameterObject parameter = new ListQueryParameterObject();
+      parameter.setParameter(new ArrayList<String>(indexedVariableNames));
+      getDbEntityManager().selectStreaming("selectVariablesByNames", parameter, new QueryResultHandler<VariableInstanceEntity>() {
+        public void handleResult(VariableInstanceEntity variable) {
+          insertVariableIndex(variable);
+        }
+      });
+    }
+
+    recordVariableIndexRebuild(getVariableIndexFingerprint(indexedVariableNames));
+  }
+
+  /**
+   * Returns true if the variable index was rebuilt for the currently indexed variable names.
+   * Until then, variables which existed before their name was indexed are missing from the
+   * index, so queries have to compare the variables in ACT_RU_VARIABLE instead.
+   *
+   * The fingerprint of the last rebuild is read once and then kept by the process engine
+   * configuration. A rebuild by another process engine on the same database is therefore
+   * only recognized after a restart.
+   */
+  public boolean isVariableIndexRebuilt() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    String rebuiltFingerprint = processEngineConfiguration.getVariableIndexFingerprint();
+    if (rebuiltFingerprint == null) {
+      PropertyEntity property = Context.getCommandContext().getPropertyManager().findPropertyById(VARIABLE_INDEX_PROPERTY);
+      rebuiltFingerprint = property != null ? property.getValue() : "";
+      processEngineConfiguration.setVariableIndexFingerprint(rebuiltFingerprint);
+    }
+
+    return rebuiltFingerprint.equals(getVariableIndexFingerprint(processEngineConfiguration.getIndexedVariableNames()));
+  }
+
+  protected void recordVariableIndexRebuild(final String fingerprint) {
+    PropertyManager propertyManager = Context.getCommandContext().getPropertyManager();
+    PropertyEntity property = propertyManager.findPropertyById(VARIABLE_INDEX_PROPERTY);
+    if (property != null) {
+      property.setValue(fingerprint);
+    } else {
+      propertyManager.insert(new PropertyEntity(VARIABLE_INDEX_PROPERTY, fingerprint));
+    }
+
+    // queries may only use the index once the rebuilt index is committed
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          Context.getProcessEngineConfiguration().setVariableIndexFingerprint(fingerprint);
+        }
+      });
+  }
+
+  /**
+   * Returns the hash of the sorted variable names, which identifies the names a rebuilt
+   * index covers independently of the order in which they are configured.
+   */
+  protected String getVariableIndexFingerprint(Set<String> indexedVariableNames) {
+    StringBuilder names = new StringBuilder();
+    if (indexedVariableNames != null) {
+      for (String name : new TreeSet<String>(indexedVariableNames)) {
+        names.append(name).append('\n');
+      }
+    }
+    return HashUtil.hash(names.toString().getBytes(Charset.forName("UTF-8")));
+  }
+
 }
@@ -14,12 +14,17 @@
 package org.camunda.bpm.engine.impl.scripting;
 
 import javax.script.Bindings;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
+import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 
 /**
  * A script which is dynamically determined during the execution.
@@ -38,7 +43,20 @@ public abstract class DynamicExecutableScript extends ExecutableScript {
 
   public Object execute(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
     String source = getScriptSource(variableScope);
+
+    CompiledScript compiledScript;
+    try {
+      compiledScript = getCompiledScript(scriptEngine, source);
+    }
+    catch (ScriptCompilationException e) {
+      // dynamic scripts used to be evaluated from source, keep reporting syntax errors as evaluation errors
+      throw new ScriptEvaluationException("Unable to evaluate script: " + e.getCause().getMessage(), e.getCause());
+    }
+
     try {
+      if (compiledScript != null) {
+        return compiledScript.eval(bindings);
+      }
       return scriptEngine.eval(source, bindings);
     }
     catch (ScriptException e) {
@@ -46,6 +64,26 @@ public abstract class DynamicExecutableScript extends ExecutableScript {
     }
   }
 
+  /**
+   * Returns the compiled script from the engine-wide cache. Since the source may change
+   * on every execution, dynamic scripts are only compiled if the compiled scripts of the
+   * script engine are cached, i.e. the engine is thread-safe.
+   *
+   * @return the compiled script or null if the script should be interpreted
+   */
+  protected CompiledScript getCompiledScript(ScriptEngine scriptEngine, String source) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null || !processEngineConfiguration.isEnableScriptCompilation()) {
+      return null;
+    }
+
+    ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+    if (!scriptingEngines.isCompiledScriptCachable(scriptEngine)) {
+      return null;
+    }
+    return scriptingEngines.getCompiledScript(language, source);
+  }
+
   protected String evaluateExpression(VariableScope variableScope) {
     return (String) scriptExpression.getValue(variableScope);
   }
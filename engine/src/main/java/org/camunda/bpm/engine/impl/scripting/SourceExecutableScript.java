@@ -66,7 +66,7 @@ public class SourceExecutableScript extends ExecutableScript {
         synchronized (this) {
           if (compiledScript == null && shouldBeCompiled) {
             // try to compile script
-            compiledScript = processEngineConfiguration.getScriptingEngines().compile(language, scriptSource);
+            compiledScript = processEngineConfiguration.getScriptingEngines().getCompiledScript(language, scriptSource);
             // either the script was successfully compiled or it can't be
             // compiled but we won't try it again
             shouldBeCompiled = false;
@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.persistence.deploy.Cache;
+import org.camunda.bpm.engine.impl.persistence.deploy.CacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.DefaultCacheFactory;
+import org.camunda.bpm.engine.impl.util.HashUtil;
+
+/**
+ * <p>Engine-wide cache of {@link CompiledScript}s.</p>
+ *
+ * <p>Scripts are cached per scope and keyed by their language and the hash of their source.
+ * The scope is the name of the process application in which context the script
+ * was compiled (or <code>null</code> outside of process applications), since a
+ * compiled script may reference classes of the process application class loader.
+ * All scripts of a scope are removed when the process application is undeployed.</p>
+ *
+ * <p>Each scope is a {@link Cache} created by the {@link CacheFactory}, which holds at
+ * most the given capacity of scripts.</p>
+ *
+ * @see ScriptingEngines#getCompiledScript(String, String)
+ */
+public class CompiledScriptCache {
+
+  protected final CacheFactory cacheFactory;
+  protected final int capacity;
+
+  /** the scripts compiled outside of process applications */
+  protected final Cache<String, CompiledScript> defaultScope;
+
+  /** the scripts compiled in the context of a process application by its name */
+  protected final ConcurrentMap<String, Cache<String, CompiledScript>> processApplicationScopes = new ConcurrentHashMap<String, Cache<String, CompiledScript>>();
+
+  /** the evictions of the removed scopes */
+  protected final AtomicLong removedEvictionCount = new AtomicLong();
+
+  public CompiledScriptCache(int capacity) {
+    this(new DefaultCacheFactory(), capacity);
+  }
+
+  public CompiledScriptCache(CacheFactory cacheFactory, int capacity) {
+    if (capacity < 1) {
+      throw new ProcessEngineException("capacity of the compiled script cache must be at least 1 but is " + capacity);
+    }
+    this.cacheFactory = cacheFactory;
+    this.capacity = capacity;
+    this.defaultScope = cacheFactory.createCache(capacity);
+  }
+
+  /**
+   * @return the cached compiled script or <code>null</code> if the script is not cached
+   */
+  public CompiledScript get(String scope, String language, String source) {
+    return getScope(scope).get(getKey(language, source));
+  }
+
+  public void put(String scope, String language, String source, CompiledScript compiledScript) {
+    getScope(scope).put(getKey(language, source), compiledScript);
+  }
+
+  /**
+   * Removes all scripts which were compiled in the given scope.
+   */
+  public void removeScope(String scope) {
+    if (scope == null) {
+      defaultScope.clear();
+    }
+    else {
+      Cache<String, CompiledScript> removedScope = processApplicationScopes.remove(scope);
+      if (removedScope != null) {
+        removedEvictionCount.addAndGet(removedScope.getEvictionCount());
+      }
+    }
+  }
+
+  public void clear() {
+    defaultScope.clear();
+    for (Cache<String, CompiledScript> scope : processApplicationScopes.values()) {
+      scope.clear();
+    }
+  }
+
+  public int size() {
+    int size = defaultScope.size();
+    for (Cache<String, CompiledScript> scope : processApplicationScopes.values()) {
+      size += scope.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return the maximum number of scripts per scope
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHitCount() {
+    long hitCount = defaultScope.getHitCount();
+    for (Cache<String, CompiledScript> scope : processApplicationScopes.values()) {
+      hitCount += scope.getHitCount();
+    }
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    long missCount = defaultScope.getMissCount();
+    for (Cache<String, CompiledScript> scope : processApplicationScopes.values()) {
+      missCount += scope.getMissCount();
+    }
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    long evictionCount = removedEvictionCount.get() + defaultScope.getEvictionCount();
+    for (Cache<String, CompiledScript> scope : processApplicationScopes.values()) {
+      evictionCount += scope.getEvictionCount();
+    }
+    return evictionCount;
+  }
+
+  protected Cache<String, CompiledScript> getScope(String scope) {
+    if (scope == null) {
+      return defaultScope;
+    }
+
+    Cache<String, CompiledScript> cache = processApplicationScopes.get(scope);
+    if (cache == null) {
+      Cache<String, CompiledScript> newCache = cacheFactory.createCache(capacity);
+      cache = processApplicationScopes.putIfAbsent(scope, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * @return the key of a script in its scope, the hash of the source cannot contain the separator
+   */
+  protected String getKey(String language, String source) {
+    return language + ":" + hash(source);
+  }
+
+  protected String hash(String source) {
+    try {
+      return HashUtil.hash(source.getBytes("UTF-8"));
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("Unable to hash script source", e);
+    }
+  }
+
+}
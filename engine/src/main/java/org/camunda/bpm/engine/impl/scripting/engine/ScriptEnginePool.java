@@ -0,0 +1,148 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.ScriptEngine;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Bounded pool of idle {@link ScriptEngine}s per script language.</p>
+ *
+ * <p>Used by the {@link ScriptingEngines} for script engines which are not thread-safe
+ * and therefore cannot be cached (see {@link ScriptingEngines#isCachable(ScriptEngine)}).
+ * A borrowed engine is confined to the borrowing thread until it is released. If more
+ * engines are released than the pool can hold, the surplus engines are discarded.</p>
+ */
+public class ScriptEnginePool {
+
+  protected final int maxIdlePerLanguage;
+
+  protected final Map<String, LinkedList<ScriptEngine>> idleEngines = new HashMap<String, LinkedList<ScriptEngine>>();
+
+  protected final AtomicLong borrowCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong releaseCount = new AtomicLong();
+  protected final AtomicLong discardCount = new AtomicLong();
+
+  public ScriptEnginePool(int maxIdlePerLanguage) {
+    if (maxIdlePerLanguage < 1) {
+      throw new ProcessEngineException("size of the script engine pool must be at least 1 but is " + maxIdlePerLanguage);
+    }
+    this.maxIdlePerLanguage = maxIdlePerLanguage;
+  }
+
+  /**
+   * @return an idle script engine for the given language or null if no engine is idle
+   */
+  public ScriptEngine borrow(String language) {
+    ScriptEngine scriptEngine = null;
+    synchronized (idleEngines) {
+      LinkedList<ScriptEngine> engines = idleEngines.get(language);
+      if (engines != null && !engines.isEmpty()) {
+        scriptEngine = engines.removeFirst();
+      }
+    }
+
+    borrowCount.incrementAndGet();
+    if (scriptEngine == null) {
+      missCount.incrementAndGet();
+    }
+    return scriptEngine;
+  }
+
+  /**
+   * Returns the script engine to the pool. The engine must not be used by the
+   * caller afterwards.
+   *
+   * @return true if the engine was added to the pool, false if it was discarded
+   */
+  public boolean release(String language, ScriptEngine scriptEngine) {
+    boolean pooled = false;
+    synchronized (idleEngines) {
+      LinkedList<ScriptEngine> engines = idleEngines.get(language);
+      if (engines == null) {
+        engines = new LinkedList<ScriptEngine>();
+        idleEngines.put(language, engines);
+      }
+      if (engines.size() < maxIdlePerLanguage) {
+        engines.addFirst(scriptEngine);
+        pooled = true;
+      }
+    }
+
+    releaseCount.incrementAndGet();
+    if (!pooled) {
+      discardCount.incrementAndGet();
+    }
+    return pooled;
+  }
+
+  public void clear() {
+    synchronized (idleEngines) {
+      idleEngines.clear();
+    }
+  }
+
+  public int getMaxIdlePerLanguage() {
+    return maxIdlePerLanguage;
+  }
+
+  public int getIdleCount(String language) {
+    synchronized (idleEngines) {
+      LinkedList<ScriptEngine> engines = idleEngines.get(language);
+      return engines != null ? engines.size() : 0;
+    }
+  }
+
+  public int getIdleCount() {
+    int idleCount = 0;
+    synchronized (idleEngines) {
+      for (LinkedList<ScriptEngine> engines : idleEngines.values()) {
+        idleCount += engines.size();
+      }
+    }
+    return idleCount;
+  }
+
+  /**
+   * @return the number of borrowed engines
+   */
+  public long getBorrowCount() {
+    return borrowCount.get();
+  }
+
+  /**
+   * @return the number of borrows which found no idle engine, i.e. a new engine had to be created
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getReleaseCount() {
+    return releaseCount.get();
+  }
+
+  /**
+   * @return the number of released engines which were discarded since the pool was full
+   */
+  public long getDiscardCount() {
+    return discardCount.get();
+  }
+
+}
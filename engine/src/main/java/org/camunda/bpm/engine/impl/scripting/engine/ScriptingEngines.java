@@ -12,9 +12,11 @@
  */
 package org.camunda.bpm.engine.impl.scripting.engine;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.context.Context;
 
 import javax.script.*;
 import java.util.*;
@@ -30,7 +32,10 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)}). Other script engines
+ * are kept in the {@link #scriptEnginePool} (if configured) when they are released with
+ * {@link #releaseScriptEngine(String, ScriptEngine)}, so that they are created once per concurrent user
+ * instead of once per evaluation.</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -53,6 +58,10 @@ public class ScriptingEngines {
 
   protected boolean enableScriptEngineCaching = true;
 
+  protected CompiledScriptCache compiledScriptCache;
+
+  protected ScriptEnginePool scriptEnginePool;
+
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
     this.scriptBindingsFactory = scriptBindingsFactory;
@@ -90,6 +99,9 @@ public class ScriptingEngines {
    * {@link #enableScriptEngineCaching} is set to 'true'. Depending on the implementation, the compiled
    * script will keep references to the script engine which created it.</p>
    *
+   * <p>The script engine used for compiling is never borrowed from the {@link #scriptEnginePool}
+   * since the compiled script may keep a reference to it, see {@link #getScriptEngineForCompilation(String)}.</p>
+   *
    * @param language the script language in which the script is written
    * @param src a string of the source of the script
    * @return a {@link CompiledScript} or null if script engine can be found but does not support compilation.
@@ -97,7 +109,7 @@ public class ScriptingEngines {
    *         if the script cannot be compiled (syntax error ...).
    */
   public CompiledScript compile(String language, String src) {
-    ScriptEngine scriptEngine = getScriptEngineForLanguage(language);
+    ScriptEngine scriptEngine = getScriptEngineForCompilation(language);
 
     if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
       Compilable compilingEngine = (Compilable) scriptEngine;
@@ -122,8 +134,66 @@ public class ScriptingEngines {
 
   }
 
+  /**
+   * <p>Returns the compiled script for the given source from the {@link #compiledScriptCache}.
+   * The script is compiled with {@link #compile(String, String)} if it is not cached yet.</p>
+   *
+   * <p>Compiled scripts are only cached if {@link #enableScriptEngineCaching} is set to 'true',
+   * a cache is configured and the script engine which compiled the script is thread-safe (see
+   * {@link #isCachable(ScriptEngine)}), since cached scripts are evaluated by concurrent threads.</p>
+   *
+   * @return a {@link CompiledScript} or null if script engine can be found but does not support compilation.
+   * @throws ProcessEngineException if no {@link ScriptEngine} can be resolved for the provided language or
+   *         if the script cannot be compiled (syntax error ...).
+   */
+  public CompiledScript getCompiledScript(String language, String src) {
+    if (!isCompiledScriptCacheEnabled()) {
+      return compile(language, src);
+    }
+
+    String scope = getCompiledScriptScope();
+    CompiledScript compiledScript = compiledScriptCache.get(scope, language, src);
+    if (compiledScript == null) {
+      compiledScript = compile(language, src);
+      if (compiledScript != null && isCachable(compiledScript.getEngine())) {
+        compiledScriptCache.put(scope, language, src, compiledScript);
+      }
+    }
+    return compiledScript;
+  }
+
+  /**
+   * @return the name of the current process application or null if the
+   * script is not executed in the context of a process application
+   */
+  protected String getCompiledScriptScope() {
+    ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    return processApplication != null ? processApplication.getName() : null;
+  }
+
+  public boolean isCompiledScriptCacheEnabled() {
+    return enableScriptEngineCaching && compiledScriptCache != null;
+  }
+
+  /**
+   * @return true if the scripts compiled by the given script engine are cached by
+   * {@link #getCompiledScript(String, String)}
+   */
+  public boolean isCompiledScriptCachable(ScriptEngine scriptEngine) {
+    return isCompiledScriptCacheEnabled() && isCachable(scriptEngine);
+  }
+
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+  }
+
   /**
    * Loads the given script engine by language name. Will throw an exception if no script engine can be loaded for the given language name.
+   * The caller should release the engine with {@link #releaseScriptEngine(String, ScriptEngine)} after the evaluation.
    *
    * @param language the name of the script language to lookup an implementation for
    * @return the script engine
@@ -151,6 +221,95 @@ public class ScriptingEngines {
 
   }
 
+  /**
+   * Returns a script engine to compile scripts with: the cached engine of the language or a
+   * new engine. Engines are not borrowed from the {@link #scriptEnginePool} since a compiled
+   * script may keep a reference to the engine which created it, so that the engine must not
+   * be released to the pool afterwards.
+   *
+   * @throws ProcessEngineException if no such engine can be found.
+   */
+  protected ScriptEngine getScriptEngineForCompilation(String language) {
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ScriptEngine scriptEngine = null;
+
+    if (enableScriptEngineCaching) {
+      scriptEngine = cachedEngines.get(language);
+      if (scriptEngine == null) {
+        scriptEngine = createScriptEngine(language);
+      }
+
+    } else {
+      scriptEngine = scriptEngineManager.getEngineByName(language);
+
+    }
+
+    ensureNotNull("Can't find scripting engine for '" + language + "'", "scriptEngine", scriptEngine);
+
+    return scriptEngine;
+  }
+
+  /**
+   * Releases a script engine returned by {@link #getScriptEngineForLanguage(String)}. If the engine
+   * is not cached, then it is returned to the {@link #scriptEnginePool} (if configured) after its
+   * engine scope bindings are reset, see {@link #resetScriptEngine(String, ScriptEngine)}.
+   *
+   * @param language the language the script engine was loaded for
+   * @param scriptEngine the script engine which must not be used by the caller anymore
+   */
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    if (enableScriptEngineCaching && scriptEnginePool != null && scriptEngine != null
+        && cachedEngines.get(language) != scriptEngine) {
+      resetScriptEngine(language, scriptEngine);
+      scriptEnginePool.release(language, scriptEngine);
+    }
+  }
+
+  /**
+   * Replaces the engine scope bindings of a script engine before it is returned to the
+   * {@link #scriptEnginePool}, so that global variables of a script evaluation are not
+   * visible to the next evaluation which borrows the engine. State kept by the engine
+   * implementation outside of its bindings is not reset.
+   */
+  protected void resetScriptEngine(String language, ScriptEngine scriptEngine) {
+    scriptEngine.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+
+    if(GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
+    }
+  }
+
+  /**
+   * Creates the given number of script engines for the language, so that the first
+   * evaluations do not have to create them. Has no effect on cachable script engines
+   * beyond creating the cached engine.
+   */
+  public void warmUpScriptEngines(String language, int numberOfEngines) {
+    List<ScriptEngine> scriptEngines = new ArrayList<ScriptEngine>();
+    for (int i = 0; i < numberOfEngines; i++) {
+      scriptEngines.add(getScriptEngineForLanguage(language));
+    }
+    for (ScriptEngine scriptEngine : scriptEngines) {
+      releaseScriptEngine(language, scriptEngine);
+    }
+  }
+
+  public ScriptEnginePool getScriptEnginePool() {
+    return scriptEnginePool;
+  }
+
+  public void setScriptEnginePool(ScriptEnginePool scriptEnginePool) {
+    this.scriptEnginePool = scriptEnginePool;
+  }
+
   public Set<String> getAllSupportedLanguages() {
     Set<String> languages = new HashSet<String>();
     List<ScriptEngineFactory> engineFactories = scriptEngineManager.getEngineFactories();
@@ -161,7 +320,7 @@ public class ScriptingEngines {
   }
 
   /**
-   * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   * Returns a cached or pooled script engine or creates a new script engine if no such engine is currently cached.
    *
    * @param language the language (such as 'groovy' for the script engine)
    * @return the cached engine or null if no script engine can be created for the given language
@@ -170,19 +329,32 @@ public class ScriptingEngines {
 
     ScriptEngine scriptEngine = cachedEngines.get(language);
 
+    if(scriptEngine == null && scriptEnginePool != null) {
+      scriptEngine = scriptEnginePool.borrow(language);
+    }
+
     if(scriptEngine == null) {
-      scriptEngine = scriptEngineManager.getEngineByName(language);
+      scriptEngine = createScriptEngine(language);
+    }
+    return scriptEngine;
+  }
 
-      if(scriptEngine != null) {
+  /**
+   * Creates a new script engine and caches it if it is thread-safe.
+   *
+   * @return the new engine or null if no script engine can be created for the given language
+   */
+  protected ScriptEngine createScriptEngine(String language) {
+    ScriptEngine scriptEngine = scriptEngineManager.getEngineByName(language);
 
-        if(GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
-          configureGroovyScriptEngine(scriptEngine);
-        }
+    if(scriptEngine != null) {
 
-        if(isCachable(scriptEngine)) {
-          cachedEngines.put(language, scriptEngine);
-        }
+      if(GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+        configureGroovyScriptEngine(scriptEngine);
+      }
 
+      if(isCachable(scriptEngine)) {
+        cachedEngines.put(language, scriptEngine);
       }
 
     }
@@ -0,0 +1,174 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Compresses byte arrays with deflate and prefixes the result with a header.
+ * The header consists of a marker and a format byte which tells whether the
+ * remaining bytes are compressed or stored as they are.</p>
+ *
+ * <p>Byte arrays without the marker are returned unchanged by {@link #decompress(byte[])}
+ * so that uncompressed data written before compression was enabled can still be read.
+ * Uncompressed byte arrays which start with the marker themselves are escaped by
+ * {@link #compress(byte[])} and {@link #escape(byte[])}, i.e. prefixed with a header
+ * of the stored format, so that every byte array is read back as it was written.</p>
+ */
+public class CompressionUtil {
+
+  /** marks encoded byte arrays, never the start of serialized java objects, JSON or XML */
+  protected static final byte[] MARKER = new byte[] { (byte) 0xCA, (byte) 0x3D, 'Z', 'I', 'P' };
+
+  /** the format byte following the marker if the remaining bytes are stored unchanged */
+  protected static final byte FORMAT_STORED = 0;
+
+  /** the format byte following the marker if the remaining bytes are compressed with deflate */
+  protected static final byte FORMAT_DEFLATE = 1;
+
+  protected static final int HEADER_LENGTH = MARKER.length + 1;
+
+  protected static final int BUFFER_SIZE = 4 * 1024;
+
+  /**
+   * Returns the compressed bytes prefixed with the header or, if compression does
+   * not reduce the size, the given bytes escaped by {@link #escape(byte[])}.
+   */
+  public static byte[] compress(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+      writeHeader(outputStream, FORMAT_DEFLATE);
+
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        int length = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, length);
+
+        if (outputStream.size() >= bytes.length) {
+          // not worth it
+          return escape(bytes);
+        }
+      }
+
+      return outputStream.toByteArray();
+    }
+    finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Returns the given bytes prefixed with a header of the stored format if they
+   * start with the marker, otherwise the given bytes. Must be applied to all
+   * uncompressed byte arrays which are later read by {@link #decompress(byte[])}.
+   */
+  public static byte[] escape(byte[] bytes) {
+    if (!startsWithMarker(bytes)) {
+      return bytes;
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length + HEADER_LENGTH);
+    writeHeader(outputStream, FORMAT_STORED);
+    outputStream.write(bytes, 0, bytes.length);
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Returns the decompressed bytes if the given bytes start with the marker,
+   * otherwise the given bytes.
+   *
+   * @throws ProcessEngineException if the bytes start with the marker but are
+   * no valid compressed or escaped byte array
+   */
+  public static byte[] decompress(byte[] bytes) {
+    if (!startsWithMarker(bytes)) {
+      return bytes;
+    }
+    if (bytes.length < HEADER_LENGTH) {
+      throw new ProcessEngineException("Cannot decompress byte array: header is incomplete");
+    }
+
+    byte format = bytes[MARKER.length];
+    if (format == FORMAT_STORED) {
+      return Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+    }
+    else if (format != FORMAT_DEFLATE) {
+      throw new ProcessEngineException("Cannot decompress byte array: unknown format " + format);
+    }
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 2);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new ProcessEngineException("Cannot decompress byte array: compressed data is truncated");
+        }
+        outputStream.write(buffer, 0, length);
+      }
+
+      return outputStream.toByteArray();
+    }
+    catch (DataFormatException e) {
+      throw new ProcessEngineException("Cannot decompress byte array: " + e.getMessage(), e);
+    }
+    finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * @return true if the given bytes are compressed, i.e. start with a header of
+   * the deflate format
+   */
+  public static boolean isCompressed(byte[] bytes) {
+    return startsWithMarker(bytes)
+        && bytes.length >= HEADER_LENGTH
+        && bytes[MARKER.length] == FORMAT_DEFLATE;
+  }
+
+  protected static boolean startsWithMarker(byte[] bytes) {
+    if (bytes == null || bytes.length < MARKER.length) {
+      return false;
+    }
+    for (int i = 0; i < MARKER.length; i++) {
+      if (bytes[i] != MARKER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected static void writeHeader(ByteArrayOutputStream outputStream, byte format) {
+    outputStream.write(MARKER, 0, MARKER.length);
+    outputStream.write(format);
+  }
+
+}
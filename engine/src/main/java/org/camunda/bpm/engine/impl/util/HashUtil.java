@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Calculates content hashes of byte arrays, e.g. to compare deployment
+ * resources without loading their bytes.
+ */
+public class HashUtil {
+
+  public static final String ALGORITHM = "SHA-256";
+
+  protected static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * Returns the hex encoded SHA-256 hash (64 characters) of the given bytes
+   * or <code>null</code> if the bytes are <code>null</code>.
+   */
+  public static String hash(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(ALGORITHM);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot lookup " + ALGORITHM + " algorithm", e);
+    }
+
+    return toHex(digest.digest(bytes));
+  }
+
+  protected static String toHex(byte[] bytes) {
+    char[] chars = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+    return new String(chars);
+  }
+
+}
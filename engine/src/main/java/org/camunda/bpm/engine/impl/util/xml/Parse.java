@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
 
 import org.camunda.bpm.engine.BpmnParseException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -40,10 +41,6 @@ public class Parse extends DefaultHandler {
   
   private static final Logger LOGGER = Logger.getLogger(Parse.class.getName());
   
-  private static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
-  private static final String JAXP_SCHEMA_LANGUAGE = "http://java.sun.com/xml/jaxp/properties/schemaLanguage";
-  private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
-  
   private static final String NEW_LINE = System.getProperty("line.separator");
   
   protected Parser parser;
@@ -118,16 +115,21 @@ public class Parse extends DefaultHandler {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      if (schemaResource == null) { // must be done before parser is created
-        parser.getSaxParserFactory().setNamespaceAware(false);
-        parser.getSaxParserFactory().setValidating(false);
+      Schema schema = schemaResource != null ? parser.getSchema(schemaResource) : null;
+
+      // the factory is shared, configuring it and creating the parser must be atomic
+      // since resources of a deployment can be parsed concurrently
+      SAXParser saxParser;
+      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
+      synchronized (saxParserFactory) {
+        // must be done before parser is created
+        saxParserFactory.setNamespaceAware(schema != null);
+        // the schema validates the document, a validating parser would validate against a DTD
+        saxParserFactory.setValidating(false);
+        saxParserFactory.setSchema(schema);
+        saxParser = parser.getSaxParser();
       }
 
-      SAXParser saxParser = parser.getSaxParser(); 
-      if (schemaResource != null) { 
-        saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
-        saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
-      }
       saxParser.parse(inputStream, new ParseHandler(this));
       
     } catch (Exception e) { // any exception can happen (Activiti, Io, etc.)
@@ -189,9 +191,8 @@ public class Parse extends DefaultHandler {
   }
   
   public void setSchemaResource(String schemaResource) {
+    // the factory is configured for validation when the parse is executed
     SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
     try {
       saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
     } catch (Exception e) {
@@ -12,8 +12,17 @@
  */
 package org.camunda.bpm.engine.impl.util.xml;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.xml.sax.SAXException;
 
 
 /**
@@ -25,6 +34,9 @@ public class Parser {
   
   public static final Parser INSTANCE = new Parser();
 
+  /** the compiled schemas by schema resource url */
+  protected final ConcurrentMap<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+
   public Parse createParse() {
     return new Parse(this);
   }
@@ -36,4 +48,23 @@ public class Parser {
   protected SAXParserFactory getSaxParserFactory() {
     return defaultSaxParserFactory;
   }
+
+  /**
+   * Returns the compiled schema of the given schema resource url. The schema is compiled
+   * on first use and shared by all parses of this parser since compiling a schema takes
+   * longer than validating a document against it. Schemas are immutable and thread-safe.
+   */
+  protected Schema getSchema(String schemaResource) throws SAXException {
+    Schema schema = schemas.get(schemaResource);
+    if (schema == null) {
+      Schema newSchema = SchemaFactory
+          .newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+          .newSchema(new StreamSource(schemaResource));
+      schema = schemas.putIfAbsent(schemaResource, newSchema);
+      if (schema == null) {
+        schema = newSchema;
+      }
+    }
+    return schema;
+  }
 }
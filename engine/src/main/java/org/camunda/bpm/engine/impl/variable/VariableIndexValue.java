@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable;
+
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+
+/**
+ * <p>Computes the normalized value under which a variable is stored in the variable
+ * index (table ACT_RU_VAR_INDEX) and under which queries look it up.</p>
+ *
+ * <p>The normalized value combines the serializer name with the value field which the
+ * variable queries compare: the long field for numbers, dates and booleans and the text
+ * field for strings. Null values, doubles (whose precision depends on the database),
+ * values stored in two text fields or in byte arrays and values longer than
+ * {@link #MAX_LENGTH} are not indexed; queries for them compare the variable table.</p>
+ */
+public class VariableIndexValue {
+
+  /** the length of the column ACT_RU_VAR_INDEX.VALUE_ */
+  public static final int MAX_LENGTH = 128;
+
+  /**
+   * @return the normalized value or null if the value cannot be indexed
+   */
+  public static String normalize(String type, ValueFields valueFields) {
+    if (type == null
+        || valueFields.getByteArrayValueId() != null
+        || valueFields.getTextValue2() != null
+        || valueFields.getDoubleValue() != null) {
+      return null;
+    }
+
+    String value;
+    if (valueFields.getLongValue() != null) {
+      value = type + ":" + valueFields.getLongValue();
+    }
+    else if (valueFields.getTextValue() != null) {
+      value = type + ":" + valueFields.getTextValue();
+    }
+    else {
+      return null;
+    }
+
+    if (value.length() > MAX_LENGTH) {
+      return null;
+    }
+    return value;
+  }
+
+}
@@ -43,4 +43,19 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Number of times a process definition, case definition or model instance is found in the deployment cache
+   */
+  public final static String DEPLOYMENT_CACHE_HIT = "deployment-cache-hit";
+
+  /**
+   * Number of times a process definition, case definition or model instance is not found in the deployment cache
+   */
+  public final static String DEPLOYMENT_CACHE_MISS = "deployment-cache-miss";
+
+  /**
+   * Number of entries evicted from the deployment cache because its capacity is exceeded
+   */
+  public final static String DEPLOYMENT_CACHE_EVICTION = "deployment-cache-eviction";
+
 }
@@ -0,0 +1,30 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.query;
+
+/**
+ * Receives the results of a query one by one while they are read from the
+ * database, see for example
+ * {@link org.camunda.bpm.engine.history.HistoricActivityInstanceQuery#forEach(QueryResultHandler, int)}.
+ *
+ * @param <U> the type of the results
+ */
+public interface QueryResultHandler<U> {
+
+  /**
+   * Handles a single result of the query. Exceptions thrown by the handler abort
+   * the query and are rethrown to the caller.
+   */
+  void handleResult(U result);
+
+}
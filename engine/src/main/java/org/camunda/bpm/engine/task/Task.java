@@ -16,6 +16,7 @@ import java.util.Date;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.variable.VariableMap;
 
 
 
@@ -145,4 +146,16 @@ public interface Task {
    * @throws BadUserRequestException in case the form key is not initialized.
    */
   String getFormKey();
+
+  /**
+   * Provides the variables which were fetched together with the task.
+   *
+   * <p><strong>NOTE:</strong> This property is only populated if the task instance is obtained through a query
+   * on which {@link TaskQuery#fetchVariables(java.util.Collection, boolean)} was called. Otherwise, it will throw
+   * a {@link BadUserRequestException}.</p>
+   *
+   * @return the fetched variables which are visible from this task, by name
+   * @throws BadUserRequestException in case the variables are not fetched.
+   */
+  VariableMap getFetchedVariables();
 }
@@ -13,11 +13,13 @@
 package org.camunda.bpm.engine.task;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.variable.type.ValueType;
 
@@ -597,6 +599,45 @@ public interface TaskQuery extends Query<TaskQuery, Task>{
    */
   TaskQuery initializeFormKeys();
 
+  /**
+   * <p>Only selects the given properties of the tasks instead of all of them. The
+   * properties are named like the getters of {@link Task}: <code>name</code>,
+   * <code>description</code>, <code>priority</code>, <code>owner</code>,
+   * <code>assignee</code>, <code>delegationState</code>, <code>createTime</code>,
+   * <code>dueDate</code>, <code>followUpDate</code>, <code>parentTaskId</code>,
+   * <code>taskDefinitionKey</code>, <code>suspended</code>, <code>executionId</code>,
+   * <code>processInstanceId</code>, <code>processDefinitionId</code>,
+   * <code>caseExecutionId</code>, <code>caseInstanceId</code> and
+   * <code>caseDefinitionId</code>.</p>
+   *
+   * <p>The id of the tasks is always selected, as are the properties required by the
+   * ordering, {@link #initializeFormKeys()} and {@link #fetchVariables(Collection, boolean)}.
+   * The other properties of the returned tasks have their default values, so the
+   * tasks should only be used to display them;
+   * {@link org.camunda.bpm.engine.TaskService#saveTask(Task)} rejects them with a
+   * {@link NotValidException}. The returned tasks are
+   * not added to the entity cache of the command. A task which was loaded completely
+   * before in the same command is returned as it is.</p>
+   *
+   * @return the query itself
+   * @throws NotValidException in case a property is unknown
+   */
+  TaskQuery selectFields(String... fieldNames);
+
+  /**
+   * <p>Fetches the given variables of the resulting tasks with one additional query
+   * instead of one query per task. {@link Task#getFetchedVariables()} then returns the
+   * variables which are visible from a task: its local variables and the variables
+   * of its (case) execution and their parent scopes, like
+   * {@link org.camunda.bpm.engine.TaskService#getVariablesTyped(String, Collection, boolean)}.</p>
+   *
+   * @param variableNames the names of the variables to fetch
+   * @param deserializeValues if false, object values are not deserialized
+   *
+   * @return the query itself
+   */
+  TaskQuery fetchVariables(Collection<String> variableNames, boolean deserializeValues);
+
   // ordering ////////////////////////////////////////////////////////////
 
   /** Order by task id (needs to be followed by {@link #asc()} or {@link #desc()}). */
@@ -673,4 +714,41 @@ public interface TaskQuery extends Query<TaskQuery, Task>{
    */
   TaskQuery orderByCaseInstanceVariable(String variableName, ValueType valueType);
 
+  /**
+   * <p>Only select tasks which are ordered after the one from which the given
+   * continuation token was created, see {@link #createContinuationToken(Task)}.
+   * Together with {@link #listPage(int, int) listPage(0, maxResults)}, this pages through
+   * the results without an offset (keyset pagination), so that the cost of selecting
+   * a page does not depend on its position.</p>
+   *
+   * <p>The query must either not be ordered or be ordered by properties of the
+   * tasks which end with {@link #orderByTaskId()}. The ordering must be the same
+   * as for the query which created the token.</p>
+   *
+   * @throws NotValidException if the token is invalid or does not match the ordering of the query
+   */
+  TaskQuery continueAfter(String continuationToken);
+
+  /**
+   * Creates the continuation token of a result of this query which selects the
+   * results after it, see {@link #continueAfter(String)}.
+   *
+   * @throws NotValidException if the ordering of the query does not support continuation
+   *   tokens or the result has no value for an ordering property
+   */
+  String createContinuationToken(Task result);
+
+  /**
+   * <p>Executes the query and returns the number of results, but counts at most
+   * <code>maxCount</code> results. The database stops counting after <code>maxCount</code>
+   * matching tasks, which is much cheaper than {@link #count()} if a lot of them
+   * match and only a bound is needed, e.g. to display "more than 1000".</p>
+   *
+   * <p>Pass the bound plus one to find out whether the number of results exceeds the bound.</p>
+   *
+   * @return the number of results if it is lower than <code>maxCount</code>, <code>maxCount</code> otherwise
+   * @throws NotValidException if <code>maxCount</code> is not positive
+   */
+  long countUpTo(int maxCount);
+
 }
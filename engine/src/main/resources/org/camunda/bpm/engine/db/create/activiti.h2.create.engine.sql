@@ -23,6 +23,7 @@ create table ACT_GE_BYTEARRAY (
     NAME_ varchar(255),
     DEPLOYMENT_ID_ varchar(64),
     BYTES_ longvarbinary,
+    HASH_ varchar(64),
     GENERATED_ bit,
     primary key (ID_)
 );
@@ -360,3 +361,44 @@ alter table ACT_RU_AUTHORIZATION
 alter table ACT_RU_VARIABLE
     add constraint ACT_UNIQ_VARIABLE
     unique (VAR_SCOPE_, NAME_);
+
+-- runtime statistics counters --
+create table ACT_RU_STATS (
+    ID_ varchar(64) not null,
+    PROC_DEF_ID_ varchar(64) not null,
+    ACT_ID_ varchar(255),
+    INCIDENT_TYPE_ varchar(255),
+    INSTANCE_COUNT_ bigint not null,
+    FAILED_JOBS_COUNT_ bigint not null,
+    INCIDENT_COUNT_ bigint not null,
+    primary key (ID_)
+);
+create index ACT_IDX_RU_STATS on ACT_RU_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- index of the permissions granted and revoked by authorizations --
+create table ACT_RU_AUTH_INDEX (
+    AUTH_ID_ varchar(64) not null,
+    TYPE_ integer not null,
+    GROUP_ID_ varchar(255),
+    USER_ID_ varchar(255),
+    RESOURCE_TYPE_ integer not null,
+    RESOURCE_ID_ varchar(64),
+    PERM_ integer not null,
+    GRANTED_ integer not null
+);
+create index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, USER_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, GROUP_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX(AUTH_ID_);
+
+-- normalized values of indexed variables --
+create table ACT_RU_VAR_INDEX (
+    ID_ varchar(64) not null,
+    NAME_ varchar(255) not null,
+    VALUE_ varchar(128) not null,
+    EXECUTION_ID_ varchar(64),
+    PROC_INST_ID_ varchar(64),
+    CASE_INST_ID_ varchar(64),
+    TASK_ID_ varchar(64),
+    primary key (ID_)
+);
+create index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
@@ -23,6 +23,7 @@ create table ACT_GE_BYTEARRAY (
     NAME_ nvarchar(255),
     DEPLOYMENT_ID_ nvarchar(64),
     BYTES_ image,
+    HASH_ nvarchar(64),
     GENERATED_ tinyint,
     primary key (ID_)
 );
@@ -360,3 +361,44 @@ create index ACT_IDX_VARIABLE_PROCINST on ACT_RU_VARIABLE(PROC_INST_ID_);
 create index ACT_IDX_TASK_EXEC on ACT_RU_TASK(EXECUTION_ID_);
 create index ACT_IDX_TASK_PROCINST on ACT_RU_TASK(PROC_INST_ID_);
 create index ACT_IDX_TASK_PROC_DEF_ID on ACT_RU_TASK(PROC_DEF_ID_);
+
+-- runtime statistics counters --
+create table ACT_RU_STATS (
+    ID_ nvarchar(64) not null,
+    PROC_DEF_ID_ nvarchar(64) not null,
+    ACT_ID_ nvarchar(255),
+    INCIDENT_TYPE_ nvarchar(255),
+    INSTANCE_COUNT_ numeric(19,0) not null,
+    FAILED_JOBS_COUNT_ numeric(19,0) not null,
+    INCIDENT_COUNT_ numeric(19,0) not null,
+    primary key (ID_)
+);
+create index ACT_IDX_RU_STATS on ACT_RU_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- index of the permissions granted and revoked by authorizations --
+create table ACT_RU_AUTH_INDEX (
+    AUTH_ID_ nvarchar(64) not null,
+    TYPE_ int not null,
+    GROUP_ID_ nvarchar(255),
+    USER_ID_ nvarchar(255),
+    RESOURCE_TYPE_ int not null,
+    RESOURCE_ID_ nvarchar(64),
+    PERM_ int not null,
+    GRANTED_ int not null
+);
+create index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, USER_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, GROUP_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX(AUTH_ID_);
+
+-- normalized values of indexed variables --
+create table ACT_RU_VAR_INDEX (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_ nvarchar(128) not null,
+    EXECUTION_ID_ nvarchar(64),
+    PROC_INST_ID_ nvarchar(64),
+    CASE_INST_ID_ nvarchar(64),
+    TASK_ID_ nvarchar(64),
+    primary key (ID_)
+);
+create index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
@@ -23,6 +23,7 @@ create table ACT_GE_BYTEARRAY (
     NAME_ NVARCHAR2(255),
     DEPLOYMENT_ID_ NVARCHAR2(64),
     BYTES_ BLOB,
+    HASH_ NVARCHAR2(64),
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
     primary key (ID_)
 );
@@ -379,3 +380,44 @@ create index ACT_IDX_INC_EXID on ACT_RU_INCIDENT(EXECUTION_ID_);
 create index ACT_IDX_INC_PROCDEFID on ACT_RU_INCIDENT(PROC_DEF_ID_);
 create index ACT_IDX_INC_PROCINSTID on ACT_RU_INCIDENT(PROC_INST_ID_);
 create index ACT_IDX_INC_ROOTCAUSEINCID on ACT_RU_INCIDENT(ROOT_CAUSE_INCIDENT_ID_);
+
+-- runtime statistics counters --
+create table ACT_RU_STATS (
+    ID_ NVARCHAR2(64) not null,
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    ACT_ID_ NVARCHAR2(255),
+    INCIDENT_TYPE_ NVARCHAR2(255),
+    INSTANCE_COUNT_ NUMBER(19,0) not null,
+    FAILED_JOBS_COUNT_ NUMBER(19,0) not null,
+    INCIDENT_COUNT_ NUMBER(19,0) not null,
+    primary key (ID_)
+);
+create index ACT_IDX_RU_STATS on ACT_RU_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- index of the permissions granted and revoked by authorizations --
+create table ACT_RU_AUTH_INDEX (
+    AUTH_ID_ NVARCHAR2(64) not null,
+    TYPE_ integer not null,
+    GROUP_ID_ NVARCHAR2(255),
+    USER_ID_ NVARCHAR2(255),
+    RESOURCE_TYPE_ integer not null,
+    RESOURCE_ID_ NVARCHAR2(64),
+    PERM_ integer not null,
+    GRANTED_ integer not null
+);
+create index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, USER_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX(RESOURCE_TYPE_, PERM_, GROUP_ID_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX(AUTH_ID_);
+
+-- normalized values of indexed variables --
+create table ACT_RU_VAR_INDEX (
+    ID_ NVARCHAR2(64) not null,
+    NAME_ NVARCHAR2(255) not null,
+    VALUE_ NVARCHAR2(128) not null,
+    EXECUTION_ID_ NVARCHAR2(64),
+    PROC_INST_ID_ NVARCHAR2(64),
+    CASE_INST_ID_ NVARCHAR2(64),
+    TASK_ID_ NVARCHAR2(64),
+    primary key (ID_)
+);
+create index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
@@ -225,3 +225,33 @@ create index ACT_IDX_HI_PROCVAR_NAME_TYPE on ACT_HI_VARINST(NAME_, VAR_TYPE_);
 create index ACT_IDX_HI_ACT_INST_PROCINST on ACT_HI_ACTINST(PROC_INST_ID_, ACT_ID_);
 create index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG(PROCESS_INSTANCE_ID_);
 create index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG(PROCESS_DEF_ID_);
+
+-- historic activity statistics counters --
+create table ACT_HI_ACT_STATS (
+    ID_ NVARCHAR2(64) not null,
+    PROC_DEF_ID_ NVARCHAR2(64) not null,
+    PROC_DEF_KEY_ NVARCHAR2(255),
+    ACT_ID_ NVARCHAR2(255) not null,
+    INSTANCE_COUNT_ NUMBER(19,0) not null,
+    FINISHED_COUNT_ NUMBER(19,0) not null,
+    CANCELED_COUNT_ NUMBER(19,0) not null,
+    COMPLETE_SCOPE_COUNT_ NUMBER(19,0) not null,
+    primary key (ID_)
+);
+create unique index ACT_UNIQ_HI_ACT_STATS on ACT_HI_ACT_STATS(PROC_DEF_ID_, ACT_ID_);
+
+-- historic job log aggregates --
+create table ACT_HI_JOB_LOG_AGG (
+    ID_ NVARCHAR2(64) not null,
+    START_TIME_ TIMESTAMP(6) not null,
+    END_TIME_ TIMESTAMP(6) not null,
+    JOB_DEF_ID_ NVARCHAR2(64),
+    JOB_DEF_TYPE_ NVARCHAR2(255),
+    PROCESS_DEF_ID_ NVARCHAR2(64),
+    PROCESS_DEF_KEY_ NVARCHAR2(255),
+    DEPLOYMENT_ID_ NVARCHAR2(64),
+    CREATED_COUNT_ NUMBER(19,0) not null,
+    SUCCESS_COUNT_ NUMBER(19,0) not null,
+    primary key (ID_)
+);
+create index ACT_IDX_HI_JOBLOG_AGG_JOBDEF on ACT_HI_JOB_LOG_AGG(JOB_DEF_ID_);
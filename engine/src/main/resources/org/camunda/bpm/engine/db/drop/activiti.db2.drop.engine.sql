@@ -94,6 +94,11 @@ drop index ACT_IDX_TASK_EXEC;
 drop index ACT_IDX_TASK_PROCINST;
 drop index ACT_IDX_TASK_PROC_DEF_ID;
 drop index ACT_IDX_METER_LOG;
+drop index ACT_IDX_RU_STATS;
+drop index ACT_IDX_AUTH_INDEX_USER;
+drop index ACT_IDX_AUTH_INDEX_GROUP;
+drop index ACT_IDX_AUTH_INDEX_AUTH;
+drop index ACT_IDX_VAR_INDEX_VALUE;
 
 drop table ACT_GE_PROPERTY;
 drop table ACT_GE_BYTEARRAY;
@@ -110,4 +115,6 @@ drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
 drop table ACT_RU_FILTER;
 drop table ACT_RU_METER_LOG;
-
+drop table ACT_RU_STATS;
+drop table ACT_RU_AUTH_INDEX;
+drop table ACT_RU_VAR_INDEX;
@@ -13,6 +13,8 @@ drop index ACT_IDX_HI_PROCVAR_NAME_TYPE;
 drop index ACT_IDX_HI_ACT_INST_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF;
+drop index ACT_UNIQ_HI_ACT_STATS;
+drop index ACT_IDX_HI_JOBLOG_AGG_JOBDEF;
 
 drop table ACT_HI_PROCINST;
 drop table ACT_HI_ACTINST;
@@ -24,3 +26,5 @@ drop table ACT_HI_ATTACHMENT;
 drop table ACT_HI_OP_LOG;
 drop table ACT_HI_INCIDENT;
 drop table ACT_HI_JOB_LOG;
+drop table ACT_HI_ACT_STATS;
+drop table ACT_HI_JOB_LOG_AGG;
@@ -90,6 +90,11 @@ drop index ACT_IDX_INC_PROCINSTID;
 drop index ACT_IDX_INC_ROOTCAUSEINCID;
 
 drop index ACT_IDX_METER_LOG;
+drop index ACT_IDX_RU_STATS;
+drop index ACT_IDX_AUTH_INDEX_USER;
+drop index ACT_IDX_AUTH_INDEX_GROUP;
+drop index ACT_IDX_AUTH_INDEX_AUTH;
+drop index ACT_IDX_VAR_INDEX_VALUE;
 
 drop table ACT_GE_PROPERTY if exists;
 drop table ACT_GE_BYTEARRAY if exists;
@@ -106,4 +111,6 @@ drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
 drop table ACT_RU_METER_LOG if exists;
-
+drop table ACT_RU_STATS if exists;
+drop table ACT_RU_AUTH_INDEX if exists;
+drop table ACT_RU_VAR_INDEX if exists;
@@ -13,6 +13,8 @@ drop index ACT_IDX_HI_PROCVAR_NAME_TYPE;
 drop index ACT_IDX_HI_ACT_INST_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF;
+drop index ACT_UNIQ_HI_ACT_STATS;
+drop index ACT_IDX_HI_JOBLOG_AGG_JOBDEF;
 
 drop table ACT_HI_PROCINST if exists;
 drop table ACT_HI_ACTINST if exists;
@@ -24,3 +26,5 @@ drop table ACT_HI_ATTACHMENT if exists;
 drop table ACT_HI_OP_LOG if exists;
 drop table ACT_HI_INCIDENT if exists;
 drop table ACT_HI_JOB_LOG if exists;
+drop table ACT_HI_ACT_STATS if exists;
+drop table ACT_HI_JOB_LOG_AGG if exists;
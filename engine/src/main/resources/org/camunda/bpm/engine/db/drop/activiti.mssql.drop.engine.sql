@@ -92,6 +92,11 @@ alter table ACT_RU_INCIDENT
     drop constraint ACT_FK_INC_RCAUSE; 
     
 drop index ACT_RU_IDENTITYLINK.ACT_IDX_ATHRZ_PROCEDEF;
+drop index ACT_RU_STATS.ACT_IDX_RU_STATS;
+drop index ACT_RU_AUTH_INDEX.ACT_IDX_AUTH_INDEX_USER;
+drop index ACT_RU_AUTH_INDEX.ACT_IDX_AUTH_INDEX_GROUP;
+drop index ACT_RU_AUTH_INDEX.ACT_IDX_AUTH_INDEX_AUTH;
+drop index ACT_RU_VAR_INDEX.ACT_IDX_VAR_INDEX_VALUE;
     
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_PROPERTY') drop table ACT_GE_PROPERTY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_BYTEARRAY') drop table ACT_GE_BYTEARRAY;
@@ -108,3 +113,6 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_AUTHORIZATION') drop table ACT_RU_AUTHORIZATION;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_FILTER') drop table ACT_RU_FILTER;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_LOG') drop table ACT_RU_METER_LOG;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_STATS') drop table ACT_RU_STATS;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_AUTH_INDEX') drop table ACT_RU_AUTH_INDEX;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_VAR_INDEX') drop table ACT_RU_VAR_INDEX;
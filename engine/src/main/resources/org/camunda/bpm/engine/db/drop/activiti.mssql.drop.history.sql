@@ -13,6 +13,8 @@ drop index ACT_HI_VARINST.ACT_IDX_HI_PROCVAR_NAME_TYPE;
 drop index ACT_HI_ACTINST.ACT_IDX_HI_ACT_INST_PROCINST;
 drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_PROCDEF;
+drop index ACT_HI_ACT_STATS.ACT_UNIQ_HI_ACT_STATS;
+drop index ACT_HI_JOB_LOG_AGG.ACT_IDX_HI_JOBLOG_AGG_JOBDEF;
 
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_PROCINST') drop table ACT_HI_PROCINST;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_ACTINST') drop table ACT_HI_ACTINST;
@@ -24,3 +26,5 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_OP_LOG') drop table ACT_HI_OP_LOG;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_INCIDENT') drop table ACT_HI_INCIDENT;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_JOB_LOG') drop table ACT_HI_JOB_LOG;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_ACT_STATS') drop table ACT_HI_ACT_STATS;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_HI_JOB_LOG_AGG') drop table ACT_HI_JOB_LOG_AGG;
@@ -78,6 +78,11 @@ drop index ACT_IDX_INC_EXID on ACT_RU_INCIDENT;
 drop index ACT_IDX_INC_PROCDEFID on ACT_RU_INCIDENT;
 drop index ACT_IDX_INC_PROCINSTID on ACT_RU_INCIDENT;
 drop index ACT_IDX_INC_ROOTCAUSEINCID on ACT_RU_INCIDENT;
+drop index ACT_IDX_RU_STATS on ACT_RU_STATS;
+drop index ACT_IDX_AUTH_INDEX_USER on ACT_RU_AUTH_INDEX;
+drop index ACT_IDX_AUTH_INDEX_GROUP on ACT_RU_AUTH_INDEX;
+drop index ACT_IDX_AUTH_INDEX_AUTH on ACT_RU_AUTH_INDEX;
+drop index ACT_IDX_VAR_INDEX_VALUE on ACT_RU_VAR_INDEX;
 
 drop table if exists ACT_GE_PROPERTY;
 drop table if exists ACT_RU_VARIABLE;
@@ -94,3 +99,6 @@ drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
+drop table if exists ACT_RU_STATS;
+drop table if exists ACT_RU_AUTH_INDEX;
+drop table if exists ACT_RU_VAR_INDEX;
@@ -13,6 +13,8 @@ drop index ACT_IDX_HI_PROCVAR_NAME_TYPE on ACT_HI_VARINST;
 drop index ACT_IDX_HI_ACT_INST_PROCINST on ACT_HI_ACTINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG;
+drop index ACT_UNIQ_HI_ACT_STATS on ACT_HI_ACT_STATS;
+drop index ACT_IDX_HI_JOBLOG_AGG_JOBDEF on ACT_HI_JOB_LOG_AGG;
 
 drop table if exists ACT_HI_PROCINST;
 drop table if exists ACT_HI_ACTINST;
@@ -24,3 +26,5 @@ drop table if exists ACT_HI_ATTACHMENT;
 drop table if exists ACT_HI_OP_LOG;
 drop table if exists ACT_HI_INCIDENT;
 drop table if exists ACT_HI_JOB_LOG;
+drop table if exists ACT_HI_ACT_STATS;
+drop table if exists ACT_HI_JOB_LOG_AGG;
@@ -104,6 +104,11 @@ drop index ACT_IDX_INC_EXID;
 drop index ACT_IDX_INC_PROCDEFID;
 drop index ACT_IDX_INC_PROCINSTID;
 drop index ACT_IDX_INC_ROOTCAUSEINCID;
+drop index ACT_IDX_RU_STATS;
+drop index ACT_IDX_AUTH_INDEX_USER;
+drop index ACT_IDX_AUTH_INDEX_GROUP;
+drop index ACT_IDX_AUTH_INDEX_AUTH;
+drop index ACT_IDX_VAR_INDEX_VALUE;
 
 drop table ACT_GE_PROPERTY;
 drop table ACT_GE_BYTEARRAY;
@@ -120,4 +125,6 @@ drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
 drop table ACT_RU_FILTER;
 drop table ACT_RU_METER_LOG;
-
+drop table ACT_RU_STATS;
+drop table ACT_RU_AUTH_INDEX;
+drop table ACT_RU_VAR_INDEX;
@@ -14,9 +14,11 @@ package org.camunda.bpm.engine.impl.db.entitymanager;
 
 import java.util.List;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityStatisticsCounterEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.junit.Before;
@@ -197,4 +199,23 @@ public class DbOperationsOrderingTest {
   }
 
 
+  @Test
+  public void testBulkUpdateParameterOrdering() {
+    HistoricActivityStatisticsCounterEntity counter1 = new HistoricActivityStatisticsCounterEntity("process:1", null, "a");
+    HistoricActivityStatisticsCounterEntity counter2 = new HistoricActivityStatisticsCounterEntity("process:1", null, "b");
+    HistoricActivityStatisticsCounterEntity counter3 = new HistoricActivityStatisticsCounterEntity("process:2", null, "a");
+
+    entityManager.update(HistoricActivityStatisticsCounterEntity.class, "updateCounter", counter3);
+    entityManager.update(HistoricActivityStatisticsCounterEntity.class, "updateCounter", counter1);
+    entityManager.update(HistoricActivityStatisticsCounterEntity.class, "updateCounter", counter2);
+
+    // the updates are ordered by their parameters, independent of the registration order
+    List<DbOperation> updateOperations = entityManager.getDbOperationManager().calculateFlush();
+    assertEquals(3, updateOperations.size());
+    assertEquals(counter1, ((DbBulkOperation) updateOperations.get(0)).getParameter());
+    assertEquals(counter2, ((DbBulkOperation) updateOperations.get(1)).getParameter());
+    assertEquals(counter3, ((DbBulkOperation) updateOperations.get(2)).getParameter());
+  }
+
+
 }
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedDbEntityTest {
+
+  protected SimpleEntity entity;
+  protected CachedDbEntity cachedDbEntity;
+
+  @Before
+  public void setup() {
+    entity = new SimpleEntity();
+    entity.setState("initial");
+
+    cachedDbEntity = new CachedDbEntity();
+    cachedDbEntity.setEntity(entity);
+    cachedDbEntity.setEntityState(DbEntityState.PERSISTENT);
+    cachedDbEntity.makeCopy();
+  }
+
+  @Test
+  public void testDirtyIfStateChanged() {
+    assertFalse(cachedDbEntity.isDirty());
+
+    entity.setState("changed");
+
+    assertTrue(cachedDbEntity.isDirty());
+    assertEquals("initial", cachedDbEntity.getCopy());
+  }
+
+  @Test
+  public void testForceSetDirtyKeepsCopy() {
+    cachedDbEntity.forceSetDirty();
+
+    // the entity is dirty although its state has not changed
+    assertTrue(cachedDbEntity.isDirty());
+    // the state at the last flush is still available to flush listeners
+    assertEquals("initial", cachedDbEntity.getCopy());
+  }
+
+  @Test
+  public void testMakeCopyResetsForcedDirty() {
+    cachedDbEntity.forceSetDirty();
+    entity.setState("changed");
+
+    cachedDbEntity.makeCopy();
+
+    assertFalse(cachedDbEntity.isDirty());
+    assertEquals("changed", cachedDbEntity.getCopy());
+  }
+
+  @Test
+  public void testRecycleResetsForcedDirty() {
+    cachedDbEntity.forceSetDirty();
+
+    cachedDbEntity.recycle();
+    cachedDbEntity.setEntity(entity);
+    cachedDbEntity.makeCopy();
+
+    assertFalse(cachedDbEntity.isDirty());
+  }
+
+  public static class SimpleEntity implements DbEntity {
+
+    protected String id;
+    protected String state;
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public void setState(String state) {
+      this.state = state;
+    }
+
+    public Object getPersistentState() {
+      return state;
+    }
+
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+public class ParseTest extends TestCase {
+
+  protected static final String PROCESS_WITH_START_EVENT =
+      "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' targetNamespace='test'>"
+    + "<process id='process' isExecutable='true'><startEvent id='start' /></process>"
+    + "</definitions>";
+
+  protected static final String PROCESS_WITH_INVALID_ELEMENT =
+      "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' targetNamespace='test'>"
+    + "<process id='process' isExecutable='true'><invalidElement /></process>"
+    + "</definitions>";
+
+  protected Parser parser;
+  protected String schemaResource;
+
+  protected void setUp() throws Exception {
+    parser = new Parser();
+    schemaResource = ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION);
+  }
+
+  public void testSchemaIsCompiledOnce() throws Exception {
+    parse(PROCESS_WITH_START_EVENT);
+    parse(PROCESS_WITH_START_EVENT);
+
+    assertEquals(1, parser.schemas.size());
+    assertSame(parser.getSchema(schemaResource), parser.getSchema(schemaResource));
+  }
+
+  public void testSchemaDefaultAttributes() {
+    Parse parse = parse(PROCESS_WITH_START_EVENT);
+
+    assertFalse(parse.hasErrors());
+    Element startEvent = parse.getRootElement().element("process").element("startEvent");
+    assertEquals("true", startEvent.attribute("isInterrupting"));
+  }
+
+  public void testSchemaValidationErrors() {
+    // the compiled schema is reused
+    parse(PROCESS_WITH_START_EVENT);
+    Parse parse = parse(PROCESS_WITH_INVALID_ELEMENT);
+
+    assertTrue(parse.hasErrors());
+  }
+
+  public void testParseWithoutSchema() {
+    parse(PROCESS_WITH_START_EVENT);
+
+    Parse parse = parser.createParse().sourceString(PROCESS_WITH_START_EVENT);
+    parse.setSchemaResource(null);
+    parse.execute();
+
+    // the document is neither validated nor completed with default attributes
+    assertFalse(parse.hasErrors());
+    assertNull(parse.getRootElement().element("process").element("startEvent").attribute("isInterrupting"));
+  }
+
+  protected Parse parse(String xml) {
+    Parse parse = parser.createParse().sourceString(xml);
+    parse.setSchemaResource(schemaResource);
+    return parse.execute();
+  }
+
+}
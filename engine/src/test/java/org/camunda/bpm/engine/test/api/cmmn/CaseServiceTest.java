@@ -23,6 +23,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.CaseExecution;
 import org.camunda.bpm.engine.runtime.CaseExecutionCommandBuilder;
 import org.camunda.bpm.engine.runtime.CaseExecutionQuery;
 import org.camunda.bpm.engine.runtime.CaseInstanceQuery;
@@ -1412,6 +1413,67 @@ public class CaseServiceTest extends PluggableProcessEngineTestCase {
      assertEquals(variables, caseService.getVariablesTyped(caseExecutionId, true));
   }
 
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn"})
+  public void testGetVariablesForCaseExecutions() {
+    // given:
+    // two active case instances
+    String caseDefinitionId = repositoryService
+        .createCaseDefinitionQuery()
+        .singleResult()
+        .getId();
+
+    caseService
+        .withCaseDefinition(caseDefinitionId)
+        .setVariable("aVariableName", "abc")
+        .setVariable("anotherVariableName", 999)
+        .create();
+
+    caseService
+        .withCaseDefinition(caseDefinitionId)
+        .setVariable("aVariableName", "def")
+        .create();
+
+    List<String> caseExecutionIds = new ArrayList<String>();
+    for (CaseExecution caseExecution : caseService.createCaseExecutionQuery().list()) {
+      caseExecutionIds.add(caseExecution.getId());
+    }
+    List<String> variableNames = Arrays.asList("aVariableName", "anotherVariableName");
+
+    // when
+    Map<String, VariableMap> variables = caseService.getVariablesForCaseExecutions(caseExecutionIds, variableNames);
+
+    // then
+    assertEquals(caseExecutionIds, new ArrayList<String>(variables.keySet()));
+    for (String caseExecutionId : caseExecutionIds) {
+      assertEquals(caseService.getVariables(caseExecutionId, variableNames), variables.get(caseExecutionId));
+    }
+  }
+
+  public void testGetVariablesForInvalidCaseExecutions() {
+    try {
+      caseService.getVariablesForCaseExecutions(Arrays.asList("invalid"), Arrays.asList("aVariableName"));
+      fail("The case execution should not be found.");
+    } catch (NotFoundException e) {
+      // expected
+    }
+  }
+
+  public void testGetVariablesForNullCaseExecutions() {
+    try {
+      caseService.getVariablesForCaseExecutions(null, Arrays.asList("aVariableName"));
+      fail("NotValidException expected");
+    } catch (NotValidException e) {
+      // expected
+    }
+
+    try {
+      caseService.getVariablesForCaseExecutions(Arrays.asList("invalid"), null);
+      fail("NotValidException expected");
+    } catch (NotValidException e) {
+      // expected
+    }
+  }
+
   @Deployment(resources={"org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn"})
   public void testGetVariablesTyped() {
     // given:
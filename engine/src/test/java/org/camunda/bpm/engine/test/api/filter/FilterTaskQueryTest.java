@@ -14,9 +14,11 @@
 package org.camunda.bpm.engine.test.api.filter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.EntityTypes;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -32,6 +34,7 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.TaskQueryProperty;
 import org.camunda.bpm.engine.impl.TaskQueryVariableValue;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.json.JsonTaskQueryConverter;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
@@ -817,6 +820,53 @@ public class FilterTaskQueryTest extends PluggableProcessEngineTestCase {
     assertEquals(1, count);
   }
 
+  public void testExecuteTaskQueryCounts() {
+    saveQuery(taskService.createTaskQuery());
+
+    Filter anotherFilter = filterService.newTaskFilter("anotherName")
+        .setQuery(taskService.createTaskQuery().taskId("task3"));
+    filterService.saveFilter(anotherFilter);
+
+    Map<String, Long> counts = filterService.count(Arrays.asList(anotherFilter.getId(), filter.getId()));
+
+    assertEquals(Arrays.asList(anotherFilter.getId(), filter.getId()), new ArrayList<String>(counts.keySet()));
+    assertEquals(Long.valueOf(1), counts.get(anotherFilter.getId()));
+    assertEquals(Long.valueOf(3), counts.get(filter.getId()));
+  }
+
+  public void testExecuteTaskQueryCountsOfUnknownFilter() {
+    try {
+      filterService.count(Arrays.asList("unknown"));
+      fail("Exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  public void testExecuteTaskQueryCountsWithCache() {
+    FilterCountCache filterCountCache = new FilterCountCache(10, 60000);
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+    try {
+      saveQuery(taskService.createTaskQuery());
+      List<String> filterIds = Arrays.asList(filter.getId());
+
+      assertEquals(Long.valueOf(3), filterService.count(filterIds).get(filter.getId()));
+
+      // the cached count is returned although a task was deleted
+      taskService.deleteTask("task3", true);
+      assertEquals(Long.valueOf(3), filterService.count(filterIds).get(filter.getId()));
+      assertEquals(1, filterCountCache.getHitCount());
+
+      // the cached count is removed when the filter is changed
+      saveQuery(taskService.createTaskQuery());
+      assertEquals(Long.valueOf(2), filterService.count(filterIds).get(filter.getId()));
+    }
+    finally {
+      processEngineConfiguration.setFilterCountCache(null);
+    }
+  }
+
   public void testSpecialExtendingQuery() {
     TaskQuery query = taskService.createTaskQuery();
 
@@ -521,6 +521,45 @@ public class RuntimeServiceTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  @Deployment(resources={
+    "org/camunda/bpm/engine/test/api/runtime/ProcessInstanceModificationTest.parallelGateway.bpmn20.xml"})
+  public void testGetVariablesForExecutions() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelGateway",
+        Variables.createVariables().putValue("variable1", "value1").putValue("variable2", "value2"));
+    runtimeService.startProcessInstanceByKey("parallelGateway",
+        Variables.createVariables().putValue("variable1", "otherValue"));
+
+    Execution concurrentExecution = runtimeService.createExecutionQuery()
+        .processInstanceId(processInstance.getId())
+        .activityId("task1")
+        .singleResult();
+    runtimeService.setVariableLocal(concurrentExecution.getId(), "variable1", "localValue");
+
+    List<String> executionIds = new ArrayList<String>();
+    for (Execution execution : runtimeService.createExecutionQuery().list()) {
+      executionIds.add(execution.getId());
+    }
+    List<String> variableNames = Arrays.asList("variable1", "variable2");
+
+    Map<String, VariableMap> variables = runtimeService.getVariablesForExecutions(executionIds, variableNames);
+
+    assertEquals(executionIds, new ArrayList<String>(variables.keySet()));
+    for (String executionId : executionIds) {
+      assertEquals(runtimeService.getVariables(executionId, variableNames), variables.get(executionId));
+    }
+    assertEquals("localValue", variables.get(concurrentExecution.getId()).get("variable1"));
+    assertEquals("value2", variables.get(concurrentExecution.getId()).get("variable2"));
+  }
+
+  public void testGetVariablesForUnexistingExecutions() {
+    try {
+      runtimeService.getVariablesForExecutions(Arrays.asList("unexistingExecutionId"), Arrays.asList("variable1"));
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException ae) {
+      assertTextPresent("execution unexistingExecutionId doesn't exist", ae.getMessage());
+    }
+  }
+
   public void testGetVariablesNullExecutionId() {
     try {
       runtimeService.getVariables(null);
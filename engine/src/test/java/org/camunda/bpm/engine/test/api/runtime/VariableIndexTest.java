@@ -0,0 +1,146 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class VariableIndexTest extends PluggableProcessEngineTestCase {
+
+  protected String deploymentId;
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<String>(Arrays.asList("orderId", "amount")));
+    managementService.rebuildVariableIndex();
+    deploymentId = repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+        .deploy()
+        .getId();
+  }
+
+  protected void tearDown() throws Exception {
+    repositoryService.deleteDeployment(deploymentId, true);
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<String>());
+    managementService.deleteProperty(VariableInstanceManager.VARIABLE_INDEX_PROPERTY);
+    processEngineConfiguration.setVariableIndexFingerprint(null);
+  }
+
+  public void testQueryByIndexedVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("orderId", "order-1").putValue("amount", 42L));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("orderId", "order-2").putValue("amount", 43L));
+
+    assertEquals(processInstance.getId(), runtimeService.createProcessInstanceQuery()
+        .variableValueEquals("orderId", "order-1").singleResult().getId());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().variableValueEquals("amount", 42L).count());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-3").count());
+
+    assertEquals(processInstance.getId(), taskService.createTaskQuery()
+        .processVariableValueEquals("orderId", "order-1").singleResult().getProcessInstanceId());
+    assertEquals(2, taskService.createTaskQuery().processVariableValueNotEquals("orderId", "order-3").count());
+  }
+
+  public void testQueryByIndexedVariableOfDifferentType() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.<String, Object>singletonMap("amount", 42));
+
+    // an integer variable is not equal to a long value
+    assertEquals(0, runtimeService.createProcessInstanceQuery().variableValueEquals("amount", 42L).count());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().variableValueEquals("amount", 42).count());
+  }
+
+  public void testQueryByIndexedTaskVariable() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    taskService.setVariableLocal(taskId, "orderId", "order-1");
+
+    assertEquals(taskId, taskService.createTaskQuery().taskVariableValueEquals("orderId", "order-1").singleResult().getId());
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("orderId", "order-1").count());
+  }
+
+  public void testUpdateIndexedVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Collections.<String, Object>singletonMap("orderId", "order-1"));
+
+    runtimeService.setVariable(processInstance.getId(), "orderId", "order-2");
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-2").count());
+
+    // a null value is not indexed but still found
+    runtimeService.setVariable(processInstance.getId(), "orderId", null);
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-2").count());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", null).count());
+  }
+
+  public void testRemoveIndexedVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Collections.<String, Object>singletonMap("orderId", "order-1"));
+
+    runtimeService.removeVariable(processInstance.getId(), "orderId");
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count());
+  }
+
+  public void testRebuildIndex() {
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<String>());
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Collections.<String, Object>singletonMap("orderId", "order-1"));
+    processEngineConfiguration.setIndexedVariableNames(Collections.singleton("orderId"));
+
+    // the variable was not indexed, so queries do not use the index until it is rebuilt
+    assertFalse(isVariableIndexRebuilt());
+    assertEquals(processInstance.getId(), runtimeService.createProcessInstanceQuery()
+        .variableValueEquals("orderId", "order-1").singleResult().getId());
+
+    managementService.rebuildVariableIndex();
+
+    assertTrue(isVariableIndexRebuilt());
+    assertEquals(processInstance.getId(), runtimeService.createProcessInstanceQuery()
+        .variableValueEquals("orderId", "order-1").singleResult().getId());
+  }
+
+  public void testRebuildIndexIsRecorded() {
+    assertTrue(isVariableIndexRebuilt());
+
+    // the recorded rebuild is read again
+    processEngineConfiguration.setVariableIndexFingerprint(null);
+    assertTrue(isVariableIndexRebuilt());
+
+    // the order of the names does not matter
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<String>(Arrays.asList("amount", "orderId")));
+    assertTrue(isVariableIndexRebuilt());
+
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<String>(Arrays.asList("orderId", "amount", "customerId")));
+    assertFalse(isVariableIndexRebuilt());
+  }
+
+  protected boolean isVariableIndexRebuilt() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return commandContext.getVariableInstanceManager().isVariableIndexRebuilt();
+      }
+    });
+  }
+
+}
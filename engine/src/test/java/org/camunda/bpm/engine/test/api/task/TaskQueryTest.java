@@ -45,9 +45,12 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
@@ -1503,6 +1506,208 @@ public class TaskQueryTest extends PluggableProcessEngineTestCase {
     assertEquals(10, query.listPage(0, 15).size()); // there are only 10 tasks
   }
 
+  public void testQueryPagingWithContinuationToken() {
+    List<Task> expectedTasks = taskService.createTaskQuery()
+        .orderByTaskPriority().desc()
+        .orderByTaskId().asc()
+        .list();
+
+    List<Task> tasks = new ArrayList<Task>();
+    String continuationToken = null;
+    List<Task> page;
+    do {
+      TaskQuery query = taskService.createTaskQuery()
+          .orderByTaskPriority().desc()
+          .orderByTaskId().asc();
+      if (continuationToken != null) {
+        query.continueAfter(continuationToken);
+      }
+
+      page = query.listPage(0, 5);
+      tasks.addAll(page);
+      if (!page.isEmpty()) {
+        continuationToken = query.createContinuationToken(page.get(page.size() - 1));
+      }
+    } while (page.size() == 5);
+
+    assertEquals(12, tasks.size());
+    for (int i = 0; i < expectedTasks.size(); i++) {
+      assertEquals(expectedTasks.get(i).getId(), tasks.get(i).getId());
+    }
+  }
+
+  public void testQueryPagingWithContinuationTokenAndDefaultOrdering() {
+    List<Task> firstPage = taskService.createTaskQuery().listPage(0, 4);
+    TaskQuery query = taskService.createTaskQuery();
+    String continuationToken = query.createContinuationToken(firstPage.get(3));
+
+    List<Task> secondPage = query.continueAfter(continuationToken).listPage(0, 4);
+
+    assertEquals(taskService.createTaskQuery().listPage(4, 4).get(0).getId(), secondPage.get(0).getId());
+    assertEquals(8, query.count());
+  }
+
+  public void testContinuationTokenRequiresOrderingById() {
+    Task task = taskService.createTaskQuery().orderByTaskName().asc().listPage(0, 1).get(0);
+
+    try {
+      taskService.createTaskQuery().orderByTaskName().asc().createContinuationToken(task);
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("ordered by id last", e.getMessage());
+    }
+  }
+
+  public void testContinuationTokenMustMatchOrdering() {
+    TaskQuery query = taskService.createTaskQuery().orderByTaskId().asc();
+    String continuationToken = query.createContinuationToken(query.listPage(0, 1).get(0));
+
+    try {
+      taskService.createTaskQuery().orderByTaskId().desc().continueAfter(continuationToken).list();
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("does not match the ordering", e.getMessage());
+    }
+  }
+
+  public void testQueryCountUpTo() {
+    TaskQuery query = taskService.createTaskQuery().taskCandidateUser("kermit");
+
+    assertEquals(5, query.countUpTo(5));
+    assertEquals(10, query.countUpTo(10));
+    assertEquals(10, query.countUpTo(11));
+    assertEquals(12, taskService.createTaskQuery().countUpTo(1000));
+
+    // the count is exact again afterwards
+    assertEquals(10, query.count());
+
+    try {
+      query.countUpTo(0);
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("maxCount must be positive", e.getMessage());
+    }
+  }
+
+  public void testQuerySelectFields() {
+    Task task = taskService.createTaskQuery().taskName("gonzoTask").selectFields("name", "priority").singleResult();
+
+    assertEquals("gonzoTask", task.getName());
+    assertEquals(4, task.getPriority());
+    assertNull(task.getDescription());
+
+    // the ordering columns are always selected
+    List<Task> tasks = taskService.createTaskQuery().selectFields("name").orderByTaskDescription().asc().list();
+    assertEquals(12, tasks.size());
+    assertNotNull(tasks.get(0).getDescription());
+
+    try {
+      taskService.createTaskQuery().selectFields("unknown");
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("Unknown task property 'unknown'", e.getMessage());
+    }
+  }
+
+  public void testSaveProjectedTaskFails() {
+    Task task = taskService.createTaskQuery().taskName("gonzoTask").selectFields("priority").singleResult();
+    task.setPriority(5);
+
+    try {
+      taskService.saveTask(task);
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("selected a subset of its fields", e.getMessage());
+    }
+
+    // the task is not overwritten
+    task = taskService.createTaskQuery().taskName("gonzoTask").singleResult();
+    assertEquals(4, task.getPriority());
+    assertEquals("gonzo description", task.getDescription());
+  }
+
+  public void testQuerySelectFieldsAndUpdateInSameCommand() {
+    final String taskId = taskService.createTaskQuery().taskName("gonzoTask").singleResult().getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        // the partially loaded task is not cached
+        Task projectedTask = new TaskQueryImpl().taskId(taskId).selectFields("priority").singleResult();
+        assertNull(projectedTask.getDescription());
+        assertFalse(commandContext.getDbEntityManager().getDbEntityCache().contains((TaskEntity) projectedTask));
+
+        // so the task is loaded completely and updated
+        TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+        assertNotSame(projectedTask, task);
+        assertEquals("gonzo description", task.getDescription());
+        task.setPriority(5);
+
+        // a cached task is returned instead of the partially loaded one
+        assertSame(task, new TaskQueryImpl().taskId(taskId).selectFields("priority").singleResult());
+
+        return null;
+      }
+    });
+
+    // then the columns which were not selected are not overwritten
+    Task task = taskService.createTaskQuery().taskId(taskId).singleResult();
+    assertEquals(5, task.getPriority());
+    assertEquals("gonzoTask", task.getName());
+    assertEquals("gonzo description", task.getDescription());
+    assertEquals("gonzo", task.getAssignee());
+  }
+
+  @Deployment(resources="org/camunda/bpm/engine/test/api/runtime/ProcessInstanceModificationTest.parallelGateway.bpmn20.xml")
+  public void testQueryFetchVariables() {
+    runtimeService.startProcessInstanceByKey("parallelGateway",
+        Variables.createVariables().putValue("aVariable", "processValue").putValue("anotherVariable", 42));
+    Task task1 = taskService.createTaskQuery().taskDefinitionKey("task1").singleResult();
+    Task task2 = taskService.createTaskQuery().taskDefinitionKey("task2").singleResult();
+
+    // a local variable hides the variables of the parent scopes
+    taskService.setVariableLocal(task1.getId(), "aVariable", "taskValue");
+    // the variables of an execution are only visible from its tasks
+    runtimeService.setVariableLocal(task2.getExecutionId(), "aVariable", "executionValue");
+
+    List<String> variableNames = Arrays.asList("aVariable", "anotherVariable", "unknownVariable");
+
+    Map<String, Object> variables = taskService.createTaskQuery()
+      .taskDefinitionKey("task1")
+      .fetchVariables(variableNames, true)
+      .singleResult()
+      .getFetchedVariables();
+    assertEquals(2, variables.size());
+    assertEquals("taskValue", variables.get("aVariable"));
+    assertEquals(42, variables.get("anotherVariable"));
+    assertEquals(taskService.getVariables(task1.getId(), variableNames), variables);
+
+    variables = taskService.createTaskQuery()
+      .taskDefinitionKey("task2")
+      .selectFields("name")
+      .fetchVariables(variableNames, true)
+      .singleResult()
+      .getFetchedVariables();
+    assertEquals("executionValue", variables.get("aVariable"));
+    assertEquals(taskService.getVariables(task2.getId(), variableNames), variables);
+
+    // standalone tasks have no variables
+    variables = taskService.createTaskQuery().taskName("gonzoTask").fetchVariables(variableNames, true).singleResult().getFetchedVariables();
+    assertTrue(variables.isEmpty());
+
+    try {
+      taskService.createTaskQuery().taskName("gonzoTask").singleResult().getFetchedVariables();
+      fail("expected exception");
+    }
+    catch (BadUserRequestException e) {
+      assertTextPresent("The variables are not fetched", e.getMessage());
+    }
+  }
+
   public void testQuerySorting() {
     // default ordering is by id
     int expectedCount = 12;
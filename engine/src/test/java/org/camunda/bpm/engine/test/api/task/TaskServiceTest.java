@@ -1645,6 +1645,46 @@ public class TaskServiceTest extends PluggableProcessEngineTestCase {
 
   }
 
+  @Deployment(resources={
+  "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testGetVariablesForTasks() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("variable1", "value1").putValue("variable2", "value2"));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("variable1", "otherValue"));
+
+    List<Task> tasks = taskService.createTaskQuery().list();
+    assertEquals(2, tasks.size());
+    taskService.setVariableLocal(tasks.get(0).getId(), "variable1", "localValue");
+
+    Task standaloneTask = taskService.newTask();
+    taskService.saveTask(standaloneTask);
+    taskService.setVariableLocal(standaloneTask.getId(), "variable2", "standaloneValue");
+
+    List<String> taskIds = Arrays.asList(tasks.get(0).getId(), tasks.get(1).getId(), standaloneTask.getId());
+    List<String> variableNames = Arrays.asList("variable1", "variable2");
+
+    Map<String, VariableMap> variables = taskService.getVariablesForTasks(taskIds, variableNames);
+
+    assertEquals(taskIds, new ArrayList<String>(variables.keySet()));
+    for (String taskId : taskIds) {
+      assertEquals(taskService.getVariables(taskId, variableNames), variables.get(taskId));
+    }
+    assertEquals("localValue", variables.get(tasks.get(0).getId()).get("variable1"));
+    assertEquals(1, variables.get(standaloneTask.getId()).size());
+
+    taskService.deleteTask(standaloneTask.getId(), true);
+  }
+
+  public void testGetVariablesForUnexistingTasks() {
+    try {
+      taskService.getVariablesForTasks(Arrays.asList("unexistingTaskId"), Arrays.asList("variable1"));
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException ae) {
+      assertTextPresent("task unexistingTaskId doesn't exist", ae.getMessage());
+    }
+  }
+
   @Deployment(resources={
   "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
   public void testGetVariablesTyped() {
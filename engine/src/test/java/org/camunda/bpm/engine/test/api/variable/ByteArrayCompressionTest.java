@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variable;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class ByteArrayCompressionTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    processEngineConfiguration.setByteArrayCompressionThreshold(1024);
+    super.tearDown();
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testReadCompressedBytesWithCompressionDisabled() {
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+    processEngineConfiguration.setByteArrayCompressionThreshold(0);
+
+    byte[] bytes = createRepetitiveBytes(10000);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("bytes", bytes));
+
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testReadUncompressedBytesWithCompressionEnabled() {
+    byte[] bytes = createRepetitiveBytes(10000);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("bytes", bytes));
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+    processEngineConfiguration.setByteArrayCompressionThreshold(0);
+
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+
+    // update the value, now compressed
+    byte[] updatedBytes = createRepetitiveBytes(20000);
+    runtimeService.setVariable(processInstance.getId(), "bytes", updatedBytes);
+
+    assertTrue(Arrays.equals(updatedBytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testBytesStartingWithCompressionHeader() {
+    // a value which looks like a compressed byte array
+    byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0x3D, 'Z', 'I', 'P', 1, 0, 0 };
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("bytes", bytes));
+
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+    processEngineConfiguration.setByteArrayCompressionThreshold(0);
+    runtimeService.setVariable(processInstance.getId(), "bytes", bytes);
+
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstance.getId(), "bytes")));
+  }
+
+  protected byte[] createRepetitiveBytes(int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) ('a' + i % 10);
+    }
+    return bytes;
+  }
+
+}
@@ -0,0 +1,201 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheckCache;
+import org.camunda.bpm.engine.impl.db.PermissionCheck;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+public class AuthorizationCheckCacheTest extends AuthorizationTest {
+
+  protected static final String PROCESS_KEY = "aProcessKey";
+  protected static final long TIME_TO_LIVE = 60000;
+
+  protected AuthorizationCheckCache authorizationCheckCache;
+
+  protected void setUp() throws Exception {
+    authorizationCheckCache = new AuthorizationCheckCache(100, TIME_TO_LIVE);
+    processEngineConfiguration.setAuthorizationCheckCache(authorizationCheckCache);
+    super.setUp();
+  }
+
+  public void tearDown() {
+    super.tearDown();
+    processEngineConfiguration.setAuthorizationCheckCache(null);
+    ClockUtil.reset();
+  }
+
+  public void testResultIsCached() {
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    long hits = authorizationCheckCache.getHitCount();
+    long misses = authorizationCheckCache.getMissCount();
+
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits, authorizationCheckCache.getHitCount());
+    assertEquals(misses + 1, authorizationCheckCache.getMissCount());
+
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits + 1, authorizationCheckCache.getHitCount());
+    assertEquals(misses + 1, authorizationCheckCache.getMissCount());
+  }
+
+  public void testCacheIsInvalidatedOnChange() {
+    assertFalse(isAuthorizedToReadProcessDefinition());
+
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+
+    Authorization authorization = authorizationService.createAuthorizationQuery()
+        .resourceType(PROCESS_DEFINITION)
+        .resourceId(PROCESS_KEY)
+        .singleResult();
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    assertFalse(isAuthorizedToReadProcessDefinition());
+  }
+
+  public void testCachedResultExpires() {
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    long hits = authorizationCheckCache.getHitCount();
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + TIME_TO_LIVE));
+
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits, authorizationCheckCache.getHitCount());
+  }
+
+  public void testResultOfOutdatedCheckIsNotCached() {
+    long generation = authorizationCheckCache.getGeneration();
+    authorizationCheckCache.invalidate();
+
+    List<PermissionCheck> permissionChecks = Arrays.asList(createPermissionCheck());
+    authorizationCheckCache.put("key", userId, null, permissionChecks, true, generation);
+    assertNull(authorizationCheckCache.get("key"));
+
+    authorizationCheckCache.put("key", userId, null, permissionChecks, true, authorizationCheckCache.getGeneration());
+    assertEquals(Boolean.TRUE, authorizationCheckCache.get("key"));
+  }
+
+  public void testChangeOfOtherResourceKeepsCachedResult() {
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+
+    createGrantAuthorization(PROCESS_DEFINITION, "anotherProcessKey", userId, READ);
+    createGrantAuthorization(TASK, PROCESS_KEY, userId, READ);
+
+    long hits = authorizationCheckCache.getHitCount();
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits + 1, authorizationCheckCache.getHitCount());
+  }
+
+  public void testChangeOfOtherUserKeepsCachedResult() {
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, "anotherUserId", READ);
+
+    long hits = authorizationCheckCache.getHitCount();
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits + 1, authorizationCheckCache.getHitCount());
+  }
+
+  public void testTaskAssignmentKeepsCachedResult() {
+    String taskId = "myTask";
+    createTask(taskId);
+    createGrantAuthorization(TASK, taskId, userId, UPDATE);
+
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+
+    // when the task is assigned, an authorization for the assignee is created
+    taskService.setAssignee(taskId, "demo");
+    assertEquals(1, authorizationService.createAuthorizationQuery().userIdIn("demo").count());
+
+    long hits = authorizationCheckCache.getHitCount();
+    assertTrue(isAuthorizedToReadProcessDefinition());
+    assertEquals(hits + 1, authorizationCheckCache.getHitCount());
+
+    deleteTask(taskId, true);
+  }
+
+  public void testCacheIsInvalidatedOnChangeOfGroup() {
+    assertFalse(isAuthorizedToReadProcessDefinition());
+
+    Authorization authorization = createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY);
+    authorization.setGroupId(groupId);
+    authorization.addPermission(READ);
+    saveAuthorization(authorization);
+
+    assertTrue(isAuthorizedToReadProcessDefinition());
+  }
+
+  public void testCacheIsInvalidatedOnGlobalAuthorization() {
+    assertFalse(isAuthorizedToReadProcessDefinition());
+
+    Authorization authorization = createGlobalAuthorization(PROCESS_DEFINITION, ANY);
+    authorization.addPermission(READ);
+    saveAuthorization(authorization);
+
+    assertTrue(isAuthorizedToReadProcessDefinition());
+  }
+
+  public void testCacheIsInvalidatedWhenResourceIdIsUpdated() {
+    createGrantAuthorization(PROCESS_DEFINITION, PROCESS_KEY, userId, READ);
+    assertTrue(isAuthorizedToReadProcessDefinition());
+
+    Authorization authorization = authorizationService.createAuthorizationQuery()
+        .resourceType(PROCESS_DEFINITION)
+        .resourceId(PROCESS_KEY)
+        .singleResult();
+    authorization.setResourceId("anotherProcessKey");
+    saveAuthorization(authorization);
+
+    assertFalse(isAuthorizedToReadProcessDefinition());
+  }
+
+  public void testKeyDoesNotDependOnGroupOrder() {
+    List<PermissionCheck> permissionChecks = new ArrayList<PermissionCheck>();
+    permissionChecks.add(createPermissionCheck());
+
+    String key = AuthorizationCheckCache.createKey(userId, Arrays.asList("a", "b"), permissionChecks);
+    assertEquals(key, AuthorizationCheckCache.createKey(userId, Arrays.asList("b", "a"), permissionChecks));
+    assertFalse(key.equals(AuthorizationCheckCache.createKey(userId, Arrays.asList("a"), permissionChecks)));
+    assertFalse(key.equals(AuthorizationCheckCache.createKey("other", Arrays.asList("a", "b"), permissionChecks)));
+  }
+
+  protected PermissionCheck createPermissionCheck() {
+    PermissionCheck permissionCheck = new PermissionCheck();
+    permissionCheck.setPermission(READ);
+    permissionCheck.setResource(PROCESS_DEFINITION);
+    permissionCheck.setResourceId(PROCESS_KEY);
+    return permissionCheck;
+  }
+
+  protected boolean isAuthorizedToReadProcessDefinition() {
+    return authorizationService.isUserAuthorized(userId, Arrays.asList(groupId), READ, PROCESS_DEFINITION, PROCESS_KEY);
+  }
+
+}
@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Permissions.ALL;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permission;
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.cmd.RebuildAuthorizationIndexCmd;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+
+public class AuthorizationIndexTest extends AuthorizationTest {
+
+  protected static final String ONE_TASK_PROCESS_KEY = "oneTaskProcess";
+  protected static final String TWO_TASKS_PROCESS_KEY = "twoTasksProcess";
+
+  protected String deploymentId;
+
+  public void setUp() throws Exception {
+    processEngineConfiguration.setAuthorizationIndexEnabled(true);
+    super.setUp();
+    deploymentId = createDeployment(null,
+        "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml",
+        "org/camunda/bpm/engine/test/api/twoTasksProcess.bpmn20.xml").getId();
+  }
+
+  public void tearDown() {
+    deleteDeployment(deploymentId);
+    super.tearDown();
+    processEngineConfiguration.setAuthorizationIndexEnabled(false);
+  }
+
+  public void testGrantAuthorization() {
+    createGrantAuthorization(PROCESS_DEFINITION, ONE_TASK_PROCESS_KEY, userId, READ);
+
+    assertTrue(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    assertFalse(isAuthorized(UPDATE, ONE_TASK_PROCESS_KEY));
+    assertFalse(isAuthorized(READ, TWO_TASKS_PROCESS_KEY));
+    verifyQueryResults(repositoryService.createProcessDefinitionQuery(), 1);
+  }
+
+  public void testGrantAuthorizationOnAnyResource() {
+    createGrantAuthorization(PROCESS_DEFINITION, ANY, userId, READ);
+
+    assertTrue(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    assertTrue(isAuthorized(READ, TWO_TASKS_PROCESS_KEY));
+    verifyQueryResults(repositoryService.createProcessDefinitionQuery(), 2);
+  }
+
+  public void testGroupGrantAuthorization() {
+    Authorization authorization = createGrantAuthorization(PROCESS_DEFINITION, TWO_TASKS_PROCESS_KEY);
+    authorization.setGroupId(groupId);
+    authorization.addPermission(READ);
+    saveAuthorization(authorization);
+
+    assertTrue(isAuthorized(READ, TWO_TASKS_PROCESS_KEY));
+    assertFalse(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    verifyQueryResults(repositoryService.createProcessDefinitionQuery(), 1);
+  }
+
+  public void testRevokeAuthorization() {
+    Authorization authorization = createGlobalAuthorization(PROCESS_DEFINITION, ANY);
+    authorization.addPermission(ALL);
+    saveAuthorization(authorization);
+    createRevokeAuthorization(PROCESS_DEFINITION, ONE_TASK_PROCESS_KEY, userId, READ);
+
+    assertFalse(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    assertTrue(isAuthorized(UPDATE, ONE_TASK_PROCESS_KEY));
+    assertTrue(isAuthorized(READ, TWO_TASKS_PROCESS_KEY));
+    verifyQueryResults(repositoryService.createProcessDefinitionQuery(), 1);
+  }
+
+  public void testUpdateAuthorization() {
+    createGrantAuthorization(PROCESS_DEFINITION, ONE_TASK_PROCESS_KEY, userId, READ);
+    Authorization authorization = selectAuthorization(ONE_TASK_PROCESS_KEY);
+
+    authorization.addPermission(UPDATE);
+    authorization.removePermission(READ);
+    saveAuthorization(authorization);
+
+    assertFalse(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    assertTrue(isAuthorized(UPDATE, ONE_TASK_PROCESS_KEY));
+  }
+
+  public void testDeleteAuthorization() {
+    createGrantAuthorization(PROCESS_DEFINITION, ONE_TASK_PROCESS_KEY, userId, READ);
+
+    authorizationService.deleteAuthorization(selectAuthorization(ONE_TASK_PROCESS_KEY).getId());
+
+    assertFalse(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+    verifyQueryResults(repositoryService.createProcessDefinitionQuery(), 0);
+  }
+
+  public void testRebuildIndex() {
+    processEngineConfiguration.setAuthorizationIndexEnabled(false);
+    createGrantAuthorization(PROCESS_DEFINITION, ONE_TASK_PROCESS_KEY, userId, READ);
+    processEngineConfiguration.setAuthorizationIndexEnabled(true);
+
+    // the authorization was not indexed
+    assertFalse(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new RebuildAuthorizationIndexCmd());
+
+    assertTrue(isAuthorized(READ, ONE_TASK_PROCESS_KEY));
+  }
+
+  protected boolean isAuthorized(Permission permission, String resourceId) {
+    return authorizationService.isUserAuthorized(userId, Arrays.asList(groupId), permission, PROCESS_DEFINITION, resourceId);
+  }
+
+  protected Authorization selectAuthorization(String resourceId) {
+    return authorizationService.createAuthorizationQuery()
+        .resourceType(PROCESS_DEFINITION)
+        .resourceId(resourceId)
+        .singleResult();
+  }
+
+  protected void verifyQueryResults(ProcessDefinitionQuery query, int countExpected) {
+    verifyQueryResults((AbstractQuery<?, ?>) query, countExpected);
+  }
+
+}
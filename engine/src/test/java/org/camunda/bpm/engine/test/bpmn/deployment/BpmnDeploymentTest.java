@@ -23,8 +23,10 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.HashUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -35,6 +37,8 @@ import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 
@@ -110,6 +114,59 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testDeploySameFileTwiceComparesContentHash() {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    final String deploymentId = repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy().getId();
+
+    // the content hash is stored with the resource
+    ResourceEntity resource = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ResourceEntity>() {
+      public ResourceEntity execute(CommandContext commandContext) {
+        return commandContext.getResourceManager().findResourcesByDeploymentId(deploymentId).get(0);
+      }
+    });
+    assertNotNull(resource.getHash());
+    assertEquals(HashUtil.hash(resource.getBytes()), resource.getHash());
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
+  public void testDeploySameFileTwiceWithoutStoredContentHash() throws Exception {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String deploymentId = repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy().getId();
+
+    // simulate a resource deployed before content hashes were stored
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        try {
+          Statement statement = commandContext.getDbSqlSession().getSqlSession().getConnection().createStatement();
+          statement.executeUpdate("update " + processEngineConfiguration.getDatabaseTablePrefix() + "ACT_GE_BYTEARRAY set HASH_ = null");
+          statement.close();
+        } catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        }
+        return null;
+      }
+    });
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+
+    BpmnModelInstance changedModel = Bpmn.createExecutableProcess("emptyProcess").startEvent().done();
+    String changedDeploymentId = repositoryService.createDeployment()
+        .enableDuplicateFiltering()
+        .addModelInstance(bpmnResourceName, changedModel)
+        .name("twice")
+        .deploy()
+        .getId();
+    assertEquals(2, repositoryService.createDeploymentQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId);
+    repositoryService.deleteDeployment(changedDeploymentId);
+  }
+
   public void testPartialChangesDeployAll() {
     BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
     BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.cache;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.persistence.deploy.ConcurrentLruCache;
+
+public class ConcurrentLruCacheTest extends TestCase {
+
+  public void testEvictLeastRecentlyUsedEntry() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(2);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    // access a, b becomes the least recently used entry
+    assertEquals("1", cache.get("a"));
+
+    cache.put("c", "3");
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get("b"));
+    assertEquals("1", cache.get("a"));
+    assertEquals("3", cache.get("c"));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  public void testHitAndMissCount() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+    cache.put("a", "1");
+
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+  }
+
+  public void testRemoveAndClear() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    cache.remove("a");
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertTrue(cache.isEmpty());
+  }
+
+  public void testInvalidCapacity() {
+    try {
+      new ConcurrentLruCache<String, String>(0);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+}
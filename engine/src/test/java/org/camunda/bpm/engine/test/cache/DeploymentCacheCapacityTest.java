@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.cache;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.deploy.Cache;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.UnboundedCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+public class DeploymentCacheCapacityTest extends PvmTestCase {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ProcessEngine processEngine;
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName("deployment-cache-capacity-test");
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:deployment-cache-capacity-test");
+    processEngineConfiguration.setCacheCapacity(2);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+  }
+
+  protected void tearDown() throws Exception {
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+    processEngine.close();
+  }
+
+  public void testDeploymentCacheIsUnboundedByDefault() {
+    assertEquals(0, new StandaloneInMemProcessEngineConfiguration().getCacheCapacity());
+
+    Cache<String, ProcessDefinitionEntity> processDefinitionCache = new DeploymentCache().getProcessDefinitionCache();
+    assertTrue(processDefinitionCache instanceof UnboundedCache);
+  }
+
+  public void testEvictedProcessDefinitionIsParsedAgain() {
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+
+    for (int i = 0; i < 3; i++) {
+      repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/cache/originalProcess.bpmn20.xml")
+        .deploy();
+    }
+
+    Cache<String, ProcessDefinitionEntity> processDefinitionCache = processEngineConfiguration
+        .getDeploymentCache()
+        .getProcessDefinitionCache();
+
+    assertEquals(2, processDefinitionCache.size());
+    assertEquals(1, processDefinitionCache.getEvictionCount());
+
+    ProcessDefinition firstVersion = repositoryService
+        .createProcessDefinitionQuery()
+        .processDefinitionVersion(1)
+        .singleResult();
+    assertNull(processDefinitionCache.get(firstVersion.getId()));
+
+    // the evicted process definition is parsed again
+    assertNotNull(runtimeService.startProcessInstanceById(firstVersion.getId()));
+    assertNotNull(processDefinitionCache.get(firstVersion.getId()));
+    assertEquals(2, processDefinitionCache.size());
+  }
+
+  public void testDeploymentCacheMetrics() {
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+
+    for (int i = 0; i < 3; i++) {
+      repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/cache/originalProcess.bpmn20.xml")
+        .deploy();
+    }
+
+    ProcessDefinition firstVersion = repositoryService
+        .createProcessDefinitionQuery()
+        .processDefinitionVersion(1)
+        .singleResult();
+    runtimeService.startProcessInstanceById(firstVersion.getId());
+    runtimeService.startProcessInstanceById(firstVersion.getId());
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    Cache<String, ProcessDefinitionEntity> processDefinitionCache = deploymentCache.getProcessDefinitionCache();
+    assertTrue(processDefinitionCache.getEvictionCount() > 0);
+    assertTrue(processDefinitionCache.getMissCount() > 0);
+    assertTrue(processDefinitionCache.getHitCount() > 0);
+
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    assertEquals(sumEvictionCounts(deploymentCache), metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_EVICTION).get());
+    assertEquals(sumMissCounts(deploymentCache), metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_MISS).get());
+    assertEquals(sumHitCounts(deploymentCache), metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_HIT).get());
+  }
+
+  protected long sumEvictionCounts(DeploymentCache deploymentCache) {
+    return deploymentCache.getProcessDefinitionCache().getEvictionCount()
+        + deploymentCache.getCaseDefinitionCache().getEvictionCount()
+        + deploymentCache.getBpmnModelInstanceCache().getEvictionCount()
+        + deploymentCache.getCmmnModelInstanceCache().getEvictionCount();
+  }
+
+  protected long sumMissCounts(DeploymentCache deploymentCache) {
+    return deploymentCache.getProcessDefinitionCache().getMissCount()
+        + deploymentCache.getCaseDefinitionCache().getMissCount()
+        + deploymentCache.getBpmnModelInstanceCache().getMissCount()
+        + deploymentCache.getCmmnModelInstanceCache().getMissCount();
+  }
+
+  protected long sumHitCounts(DeploymentCache deploymentCache) {
+    return deploymentCache.getProcessDefinitionCache().getHitCount()
+        + deploymentCache.getCaseDefinitionCache().getHitCount()
+        + deploymentCache.getBpmnModelInstanceCache().getHitCount()
+        + deploymentCache.getCmmnModelInstanceCache().getHitCount();
+  }
+
+}
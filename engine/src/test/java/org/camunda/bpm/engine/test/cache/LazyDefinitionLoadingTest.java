@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.cache;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.deploy.Cache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+
+public class LazyDefinitionLoadingTest extends PvmTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/cache/originalProcess.bpmn20.xml";
+  protected static final String TIMER_START_PROCESS = "org/camunda/bpm/engine/test/bpmn/event/timer/StartTimerEventTest.testFixedDateStartTimerEvent.bpmn20.xml";
+  protected static final String DIAGRAM_PROCESS = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testProcessDiagramResource.bpmn20.xml";
+  protected static final String DIAGRAM = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testProcessDiagramResource.jpg";
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ProcessEngine processEngine;
+  protected Cache<String, ProcessDefinitionEntity> processDefinitionCache;
+
+  protected void setUp() throws Exception {
+    processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName("lazy-definition-loading-test");
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:lazy-definition-loading-test");
+    processEngineConfiguration.setLazyDefinitionLoadingEnabled(true);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+
+    processEngine.getRepositoryService().createDeployment()
+      .addClasspathResource(ONE_TASK_PROCESS)
+      .addClasspathResource(TIMER_START_PROCESS)
+      .addClasspathResource(DIAGRAM_PROCESS)
+      .addClasspathResource(DIAGRAM)
+      .deploy();
+
+    // simulate an engine restart
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+    processDefinitionCache = processEngineConfiguration.getDeploymentCache().getProcessDefinitionCache();
+  }
+
+  protected void tearDown() throws Exception {
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+    processEngine.close();
+  }
+
+  public void testOnlyResourceOfDefinitionIsParsed() {
+    assertEquals(0, processDefinitionCache.size());
+
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+
+    assertEquals(1, processDefinitionCache.size());
+    assertNotNull(processDefinitionCache.get(getProcessDefinitionId("oneTaskProcess")));
+  }
+
+  public void testTimerStartEvent() {
+    // the timer was created on deployment
+    Job timer = processEngine.getManagementService().createJobQuery().singleResult();
+    assertNotNull(timer);
+
+    processEngine.getManagementService().executeJob(timer.getId());
+
+    assertEquals(1, processEngine.getRuntimeService().createProcessInstanceQuery().processDefinitionKey("startTimerEventExample").count());
+    assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+
+    assertEquals(1, processDefinitionCache.size());
+    assertNotNull(processDefinitionCache.get(getProcessDefinitionId("startTimerEventExample")));
+  }
+
+  public void testDiagramResourceName() {
+    ProcessDefinition processDefinition = processEngine.getRepositoryService().getProcessDefinition(getProcessDefinitionId("processDiagramProcess"));
+
+    assertEquals(DIAGRAM, processDefinition.getDiagramResourceName());
+    assertEquals(1, processDefinitionCache.size());
+  }
+
+  protected String getProcessDefinitionId(String processDefinitionKey) {
+    return processEngine.getRepositoryService()
+        .createProcessDefinitionQuery()
+        .processDefinitionKey(processDefinitionKey)
+        .singleResult()
+        .getId();
+  }
+
+}
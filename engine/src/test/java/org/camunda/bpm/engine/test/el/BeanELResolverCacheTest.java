@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.el.EngineBeanElResolver;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+
+public class BeanELResolverCacheTest extends TestCase {
+
+  protected ELContext context;
+
+  protected void setUp() throws Exception {
+    context = new SimpleContext();
+  }
+
+  public void testInvokeCachedMethod() {
+    BeanELResolver resolver = new BeanELResolver();
+    Counter counter = new Counter();
+
+    for (int i = 1; i <= 3; i++) {
+      assertEquals(i, resolver.invoke(context, counter, "increment", null, new Object[0]));
+      assertTrue(context.isPropertyResolved());
+    }
+    assertEquals(13, resolver.invoke(context, counter, "increment", null, new Object[] { 10 }));
+    assertEquals(14, resolver.invoke(context, counter, "increment", new Class<?>[] { int.class }, new Object[] { 1 }));
+  }
+
+  public void testPropertyAccessors() {
+    BeanELResolver resolver = new BeanELResolver();
+    Counter counter = new Counter();
+
+    resolver.setValue(context, counter, "value", 5);
+    assertEquals(5, resolver.getValue(context, counter, "value"));
+    assertFalse(resolver.isReadOnly(context, counter, "value"));
+    assertTrue(resolver.isReadOnly(context, counter, "name"));
+  }
+
+  public void testBoundedCache() {
+    BeanELResolver resolver = new BeanELResolver(false, 1);
+    Counter counter = new Counter();
+    Named named = new Named();
+
+    for (int i = 1; i <= 3; i++) {
+      assertEquals(i, resolver.invoke(context, counter, "increment", null, new Object[0]));
+      assertEquals("named", resolver.invoke(context, named, "getName", null, new Object[0]));
+      assertEquals(i, resolver.getValue(context, counter, "value"));
+      assertEquals("named", resolver.getValue(context, named, "name"));
+    }
+  }
+
+  public void testPurgeBeanClasses() {
+    BeanELResolver resolver = new BeanELResolver();
+    Counter counter = new Counter();
+
+    assertEquals(1, resolver.invoke(context, counter, "increment", null, new Object[0]));
+    resolver.purgeBeanClasses(Counter.class.getClassLoader());
+    assertEquals(2, resolver.invoke(context, counter, "increment", null, new Object[0]));
+    assertEquals(2, resolver.getValue(context, counter, "value"));
+  }
+
+  public void testEngineResolverCachesEngineClasses() {
+    EngineBeanElResolver resolver = new EngineBeanElResolver();
+
+    assertTrue(resolver.isCacheable(Counter.class));
+    assertTrue(resolver.isCacheable(String.class));
+  }
+
+  public void testEngineResolverDoesNotCacheForeignClasses() throws Exception {
+    EngineBeanElResolver resolver = new EngineBeanElResolver();
+
+    // given a class loaded by a class loader which is not related to the engine's class loader
+    URL location = Counter.class.getProtectionDomain().getCodeSource().getLocation();
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { location }, null);
+    Class<?> counterClass = classLoader.loadClass(Counter.class.getName());
+    assertNotSame(Counter.class, counterClass);
+
+    // then its properties and methods are not cached
+    assertFalse(resolver.isCacheable(counterClass));
+
+    // but still resolved
+    Object counter = counterClass.newInstance();
+    assertEquals(1, resolver.invoke(context, counter, "increment", null, new Object[0]));
+    assertEquals(1, resolver.getValue(context, counter, "value"));
+    resolver.setValue(context, counter, "value", 5);
+    assertEquals(6, resolver.invoke(context, counter, "increment", null, new Object[0]));
+  }
+
+  public static class Counter {
+
+    protected int value;
+
+    public int increment() {
+      return ++value;
+    }
+
+    public int increment(int delta) {
+      value += delta;
+      return value;
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(int value) {
+      this.value = value;
+    }
+
+    public String getName() {
+      return "counter";
+    }
+  }
+
+  public static class Named {
+
+    public String getName() {
+      return "named";
+    }
+  }
+
+}
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.el.CompiledValueExpression;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+
+public class ExpressionCompilerTest extends PluggableProcessEngineTestCase {
+
+  protected static final String[] EXPRESSIONS = {
+    "${a + b}",
+    "${a > 3 && b < 10}",
+    "${a gt 3 and not flag}",
+    "${!flag || a == 2}",
+    "${empty list}",
+    "${a == 5 ? 'yes' : 'no'}",
+    "${-a * (b - 1) / 2}",
+    "${a % 3 == 2}",
+    "${s == 'text' and s != null}",
+    "${a + 1 > b ? s : null}",
+    "${s.length() == 4 && a >= 5}",
+    "#{a <= b}"
+  };
+
+  public void testCompiledExpressionsEvaluateLikeInterpretedExpressions() {
+    final CompilingExpressionManager compilingExpressionManager = new CompilingExpressionManager();
+    final ExpressionManager interpretingExpressionManager = new ExpressionManager();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        VariableScope variableScope = createVariableScope();
+
+        for (String expressionText : EXPRESSIONS) {
+          Expression compiledExpression = compilingExpressionManager.createExpression(expressionText);
+          Expression interpretedExpression = interpretingExpressionManager.createExpression(expressionText);
+
+          // the first evaluation compiles the expression
+          Object expected = interpretedExpression.getValue(variableScope);
+          assertEquals(expressionText, expected, compiledExpression.getValue(variableScope));
+          assertEquals(expressionText, expected, compiledExpression.getValue(variableScope));
+        }
+        return null;
+      }
+    });
+
+    assertEquals(EXPRESSIONS.length, compilingExpressionManager.compiledExpressions.size());
+  }
+
+  public void testUnknownIdentifier() {
+    final CompilingExpressionManager expressionManager = new CompilingExpressionManager();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        Expression expression = expressionManager.createExpression("${unknown > 5}");
+        try {
+          expression.getValue(createVariableScope());
+          fail("exception expected");
+        }
+        catch (ProcessEngineException e) {
+          assertTextPresent("Unknown property used in expression", e.getMessage());
+        }
+        return null;
+      }
+    });
+
+    assertEquals(1, expressionManager.compiledExpressions.size());
+  }
+
+  public void testExpressionWithoutCompilableNodesIsInterpreted() {
+    final CompilingExpressionManager expressionManager = new CompilingExpressionManager();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        Expression expression = expressionManager.createExpression("${s.length()}");
+        assertEquals(4, expression.getValue(createVariableScope()));
+        return null;
+      }
+    });
+
+    assertEquals(0, expressionManager.compiledExpressions.size());
+  }
+
+  protected VariableScope createVariableScope() {
+    ExecutionImpl execution = new ExecutionImpl();
+    execution.setVariable("a", 5);
+    execution.setVariable("b", 7L);
+    execution.setVariable("flag", false);
+    execution.setVariable("list", new ArrayList<String>());
+    execution.setVariable("s", "text");
+    return execution;
+  }
+
+  protected static class CompilingExpressionManager extends ExpressionManager {
+
+    protected List<ValueExpression> compiledExpressions = new ArrayList<ValueExpression>();
+
+    public CompilingExpressionManager() {
+      setExpressionCompiler(new ExpressionCompiler(1));
+    }
+
+    public ValueExpression compile(ValueExpression valueExpression) {
+      ValueExpression result = super.compile(valueExpression);
+      if (result instanceof CompiledValueExpression) {
+        compiledExpressions.add(result);
+      }
+      return result;
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.ExpressionTreeCache;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+
+public class ExpressionTreeCacheTest extends TestCase {
+
+  public void testSharedBetweenExpressionManagers() {
+    ExpressionTreeCache cache = new ExpressionTreeCache(100);
+
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setTreeCache(cache);
+    ExpressionManager otherExpressionManager = new ExpressionManager();
+    otherExpressionManager.setTreeCache(cache);
+
+    expressionManager.createExpression("${a + b}");
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.size());
+
+    otherExpressionManager.createExpression("${a + b}");
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.size());
+    assertEquals(0.5, cache.getHitRate(), 0.001);
+  }
+
+  public void testCapacity() {
+    ExpressionTreeCache cache = new ExpressionTreeCache(4, 16);
+    assertEquals(4, cache.getCapacity());
+
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setTreeCache(cache);
+    for (int i = 0; i < 100; i++) {
+      expressionManager.createExpression("${a + " + i + "}");
+    }
+
+    assertTrue(cache.size() <= 4);
+    assertEquals(100 - cache.size(), cache.getEvictionCount());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  public void testNoLookups() {
+    assertEquals(0.0, new ExpressionTreeCache(10).getHitRate());
+  }
+
+  public void testInvalidCapacity() {
+    try {
+      new ExpressionTreeCache(0);
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  public void testDefaultExpressionManagerUsesCache() {
+    TestConfiguration configuration = new TestConfiguration();
+    configuration.initExpressionManager();
+
+    ExpressionTreeCache cache = configuration.getExpressionTreeCache();
+    assertNotNull(cache);
+
+    configuration.getExpressionManager().createExpression("${a + b}");
+    assertEquals(1, cache.size());
+  }
+
+  public void testDefaultExpressionManagerWithoutCache() {
+    TestConfiguration configuration = new TestConfiguration();
+    configuration.setExpressionCacheSize(0);
+    configuration.initExpressionManager();
+
+    assertNull(configuration.getExpressionTreeCache());
+    // the default expression factory of JUEL is kept
+    assertNotNull(configuration.getExpressionManager().getExpressionFactory());
+    assertNotNull(configuration.getExpressionManager().createExpression("${a + b}"));
+  }
+
+  public void testCustomExpressionManagerKeepsExpressionFactory() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    ExpressionFactory expressionFactory = expressionManager.getExpressionFactory();
+
+    TestConfiguration configuration = new TestConfiguration();
+    configuration.setExpressionManager(expressionManager);
+    configuration.initExpressionManager();
+
+    assertSame(expressionFactory, expressionManager.getExpressionFactory());
+    assertNull(configuration.getExpressionTreeCache());
+  }
+
+  public void testCustomExpressionManagerWithExplicitCache() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    ExpressionFactory expressionFactory = expressionManager.getExpressionFactory();
+    ExpressionTreeCache cache = new ExpressionTreeCache(10);
+
+    TestConfiguration configuration = new TestConfiguration();
+    configuration.setExpressionManager(expressionManager);
+    configuration.setExpressionTreeCache(cache);
+    configuration.initExpressionManager();
+
+    assertNotSame(expressionFactory, expressionManager.getExpressionFactory());
+    expressionManager.createExpression("${a + b}");
+    assertEquals(1, cache.size());
+  }
+
+  protected static class TestConfiguration extends StandaloneInMemProcessEngineConfiguration {
+
+    public void initExpressionManager() {
+      super.initExpressionManager();
+    }
+
+  }
+
+}
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.test.history;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
@@ -30,6 +32,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.Job;
@@ -318,6 +321,152 @@ public class HistoricActivityInstanceTest extends PluggableProcessEngineTestCase
 
     }
   }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryForEach() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    List<HistoricActivityInstance> expected = historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId().asc().list();
+    assertEquals(4, expected.size());
+
+    final List<String> ids = new ArrayList<String>();
+    historyService.createHistoricActivityInstanceQuery()
+      .orderByHistoricActivityInstanceId().asc()
+      .forEach(new QueryResultHandler<HistoricActivityInstance>() {
+        public void handleResult(HistoricActivityInstance result) {
+          ids.add(result.getId());
+        }
+      }, 2);
+
+    assertEquals(4, ids.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getId(), ids.get(i));
+    }
+
+    // the query criteria apply
+    ids.clear();
+    historyService.createHistoricActivityInstanceQuery()
+      .activityId("theTask")
+      .forEach(new QueryResultHandler<HistoricActivityInstance>() {
+        public void handleResult(HistoricActivityInstance result) {
+          ids.add(result.getActivityId());
+        }
+      }, 0);
+
+    assertEquals(2, ids.size());
+    assertEquals("theTask", ids.get(0));
+    assertEquals("theTask", ids.get(1));
+  }
+
+  public void testQueryForEachInvalidParameters() {
+    try {
+      historyService.createHistoricActivityInstanceQuery().forEach(null, 0);
+      fail();
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    try {
+      historyService.createHistoricActivityInstanceQuery().forEach(new QueryResultHandler<HistoricActivityInstance>() {
+        public void handleResult(HistoricActivityInstance result) {
+        }
+      }, -1);
+      fail();
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryCountUpTo() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    HistoricActivityInstanceQuery query = historyService.createHistoricActivityInstanceQuery();
+
+    assertEquals(4, query.countUpTo(4));
+    assertEquals(6, query.countUpTo(6));
+    assertEquals(6, query.countUpTo(1000));
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().activityId("theTask").countUpTo(2));
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().activityId("theTask").countUpTo(1000));
+
+    // the count is exact again afterwards
+    assertEquals(6, query.count());
+
+    try {
+      query.countUpTo(0);
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("maxCount must be positive", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryPagingWithContinuationToken() {
+    // given activity instances which partly share their start time
+    Date startTime = new Date();
+    for (int i = 0; i < 4; i++) {
+      ClockUtil.setCurrentTime(new Date(startTime.getTime() + i * 1000));
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    ClockUtil.reset();
+
+    List<HistoricActivityInstance> expectedInstances = historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceStartTime().asc()
+        .orderByHistoricActivityInstanceId().asc()
+        .list();
+    assertEquals(8, expectedInstances.size());
+
+    // when the activity instances are selected page by page
+    List<HistoricActivityInstance> instances = new ArrayList<HistoricActivityInstance>();
+    String continuationToken = null;
+    List<HistoricActivityInstance> page;
+    do {
+      HistoricActivityInstanceQuery query = historyService.createHistoricActivityInstanceQuery()
+          .orderByHistoricActivityInstanceStartTime().asc()
+          .orderByHistoricActivityInstanceId().asc();
+      if (continuationToken != null) {
+        query.continueAfter(continuationToken);
+      }
+
+      page = query.listPage(0, 3);
+      instances.addAll(page);
+      if (!page.isEmpty()) {
+        continuationToken = query.createContinuationToken(page.get(page.size() - 1));
+      }
+    } while (page.size() == 3);
+
+    // then each activity instance is selected once in the order of the query
+    assertEquals(8, instances.size());
+    for (int i = 0; i < expectedInstances.size(); i++) {
+      assertEquals(expectedInstances.get(i).getId(), instances.get(i).getId());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testContinuationTokenOfOtherOrdering() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    HistoricActivityInstanceQuery query = historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId().asc();
+    String continuationToken = query.createContinuationToken(query.listPage(0, 1).get(0));
+
+    try {
+      historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceStartTime().asc()
+        .orderByHistoricActivityInstanceId().asc()
+        .continueAfter(continuationToken)
+        .list();
+      fail("expected exception");
+    } catch (NotValidException e) {
+      assertTextPresent("does not match the ordering of the query", e.getMessage());
+    }
+  }
+
   @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
   public void testHistoricActivityInstanceQueryStartFinishAfterBefore() {
     Calendar startTime = Calendar.getInstance();
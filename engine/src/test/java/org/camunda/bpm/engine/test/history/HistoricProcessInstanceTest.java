@@ -26,9 +26,16 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
@@ -841,4 +848,166 @@ public class HistoricProcessInstanceTest extends PluggableProcessEngineTestCase
     assertEquals(key, instance.getProcessDefinitionKey());
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryPagingWithContinuationToken() {
+    // given instances which partly share their start time
+    Date startTime = new Date();
+    for (int i = 0; i < 7; i++) {
+      ClockUtil.setCurrentTime(new Date(startTime.getTime() + (i / 2) * 1000));
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    ClockUtil.reset();
+
+    List<HistoricProcessInstance> expectedInstances = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().desc()
+        .orderByProcessInstanceId().asc()
+        .list();
+
+    // when the instances are selected page by page
+    List<HistoricProcessInstance> instances = new ArrayList<HistoricProcessInstance>();
+    String continuationToken = null;
+    List<HistoricProcessInstance> page;
+    do {
+      HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery()
+          .orderByProcessInstanceStartTime().desc()
+          .orderByProcessInstanceId().asc();
+      if (continuationToken != null) {
+        query.continueAfter(continuationToken);
+      }
+
+      page = query.listPage(0, 3);
+      instances.addAll(page);
+      if (!page.isEmpty()) {
+        continuationToken = query.createContinuationToken(page.get(page.size() - 1));
+      }
+    } while (page.size() == 3);
+
+    // then each instance is selected once in the order of the query
+    assertEquals(7, instances.size());
+    for (int i = 0; i < expectedInstances.size(); i++) {
+      assertEquals(expectedInstances.get(i).getId(), instances.get(i).getId());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryPagingWithContinuationTokenAndDefaultOrdering() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    List<HistoricProcessInstance> firstPage = historyService.createHistoricProcessInstanceQuery().listPage(0, 2);
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery();
+    String continuationToken = query.createContinuationToken(firstPage.get(1));
+
+    List<HistoricProcessInstance> secondPage = query.continueAfter(continuationToken).listPage(0, 2);
+
+    assertEquals(historyService.createHistoricProcessInstanceQuery().listPage(2, 1).get(0).getId(), secondPage.get(0).getId());
+    assertEquals(3, query.count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testContinuationTokenRequiresOrderingById() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().asc();
+    HistoricProcessInstance instance = query.singleResult();
+
+    try {
+      query.createContinuationToken(instance);
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("ordered by id last", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testContinuationTokenWithNullOrderingValue() {
+    // the instance is not finished, so its end time is null
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceEndTime().asc()
+        .orderByProcessInstanceId().asc();
+
+    try {
+      query.createContinuationToken(query.singleResult());
+      fail("expected exception");
+    }
+    catch (NotValidException e) {
+      assertTextPresent("is null", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryForEach() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    List<HistoricProcessInstance> expected = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc().list();
+
+    final List<String> ids = new ArrayList<String>();
+    historyService.createHistoricProcessInstanceQuery()
+      .orderByProcessInstanceId().asc()
+      .forEach(new QueryResultHandler<HistoricProcessInstance>() {
+        public void handleResult(HistoricProcessInstance result) {
+          ids.add(result.getId());
+        }
+      }, 2);
+
+    assertEquals(3, ids.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getId(), ids.get(i));
+    }
+
+    // the query criteria apply
+    ids.clear();
+    historyService.createHistoricProcessInstanceQuery()
+      .processInstanceId(expected.get(1).getId())
+      .forEach(new QueryResultHandler<HistoricProcessInstance>() {
+        public void handleResult(HistoricProcessInstance result) {
+          ids.add(result.getId());
+        }
+      }, 0);
+
+    assertEquals(1, ids.size());
+    assertEquals(expected.get(1).getId(), ids.get(0));
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testQueryForEachBypassesEntityCache() {
+    final String cachedInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+        HistoricProcessInstanceEntity cachedInstance = commandContext.getHistoricProcessInstanceManager()
+          .findHistoricProcessInstance(cachedInstanceId);
+
+        final List<HistoricProcessInstance> instances = new ArrayList<HistoricProcessInstance>();
+        new HistoricProcessInstanceQueryImpl().forEach(new QueryResultHandler<HistoricProcessInstance>() {
+          public void handleResult(HistoricProcessInstance result) {
+            instances.add(result);
+          }
+        }, 0);
+
+        assertEquals(2, instances.size());
+        for (HistoricProcessInstance instance : instances) {
+          if (cachedInstanceId.equals(instance.getId())) {
+            // the cached entity is passed instead of the loaded copy
+            assertSame(cachedInstance, instance);
+          }
+          else {
+            // the streamed entity is not added to the cache
+            assertFalse(dbEntityCache.contains((DbEntity) instance));
+            assertNull(dbEntityCache.get(HistoricProcessInstanceEntity.class, instance.getId()));
+          }
+        }
+
+        return null;
+      }
+    });
+  }
+
 }
@@ -0,0 +1,223 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.camunda.bpm.container.impl.jmx.services.JmxManagedProcessEngine;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.StatementMetrics;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.query.QueryResultHandler;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class StatementMetricsTest extends PluggableProcessEngineTestCase {
+
+  protected MetricsRegistry metricsRegistry;
+
+  protected void setUp() throws Exception {
+    deployment(Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .userTask()
+      .endEvent()
+    .done());
+
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    metricsRegistry.clearStatementMetrics();
+    metricsRegistry.setStatementMetricsEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    metricsRegistry.setStatementMetricsEnabled(false);
+    metricsRegistry.clearStatementMetrics();
+  }
+
+  public void testSelectStatementMetrics() {
+    // given
+    runtimeService.startProcessInstanceByKey("testProcess");
+    runtimeService.startProcessInstanceByKey("testProcess");
+    metricsRegistry.clearStatementMetrics();
+
+    // when
+    taskService.createTaskQuery().list();
+
+    // then
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("selectTaskByQueryCriteria");
+    assertNotNull(metrics);
+    assertEquals(1, metrics.getCalls());
+    assertEquals(2, metrics.getRows());
+    assertTrue(metrics.getTotalTimeNanos() >= metrics.getMaxTimeNanos());
+    assertEquals(1, sum(metrics.getHistogram()));
+  }
+
+  public void testInsertStatementMetrics() {
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    // then
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("insertTask");
+    assertNotNull(metrics);
+    assertEquals(2, metrics.getCalls());
+    assertEquals(2, metrics.getRows());
+    assertEquals(2, sum(metrics.getHistogram()));
+  }
+
+  public void testUpdateStatementMetrics() {
+    // given
+    runtimeService.startProcessInstanceByKey("testProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    metricsRegistry.clearStatementMetrics();
+
+    // when
+    taskService.setAssignee(task.getId(), "demo");
+
+    // then
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("updateTask");
+    assertNotNull(metrics);
+    assertEquals(1, metrics.getCalls());
+    assertEquals(0, metrics.getErrors());
+    assertEquals(1, metrics.getRows());
+  }
+
+  public void testDeleteStatementMetrics() {
+    // given
+    runtimeService.startProcessInstanceByKey("testProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    metricsRegistry.clearStatementMetrics();
+
+    // when
+    taskService.complete(task.getId());
+
+    // then
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("deleteTask");
+    assertNotNull(metrics);
+    assertEquals(1, metrics.getCalls());
+    assertEquals(1, metrics.getRows());
+  }
+
+  public void testSelectStreamingStatementMetrics() {
+    // given
+    runtimeService.startProcessInstanceByKey("testProcess");
+    metricsRegistry.clearStatementMetrics();
+
+    // when
+    final int[] results = new int[1];
+    historyService.createHistoricActivityInstanceQuery().forEach(new QueryResultHandler<HistoricActivityInstance>() {
+      public void handleResult(HistoricActivityInstance result) {
+        results[0]++;
+      }
+    }, 0);
+
+    // then the rows are counted while they are streamed
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("selectHistoricActivityInstancesByQueryCriteria");
+    assertNotNull(metrics);
+    assertEquals(1, metrics.getCalls());
+    assertEquals(results[0], metrics.getRows());
+  }
+
+  public void testFailedStatementMetrics() {
+    // when
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getDbSqlSession().selectList("nonExistingStatement", null);
+          return null;
+        }
+      });
+      fail("exception expected");
+    } catch (RuntimeException e) {
+      // expected
+    }
+
+    // then the failed execution is recorded
+    StatementMetrics metrics = metricsRegistry.getStatementMetricsByName("nonExistingStatement");
+    assertNotNull(metrics);
+    assertEquals(1, metrics.getCalls());
+    assertEquals(1, metrics.getErrors());
+    assertEquals(0, metrics.getRows());
+    assertEquals(1, sum(metrics.getHistogram()));
+  }
+
+  public void testJmxStatementMetrics() throws Exception {
+    // given
+    runtimeService.startProcessInstanceByKey("testProcess");
+    runtimeService.startProcessInstanceByKey("testProcess");
+    metricsRegistry.clearStatementMetrics();
+    taskService.createTaskQuery().list();
+
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectName = new ObjectName("org.camunda.bpm.platform:type=process-engines,name=statementMetricsTest");
+    mBeanServer.registerMBean(new JmxManagedProcessEngine(processEngine), objectName);
+
+    try {
+      // when
+      TabularData statementMetrics = (TabularData) mBeanServer.getAttribute(objectName, "StatementMetrics");
+
+      // then
+      CompositeData metrics = statementMetrics.get(new Object[] { "selectTaskByQueryCriteria" });
+      assertNotNull(metrics);
+      assertEquals(1L, metrics.get("calls"));
+      assertEquals(0L, metrics.get("errors"));
+      assertEquals(2L, metrics.get("rows"));
+      assertTrue((Double) metrics.get("callsPerSecond") > 0);
+      assertTrue((Double) metrics.get("totalTimeMillis") >= (Double) metrics.get("maxTimeMillis"));
+      assertEquals(1, sum((long[]) metrics.get("histogram")));
+
+      // and the metrics can be cleared
+      mBeanServer.invoke(objectName, "clearStatementMetrics", null, null);
+      statementMetrics = (TabularData) mBeanServer.getAttribute(objectName, "StatementMetrics");
+      assertTrue(statementMetrics.isEmpty());
+    }
+    finally {
+      mBeanServer.unregisterMBean(objectName);
+    }
+  }
+
+  public void testDisableStatementMetrics() {
+    // given
+    metricsRegistry.setStatementMetricsEnabled(false);
+
+    // when
+    runtimeService.startProcessInstanceByKey("testProcess");
+    taskService.createTaskQuery().list();
+
+    // then
+    assertTrue(metricsRegistry.getStatementMetrics().isEmpty());
+
+    // and when the metrics are enabled again
+    metricsRegistry.setStatementMetricsEnabled(true);
+    taskService.createTaskQuery().list();
+
+    // then
+    assertEquals(1, metricsRegistry.getStatementMetricsByName("selectTaskByQueryCriteria").getCalls());
+  }
+
+  protected long sum(long[] counts) {
+    long sum = 0;
+    for (long count : counts) {
+      sum += count;
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class ParallelDeploymentParseTest extends ResourceProcessEngineTestCase {
+
+  protected static final int NUMBER_OF_PROCESSES = 20;
+
+  public ParallelDeploymentParseTest() {
+    super("org/camunda/bpm/engine/test/standalone/deploy/parallel.deployment.parse.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  public void testDeployBpmnAndCmmnResources() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", Bpmn.createExecutableProcess("process" + i).startEvent().userTask().endEvent().done());
+    }
+    deploymentBuilder
+      .addClasspathResource("org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn")
+      .addClasspathResource("org/camunda/bpm/engine/test/api/cmmn/oneTaskCase2.cmmn");
+
+    String deploymentId = deploymentBuilder.deploy().getId();
+
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+    assertEquals(NUMBER_OF_PROCESSES, processDefinitions.size());
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      assertEquals(1, processDefinition.getVersion());
+      assertEquals(processDefinition.getKey() + ".bpmn", processDefinition.getResourceName());
+    }
+    assertEquals(2, repositoryService.createCaseDefinitionQuery().count());
+
+    // the parsed definitions are executable
+    runtimeService.startProcessInstanceByKey("process7");
+    assertEquals(1, taskService.createTaskQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId, true);
+  }
+
+  public void testParseErrorFailsDeployment() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", Bpmn.createExecutableProcess("process" + i).startEvent().endEvent().done());
+    }
+    deploymentBuilder.addString("invalid.bpmn", "<definitions");
+
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("invalid.bpmn", e.getMessage());
+    }
+
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+    assertEquals(0, repositoryService.createProcessDefinitionQuery().count());
+  }
+
+  public void testResultsInOrderOfTasks() {
+    DeploymentParseExecutor executor = processEngineConfiguration.getDeploymentParseExecutor();
+    assertEquals(4, executor.getThreads());
+
+    List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+    for (int i = 0; i < 50; i++) {
+      final int number = i;
+      tasks.add(new Callable<Integer>() {
+        public Integer call() throws Exception {
+          // finish later tasks first
+          Thread.sleep(50 - number);
+          return number;
+        }
+      });
+    }
+
+    List<Integer> results = executor.executeAll(tasks);
+
+    assertEquals(50, results.size());
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i, results.get(i).intValue());
+    }
+  }
+
+}
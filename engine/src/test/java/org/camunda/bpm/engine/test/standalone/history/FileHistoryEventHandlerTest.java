@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.FileHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventFileReader;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventFileWriter;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+
+public class FileHistoryEventHandlerTest extends TestCase {
+
+  protected File directory;
+
+  protected void setUp() throws Exception {
+    directory = File.createTempFile("history-events", "");
+    directory.delete();
+  }
+
+  protected void tearDown() throws Exception {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  public void testWriteAndReadEvents() {
+    FileHistoryEventHandler handler = new FileHistoryEventHandler(directory.getAbsolutePath());
+
+    handler.handleEvent(createEvent("act1", HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName()));
+    handler.handleEvent(createEvent("act1", HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName()));
+    handler.close();
+
+    List<HistoryEvent> events = readAll("history");
+    assertEquals(2, events.size());
+
+    assertEquals("act1", events.get(0).getId());
+    assertEquals(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName(), events.get(0).getEventType());
+    assertEquals("act1", events.get(1).getId());
+    assertEquals(HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName(), events.get(1).getEventType());
+  }
+
+  public void testRollFiles() {
+    FileHistoryEventHandler handler = new FileHistoryEventHandler(directory.getAbsolutePath());
+    handler.setFilePrefix("rolling");
+    handler.setMaxFileSize(1);
+
+    for (int i = 0; i < 3; i++) {
+      handler.handleEvent(createEvent("act" + i, HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName()));
+    }
+    handler.close();
+
+    // every file holds a single event
+    assertEquals(3, HistoryEventFileReader.listFiles(directory, "rolling").length);
+
+    List<HistoryEvent> events = readAll("rolling");
+    assertEquals(3, events.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("act" + i, events.get(i).getId());
+    }
+  }
+
+  public void testIgnoreTruncatedRecord() throws IOException {
+    FileHistoryEventHandler handler = new FileHistoryEventHandler(directory.getAbsolutePath());
+    handler.handleEvent(createEvent("act1", HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName()));
+    handler.handleEvent(createEvent("act2", HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName()));
+    handler.close();
+
+    // cut off the end of the second record
+    File file = HistoryEventFileReader.listFiles(directory, "history")[0];
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(file.length() - 10);
+    } finally {
+      randomAccessFile.close();
+    }
+
+    List<HistoryEvent> events = readAll("history");
+    assertEquals(1, events.size());
+    assertEquals("act1", events.get(0).getId());
+  }
+
+  public void testIgnoreTruncatedRecordLength() throws IOException {
+    writeFile(HistoryEventFileWriter.FILE_MAGIC);
+
+    // a record length of two bytes only
+    FileOutputStream out = new FileOutputStream(HistoryEventFileReader.listFiles(directory, "history")[0], true);
+    try {
+      out.write(new byte[] {0, 1});
+    } finally {
+      out.close();
+    }
+
+    assertTrue(readAll("history").isEmpty());
+  }
+
+  public void testIgnoreRecordLengthExceedingFile() throws IOException {
+    // must not allocate the announced length
+    writeFile(HistoryEventFileWriter.FILE_MAGIC, Integer.MAX_VALUE);
+
+    assertTrue(readAll("history").isEmpty());
+  }
+
+  public void testFailOnInvalidRecordLength() throws IOException {
+    writeFile(HistoryEventFileWriter.FILE_MAGIC, -1);
+
+    try {
+      readAll("history");
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("invalid length -1"));
+    }
+  }
+
+  public void testFailOnInvalidFile() throws IOException {
+    writeFile(42);
+
+    try {
+      readAll("history");
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("is not a history event file"));
+    }
+  }
+
+  public void testCompositeHandler() {
+    RecordingHistoryEventHandler recordingHandler = new RecordingHistoryEventHandler();
+    FileHistoryEventHandler fileHandler = new FileHistoryEventHandler(directory.getAbsolutePath());
+    CompositeHistoryEventHandler compositeHandler = new CompositeHistoryEventHandler(recordingHandler, fileHandler);
+
+    HistoryEvent startEvent = createEvent("act1", HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName());
+    HistoryEvent endEvent = createEvent("act1", HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName());
+    compositeHandler.handleEvents(Arrays.asList(startEvent, endEvent));
+    fileHandler.close();
+
+    // both handlers receive the events in order
+    assertEquals(Arrays.asList(startEvent, endEvent), recordingHandler.events);
+
+    List<HistoryEvent> events = readAll("history");
+    assertEquals(2, events.size());
+    assertEquals(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName(), events.get(0).getEventType());
+    assertEquals(HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName(), events.get(1).getEventType());
+  }
+
+  public void testCompositeHandlerWithNullHandler() {
+    CompositeHistoryEventHandler compositeHandler = new CompositeHistoryEventHandler();
+
+    try {
+      compositeHandler.add(null);
+      fail("NullValueException expected");
+    } catch (NullValueException e) {
+      // expected
+    }
+  }
+
+  protected void writeFile(int... values) throws IOException {
+    directory.mkdirs();
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(new File(directory, "history-0000000000000-000000" + HistoryEventFileWriter.FILE_SUFFIX)));
+    try {
+      for (int value : values) {
+        out.writeInt(value);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  protected HistoryEvent createEvent(String id, String eventType) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setId(id);
+    event.setEventType(eventType);
+    event.setActivityId("theActivity");
+    return event;
+  }
+
+  protected List<HistoryEvent> readAll(String filePrefix) {
+    List<HistoryEvent> events = new ArrayList<HistoryEvent>();
+    for (File file : HistoryEventFileReader.listFiles(directory, filePrefix)) {
+      HistoryEventFileReader reader = new HistoryEventFileReader(file);
+      try {
+        HistoryEvent event;
+        while ((event = reader.read()) != null) {
+          events.add(event);
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    return events;
+  }
+
+  protected static class RecordingHistoryEventHandler implements HistoryEventHandler {
+
+    protected List<HistoryEvent> events = new ArrayList<HistoryEvent>();
+
+    public void handleEvent(HistoryEvent historyEvent) {
+      events.add(historyEvent);
+    }
+
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+      events.addAll(historyEvents);
+    }
+  }
+
+}
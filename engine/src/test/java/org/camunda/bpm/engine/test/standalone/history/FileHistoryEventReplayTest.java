@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.io.File;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.FileHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventFileReader;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventFileReplayer;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class FileHistoryEventReplayTest extends ResourceProcessEngineTestCase {
+
+  protected File directory;
+  protected HistoryEventHandler originalHistoryEventHandler;
+  protected FileHistoryEventHandler fileHistoryEventHandler;
+
+  public FileHistoryEventReplayTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/fullhistory.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  protected void setUp() throws Exception {
+    directory = File.createTempFile("history-events", "");
+    directory.delete();
+
+    fileHistoryEventHandler = new FileHistoryEventHandler(directory.getAbsolutePath());
+    originalHistoryEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    processEngineConfiguration.setHistoryEventHandler(new CompositeHistoryEventHandler(new DbHistoryEventHandler(), fileHistoryEventHandler));
+
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+    .done(),
+    Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask()
+        .camundaClass("org.camunda.bpm.engine.test.UnknownDelegate")
+      .endEvent()
+    .done());
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setHistoryEventHandler(originalHistoryEventHandler);
+    fileHistoryEventHandler.close();
+
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  public void testWriteEventsOfCommittedTransactionsOnly() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    try {
+      runtimeService.startProcessInstanceByKey("failingProcess");
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+    fileHistoryEventHandler.close();
+
+    // then the events of the rolled back transaction are not written
+    File[] files = HistoryEventFileReader.listFiles(directory, "history");
+    assertEquals(1, files.length);
+
+    HistoryEventFileReader reader = new HistoryEventFileReader(files[0]);
+    int count = 0;
+    try {
+      HistoryEvent historyEvent;
+      while ((historyEvent = reader.read()) != null) {
+        assertEquals(processInstance.getId(), historyEvent.getProcessInstanceId());
+        count++;
+      }
+    } finally {
+      reader.close();
+    }
+    assertTrue(count > 0);
+  }
+
+  public void testReplayEvents() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    fileHistoryEventHandler.close();
+
+    long activityInstanceCount = historyService.createHistoricActivityInstanceQuery().count();
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+
+    // when
+    HistoryEventFileReplayer replayer = new HistoryEventFileReplayer(processEngineConfiguration.getCommandExecutorTxRequired());
+    replayer.setBatchSize(2);
+    long replayed = replayer.replay(directory, "history");
+
+    // then
+    assertTrue(replayed > 0);
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertEquals(processInstance.getId(), historicProcessInstance.getId());
+    assertNotNull(historicProcessInstance.getEndTime());
+
+    assertEquals(activityInstanceCount, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(activityInstanceCount, historyService.createHistoricActivityInstanceQuery().finished().count());
+    assertNotNull(historyService.createHistoricTaskInstanceQuery().taskId(task.getId()).singleResult().getEndTime());
+  }
+
+}
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricActivityStatistics;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class HistoricActivityStatisticsCounterTest extends ResourceProcessEngineTestCase {
+
+  protected static final String SINGLE_TASK_PROCESS = "org/camunda/bpm/engine/test/history/HistoricActivityStatisticsQueryTest.testSingleTask.bpmn20.xml";
+
+  public HistoricActivityStatisticsCounterTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/historicactivitystatisticscounter.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testRunningInstances() {
+    startProcesses(5);
+
+    List<HistoricActivityStatistics> statistics = historyService
+        .createHistoricActivityStatisticsQuery(getProcessDefinitionId())
+        .list();
+
+    assertEquals(1, statistics.size());
+    assertEquals("task", statistics.get(0).getId());
+    assertEquals(5, statistics.get(0).getInstances());
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testFinishedAndCanceledInstances() {
+    startProcesses(3);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+
+    completeTasks();
+
+    List<HistoricActivityStatistics> statistics = historyService
+        .createHistoricActivityStatisticsQuery(getProcessDefinitionId())
+        .includeFinished()
+        .includeCanceled()
+        .includeCompleteScope()
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    assertEquals(3, statistics.size());
+
+    assertStatistics(statistics.get(0), "end", 0, 3, 0, 3);
+    assertStatistics(statistics.get(1), "start", 0, 4, 0, 0);
+    assertStatistics(statistics.get(2), "task", 0, 4, 1, 0);
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testDeleteHistoricProcessInstance() {
+    startProcesses(2);
+    completeTasks();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().list().get(0);
+    historyService.deleteHistoricProcessInstance(historicProcessInstance.getId());
+
+    List<HistoricActivityStatistics> statistics = historyService
+        .createHistoricActivityStatisticsQuery(getProcessDefinitionId())
+        .includeFinished()
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    assertEquals(3, statistics.size());
+    for (HistoricActivityStatistics activityStatistics : statistics) {
+      assertEquals(1, activityStatistics.getFinished());
+    }
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testRebuildCounters() {
+    startProcesses(2);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        // simulate counters which are out of sync
+        commandContext.getHistoricStatisticsManager().updateHistoricActivityStatisticsCounter(getProcessDefinitionId(), "task", 10, 10, 0, 0);
+        return null;
+      }
+    });
+
+    managementService.rebuildHistoricActivityStatistics();
+
+    List<HistoricActivityStatistics> statistics = historyService
+        .createHistoricActivityStatisticsQuery(getProcessDefinitionId())
+        .includeFinished()
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    assertEquals(2, statistics.size());
+    assertStatistics(statistics.get(0), "start", 0, 2, 0, 0);
+    assertStatistics(statistics.get(1), "task", 2, 0, 0, 0);
+  }
+
+  @Deployment(resources = SINGLE_TASK_PROCESS)
+  public void testMissingCountersAreCreated() {
+    startProcesses(2);
+    final String processDefinitionId = getProcessDefinitionId();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        // simulate a process definition deployed before the counters were enabled
+        commandContext.getHistoricStatisticsManager().deleteHistoricActivityStatisticsCountersByProcessDefinitionId(processDefinitionId);
+        return null;
+      }
+    });
+
+    completeTasks();
+
+    List<HistoricActivityStatistics> statistics = historyService
+        .createHistoricActivityStatisticsQuery(processDefinitionId)
+        .includeFinished()
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    // the counters only contain the history since they have been created
+    assertEquals(2, statistics.size());
+    assertStatistics(statistics.get(0), "end", 0, 2, 0, 0);
+    assertStatistics(statistics.get(1), "task", -2, 2, 0, 0);
+
+    managementService.rebuildHistoricActivityStatistics(processDefinitionId);
+
+    statistics = historyService
+        .createHistoricActivityStatisticsQuery(processDefinitionId)
+        .includeFinished()
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    assertEquals(3, statistics.size());
+    assertStatistics(statistics.get(0), "end", 0, 2, 0, 0);
+    assertStatistics(statistics.get(1), "start", 0, 2, 0, 0);
+    assertStatistics(statistics.get(2), "task", 0, 2, 0, 0);
+  }
+
+  public void testDeleteDeploymentDeletesCounters() {
+    String deploymentId = repositoryService.createDeployment().addClasspathResource(SINGLE_TASK_PROCESS).deploy().getId();
+    final String processDefinitionId = getProcessDefinitionId();
+    startProcesses(2);
+
+    repositoryService.deleteDeployment(deploymentId, true);
+
+    List<?> counters = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<?>>() {
+      public List<?> execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectList("selectHistoricActivityStatisticsCountersByProcessDefinitionId", processDefinitionId);
+      }
+    });
+    assertTrue(counters.isEmpty());
+  }
+
+  protected void assertStatistics(HistoricActivityStatistics statistics, String activityId, long instances, long finished, long canceled, long completeScope) {
+    assertEquals(activityId, statistics.getId());
+    assertEquals(instances, statistics.getInstances());
+    assertEquals(finished, statistics.getFinished());
+    assertEquals(canceled, statistics.getCanceled());
+    assertEquals(completeScope, statistics.getCompleteScope());
+  }
+
+  protected void startProcesses(int numberOfInstances) {
+    for (int i = 0; i < numberOfInstances; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  protected void completeTasks() {
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+  }
+
+  protected String getProcessDefinitionId() {
+    return repositoryService.createProcessDefinitionQuery().processDefinitionKey("process").singleResult().getId();
+  }
+
+}
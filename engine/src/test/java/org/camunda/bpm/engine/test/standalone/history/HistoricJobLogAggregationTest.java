@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricJobLogAggregate;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class HistoricJobLogAggregationTest extends ResourceProcessEngineTestCase {
+
+  protected static final String ASYNC_PROCESS = "org/camunda/bpm/engine/test/history/HistoricJobLogTest.testAsyncContinuation.bpmn20.xml";
+
+  public HistoricJobLogAggregationTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/historicjoblogaggregation.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testAggregateSuccessfulJobs() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", false));
+    }
+    executeAvailableJobs();
+
+    // neither created nor successful jobs are logged
+    assertEquals(0, historyService.createHistoricJobLogQuery().count());
+
+    processEngineConfiguration.getHistoricJobLogAggregator().writeNow();
+
+    List<JobDefinition> jobDefinitions = managementService.createJobDefinitionQuery().list();
+    assertEquals(2, jobDefinitions.size());
+
+    for (JobDefinition jobDefinition : jobDefinitions) {
+      HistoricJobLogAggregate aggregate = historyService
+          .createHistoricJobLogAggregateQuery()
+          .jobDefinitionId(jobDefinition.getId())
+          .singleResult();
+
+      assertNotNull(aggregate);
+      assertEquals(jobDefinition.getJobType(), aggregate.getJobDefinitionType());
+      assertEquals(jobDefinition.getProcessDefinitionId(), aggregate.getProcessDefinitionId());
+      assertEquals("process", aggregate.getProcessDefinitionKey());
+      assertEquals(3, aggregate.getCreatedCount());
+      assertEquals(3, aggregate.getSuccessfulCount());
+      assertNotNull(aggregate.getStartTime());
+      assertNotNull(aggregate.getEndTime());
+    }
+  }
+
+  public void testConfigureAggregationInterval() {
+    assertEquals(3600, processEngineConfiguration.getHistoricJobLogAggregationIntervalInSeconds());
+    assertEquals(3600, processEngineConfiguration.getHistoricJobLogAggregator().getAggregationIntervalInSeconds());
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testLogFailedJobs() {
+    runtimeService.startProcessInstanceByKey("process");
+
+    Job job = managementService.createJobQuery().singleResult();
+    try {
+      managementService.executeJob(job.getId());
+      fail();
+    } catch (Exception e) {
+      // expected
+    }
+
+    assertEquals(1, historyService.createHistoricJobLogQuery().failureLog().count());
+    assertEquals(0, historyService.createHistoricJobLogQuery().creationLog().count());
+
+    processEngineConfiguration.getHistoricJobLogAggregator().writeNow();
+
+    HistoricJobLogAggregate aggregate = historyService
+        .createHistoricJobLogAggregateQuery()
+        .jobDefinitionId(job.getJobDefinitionId())
+        .singleResult();
+
+    assertEquals(1, aggregate.getCreatedCount());
+    assertEquals(0, aggregate.getSuccessfulCount());
+  }
+
+  @Deployment(resources = ASYNC_PROCESS)
+  public void testSampledJobLog() {
+    processEngineConfiguration
+      .setHistoricJobLogMode(ProcessEngineConfiguration.HISTORIC_JOB_LOG_MODE_SAMPLED)
+      .setHistoricJobLogSamplingRate(1);
+
+    try {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", false));
+      executeAvailableJobs();
+
+      // every job is part of the sample
+      assertEquals(2, historyService.createHistoricJobLogQuery().creationLog().count());
+      assertEquals(2, historyService.createHistoricJobLogQuery().successLog().count());
+    }
+    finally {
+      processEngineConfiguration.setHistoricJobLogMode(ProcessEngineConfiguration.HISTORIC_JOB_LOG_MODE_AGGREGATED);
+    }
+  }
+
+}
@@ -12,13 +12,20 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.engine.ScriptEvaluationException;
+import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.DynamicSourceExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.engine.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineFactory;
 
 /**
  * @author Stefan Hentschel.
@@ -28,6 +35,8 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
   protected static final String SCRIPT_LANGUAGE = "groovy";
   protected static final String EXAMPLE_SCRIPT = "println 'hello world'";
 
+  protected static final String SINGLE_THREADED_LANGUAGE = "single-threaded-groovy";
+
   protected ScriptFactory scriptFactory;
 
   public void setUp() {
@@ -101,6 +110,124 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
     assertNotNull(script.getCompiledScript());
   }
 
+  public void testCompiledScriptIsShared() {
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+    SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+
+    executeScript(script);
+    executeScript(otherScript);
+
+    // the script is compiled only once
+    assertNotNull(script.getCompiledScript());
+    assertSame(script.getCompiledScript(), otherScript.getCompiledScript());
+  }
+
+  public void testDynamicScriptIsCompiledOnce() {
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    compiledScriptCache.clear();
+
+    Expression scriptExpression = processEngineConfiguration.getExpressionManager().createExpression(EXAMPLE_SCRIPT);
+    ExecutableScript script = new DynamicSourceExecutableScript(SCRIPT_LANGUAGE, scriptExpression);
+
+    long hits = compiledScriptCache.getHitCount();
+    executeScript(script);
+    assertEquals(1, compiledScriptCache.size());
+    assertEquals(hits, compiledScriptCache.getHitCount());
+
+    executeScript(script);
+    assertEquals(1, compiledScriptCache.size());
+    assertEquals(hits + 1, compiledScriptCache.getHitCount());
+  }
+
+  public void testDynamicScriptOfNotThreadSafeEngineIsNotCached() {
+    processEngineConfiguration.getScriptingEngines().addScriptEngineFactory(new SingleThreadedGroovyScriptEngineFactory());
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    compiledScriptCache.clear();
+
+    Expression scriptExpression = processEngineConfiguration.getExpressionManager().createExpression(EXAMPLE_SCRIPT);
+    ExecutableScript script = new DynamicSourceExecutableScript(SINGLE_THREADED_LANGUAGE, scriptExpression);
+
+    executeScript(script);
+    executeScript(script);
+
+    // the script is evaluated from source by a new engine on each execution
+    assertEquals(0, compiledScriptCache.size());
+  }
+
+  public void testCompiledScriptOfNotThreadSafeEngineIsNotCached() {
+    processEngineConfiguration.getScriptingEngines().addScriptEngineFactory(new SingleThreadedGroovyScriptEngineFactory());
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    compiledScriptCache.clear();
+
+    SourceExecutableScript script = createScript(SINGLE_THREADED_LANGUAGE, EXAMPLE_SCRIPT);
+    executeScript(script);
+
+    // the script is compiled for the script task but not shared engine-wide
+    assertNotNull(script.getCompiledScript());
+    assertEquals(0, compiledScriptCache.size());
+  }
+
+  public void testCompiledScriptCacheScopes() {
+    CompiledScriptCache compiledScriptCache = new CompiledScriptCache(2);
+    CompiledScript compiledScript = processEngineConfiguration.getScriptingEngines().compile(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+
+    compiledScriptCache.put(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.put("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    assertSame(compiledScript, compiledScriptCache.get(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertNull(compiledScriptCache.get("app", "javascript", EXAMPLE_SCRIPT));
+    assertNull(compiledScriptCache.get("app", SCRIPT_LANGUAGE, "println 'bye'"));
+
+    // the scripts of a process application are removed on undeployment
+    compiledScriptCache.removeScope("app");
+    assertNull(compiledScriptCache.get("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+
+    // the least recently used script of a scope is evicted
+    compiledScriptCache.put("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.put("app", SCRIPT_LANGUAGE, "println 'bye'", compiledScript);
+    compiledScriptCache.put("app", SCRIPT_LANGUAGE, "println 'again'", compiledScript);
+    assertEquals(3, compiledScriptCache.size());
+    assertEquals(1, compiledScriptCache.getEvictionCount());
+    assertNull(compiledScriptCache.get("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+  }
+
+  public void testRemoveScopeMatchesExactScope() {
+    CompiledScriptCache compiledScriptCache = new CompiledScriptCache(10);
+    CompiledScript compiledScript = processEngineConfiguration.getScriptingEngines().compile(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+
+    compiledScriptCache.put("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.put("app|groovy", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.put("app|", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+
+    // removing a scope keeps the scopes which start with its name
+    compiledScriptCache.removeScope("app");
+    assertNull(compiledScriptCache.get("app", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get("app|groovy", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get("app|", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+
+    // and the null scope is distinct from an empty scope name
+    compiledScriptCache.put(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.put("", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, compiledScript);
+    compiledScriptCache.removeScope(null);
+    assertNull(compiledScriptCache.get(null, SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+    assertSame(compiledScript, compiledScriptCache.get("", SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+  }
+
+  public void testDynamicScriptSyntaxErrorIsEvaluationError() {
+    Expression scriptExpression = processEngineConfiguration.getExpressionManager().createExpression("println 'hello");
+    ExecutableScript script = new DynamicSourceExecutableScript(SCRIPT_LANGUAGE, scriptExpression);
+
+    try {
+      executeScript(script);
+      fail("expected exception");
+    }
+    catch (ScriptEvaluationException e) {
+      assertTextPresent("Unable to evaluate script", e.getMessage());
+    }
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
@@ -111,4 +238,18 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
       });
   }
 
+  public static class SingleThreadedGroovyScriptEngineFactory extends GroovyScriptEngineFactory {
+
+    public String getEngineName() {
+      return SINGLE_THREADED_LANGUAGE;
+    }
+
+    public Object getParameter(String key) {
+      if ("THREADING".equals(key)) {
+        return null;
+      }
+      return super.getParameter(key);
+    }
+  }
+
 }
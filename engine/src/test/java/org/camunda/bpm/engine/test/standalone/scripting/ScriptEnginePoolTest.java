@@ -0,0 +1,128 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.scripting.engine.JuelScriptEngineFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
+
+public class ScriptEnginePoolTest extends TestCase {
+
+  protected static final String SINGLE_THREADED_LANGUAGE = "single-threaded-juel";
+
+  protected ScriptingEngines scriptingEngines;
+  protected ScriptEnginePool scriptEnginePool;
+
+  protected void setUp() throws Exception {
+    scriptingEngines = new ScriptingEngines(new ScriptEngineManager());
+    scriptingEngines.addScriptEngineFactory(new JuelScriptEngineFactory());
+    scriptingEngines.addScriptEngineFactory(new SingleThreadedJuelScriptEngineFactory());
+
+    scriptEnginePool = new ScriptEnginePool(2);
+    scriptingEngines.setScriptEnginePool(scriptEnginePool);
+  }
+
+  public void testReuseReleasedScriptEngine() {
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    scriptingEngines.releaseScriptEngine(SINGLE_THREADED_LANGUAGE, scriptEngine);
+    assertEquals(1, scriptEnginePool.getIdleCount(SINGLE_THREADED_LANGUAGE));
+
+    assertSame(scriptEngine, scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE));
+    assertEquals(0, scriptEnginePool.getIdleCount(SINGLE_THREADED_LANGUAGE));
+    assertEquals(2, scriptEnginePool.getBorrowCount());
+    assertEquals(1, scriptEnginePool.getMissCount());
+  }
+
+  public void testBorrowedScriptEngineIsNotShared() {
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    ScriptEngine otherScriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+
+    assertNotSame(scriptEngine, otherScriptEngine);
+  }
+
+  public void testEngineScopeIsResetOnRelease() {
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    scriptEngine.put("global", "value");
+    scriptingEngines.releaseScriptEngine(SINGLE_THREADED_LANGUAGE, scriptEngine);
+
+    ScriptEngine borrowedScriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    assertSame(scriptEngine, borrowedScriptEngine);
+    assertNull(borrowedScriptEngine.get("global"));
+    assertNull(borrowedScriptEngine.getContext().getAttribute("global", ScriptContext.ENGINE_SCOPE));
+  }
+
+  public void testCompileDoesNotBorrowPooledEngine() {
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    scriptingEngines.releaseScriptEngine(SINGLE_THREADED_LANGUAGE, scriptEngine);
+
+    scriptingEngines.compile(SINGLE_THREADED_LANGUAGE, "${true}");
+
+    assertEquals(1, scriptEnginePool.getIdleCount(SINGLE_THREADED_LANGUAGE));
+    assertEquals(1, scriptEnginePool.getBorrowCount());
+  }
+
+  public void testPoolIsDisabledByDefault() {
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+
+    assertEquals(0, configuration.getScriptEnginePoolSize());
+  }
+
+  public void testWarmUpIsBounded() {
+    scriptingEngines.warmUpScriptEngines(SINGLE_THREADED_LANGUAGE, 3);
+
+    assertEquals(2, scriptEnginePool.getIdleCount(SINGLE_THREADED_LANGUAGE));
+    assertEquals(2, scriptEnginePool.getIdleCount());
+    assertEquals(3, scriptEnginePool.getReleaseCount());
+    assertEquals(1, scriptEnginePool.getDiscardCount());
+  }
+
+  public void testCachedScriptEngineIsNotPooled() {
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage("juel");
+    scriptingEngines.releaseScriptEngine("juel", scriptEngine);
+
+    assertEquals(0, scriptEnginePool.getIdleCount());
+    assertSame(scriptEngine, scriptingEngines.getScriptEngineForLanguage("juel"));
+  }
+
+  public void testNoPoolWithoutScriptEngineCaching() {
+    scriptingEngines.setEnableScriptEngineCaching(false);
+
+    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(SINGLE_THREADED_LANGUAGE);
+    scriptingEngines.releaseScriptEngine(SINGLE_THREADED_LANGUAGE, scriptEngine);
+
+    assertEquals(0, scriptEnginePool.getIdleCount());
+  }
+
+  public static class SingleThreadedJuelScriptEngineFactory extends JuelScriptEngineFactory {
+
+    public String getEngineName() {
+      return SINGLE_THREADED_LANGUAGE;
+    }
+
+    public String getParameter(String key) {
+      if ("THREADING".equals(key)) {
+        return null;
+      }
+      return super.getParameter(key);
+    }
+  }
+
+}
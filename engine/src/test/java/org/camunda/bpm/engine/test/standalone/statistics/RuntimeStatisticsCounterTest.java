@@ -0,0 +1,267 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.statistics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.incident.FailedJobIncidentHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.ActivityStatistics;
+import org.camunda.bpm.engine.management.DeploymentStatistics;
+import org.camunda.bpm.engine.management.IncidentStatistics;
+import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class RuntimeStatisticsCounterTest extends ResourceProcessEngineTestCase {
+
+  protected static final String FAILED_JOBS_PROCESS = "org/camunda/bpm/engine/test/api/mgmt/StatisticsTest.testStatisticsQueryWithFailedJobs.bpmn20.xml";
+
+  public RuntimeStatisticsCounterTest() {
+    super("org/camunda/bpm/engine/test/standalone/statistics/runtimestatisticscounter.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testProcessDefinitionStatistics() {
+    startInstances();
+
+    List<ProcessDefinitionStatistics> statistics = managementService
+        .createProcessDefinitionStatisticsQuery()
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+
+    assertEquals(1, statistics.size());
+    assertEquals(2, statistics.get(0).getInstances());
+    assertEquals(1, statistics.get(0).getFailedJobs());
+    assertFailedJobIncidents(statistics.get(0).getIncidentStatistics(), 1);
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testActivityStatistics() {
+    startInstances();
+
+    List<ActivityStatistics> statistics = queryActivityStatistics();
+
+    assertEquals(2, statistics.size());
+
+    ActivityStatistics serviceTask = statistics.get(0);
+    assertEquals("theServiceTask", serviceTask.getId());
+    assertEquals(1, serviceTask.getInstances());
+    assertEquals(1, serviceTask.getFailedJobs());
+    assertFailedJobIncidents(serviceTask.getIncidentStatistics(), 1);
+
+    ActivityStatistics userTask = statistics.get(1);
+    assertEquals("theUserTask", userTask.getId());
+    assertEquals(1, userTask.getInstances());
+    assertEquals(0, userTask.getFailedJobs());
+    assertTrue(userTask.getIncidentStatistics().isEmpty());
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testDeploymentStatistics() {
+    startInstances();
+
+    List<DeploymentStatistics> statistics = managementService
+        .createDeploymentStatisticsQuery()
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+
+    assertEquals(1, statistics.size());
+    assertEquals(2, statistics.get(0).getInstances());
+    assertEquals(1, statistics.get(0).getFailedJobs());
+    assertFailedJobIncidents(statistics.get(0).getIncidentStatistics(), 1);
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testResolveFailedJob() {
+    startInstances();
+
+    Job job = managementService.createJobQuery().singleResult();
+    managementService.setJobRetries(job.getId(), 1);
+
+    List<ActivityStatistics> statistics = queryActivityStatistics();
+
+    assertEquals(2, statistics.size());
+    assertEquals(1, statistics.get(0).getInstances());
+    assertEquals(0, statistics.get(0).getFailedJobs());
+    assertTrue(statistics.get(0).getIncidentStatistics().isEmpty());
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testDeleteProcessInstances() {
+    startInstances();
+
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+      runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    }
+
+    ProcessDefinitionStatistics statistics = managementService
+        .createProcessDefinitionStatisticsQuery()
+        .includeFailedJobs()
+        .includeIncidents()
+        .singleResult();
+
+    assertEquals(0, statistics.getInstances());
+    assertEquals(0, statistics.getFailedJobs());
+    assertTrue(statistics.getIncidentStatistics().isEmpty());
+    assertTrue(queryActivityStatistics().isEmpty());
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testRebuildCounters() {
+    startInstances();
+
+    final String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        // simulate counters which are out of sync
+        commandContext.getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, "theUserTask", null, 5, 5, 0);
+        commandContext.getStatisticsManager().updateRuntimeStatisticsCounter(processDefinitionId, null, null, 5, 5, 0);
+        return null;
+      }
+    });
+
+    managementService.rebuildRuntimeStatistics();
+
+    ProcessDefinitionStatistics definitionStatistics = managementService
+        .createProcessDefinitionStatisticsQuery()
+        .includeFailedJobs()
+        .singleResult();
+    assertEquals(2, definitionStatistics.getInstances());
+    assertEquals(1, definitionStatistics.getFailedJobs());
+
+    List<ActivityStatistics> statistics = queryActivityStatistics();
+    assertEquals(2, statistics.size());
+    assertEquals(1, statistics.get(1).getInstances());
+    assertEquals(0, statistics.get(1).getFailedJobs());
+  }
+
+  @Deployment(resources = FAILED_JOBS_PROCESS)
+  public void testIncidentTypeWithoutIncidentHandler() {
+    startInstances();
+
+    final Execution execution = runtimeService.createExecutionQuery().activityId("theUserTask").singleResult();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        IncidentEntity.createAndInsertIncident("custom", execution.getId(), null, "custom incident");
+        return null;
+      }
+    });
+
+    List<ActivityStatistics> statistics = queryActivityStatistics();
+    assertEquals(2, statistics.size());
+
+    List<IncidentStatistics> incidentStatistics = statistics.get(1).getIncidentStatistics();
+    assertEquals(1, incidentStatistics.size());
+    assertEquals("custom", incidentStatistics.get(0).getIncidentType());
+    assertEquals(1, incidentStatistics.get(0).getIncidentCount());
+
+    ProcessDefinitionStatistics definitionStatistics = managementService
+        .createProcessDefinitionStatisticsQuery()
+        .includeIncidents()
+        .singleResult();
+    assertEquals(2, definitionStatistics.getIncidentStatistics().size());
+
+    runtimeService.deleteProcessInstance(execution.getProcessInstanceId(), null);
+
+    statistics = queryActivityStatistics();
+    assertEquals(1, statistics.size());
+    assertEquals("theServiceTask", statistics.get(0).getId());
+  }
+
+  public void testParallelGatewayJoin() {
+    // the joined executions are forced to be flushed, the counters
+    // must still be computed from their state at the last flush
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("task1")
+        .parallelGateway("join")
+        .userTask("afterJoin")
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("task2")
+        .connectTo("join")
+    .done());
+
+    runtimeService.startProcessInstanceByKey("process");
+
+    Task task1 = taskService.createTaskQuery().taskDefinitionKey("task1").singleResult();
+    taskService.complete(task1.getId());
+
+    List<ActivityStatistics> statistics = queryActivityStatistics();
+    assertEquals(1, statistics.size());
+    assertEquals("task2", statistics.get(0).getId());
+    assertEquals(1, statistics.get(0).getInstances());
+
+    Task task2 = taskService.createTaskQuery().taskDefinitionKey("task2").singleResult();
+    taskService.complete(task2.getId());
+
+    statistics = queryActivityStatistics();
+    assertEquals(1, statistics.size());
+    assertEquals("afterJoin", statistics.get(0).getId());
+    assertEquals(1, statistics.get(0).getInstances());
+
+    ProcessDefinitionStatistics definitionStatistics = managementService
+        .createProcessDefinitionStatisticsQuery()
+        .singleResult();
+    assertEquals(1, definitionStatistics.getInstances());
+  }
+
+  protected void startInstances() {
+    runtimeService.startProcessInstanceByKey("ExampleProcess");
+    runtimeService.startProcessInstanceByKey("ExampleProcess", Collections.<String, Object>singletonMap("fail", true));
+
+    executeAvailableJobs();
+  }
+
+  protected List<ActivityStatistics> queryActivityStatistics() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+    List<ActivityStatistics> statistics = managementService
+        .createActivityStatisticsQuery(processDefinitionId)
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+
+    Collections.sort(statistics, new Comparator<ActivityStatistics>() {
+      public int compare(ActivityStatistics o1, ActivityStatistics o2) {
+        return o1.getId().compareTo(o2.getId());
+      }
+    });
+    return statistics;
+  }
+
+  protected void assertFailedJobIncidents(List<IncidentStatistics> incidentStatistics, int count) {
+    assertEquals(1, incidentStatistics.size());
+    assertEquals(FailedJobIncidentHandler.INCIDENT_HANDLER_TYPE, incidentStatistics.get(0).getIncidentType());
+    assertEquals(count, incidentStatistics.get(0).getIncidentCount());
+  }
+
+}
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.util;
+
+import static org.camunda.bpm.engine.impl.util.CompressionUtil.compress;
+import static org.camunda.bpm.engine.impl.util.CompressionUtil.decompress;
+import static org.camunda.bpm.engine.impl.util.CompressionUtil.escape;
+import static org.camunda.bpm.engine.impl.util.CompressionUtil.isCompressed;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.junit.Test;
+
+public class CompressionUtilTest {
+
+  @Test
+  public void testCompressAndDecompress() {
+    byte[] bytes = createRepetitiveBytes(10000);
+
+    byte[] compressed = compress(bytes);
+
+    assertTrue(isCompressed(compressed));
+    assertTrue(compressed.length < bytes.length);
+    assertArrayEquals(bytes, decompress(compressed));
+  }
+
+  @Test
+  public void testNotCompressedIfNotSmaller() {
+    byte[] bytes = new byte[1000];
+    new Random(42).nextBytes(bytes);
+
+    assertSame(bytes, compress(bytes));
+  }
+
+  @Test
+  public void testDecompressUncompressedBytes() {
+    byte[] bytes = "{\"uncompressed\": true}".getBytes();
+
+    assertFalse(isCompressed(bytes));
+    assertSame(bytes, decompress(bytes));
+  }
+
+  @Test
+  public void testNotCompressedBytesStartingWithHeader() {
+    // random bytes which cannot be compressed, starting with the header of compressed bytes
+    byte[] bytes = new byte[1000];
+    new Random(42).nextBytes(bytes);
+    System.arraycopy(new byte[] { (byte) 0xCA, (byte) 0x3D, 'Z', 'I', 'P', 1 }, 0, bytes, 0, 6);
+
+    byte[] compressed = compress(bytes);
+
+    assertFalse(isCompressed(compressed));
+    assertArrayEquals(bytes, decompress(compressed));
+  }
+
+  @Test
+  public void testEscapeBytesStartingWithHeader() {
+    byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0x3D, 'Z', 'I', 'P', 1 };
+
+    byte[] escaped = escape(bytes);
+
+    assertFalse(isCompressed(escaped));
+    assertArrayEquals(bytes, decompress(escaped));
+  }
+
+  @Test
+  public void testEscapeBytesStartingWithMarker() {
+    byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0x3D, 'Z', 'I', 'P' };
+
+    assertArrayEquals(bytes, decompress(escape(bytes)));
+  }
+
+  @Test
+  public void testEscapeOtherBytes() {
+    byte[] bytes = "{\"uncompressed\": true}".getBytes();
+
+    assertSame(bytes, escape(bytes));
+  }
+
+  @Test
+  public void testDecompressTruncatedBytes() {
+    byte[] bytes = compress(createRepetitiveBytes(1000));
+    // keep the header only
+    byte[] invalid = Arrays.copyOf(bytes, 10);
+    invalid[8] = 0;
+    invalid[9] = 0;
+
+    assertTrue(isCompressed(invalid));
+    try {
+      decompress(invalid);
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testNull() {
+    assertNull(compress(null));
+    assertNull(escape(null));
+    assertNull(decompress(null));
+  }
+
+  protected byte[] createRepetitiveBytes(int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) ('a' + i % 10);
+    }
+    return bytes;
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.util.HashMap;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * Compares the evaluation of the condition expressions of five exclusive gateways
+ * by the JUEL tree interpreter with the evaluation of their compiled form
+ * (see {@link ExpressionCompiler}).
+ */
+public class ExpressionEvaluationPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  public static final String PROCESS_RESOURCE = "org/camunda/bpm/qa/performance/engine/bpmn/ExpressionEvaluationPerformanceTest.bpmn";
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void interpretedExpressions() {
+    ExpressionManager expressionManager = getExpressionManager();
+    ExpressionCompiler expressionCompiler = expressionManager.getExpressionCompiler();
+    expressionManager.setExpressionCompiler(null);
+
+    try {
+      performanceTest()
+        .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+      .run();
+    }
+    finally {
+      expressionManager.setExpressionCompiler(expressionCompiler);
+    }
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void compiledExpressions() {
+    ExpressionManager expressionManager = getExpressionManager();
+    ExpressionCompiler expressionCompiler = expressionManager.getExpressionCompiler();
+    // compile the expressions on their first evaluation
+    expressionManager.setExpressionCompiler(new ExpressionCompiler(1));
+
+    try {
+      performanceTest()
+        .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+      .run();
+    }
+    finally {
+      expressionManager.setExpressionCompiler(expressionCompiler);
+    }
+  }
+
+  protected ExpressionManager getExpressionManager() {
+    return ((ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration()).getExpressionManager();
+  }
+
+  protected HashMap<String, Object> createVariables() {
+    HashMap<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 200);
+    variables.put("customer", "gold");
+    variables.put("approved", true);
+    variables.put("rejectReason", null);
+    return variables;
+  }
+
+}